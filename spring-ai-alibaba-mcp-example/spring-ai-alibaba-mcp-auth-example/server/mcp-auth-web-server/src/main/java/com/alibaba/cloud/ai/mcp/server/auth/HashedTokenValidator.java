@@ -0,0 +1,148 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.mcp.server.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * 基于 SHA-256 摘要集合的 token 校验器。
+ * <p>
+ * 未命中缓存时计算 token 摘要，并与所有已配置摘要逐一做常量时间比较（不提前返回），
+ * 校验通过的 token 放入带过期时间的缓存，之后的请求只需一次 map 查找加一次常量时间比较，不再计算摘要；
+ * 缓存按 hashCode 索引，不用 String.equals 比较 token。校验失败的 token 不缓存，避免无效 token 挤占缓存。
+ * <p>
+ * 缓存基于 ConcurrentHashMap，读路径无锁；超过容量时由一个线程先清理过期条目，仍超出则任意淘汰部分条目，
+ * 容量是近似上限，被淘汰的 token 下次请求时重新计算摘要即可。
+ */
+public class HashedTokenValidator implements TokenValidator {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final byte[][] tokenHashes;
+
+    private final long ttlNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final int cacheSize;
+
+    private final Map<Integer, CachedToken> validated = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public HashedTokenValidator(List<String> tokenHashes, int cacheSize, long ttlNanos) {
+        this(tokenHashes, cacheSize, ttlNanos, System::nanoTime);
+    }
+
+    HashedTokenValidator(List<String> tokenHashes, int cacheSize, long ttlNanos, LongSupplier nanoClock) {
+        this.tokenHashes = tokenHashes.stream().map(HexFormat.of()::parseHex).toArray(byte[][]::new);
+        this.ttlNanos = ttlNanos;
+        this.nanoClock = nanoClock;
+        this.cacheSize = cacheSize;
+    }
+
+    public static String sha256Hex(String token) {
+        return HexFormat.of().formatHex(digest(token));
+    }
+
+    @Override
+    public boolean validate(String token) {
+        if (token == null || token.isEmpty()) {
+            return false;
+        }
+
+        long now = nanoClock.getAsLong();
+        int key = token.hashCode();
+        CachedToken cached = validated.get(key);
+        if (cached != null && constantTimeEquals(cached.token(), token)) {
+            if (now - cached.expiresAt() < 0) {
+                return true;
+            }
+            validated.remove(key, cached);
+        }
+
+        if (!matches(digest(token))) {
+            return false;
+        }
+        validated.put(key, new CachedToken(token, now + ttlNanos));
+        if (validated.size() > cacheSize) {
+            evict(now);
+        }
+        return true;
+    }
+
+    int cachedCount() {
+        return validated.size();
+    }
+
+    private void evict(long now) {
+        // 同一时刻只需一个线程清理，其余线程直接返回
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            validated.values().removeIf(cached -> now - cached.expiresAt() >= 0);
+            Iterator<CachedToken> it = validated.values().iterator();
+            while (validated.size() > cacheSize && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        finally {
+            evicting.set(false);
+        }
+    }
+
+    private static boolean constantTimeEquals(String expected, String actual) {
+        int diff = expected.length() ^ actual.length();
+        for (int i = 0; i < actual.length(); i++) {
+            diff |= expected.charAt(i % expected.length()) ^ actual.charAt(i);
+        }
+        return diff == 0;
+    }
+
+    private boolean matches(byte[] digest) {
+        boolean matched = false;
+        for (byte[] tokenHash : tokenHashes) {
+            // 按位或而非短路，耗时与命中哪一个摘要无关
+            matched |= MessageDigest.isEqual(tokenHash, digest);
+        }
+        return matched;
+    }
+
+    private static byte[] digest(String token) {
+        return SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record CachedToken(String token, long expiresAt) {
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.mcp.server.auth;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(McpAuthProperties.class)
+public class McpAuthConfiguration {
+
+    @Bean
+    public TokenValidator tokenValidator(McpAuthProperties properties) {
+        if (properties.getTokenHashes().isEmpty()) {
+            throw new IllegalStateException(McpAuthProperties.PREFIX + ".token-hashes must not be empty");
+        }
+        return new HashedTokenValidator(properties.getTokenHashes(), properties.getCacheSize(),
+                properties.getCacheTtl().toNanos());
+    }
+
+}
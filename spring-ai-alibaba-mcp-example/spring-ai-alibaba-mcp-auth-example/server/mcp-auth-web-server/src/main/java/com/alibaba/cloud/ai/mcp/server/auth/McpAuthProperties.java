@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.mcp.server.auth;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * MCP 认证配置
+ */
+@ConfigurationProperties(prefix = McpAuthProperties.PREFIX)
+public class McpAuthProperties {
+
+    public static final String PREFIX = "mcp.auth";
+
+    /**
+     * 携带 token 的请求头
+     */
+    private String header = "token-1";
+
+    /**
+     * 允许访问的 token 的 SHA-256 摘要（十六进制），配置中不保存 token 明文
+     */
+    private List<String> tokenHashes = new ArrayList<>();
+
+    /**
+     * 已验证 token 的缓存容量，按 LRU 淘汰
+     */
+    private int cacheSize = 1024;
+
+    /**
+     * 已验证 token 的缓存有效期，过期后重新校验摘要
+     */
+    private Duration cacheTtl = Duration.ofMinutes(5);
+
+    /**
+     * 认证成功时 DEBUG 日志的最小间隔
+     */
+    private Duration successLogInterval = Duration.ofSeconds(10);
+
+    public String getHeader() {
+        return header;
+    }
+
+    public void setHeader(String header) {
+        this.header = header;
+    }
+
+    public List<String> getTokenHashes() {
+        return tokenHashes;
+    }
+
+    public void setTokenHashes(List<String> tokenHashes) {
+        this.tokenHashes = tokenHashes;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public void setCacheTtl(Duration cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    public Duration getSuccessLogInterval() {
+        return successLogInterval;
+    }
+
+    public void setSuccessLogInterval(Duration successLogInterval) {
+        this.successLogInterval = successLogInterval;
+    }
+}
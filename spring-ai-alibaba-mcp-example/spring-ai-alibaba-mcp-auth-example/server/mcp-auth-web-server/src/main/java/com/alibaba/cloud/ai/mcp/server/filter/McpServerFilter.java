@@ -15,9 +15,16 @@
  */
 package com.alibaba.cloud.ai.mcp.server.filter;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.cloud.ai.mcp.server.auth.McpAuthProperties;
+import com.alibaba.cloud.ai.mcp.server.auth.TokenValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
@@ -25,40 +32,68 @@ import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
 /**
+ * 校验请求头中的 token。认证成功的路径上不做字符串拼接和 INFO 日志，DEBUG 日志按间隔限流；
+ * 只在认证失败时输出 WARN 日志（不包含 token 内容）。认证耗时记录在 {@code mcp.auth.latency} 指标中。
+ *
  * @author yingzi
  * @since 2025/9/17
  */
 @Component
 public class McpServerFilter implements WebFilter {
 
-    private static final String TOKEN_HEADER = "token-1";
-    private static final String TOKEN_VALUE = "yingzi-1";
+    public static final String LATENCY_METRIC = "mcp.auth.latency";
 
     private static final Logger logger = LoggerFactory.getLogger(McpServerFilter.class);
 
+    private final TokenValidator tokenValidator;
+
+    private final String tokenHeader;
+
+    private final long successLogIntervalNanos;
+
+    private final AtomicLong lastSuccessLog = new AtomicLong(System.nanoTime());
+
+    private final Timer successTimer;
+
+    private final Timer failureTimer;
+
+    public McpServerFilter(TokenValidator tokenValidator, McpAuthProperties properties, MeterRegistry meterRegistry) {
+        this.tokenValidator = tokenValidator;
+        this.tokenHeader = properties.getHeader();
+        this.successLogIntervalNanos = properties.getSuccessLogInterval().toNanos();
+        this.successTimer = Timer.builder(LATENCY_METRIC).tag("outcome", "success").register(meterRegistry);
+        this.failureTimer = Timer.builder(LATENCY_METRIC).tag("outcome", "failure").register(meterRegistry);
+    }
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long start = System.nanoTime();
         // 获取请求头中的token值
-        HttpHeaders headers = exchange.getRequest().getHeaders();
-        // 打印所有请求头信息
-        for (String headerName : headers.keySet()) {
-            logger.info("Header {}: {}", headerName, headers.getFirst(headerName));
-        }
+        String token = exchange.getRequest().getHeaders().getFirst(tokenHeader);
+        boolean valid = tokenValidator.validate(token);
+        long elapsed = System.nanoTime() - start;
 
-        String token = headers.getFirst(TOKEN_HEADER);
-        // 检查token是否存在且值正确
-        if (TOKEN_VALUE.equals(token)) {
-            logger.info("preHandle: 验证通过");
-            logger.info("preHandle: 请求的URL: {}", exchange.getRequest().getURI());
-            logger.info("preHandle: 请求的TOKEN: {}", token);
+        if (valid) {
+            successTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            logSuccess(exchange, start);
             // token验证通过，继续处理请求
             return chain.filter(exchange);
-        } else {
-            // token验证失败，返回401未授权错误
-            logger.warn("Token验证失败: 请求的URL: {}, 提供的TOKEN: {}", exchange.getRequest().getURI(), token);
-            logger.warn("要求的token为：{}", TOKEN_VALUE);
-            exchange.getResponse().setStatusCode(org.springframework.http.HttpStatus.UNAUTHORIZED);
-            return exchange.getResponse().setComplete();
+        }
+
+        // token验证失败，返回401未授权错误
+        failureTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        logger.warn("Token验证失败: 请求的URL: {}, 是否携带token: {}", exchange.getRequest().getURI(), token != null);
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        return exchange.getResponse().setComplete();
+    }
+
+    private void logSuccess(ServerWebExchange exchange, long now) {
+        if (!logger.isDebugEnabled()) {
+            return;
+        }
+        long last = lastSuccessLog.get();
+        if (now - last >= successLogIntervalNanos && lastSuccessLog.compareAndSet(last, now)) {
+            logger.debug("preHandle: 验证通过, 请求的URL: {}", exchange.getRequest().getURI());
         }
     }
 }
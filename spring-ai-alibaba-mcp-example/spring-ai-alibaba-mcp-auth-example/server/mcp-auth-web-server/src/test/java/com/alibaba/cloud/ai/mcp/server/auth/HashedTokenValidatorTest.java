@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.mcp.server.auth;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTokenValidatorTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final HashedTokenValidator validator = new HashedTokenValidator(
+            List.of(HashedTokenValidator.sha256Hex("yingzi-1"), HashedTokenValidator.sha256Hex("other-token")), 2,
+            Duration.ofMinutes(5).toNanos(), clock::get);
+
+    @Test
+    void acceptsConfiguredTokens() {
+        assertThat(validator.validate("yingzi-1")).isTrue();
+        assertThat(validator.validate("other-token")).isTrue();
+        // 第二次命中缓存
+        assertThat(validator.validate("yingzi-1")).isTrue();
+    }
+
+    @Test
+    void rejectsUnknownOrMissingTokens() {
+        assertThat(validator.validate("yingzi-1")).isTrue();
+        assertThat(validator.validate("yingzi-2")).isFalse();
+        assertThat(validator.validate("yingzi-")).isFalse();
+        assertThat(validator.validate("")).isFalse();
+        assertThat(validator.validate(null)).isFalse();
+    }
+
+    @Test
+    void revalidatesAfterCacheExpiry() {
+        assertThat(validator.validate("yingzi-1")).isTrue();
+        clock.addAndGet(Duration.ofMinutes(6).toNanos());
+        assertThat(validator.validate("yingzi-1")).isTrue();
+    }
+
+    @Test
+    void keepsCacheWithinCapacity() {
+        HashedTokenValidator bounded = new HashedTokenValidator(
+                List.of(HashedTokenValidator.sha256Hex("a"), HashedTokenValidator.sha256Hex("b"),
+                        HashedTokenValidator.sha256Hex("c")),
+                2, Duration.ofMinutes(5).toNanos(), clock::get);
+
+        assertThat(bounded.validate("a")).isTrue();
+        assertThat(bounded.validate("b")).isTrue();
+        assertThat(bounded.validate("c")).isTrue();
+        assertThat(bounded.cachedCount()).isLessThanOrEqualTo(2);
+        // 被淘汰的 token 重新计算摘要后仍然通过
+        assertThat(bounded.validate("a")).isTrue();
+        assertThat(bounded.validate("b")).isTrue();
+    }
+
+    @Test
+    void matchesKnownDigest() {
+        assertThat(HashedTokenValidator.sha256Hex("yingzi-1"))
+                .isEqualTo("75ffa35840810f3a5c429748dc103df1911de9e37477a2daf6929b7ae8895c7e");
+    }
+}
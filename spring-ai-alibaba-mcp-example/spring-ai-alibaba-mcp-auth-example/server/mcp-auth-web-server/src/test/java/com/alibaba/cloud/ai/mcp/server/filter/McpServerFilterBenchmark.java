@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.mcp.server.filter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.cloud.ai.mcp.server.auth.HashedTokenValidator;
+import com.alibaba.cloud.ai.mcp.server.auth.McpAuthProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * 测量 {@link McpServerFilter} 每个请求的开销。baseline 只构造请求并执行 chain，
+ * 与其他结果的差值即为认证本身的耗时。
+ * <p>
+ * 运行：在 IDE 中执行 main 方法，或 {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.alibaba.cloud.ai.mcp.server.filter.McpServerFilterBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class McpServerFilterBenchmark {
+
+    private static final String TOKEN = "yingzi-1";
+
+    private static final WebFilterChain CHAIN = exchange -> Mono.empty();
+
+    private McpServerFilter filter;
+
+    private McpAuthProperties properties;
+
+    @Setup
+    public void setUp() {
+        properties = new McpAuthProperties();
+        HashedTokenValidator validator = new HashedTokenValidator(
+                List.of(HashedTokenValidator.sha256Hex(TOKEN)), properties.getCacheSize(),
+                properties.getCacheTtl().toNanos());
+        filter = new McpServerFilter(validator, properties, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public Object baseline() {
+        MockServerWebExchange exchange = exchange(TOKEN);
+        return CHAIN.filter(exchange).block();
+    }
+
+    @Benchmark
+    public Object validToken() {
+        return filter.filter(exchange(TOKEN), CHAIN).block();
+    }
+
+    @Benchmark
+    public Object invalidToken() {
+        return filter.filter(exchange("not-a-token"), CHAIN).block();
+    }
+
+    private MockServerWebExchange exchange(String token) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/mcp").header(properties.getHeader(), token));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(McpServerFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
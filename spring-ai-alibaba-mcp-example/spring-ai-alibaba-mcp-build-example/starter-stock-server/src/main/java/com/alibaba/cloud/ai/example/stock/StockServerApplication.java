@@ -17,14 +17,17 @@
 package com.alibaba.cloud.ai.example.stock;
 
 import com.alibaba.cloud.ai.example.stock.service.StockService;
+import com.alibaba.cloud.ai.mcp.common.cache.ToolCacheConfiguration;
 
 import org.springframework.ai.tool.ToolCallbackProvider;
 import org.springframework.ai.tool.method.MethodToolCallbackProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
+@Import(ToolCacheConfiguration.class)
 public class StockServerApplication {
 
     public static void main(String[] args) {
@@ -19,8 +19,10 @@ package com.alibaba.cloud.ai.example.stock.service;
 import java.io.Serializable;
 import java.time.format.DateTimeFormatter;
 
+import com.alibaba.cloud.ai.mcp.common.cache.ToolResultCache;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
@@ -28,6 +30,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
@@ -48,11 +51,19 @@ public class StockService {
     
     private final RestClient restClient;
 
-    public StockService() {
+    private final ToolResultCache toolResultCache;
+
+    @Autowired
+    public StockService(ToolResultCache toolResultCache) {
+        this(BASE_URL, toolResultCache);
+    }
+
+    StockService(String baseUrl, ToolResultCache toolResultCache) {
         this.restClient = RestClient.builder()
-                .baseUrl(BASE_URL)
+                .baseUrl(baseUrl)
                 .defaultHeader("Accept", MediaType.APPLICATION_JSON_VALUE)
                 .build();
+        this.toolResultCache = toolResultCache;
     }
 
     @JsonIgnoreProperties(ignoreUnknown = true)
@@ -88,8 +99,20 @@ public class StockService {
                 throw new IllegalArgumentException("Stock code must be 6 digits");
             }
 
+            return toolResultCache.get("getStockInfo", () -> fetchStockInfo(stockCode), stockCode);
+        } catch (IllegalArgumentException e) {
+            logger.error("Parameter error: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to get stock {} information: {}", stockCode, e.getMessage(), e);
+            throw new RuntimeException("Failed to get stock " + stockCode + " information: " + e.getMessage());
+        }
+    }
+
+    private StockInfo fetchStockInfo(String stockCode) {
+        try {
             logger.info("Fetching stock information for {}", stockCode);
-            
+
             // Eastmoney API parameters
             String secid = stockCode.startsWith("6") ? "1." + stockCode : "0." + stockCode;
             
@@ -102,7 +125,7 @@ public class StockService {
                     .retrieve()
                     .body(String.class);
 
-            logger.info("Raw response: {}", response);
+            logger.debug("Raw response: {}", response);
 
             JsonNode root = objectMapper.readTree(response);
             JsonNode data = root.path("data");
@@ -113,7 +136,7 @@ public class StockService {
             }
 
             StockData stockData = objectMapper.treeToValue(data, StockData.class);
-            logger.info("Parsed data: {}", stockData);
+            logger.debug("Parsed data: {}", stockData);
 
             if (stockData == null || stockData.name() == null) {
                 throw new IllegalArgumentException("Invalid data format for stock code " + stockCode);
@@ -130,12 +153,8 @@ public class StockService {
                     stockData.volume() / 10000.0,     // Convert to 10,000 lots
                     stockData.amount() / 100000000.0  // Convert to 100 million yuan
             );
-        } catch (IllegalArgumentException e) {
-            logger.error("Parameter error: {}", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            logger.error("Failed to get stock {} information: {}", stockCode, e.getMessage(), e);
-            throw new RuntimeException("Failed to get stock " + stockCode + " information: " + e.getMessage());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed response: " + e.getMessage(), e);
         }
     }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.cloud.ai.example.stock.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.cloud.ai.mcp.common.cache.ToolCacheProperties;
+import com.alibaba.cloud.ai.mcp.common.cache.ToolResultCache;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link StockService} against a local HTTP stub of the Eastmoney API.
+ */
+class StockServiceTest {
+
+    private static final String RESPONSE = """
+            {"data":{"f43":1234,"f44":1250,"f45":1200,"f46":1210,"f47":100000,"f48":123456789,"f57":"600000","f58":"PF Bank"}}
+            """;
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private HttpServer server;
+
+    private ToolResultCache cache;
+
+    private StockService stockService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/qt/stock/get", exchange -> {
+            requests.incrementAndGet();
+            try {
+                // Keep the request open long enough for concurrent callers to pile up
+                Thread.sleep(200);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        cache = new ToolResultCache(new ToolCacheProperties());
+        stockService = new StockService(
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/api/qt/stock/get", cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void repeatedCallsAreServedFromCache() {
+        StockService.StockInfo first = stockService.getStockInfo("600000");
+        StockService.StockInfo second = stockService.getStockInfo("600000");
+
+        assertThat(first.name()).isEqualTo("PF Bank");
+        assertThat(first.currentPrice()).isEqualTo(12.34);
+        assertThat(second).isEqualTo(first);
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void concurrentIdenticalCallsAreCoalesced() throws Exception {
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<StockService.StockInfo>> futures = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return stockService.getStockInfo("600000");
+            }));
+        }
+        start.countDown();
+        for (Future<StockService.StockInfo> future : futures) {
+            assertThat(future.get().code()).isEqualTo("600000");
+        }
+        executor.shutdown();
+
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void differentArgumentsAreCachedSeparately() {
+        stockService.getStockInfo("600000");
+        stockService.getStockInfo("000001");
+
+        assertThat(requests).hasValue(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+}
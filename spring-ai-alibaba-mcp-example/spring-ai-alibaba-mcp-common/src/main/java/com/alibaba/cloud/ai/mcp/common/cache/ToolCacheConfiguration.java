@@ -0,0 +1,35 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.common.cache;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers a {@link ToolResultCache} bound to {@code mcp.tool-cache.*}. Import it from the
+ * application class of an MCP server that wants its tool results cached.
+ */
+@Configuration
+@EnableConfigurationProperties(ToolCacheProperties.class)
+public class ToolCacheConfiguration {
+
+    @Bean
+    public ToolResultCache toolResultCache(ToolCacheProperties properties) {
+        return new ToolResultCache(properties);
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.common.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Result cache for MCP {@code @Tool} methods.
+ * <p>
+ * Entries are keyed by tool name and call arguments. A fresh entry is returned as is.
+ * An entry past its TTL but inside the stale-while-revalidate window is also returned,
+ * and a single background reload is started for it. Identical concurrent misses are
+ * coalesced so that only one upstream request is in flight per key. Failed loads are
+ * never cached.
+ * <p>
+ * Shared by the MCP server examples; register it with {@code @Import(ToolCacheConfiguration.class)}.
+ */
+public class ToolResultCache implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ToolResultCache.class);
+
+    private final ToolCacheProperties properties;
+
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final ExecutorService refresher = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "tool-cache-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ToolResultCache(ToolCacheProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    ToolResultCache(ToolCacheProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns the cached result of {@code tool} for {@code args}, invoking {@code loader}
+     * on a miss. Exceptions thrown by the loader are rethrown to every coalesced caller.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String tool, Supplier<T> loader, Object... args) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+
+        Key key = new Key(tool, Arrays.asList(args));
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            long age = nanoClock.getAsLong() - entry.loadedAt();
+            long ttl = properties.ttl(tool).toNanos();
+            if (age < ttl) {
+                return (T) entry.value();
+            }
+            if (age < ttl + properties.getStaleWhileRevalidate().toNanos()) {
+                load(key, loader, true).whenComplete((value, e) -> {
+                    if (e != null) {
+                        logger.warn("Background refresh of tool {} failed, keep serving stale result: {}", tool,
+                                e.getMessage());
+                    }
+                });
+                return (T) entry.value();
+            }
+        }
+
+        try {
+            return (T) load(key, loader, false).join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reactive variant of {@link #get}. A hit is returned as is, a miss subscribes to the
+     * {@code Mono} returned by {@code loader}, and no thread is blocked either way. A coalesced
+     * caller that cancels does not cancel the shared upstream request.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> getAsync(String tool, Supplier<Mono<T>> loader, Object... args) {
+        if (!properties.isEnabled()) {
+            return Mono.defer(loader);
+        }
+
+        return Mono.defer(() -> {
+            Key key = new Key(tool, Arrays.asList(args));
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                long age = nanoClock.getAsLong() - entry.loadedAt();
+                long ttl = properties.ttl(tool).toNanos();
+                if (age < ttl) {
+                    return Mono.just((T) entry.value());
+                }
+                if (age < ttl + properties.getStaleWhileRevalidate().toNanos()) {
+                    loadAsync(key, loader).whenComplete((value, e) -> {
+                        if (e != null) {
+                            logger.warn("Background refresh of tool {} failed, keep serving stale result: {}", tool,
+                                    e.getMessage());
+                        }
+                    });
+                    return Mono.just((T) entry.value());
+                }
+            }
+            return Mono.fromFuture(loadAsync(key, loader), true).map(value -> (T) value);
+        });
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private CompletableFuture<Object> load(Key key, Supplier<?> loader, boolean async) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        Runnable task = () -> {
+            try {
+                Object value = loader.get();
+                entries.put(key, new Entry(value, nanoClock.getAsLong()));
+                evictIfNeeded();
+                created.complete(value);
+            }
+            catch (Throwable e) {
+                created.completeExceptionally(e);
+            }
+            finally {
+                inFlight.remove(key, created);
+            }
+        };
+        if (async) {
+            refresher.execute(task);
+        }
+        else {
+            task.run();
+        }
+        return created;
+    }
+
+    private CompletableFuture<Object> loadAsync(Key key, Supplier<? extends Mono<?>> loader) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        Mono.defer(loader)
+                .doOnNext(value -> {
+                    entries.put(key, new Entry(value, nanoClock.getAsLong()));
+                    evictIfNeeded();
+                })
+                .doFinally(signal -> inFlight.remove(key, created))
+                .subscribe(created::complete, created::completeExceptionally,
+                        () -> created.completeExceptionally(new IllegalStateException("Tool " + key.tool() + " returned no result")));
+        return created;
+    }
+
+    private void evictIfNeeded() {
+        if (entries.size() <= properties.getMaxEntries()) {
+            return;
+        }
+
+        long now = nanoClock.getAsLong();
+        long stale = properties.getStaleWhileRevalidate().toNanos();
+        entries.entrySet().removeIf(
+                e -> now - e.getValue().loadedAt() >= properties.ttl(e.getKey().tool()).toNanos() + stale);
+        while (entries.size() > properties.getMaxEntries()) {
+            entries.entrySet().stream()
+                    .min((a, b) -> Long.compare(a.getValue().loadedAt(), b.getValue().loadedAt()))
+                    .map(Map.Entry::getKey)
+                    .ifPresent(entries::remove);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+
+    private record Key(String tool, List<Object> args) {
+    }
+
+    private record Entry(Object value, long loadedAt) {
+    }
+}
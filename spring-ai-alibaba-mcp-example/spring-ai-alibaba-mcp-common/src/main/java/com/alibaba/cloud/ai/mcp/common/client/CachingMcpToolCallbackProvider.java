@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.common.client;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.mcp.SyncMcpToolCallback;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+
+/**
+ * A {@link ToolCallbackProvider} that lists each client's tools once instead of on every
+ * {@link #getToolCallbacks()} call.
+ * <p>
+ * {@link #connect(McpClient.SyncSpec)} initializes the client and lists its tools. When the
+ * server sends {@code notifications/tools/list_changed}, the list the client fetches replaces
+ * that client's callbacks. A change that would introduce a duplicate tool name is logged and
+ * ignored, keeping the previous callbacks.
+ */
+public class CachingMcpToolCallbackProvider implements ToolCallbackProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingMcpToolCallbackProvider.class);
+
+    private final Map<McpSyncClient, List<ToolCallback>> callbacksByClient = new LinkedHashMap<>();
+
+    private volatile ToolCallback[] toolCallbacks = new ToolCallback[0];
+
+    /**
+     * Builds and initializes the client, registers the tools change listener and lists the
+     * tools once.
+     */
+    public McpSyncClient connect(McpClient.SyncSpec spec) {
+        AtomicReference<McpSyncClient> clientRef = new AtomicReference<>();
+        McpSyncClient client = spec
+                .toolsChangeConsumer(tools -> {
+                    McpSyncClient changed = clientRef.get();
+                    if (changed != null) {
+                        update(changed, tools);
+                    }
+                })
+                .build();
+        clientRef.set(client);
+
+        client.initialize();
+        update(client, client.listTools().tools());
+        return client;
+    }
+
+    synchronized void update(McpSyncClient client, List<McpSchema.Tool> tools) {
+        List<ToolCallback> callbacks = new ArrayList<>(tools.size());
+        for (McpSchema.Tool tool : tools) {
+            callbacks.add(new CachedMcpToolCallback(new SyncMcpToolCallback(client, tool)));
+        }
+        Map<McpSyncClient, List<ToolCallback>> next = new LinkedHashMap<>(callbacksByClient);
+        next.put(client, callbacks);
+
+        List<ToolCallback> all = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (List<ToolCallback> clientCallbacks : next.values()) {
+            for (ToolCallback callback : clientCallbacks) {
+                String name = callback.getToolDefinition().name();
+                if (!names.add(name)) {
+                    // Runs inside the client's notification handler, where a thrown exception
+                    // would be swallowed and leave the cache stale without any trace
+                    logger.warn("Ignoring tools of MCP client {}: duplicate tool name {}, keeping the previous tools",
+                            client.getClientInfo().name(), name);
+                    return;
+                }
+                all.add(callback);
+            }
+        }
+
+        callbacksByClient.put(client, callbacks);
+        this.toolCallbacks = all.toArray(new ToolCallback[0]);
+    }
+
+    @Override
+    public ToolCallback[] getToolCallbacks() {
+        return toolCallbacks.clone();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.common.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ToolResultCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private ToolResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ToolCacheProperties properties = new ToolCacheProperties();
+        properties.setDefaultTtl(Duration.ofSeconds(5));
+        properties.setStaleWhileRevalidate(Duration.ofSeconds(10));
+        properties.setMaxEntries(2);
+        cache = new ToolResultCache(properties, clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.destroy();
+    }
+
+    @Test
+    void staleResultIsServedWhileRefreshing() throws InterruptedException {
+        assertThat(load("a")).isEqualTo("a-1");
+
+        advance(6);
+        // Expired but inside the stale window: old value now, refresh in the background.
+        // The refresh is held on a latch so that a second stale read is known to overlap it.
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> slowLoader = () -> {
+            awaitUninterruptibly(release);
+            return "a-" + loads.incrementAndGet();
+        };
+        assertThat(cache.get("tool", slowLoader, "a")).isEqualTo("a-1");
+        assertThat(cache.get("tool", slowLoader, "a")).isEqualTo("a-1");
+        release.countDown();
+
+        // Poll with a loader that would show up in the result if the cache ever called it
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String value;
+        while (!"a-2".equals(value = cache.get("tool", () -> "unexpected", "a"))) {
+            assertThat(value).isEqualTo("a-1");
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void resultPastStaleWindowIsReloadedSynchronously() {
+        load("a");
+
+        advance(16);
+        assertThat(load("a")).isEqualTo("a-2");
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        assertThatThrownBy(() -> cache.get("tool", () -> {
+            throw new IllegalStateException("upstream down");
+        }, "a")).isInstanceOf(IllegalStateException.class).hasMessage("upstream down");
+
+        assertThat(load("a")).isEqualTo("a-1");
+    }
+
+    @Test
+    void oldestEntriesAreEvictedBeyondMaxEntries() {
+        load("a");
+        advance(1);
+        load("b");
+        advance(1);
+        load("c");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(load("a")).isEqualTo("a-4");
+    }
+
+    private String load(String arg) {
+        return cache.get("tool", () -> arg + "-" + loads.incrementAndGet(), arg);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void advance(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
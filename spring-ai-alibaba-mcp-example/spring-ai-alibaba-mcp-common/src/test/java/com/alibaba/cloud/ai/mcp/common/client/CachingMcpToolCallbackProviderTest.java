@@ -0,0 +1,69 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.common.client;
+
+import java.util.List;
+
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CachingMcpToolCallbackProviderTest {
+
+    private final CachingMcpToolCallbackProvider provider = new CachingMcpToolCallbackProvider();
+
+    @Test
+    void replacesToolsOfChangedClient() {
+        McpSyncClient files = client("files");
+        provider.update(files, List.of(tool("read")));
+        assertThat(provider.getToolCallbacks()).hasSize(1);
+
+        provider.update(files, List.of(tool("read"), tool("write")));
+        assertThat(provider.getToolCallbacks()).hasSize(2);
+    }
+
+    @Test
+    void keepsPreviousToolsOnDuplicateName() {
+        provider.update(client("files"), List.of(tool("read")));
+        String name = provider.getToolCallbacks()[0].getToolDefinition().name();
+
+        // Same client name and tool name: the second client's tools would clash
+        provider.update(client("files"), List.of(tool("read")));
+
+        assertThat(provider.getToolCallbacks()).hasSize(1);
+        assertThat(provider.getToolCallbacks()[0].getToolDefinition().name()).isEqualTo(name);
+    }
+
+    private static McpSyncClient client(String name) {
+        McpSyncClient client = mock(McpSyncClient.class);
+        when(client.getClientInfo()).thenReturn(new McpSchema.Implementation(name, "1.0.0"));
+        return client;
+    }
+
+    private static McpSchema.Tool tool(String name) {
+        return McpSchema.Tool.builder()
+                .name(name)
+                .description(name + " a file")
+                .inputSchema(McpJsonMapper.getDefault(), "{\"type\":\"object\",\"properties\":{}}")
+                .build();
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.alibaba.cloud.ai.example.config.controller;
 
+import com.alibaba.cloud.ai.example.config.discovery.CachedMcpServiceDiscovery;
 import com.alibaba.cloud.ai.mcp.router.config.McpRouterProperties;
 import com.alibaba.cloud.ai.mcp.router.core.discovery.McpServiceDiscovery;
 import com.alibaba.cloud.ai.mcp.router.model.McpServerInfo;
@@ -42,6 +43,10 @@ public class McpConfigController {
 
     @GetMapping("/discovery-type")
     public String getDiscoveryType() {
+        if (discovery instanceof CachedMcpServiceDiscovery cached) {
+            String className = cached.getDelegate().getClass().getSimpleName();
+            return "当前使用的 McpServiceDiscovery 实现类是: " + className + "（本地缓存）";
+        }
         String className = discovery.getClass().getSimpleName();
         return "当前使用的 McpServiceDiscovery 实现类是: " + className;
     }
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.config.discovery;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import com.alibaba.cloud.ai.mcp.router.core.discovery.McpServiceDiscovery;
+import com.alibaba.cloud.ai.mcp.router.model.McpServerInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * 带本地缓存的 {@link McpServiceDiscovery} 包装，由 {@link DiscoveryCachePostProcessor} 替换容器中原有的发现服务 bean，
+ * 路由的工具调用路径同样走缓存。
+ * <p>
+ * 查询是一次内存 map 读取；后台按 refreshInterval 刷新已查询过的服务，因此热点服务不会在调用路径上访问发现源。
+ * 条目陈旧时间超过 maxStaleness（如刷新持续失败）后，读取会同步回源，保证陈旧时间有上界。
+ * 超过 expireAfterIdle 未被读取的条目不再刷新并被移除，条目数超过 maxEntries 时淘汰最久未读取的条目。
+ * 发现源变更时调用 {@link #invalidate(String)} 或 {@link #invalidateAll()}。
+ */
+public class CachedMcpServiceDiscovery implements McpServiceDiscovery, DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(CachedMcpServiceDiscovery.class);
+
+	private final McpServiceDiscovery delegate;
+
+	private final long maxStalenessNanos;
+
+	private final long negativeTtlNanos;
+
+	private final long expireAfterIdleNanos;
+
+	private final int maxEntries;
+
+	private final LongSupplier clock;
+
+	private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+	private final ScheduledExecutorService refresher;
+
+	public CachedMcpServiceDiscovery(McpServiceDiscovery delegate, DiscoveryCacheProperties properties) {
+		this(delegate, properties, System::nanoTime);
+		long interval = properties.getRefreshInterval().toMillis();
+		refresher.scheduleWithFixedDelay(this::refreshAll, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	CachedMcpServiceDiscovery(McpServiceDiscovery delegate, DiscoveryCacheProperties properties, LongSupplier clock) {
+		if (delegate instanceof CachedMcpServiceDiscovery) {
+			throw new IllegalArgumentException("CachedMcpServiceDiscovery cannot wrap another cache");
+		}
+		this.delegate = delegate;
+		this.maxStalenessNanos = properties.getMaxStaleness().toNanos();
+		this.negativeTtlNanos = properties.getNegativeTtl().toNanos();
+		this.expireAfterIdleNanos = properties.getExpireAfterIdle().toNanos();
+		this.maxEntries = properties.getMaxEntries();
+		this.clock = clock;
+		this.refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "mcp-discovery-refresh");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public McpServiceDiscovery getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	public McpServerInfo getService(String serviceName) {
+		long now = clock.getAsLong();
+		Entry entry = entries.get(serviceName);
+		if (entry != null && isFresh(entry, now)) {
+			entry.lastAccess = now;
+			return entry.info;
+		}
+		// 同一服务的并发未命中只回源一次
+		Entry loaded = entries.compute(serviceName, (name, current) -> {
+			if (current != null && isFresh(current, clock.getAsLong())) {
+				return current;
+			}
+			return load(name);
+		});
+		loaded.lastAccess = now;
+		if (entry == null && entries.size() > maxEntries) {
+			evictLeastRecentlyUsed(serviceName);
+		}
+		return loaded.info;
+	}
+
+	public void invalidate(String serviceName) {
+		entries.remove(serviceName);
+	}
+
+	public void invalidateAll() {
+		entries.clear();
+	}
+
+	int size() {
+		return entries.size();
+	}
+
+	void refreshAll() {
+		for (Map.Entry<String, Entry> cached : entries.entrySet()) {
+			String serviceName = cached.getKey();
+			Entry current = cached.getValue();
+			if (clock.getAsLong() - current.lastAccess >= expireAfterIdleNanos) {
+				entries.remove(serviceName, current);
+				continue;
+			}
+			try {
+				Entry refreshed = load(serviceName);
+				refreshed.lastAccess = current.lastAccess;
+				// 只替换刷新前的那个条目：期间被 invalidate 的服务不会被刷新结果重新放回缓存
+				entries.replace(serviceName, current, refreshed);
+			}
+			catch (RuntimeException e) {
+				// 保留旧条目，超过 maxStaleness 后由读取方同步回源
+				log.warn("刷新服务 {} 的发现结果失败: {}", serviceName, e.getMessage());
+			}
+		}
+	}
+
+	private void evictLeastRecentlyUsed(String keep) {
+		while (entries.size() > maxEntries) {
+			Map.Entry<String, Entry> eldest = null;
+			for (Map.Entry<String, Entry> cached : entries.entrySet()) {
+				if (!cached.getKey().equals(keep)
+						&& (eldest == null || cached.getValue().lastAccess - eldest.getValue().lastAccess < 0)) {
+					eldest = cached;
+				}
+			}
+			if (eldest == null) {
+				return;
+			}
+			entries.remove(eldest.getKey(), eldest.getValue());
+		}
+	}
+
+	private Entry load(String serviceName) {
+		return new Entry(delegate.getService(serviceName), clock.getAsLong());
+	}
+
+	private boolean isFresh(Entry entry, long now) {
+		return now - entry.loadedAt < (entry.info == null ? negativeTtlNanos : maxStalenessNanos);
+	}
+
+	/**
+	 * 包装后的 bean 取代了原实现，容器只会回调这里，因此一并释放被包装实现持有的资源
+	 */
+	@Override
+	public void destroy() throws Exception {
+		refresher.shutdownNow();
+		if (delegate instanceof DisposableBean disposable) {
+			disposable.destroy();
+		}
+		else if (delegate instanceof AutoCloseable closeable) {
+			closeable.close();
+		}
+	}
+
+	private static final class Entry {
+
+		private final McpServerInfo info;
+
+		private final long loadedAt;
+
+		private volatile long lastAccess;
+
+		private Entry(McpServerInfo info, long loadedAt) {
+			this.info = info;
+			this.loadedAt = loadedAt;
+			this.lastAccess = loadedAt;
+		}
+
+	}
+
+}
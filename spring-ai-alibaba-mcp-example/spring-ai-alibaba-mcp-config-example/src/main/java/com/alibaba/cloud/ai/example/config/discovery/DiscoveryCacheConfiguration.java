@@ -0,0 +1,50 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.config.discovery;
+
+import java.nio.file.Path;
+
+import com.alibaba.cloud.ai.mcp.router.config.McpRouterProperties;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(DiscoveryCacheProperties.class)
+public class DiscoveryCacheConfiguration {
+
+	/**
+	 * 后处理器需要尽早注册，声明为 static，缓存配置在包装发现服务时才解析
+	 */
+	@Bean
+	public static DiscoveryCachePostProcessor discoveryCachePostProcessor(
+			ObjectProvider<DiscoveryCacheProperties> properties) {
+		return new DiscoveryCachePostProcessor(properties);
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = DiscoveryCacheProperties.PREFIX, name = "services-file")
+	public ServicesFileWatcher servicesFileWatcher(DiscoveryCacheProperties properties,
+			McpRouterProperties routerProperties, DiscoveryCachePostProcessor discoveryCachePostProcessor) {
+		return new ServicesFileWatcher(Path.of(properties.getServicesFile()), routerProperties,
+				discoveryCachePostProcessor::invalidateAll);
+	}
+
+}
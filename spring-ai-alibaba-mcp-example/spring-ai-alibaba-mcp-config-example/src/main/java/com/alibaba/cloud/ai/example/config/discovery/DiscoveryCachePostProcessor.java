@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.config.discovery;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.alibaba.cloud.ai.mcp.router.core.discovery.McpServiceDiscovery;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * 把容器中已有的 {@link McpServiceDiscovery} bean（路由自动配置创建的实现）原地替换为 {@link CachedMcpServiceDiscovery}，
+ * 所有按接口注入发现服务的地方（包括路由的工具调用）都会走缓存，且不依赖被包装 bean 的注册条件
+ */
+public class DiscoveryCachePostProcessor implements BeanPostProcessor {
+
+	private final ObjectProvider<DiscoveryCacheProperties> properties;
+
+	private final List<CachedMcpServiceDiscovery> caches = new CopyOnWriteArrayList<>();
+
+	public DiscoveryCachePostProcessor(ObjectProvider<DiscoveryCacheProperties> properties) {
+		this.properties = properties;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (bean instanceof McpServiceDiscovery discovery && !(bean instanceof CachedMcpServiceDiscovery)) {
+			CachedMcpServiceDiscovery cache = new CachedMcpServiceDiscovery(discovery, properties.getObject());
+			caches.add(cache);
+			return cache;
+		}
+		return bean;
+	}
+
+	/**
+	 * 清空所有已创建的发现缓存，在发现源变更时调用
+	 */
+	public void invalidateAll() {
+		caches.forEach(CachedMcpServiceDiscovery::invalidateAll);
+	}
+
+}
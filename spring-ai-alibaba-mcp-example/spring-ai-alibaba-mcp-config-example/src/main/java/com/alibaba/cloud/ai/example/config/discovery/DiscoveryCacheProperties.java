@@ -0,0 +1,110 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.config.discovery;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 服务发现本地缓存配置
+ */
+@ConfigurationProperties(prefix = DiscoveryCacheProperties.PREFIX)
+public class DiscoveryCacheProperties {
+
+	public static final String PREFIX = "mcp.discovery-cache";
+
+	/**
+	 * 后台刷新已缓存服务的间隔，应小于 maxStaleness，保证热点服务不会在调用路径上过期
+	 */
+	private Duration refreshInterval = Duration.ofSeconds(30);
+
+	/**
+	 * 缓存条目的最大陈旧时间，超过后读取会同步访问发现源（例如后台刷新持续失败时）
+	 */
+	private Duration maxStaleness = Duration.ofSeconds(60);
+
+	/**
+	 * 未找到服务的结果缓存时间
+	 */
+	private Duration negativeTtl = Duration.ofSeconds(10);
+
+	/**
+	 * 超过该时间未被读取的条目不再后台刷新并从缓存中移除
+	 */
+	private Duration expireAfterIdle = Duration.ofMinutes(10);
+
+	/**
+	 * 缓存的最大服务数，超过后淘汰最久未读取的条目
+	 */
+	private int maxEntries = 1024;
+
+	/**
+	 * 可选的外部服务列表文件（结构同 application.yml 中的 spring.ai.alibaba.mcp.router.services），
+	 * 文件变更时重新加载文件配置并清空缓存
+	 */
+	private String servicesFile;
+
+	public Duration getRefreshInterval() {
+		return refreshInterval;
+	}
+
+	public void setRefreshInterval(Duration refreshInterval) {
+		this.refreshInterval = refreshInterval;
+	}
+
+	public Duration getMaxStaleness() {
+		return maxStaleness;
+	}
+
+	public void setMaxStaleness(Duration maxStaleness) {
+		this.maxStaleness = maxStaleness;
+	}
+
+	public Duration getNegativeTtl() {
+		return negativeTtl;
+	}
+
+	public void setNegativeTtl(Duration negativeTtl) {
+		this.negativeTtl = negativeTtl;
+	}
+
+	public Duration getExpireAfterIdle() {
+		return expireAfterIdle;
+	}
+
+	public void setExpireAfterIdle(Duration expireAfterIdle) {
+		this.expireAfterIdle = expireAfterIdle;
+	}
+
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	public void setMaxEntries(int maxEntries) {
+		this.maxEntries = maxEntries;
+	}
+
+	public String getServicesFile() {
+		return servicesFile;
+	}
+
+	public void setServicesFile(String servicesFile) {
+		this.servicesFile = servicesFile;
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.config.discovery;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+
+import com.alibaba.cloud.ai.mcp.router.config.McpRouterProperties;
+import com.alibaba.cloud.ai.mcp.router.model.McpServerInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+
+/**
+ * 监听外部服务列表文件：启动时加载一次，文件变更后重新绑定 {@link McpRouterProperties} 的服务列表并清空发现缓存
+ */
+public class ServicesFileWatcher implements InitializingBean, DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(ServicesFileWatcher.class);
+
+	private static final String SERVICES_KEY = "spring.ai.alibaba.mcp.router.services";
+
+	private final Path file;
+
+	private final McpRouterProperties routerProperties;
+
+	private final Runnable onReload;
+
+	private WatchService watchService;
+
+	private Thread watcher;
+
+	/**
+	 * @param onReload 服务列表重新加载后的回调，用于清空发现缓存
+	 */
+	public ServicesFileWatcher(Path file, McpRouterProperties routerProperties, Runnable onReload) {
+		this.file = file.toAbsolutePath().normalize();
+		this.routerProperties = routerProperties;
+		this.onReload = onReload;
+	}
+
+	@Override
+	public void afterPropertiesSet() throws IOException {
+		reload();
+		watchService = FileSystems.getDefault().newWatchService();
+		file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+				StandardWatchEventKinds.ENTRY_MODIFY);
+		watcher = new Thread(this::watch, "mcp-services-file-watcher");
+		watcher.setDaemon(true);
+		watcher.start();
+	}
+
+	void reload() {
+		try {
+			List<PropertySource<?>> sources = new YamlPropertySourceLoader().load(file.getFileName().toString(),
+					new FileSystemResource(file));
+			List<McpServerInfo> services = new Binder(ConfigurationPropertySources.from(sources))
+				.bind(SERVICES_KEY, Bindable.listOf(McpServerInfo.class))
+				.orElse(List.of());
+			routerProperties.setServices(services);
+			onReload.run();
+			log.info("已从 {} 加载 {} 个 MCP 服务配置", file, services.size());
+		}
+		catch (IOException | RuntimeException e) {
+			// 文件写到一半或格式错误时保留当前配置，等待下一次变更
+			log.warn("加载服务列表文件 {} 失败: {}", file, e.getMessage());
+		}
+	}
+
+	private void watch() {
+		try {
+			while (true) {
+				WatchKey key = watchService.take();
+				boolean changed = false;
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (event.context() instanceof Path changedPath && changedPath.equals(file.getFileName())) {
+						changed = true;
+					}
+				}
+				key.reset();
+				if (changed) {
+					reload();
+				}
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		catch (ClosedWatchServiceException e) {
+			// 应用关闭
+		}
+	}
+
+	@Override
+	public void destroy() throws IOException {
+		if (watchService != null) {
+			watchService.close();
+		}
+	}
+
+}
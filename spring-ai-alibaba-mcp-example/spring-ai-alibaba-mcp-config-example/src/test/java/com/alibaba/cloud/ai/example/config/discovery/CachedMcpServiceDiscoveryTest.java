@@ -0,0 +1,193 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.config.discovery;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.alibaba.cloud.ai.mcp.router.core.discovery.McpServiceDiscovery;
+import com.alibaba.cloud.ai.mcp.router.model.McpServerInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedMcpServiceDiscoveryTest {
+
+	private final AtomicLong clock = new AtomicLong();
+
+	private final CountingDiscovery source = new CountingDiscovery();
+
+	private CachedMcpServiceDiscovery discovery;
+
+	@BeforeEach
+	void setUp() {
+		source.services.put("a", new McpServerInfo());
+		source.services.put("b", new McpServerInfo());
+		source.services.put("c", new McpServerInfo());
+		discovery = new CachedMcpServiceDiscovery(source, properties(), clock::get);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		discovery.destroy();
+	}
+
+	@Test
+	void entryIsServedFromCacheUntilMaxStaleness() {
+		McpServerInfo first = discovery.getService("a");
+		advanceSeconds(59);
+		assertThat(discovery.getService("a")).isSameAs(first);
+		assertThat(source.loads("a")).isEqualTo(1);
+
+		advanceSeconds(1);
+		discovery.getService("a");
+		assertThat(source.loads("a")).isEqualTo(2);
+	}
+
+	@Test
+	void missIsCachedForNegativeTtl() {
+		assertThat(discovery.getService("missing")).isNull();
+		advanceSeconds(9);
+		assertThat(discovery.getService("missing")).isNull();
+		assertThat(source.loads("missing")).isEqualTo(1);
+
+		// 负缓存过期后重新回源，新注册的服务可以被发现
+		source.services.put("missing", new McpServerInfo());
+		advanceSeconds(1);
+		assertThat(discovery.getService("missing")).isNotNull();
+		assertThat(source.loads("missing")).isEqualTo(2);
+	}
+
+	@Test
+	void leastRecentlyReadEntryIsEvictedAboveMaxEntries() {
+		discovery.getService("a");
+		advanceSeconds(1);
+		discovery.getService("b");
+		advanceSeconds(1);
+		// a 比 b 更近被读取，新增 c 时淘汰 b
+		discovery.getService("a");
+		advanceSeconds(1);
+		discovery.getService("c");
+		assertThat(discovery.size()).isEqualTo(2);
+
+		discovery.getService("a");
+		discovery.getService("c");
+		assertThat(source.loads("a")).isEqualTo(1);
+		assertThat(source.loads("c")).isEqualTo(1);
+		discovery.getService("b");
+		assertThat(source.loads("b")).isEqualTo(2);
+	}
+
+	@Test
+	void invalidatedEntriesAreReloaded() {
+		discovery.getService("a");
+		discovery.getService("b");
+
+		discovery.invalidate("a");
+		discovery.getService("a");
+		discovery.getService("b");
+		assertThat(source.loads("a")).isEqualTo(2);
+		assertThat(source.loads("b")).isEqualTo(1);
+
+		discovery.invalidateAll();
+		assertThat(discovery.size()).isZero();
+		discovery.getService("b");
+		assertThat(source.loads("b")).isEqualTo(2);
+	}
+
+	@Test
+	void refreshReloadsReadEntriesAndDropsIdleOnes() {
+		discovery.getService("a");
+		discovery.getService("b");
+		advanceSeconds(30);
+		discovery.getService("a");
+
+		// b 自上次读取起已空闲 10 分钟：刷新时移除；a 被刷新，之后的读取不再回源
+		advanceSeconds(570);
+		discovery.refreshAll();
+		assertThat(discovery.size()).isEqualTo(1);
+		assertThat(source.loads("a")).isEqualTo(2);
+		assertThat(source.loads("b")).isEqualTo(1);
+
+		advanceSeconds(59);
+		discovery.getService("a");
+		assertThat(source.loads("a")).isEqualTo(2);
+	}
+
+	@Test
+	void postProcessorWrapsDiscoveryBeansOnce() {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerSingleton("discoveryCacheProperties", properties());
+		DiscoveryCachePostProcessor postProcessor = new DiscoveryCachePostProcessor(
+				beanFactory.getBeanProvider(DiscoveryCacheProperties.class));
+
+		Object wrapped = postProcessor.postProcessAfterInitialization(source, "mcpServiceDiscovery");
+		assertThat(wrapped).isInstanceOf(CachedMcpServiceDiscovery.class);
+		assertThat(((CachedMcpServiceDiscovery) wrapped).getDelegate()).isSameAs(source);
+		assertThat(postProcessor.postProcessAfterInitialization(wrapped, "mcpServiceDiscovery")).isSameAs(wrapped);
+		Object other = new Object();
+		assertThat(postProcessor.postProcessAfterInitialization(other, "other")).isSameAs(other);
+
+		CachedMcpServiceDiscovery cache = (CachedMcpServiceDiscovery) wrapped;
+		try {
+			cache.getService("a");
+			postProcessor.invalidateAll();
+			assertThat(cache.size()).isZero();
+		}
+		finally {
+			cache.destroy();
+		}
+	}
+
+	private static DiscoveryCacheProperties properties() {
+		DiscoveryCacheProperties properties = new DiscoveryCacheProperties();
+		properties.setMaxStaleness(Duration.ofSeconds(60));
+		properties.setNegativeTtl(Duration.ofSeconds(10));
+		properties.setExpireAfterIdle(Duration.ofMinutes(10));
+		properties.setMaxEntries(2);
+		return properties;
+	}
+
+	private void advanceSeconds(long seconds) {
+		clock.addAndGet(Duration.ofSeconds(seconds).toNanos());
+	}
+
+	private static final class CountingDiscovery implements McpServiceDiscovery {
+
+		private final Map<String, McpServerInfo> services = new HashMap<>();
+
+		private final Map<String, Integer> loads = new HashMap<>();
+
+		@Override
+		public synchronized McpServerInfo getService(String serviceName) {
+			loads.merge(serviceName, 1, Integer::sum);
+			return services.get(serviceName);
+		}
+
+		synchronized int loads(String serviceName) {
+			return loads.getOrDefault(serviceName, 0);
+		}
+
+	}
+
+}
@@ -18,9 +18,9 @@ package org.springframework.ai.mcp.samples.sqlite;
 
 import java.nio.file.Paths;
 import java.time.Duration;
-import java.util.List;
 import java.util.Scanner;
 
+import com.alibaba.cloud.ai.mcp.common.client.CachingMcpToolCallbackProvider;
 import io.modelcontextprotocol.client.McpClient;
 import io.modelcontextprotocol.client.McpSyncClient;
 import io.modelcontextprotocol.client.transport.ServerParameters;
@@ -30,7 +30,6 @@ import io.modelcontextprotocol.json.McpJsonMapper;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
 import org.springframework.ai.chat.memory.MessageWindowChatMemory;
-import org.springframework.ai.mcp.SyncMcpToolCallbackProvider;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -46,12 +45,12 @@ public class Application {
 
 	@Bean
 	public CommandLineRunner interactiveChat(ChatClient.Builder chatClientBuilder,
-			List<McpSyncClient> mcpClients,
+			CachingMcpToolCallbackProvider mcpToolCallbacks,
 			ConfigurableApplicationContext context) {
 		return args -> {
 
 			var chatClient = chatClientBuilder
-					.defaultToolCallbacks(new SyncMcpToolCallbackProvider(mcpClients))
+					.defaultToolCallbacks(mcpToolCallbacks)
 					.defaultAdvisors(MessageChatMemoryAdvisor.builder(MessageWindowChatMemory.builder().build()).build())
 					.build();
 
@@ -80,8 +79,13 @@ public class Application {
 	}
 
 
+	@Bean
+	public CachingMcpToolCallbackProvider mcpToolCallbacks() {
+		return new CachingMcpToolCallbackProvider();
+	}
+
 	@Bean(destroyMethod = "close")
-	public McpSyncClient mcpClient() {
+	public McpSyncClient mcpClient(CachingMcpToolCallbackProvider mcpToolCallbacks) {
 
 		// Windows 需要替换 uvx.exe
 		var stdioParams = ServerParameters.builder("uvx")
@@ -89,12 +93,11 @@ public class Application {
 						getDbPath())
 				.build();
 
-		var mcpClient = McpClient.sync(new StdioClientTransport(stdioParams, McpJsonMapper.getDefault()))
-				.requestTimeout(Duration.ofSeconds(10)).build();
-
-		var init = mcpClient.initialize();
+		// 工具列表只在连接时获取一次，之后随 tools/list_changed 通知更新
+		var mcpClient = mcpToolCallbacks.connect(McpClient.sync(new StdioClientTransport(stdioParams, McpJsonMapper.getDefault()))
+				.requestTimeout(Duration.ofSeconds(10)));
 
-		System.out.println("MCP Initialized: " + init);
+		System.out.println("MCP Initialized: " + mcpClient.getServerInfo());
 
 		return mcpClient;
 
@@ -18,8 +18,8 @@ package com.alibaba.cloud.ai.mcp.samples.sqlite;
 
 import java.nio.file.Paths;
 import java.time.Duration;
-import java.util.List;
 
+import com.alibaba.cloud.ai.mcp.common.client.CachingMcpToolCallbackProvider;
 import io.modelcontextprotocol.client.McpClient;
 import io.modelcontextprotocol.client.McpSyncClient;
 import io.modelcontextprotocol.client.transport.ServerParameters;
@@ -27,7 +27,6 @@ import io.modelcontextprotocol.client.transport.StdioClientTransport;
 
 import io.modelcontextprotocol.json.McpJsonMapper;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.mcp.SyncMcpToolCallbackProvider;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -43,11 +42,11 @@ public class Application {
 
 	@Bean
 	public CommandLineRunner predefinedQuestions(ChatClient.Builder chatClientBuilder,
-			List<McpSyncClient> mcpClients, ConfigurableApplicationContext context) {
+			CachingMcpToolCallbackProvider mcpToolCallbacks, ConfigurableApplicationContext context) {
 
 		return args -> {
 			var chatClient = chatClientBuilder
-					.defaultToolCallbacks(new SyncMcpToolCallbackProvider(mcpClients))
+					.defaultToolCallbacks(mcpToolCallbacks)
 					.build();
 			System.out.println("Running predefined questions with AI model responses:\n");
 
@@ -77,8 +76,13 @@ public class Application {
 		};
 	}
 
+	@Bean
+	public CachingMcpToolCallbackProvider mcpToolCallbacks() {
+		return new CachingMcpToolCallbackProvider();
+	}
+
 	@Bean(destroyMethod = "close")
-	public McpSyncClient mcpClient() {
+	public McpSyncClient mcpClient(CachingMcpToolCallbackProvider mcpToolCallbacks) {
 
 		// Windows 系统需要修改
 		var stdioParams = ServerParameters.builder("uvx")
@@ -86,12 +90,11 @@ public class Application {
 						getDbPath())
 				.build();
 
-		var mcpClient = McpClient.sync(new StdioClientTransport(stdioParams, McpJsonMapper.getDefault()))
-				.requestTimeout(Duration.ofSeconds(10)).build();
-
-		var init = mcpClient.initialize();
+		// 工具列表只在连接时获取一次，之后随 tools/list_changed 通知更新
+		var mcpClient = mcpToolCallbacks.connect(McpClient.sync(new StdioClientTransport(stdioParams, McpJsonMapper.getDefault()))
+				.requestTimeout(Duration.ofSeconds(10)));
 
-		System.out.println("MCP Initialized: " + init);
+		System.out.println("MCP Initialized: " + mcpClient.getServerInfo());
 
 		return mcpClient;
 
@@ -3,6 +3,7 @@ package com.alibaba.cloud.ai;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.tool.ToolCallback;
 import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
@@ -25,9 +26,11 @@ public class NacosDistributedMcpClientApplication {
 
     @Bean
     public CommandLineRunner predefinedQuestions(ChatClient.Builder chatClientBuilder, @Qualifier("distributedAsyncToolCallback") ToolCallbackProvider tools,
+                                                 @Qualifier("loadBalancedToolCallbacks") ObjectProvider<ToolCallbackProvider> loadBalancedTools,
                                                  ConfigurableApplicationContext context) {
 
-        ToolCallback[] toolCallbacks = tools.getToolCallbacks();
+        // 开启 mcp.load-balancer.enabled 时使用客户端负载均衡的工具回调
+        ToolCallback[] toolCallbacks = loadBalancedTools.getIfAvailable(() -> tools).getToolCallbacks();
         System.out.println(">>> Available tools: ");
         for (int i = 0; i < toolCallbacks.length; i++) {
             System.out.println("[" + i + "] " + toolCallbacks[i].getToolDefinition().name());
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.lb;
+
+import java.util.List;
+
+/**
+ * MCP Server 实例地址来源
+ */
+public interface InstanceSource {
+
+    /**
+     * @return 当前可用实例的基础地址，如 http://127.0.0.1:18081
+     */
+    List<String> endpoints();
+
+    static InstanceSource of(List<String> endpoints) {
+        List<String> copy = List.copyOf(endpoints);
+        return () -> copy;
+    }
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.lb;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.transport.WebClientStreamableHttpTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * 面向一组同名 MCP Server 实例的客户端负载均衡。
+ * <p>
+ * 每个实例只建立一次 MCP 会话并在后续调用中复用；每次调用按 {@link McpLoadBalancerProperties.Strategy}
+ * 选择实例，并记录延迟和结果用于 EWMA 与熔断。实例列表由 {@link InstanceSource} 定时刷新，下线的实例会被关闭。
+ */
+public class LoadBalancedMcpClient implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadBalancedMcpClient.class);
+
+    private final McpLoadBalancerProperties properties;
+
+    private final InstanceSource instanceSource;
+
+    private final McpInstanceBalancer balancer;
+
+    private volatile List<McpInstance> instances = List.of();
+
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "mcp-lb-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LoadBalancedMcpClient(McpLoadBalancerProperties properties, InstanceSource instanceSource) {
+        this.properties = properties;
+        this.instanceSource = instanceSource;
+        this.balancer = new McpInstanceBalancer(properties.getStrategy());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        refresh();
+        long interval = properties.getRefreshInterval().toMillis();
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 从任一可用实例获取工具列表，同一服务的实例提供相同的工具。
+     * 选中的可能是熔断到期的探测实例，结果同样要记录，否则探测名额不会释放、熔断永远不会结束
+     */
+    public List<McpSchema.Tool> listTools() {
+        McpInstance instance = balancer.choose(instances, System.nanoTime());
+        return invoke(instance, client -> client.listTools()).tools();
+    }
+
+    public McpSchema.CallToolResult callTool(McpSchema.CallToolRequest request) {
+        McpInstance instance = balancer.choose(instances, System.nanoTime());
+        instance.calls.increment();
+        // 工具返回 isError 是业务错误，不计入实例故障
+        return invoke(instance, client -> client.callTool(request));
+    }
+
+    private <T> T invoke(McpInstance instance, Function<McpAsyncClient, Mono<T>> call) {
+        instance.outstanding.incrementAndGet();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = call.apply(instance.client()).block(properties.getRequestTimeout());
+            failed = false;
+            return result;
+        }
+        finally {
+            long end = System.nanoTime();
+            long latency = end - start;
+            instance.outstanding.decrementAndGet();
+            boolean slow = latency > properties.getSlowCallThreshold().toNanos();
+            instance.record(start, failed || slow, end);
+            if (instance.isOpen() && (failed || slow)) {
+                logger.debug("MCP instance {} is open after a {} call of {} ms", instance.url(),
+                        failed ? "failed" : "slow", TimeUnit.NANOSECONDS.toMillis(latency));
+            }
+        }
+    }
+
+    /**
+     * @return 各实例当前的调用次数、在途请求数、EWMA 延迟与熔断状态
+     */
+    public List<InstanceStats> stats() {
+        List<InstanceStats> stats = new ArrayList<>();
+        long now = System.nanoTime();
+        for (McpInstance instance : instances) {
+            stats.add(new InstanceStats(instance.url(), instance.calls.sum(), instance.outstanding.get(),
+                    instance.ewmaNanos(now) / 1_000_000d, instance.isOpen()));
+        }
+        return stats;
+    }
+
+    synchronized void refresh() {
+        Map<String, McpInstance> current = new LinkedHashMap<>();
+        for (McpInstance instance : instances) {
+            current.put(instance.url(), instance);
+        }
+
+        List<McpInstance> next = new ArrayList<>();
+        for (String url : instanceSource.endpoints()) {
+            McpInstance existing = current.remove(url);
+            if (existing != null) {
+                next.add(existing);
+                continue;
+            }
+            try {
+                next.add(new McpInstance(url, connect(url), properties));
+                logger.info("MCP instance {} added", url);
+            }
+            catch (RuntimeException e) {
+                logger.warn("Failed to connect MCP instance {}: {}", url, e.getMessage());
+            }
+        }
+        this.instances = List.copyOf(next);
+
+        // 先切换列表再关闭，正在使用旧实例的调用在会话关闭前完成
+        for (McpInstance removed : current.values()) {
+            logger.info("MCP instance {} removed", removed.url());
+            removed.close();
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        }
+        catch (RuntimeException e) {
+            logger.warn("Failed to refresh MCP instances, keep {} known instances: {}", instances.size(),
+                    e.getMessage());
+        }
+    }
+
+    private McpAsyncClient connect(String url) {
+        WebClientStreamableHttpTransport transport = WebClientStreamableHttpTransport
+                .builder(WebClient.builder().baseUrl(url))
+                .endpoint(properties.getMcpEndpoint())
+                .build();
+        McpAsyncClient client = McpClient.async(transport)
+                .requestTimeout(properties.getRequestTimeout())
+                .initializationTimeout(properties.getRequestTimeout())
+                .build();
+        try {
+            client.initialize().block(properties.getRequestTimeout());
+        }
+        catch (RuntimeException e) {
+            client.close();
+            throw e;
+        }
+        return client;
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+        instances.forEach(McpInstance::close);
+    }
+
+    public record InstanceStats(String url, long calls, int outstanding, double ewmaMillis, boolean open) {
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.lb;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+
+/**
+ * 首次使用时才从实例获取工具列表，启动时还没有注册实例也不会导致应用启动失败；
+ * 获取失败时返回空列表，下次调用再重试，获取成功后缓存结果
+ */
+public class LoadBalancedToolCallbackProvider implements ToolCallbackProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadBalancedToolCallbackProvider.class);
+
+    private final LoadBalancedMcpClient client;
+
+    private volatile ToolCallback[] callbacks;
+
+    public LoadBalancedToolCallbackProvider(LoadBalancedMcpClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public ToolCallback[] getToolCallbacks() {
+        ToolCallback[] resolved = callbacks;
+        if (resolved != null) {
+            return resolved;
+        }
+        synchronized (this) {
+            if (callbacks == null) {
+                try {
+                    callbacks = client.listTools()
+                            .stream()
+                            .map(tool -> new LoadBalancedMcpToolCallback(client, tool))
+                            .toArray(ToolCallback[]::new);
+                }
+                catch (RuntimeException e) {
+                    logger.warn("Failed to list tools of load balanced MCP instances, retry on next use: {}",
+                            e.getMessage());
+                    return new ToolCallback[0];
+                }
+            }
+            return callbacks;
+        }
+    }
+
+}
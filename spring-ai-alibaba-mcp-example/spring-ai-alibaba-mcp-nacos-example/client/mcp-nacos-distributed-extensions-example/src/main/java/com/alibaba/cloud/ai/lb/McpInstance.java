@@ -0,0 +1,165 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.lb;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.modelcontextprotocol.client.McpAsyncClient;
+
+/**
+ * 一个 MCP Server 实例：复用的长连接客户端、在途请求数、EWMA 延迟以及熔断状态。
+ * <p>
+ * EWMA 在读取时按距上次采样的时间衰减，偶尔变慢后不再被选中的实例也会逐渐恢复代价、重新获得流量。
+ */
+final class McpInstance {
+
+    private final String url;
+
+    private final McpAsyncClient client;
+
+    private final long ewmaDecayNanos;
+
+    private final int failureThreshold;
+
+    private final long openNanos;
+
+    final AtomicInteger outstanding = new AtomicInteger();
+
+    final LongAdder calls = new LongAdder();
+
+    private volatile double ewmaNanos;
+
+    private volatile long lastSampleNanos;
+
+    private int consecutiveFailures;
+
+    /**
+     * 熔断结束时间，0 表示未熔断
+     */
+    private volatile long openUntil;
+
+    /**
+     * 最近一次熔断的时间，早于该时间开始的调用不再影响熔断状态
+     */
+    private long openedAt;
+
+    private boolean probing;
+
+    McpInstance(String url, McpAsyncClient client, McpLoadBalancerProperties properties) {
+        this.url = url;
+        this.client = client;
+        this.ewmaDecayNanos = properties.getEwmaDecay().toNanos();
+        this.failureThreshold = properties.getFailureThreshold();
+        this.openNanos = properties.getOpenDuration().toNanos();
+    }
+
+    String url() {
+        return url;
+    }
+
+    McpAsyncClient client() {
+        return client;
+    }
+
+    /**
+     * @return 衰减到 now 的 EWMA 延迟
+     */
+    double ewmaNanos(long now) {
+        long last = lastSampleNanos;
+        if (last == 0) {
+            return 0;
+        }
+        long idle = now - last;
+        return idle <= 0 ? ewmaNanos : ewmaNanos * Math.exp(-(double) idle / ewmaDecayNanos);
+    }
+
+    long openUntil() {
+        return openUntil;
+    }
+
+    boolean isOpen() {
+        return openUntil != 0;
+    }
+
+    /**
+     * 未熔断，或熔断已到期且还没有探测调用在进行
+     */
+    synchronized boolean isCallable(long now) {
+        return openUntil == 0 || isProbeDue(now);
+    }
+
+    /**
+     * 熔断已到期且还没有探测调用在进行
+     */
+    synchronized boolean isProbeDue(long now) {
+        return openUntil != 0 && now - openUntil >= 0 && !probing;
+    }
+
+    /**
+     * 占用该实例；熔断到期的实例只放行一次探测调用
+     */
+    synchronized boolean tryAcquire(long now) {
+        if (openUntil == 0) {
+            return true;
+        }
+        if (now - openUntil >= 0 && !probing) {
+            probing = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param startNanos 调用开始时间
+     * @param now 调用结束时间
+     */
+    synchronized void record(long startNanos, boolean failed, long now) {
+        long latencyNanos = now - startNanos;
+        if (lastSampleNanos == 0) {
+            ewmaNanos = latencyNanos;
+        }
+        else {
+            // 按距上次采样的时间衰减旧值，长时间没有调用的实例会较快“忘掉”历史延迟
+            double weight = Math.exp(-(double) (now - lastSampleNanos) / ewmaDecayNanos);
+            ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+        }
+        lastSampleNanos = now;
+
+        // 熔断前就已发出的调用只更新延迟，不能关闭熔断，也不能占用探测名额
+        if (openUntil != 0 && startNanos - openedAt < 0) {
+            return;
+        }
+        if (failed) {
+            consecutiveFailures++;
+            if (probing || consecutiveFailures >= failureThreshold) {
+                openedAt = now;
+                openUntil = now + openNanos;
+            }
+        }
+        else {
+            consecutiveFailures = 0;
+            openUntil = 0;
+        }
+        probing = false;
+    }
+
+    void close() {
+        client.closeGracefully().subscribe(null, e -> client.close());
+    }
+
+}
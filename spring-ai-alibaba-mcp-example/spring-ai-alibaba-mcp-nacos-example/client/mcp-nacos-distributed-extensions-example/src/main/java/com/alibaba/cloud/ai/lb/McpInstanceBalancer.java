@@ -0,0 +1,93 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.lb;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.alibaba.cloud.ai.lb.McpLoadBalancerProperties.Strategy;
+
+/**
+ * 从实例列表中挑选一个实例：熔断到期的实例优先放行一次探测调用，否则跳过熔断中的实例，
+ * 按策略计算代价取最小值，代价相同时从随机位置开始扫描以打散请求。
+ */
+final class McpInstanceBalancer {
+
+    private final Strategy strategy;
+
+    McpInstanceBalancer(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    McpInstance choose(List<McpInstance> instances, long now) {
+        int size = instances.size();
+        if (size == 0) {
+            throw new IllegalStateException("No MCP server instance available");
+        }
+
+        int offset = ThreadLocalRandom.current().nextInt(size);
+        // 熔断到期的实例代价往往不是最低，不主动放行的话探测永远不会发生，熔断也不会结束
+        for (int i = 0; i < size; i++) {
+            McpInstance instance = instances.get((offset + i) % size);
+            if (instance.isProbeDue(now) && instance.tryAcquire(now)) {
+                return instance;
+            }
+        }
+
+        for (int attempt = 0; attempt < size; attempt++) {
+            McpInstance best = null;
+            double bestCost = Double.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                McpInstance instance = instances.get((offset + i) % size);
+                if (!instance.isCallable(now)) {
+                    continue;
+                }
+                double cost = cost(instance, now);
+                if (best == null || cost < bestCost) {
+                    best = instance;
+                    bestCost = cost;
+                }
+            }
+            if (best == null) {
+                break;
+            }
+            // 并发下熔断探测名额可能已被占用，重新选择
+            if (best.tryAcquire(now)) {
+                return best;
+            }
+        }
+
+        // 所有实例都在熔断中时选择最早恢复的实例，宁可慢也不直接失败
+        McpInstance earliest = instances.get(0);
+        for (McpInstance instance : instances) {
+            if (instance.openUntil() - earliest.openUntil() < 0) {
+                earliest = instance;
+            }
+        }
+        return earliest;
+    }
+
+    private double cost(McpInstance instance, long now) {
+        int outstanding = instance.outstanding.get();
+        return switch (strategy) {
+            case LEAST_OUTSTANDING -> outstanding;
+            // 尚无采样的实例 EWMA 为 0，会优先获得流量以完成预热
+            case EWMA -> instance.ewmaNanos(now) * (outstanding + 1);
+        };
+    }
+
+}
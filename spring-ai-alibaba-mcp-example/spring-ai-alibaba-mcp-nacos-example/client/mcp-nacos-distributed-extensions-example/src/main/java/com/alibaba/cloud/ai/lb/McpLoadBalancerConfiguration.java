@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.lb;
+
+import java.util.Properties;
+
+import com.alibaba.nacos.api.NacosFactory;
+import com.alibaba.nacos.api.PropertyKeyConst;
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.NamingService;
+
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 开启 mcp.load-balancer.enabled 后注册 loadBalancedToolCallbacks；
+ * 配置了 static-instances 时直接使用静态地址，否则从 Nacos 发现实例；工具列表在首次使用时才获取
+ */
+@Configuration
+@EnableConfigurationProperties(McpLoadBalancerProperties.class)
+@ConditionalOnProperty(prefix = McpLoadBalancerProperties.PREFIX, name = "enabled", havingValue = "true")
+public class McpLoadBalancerConfiguration {
+
+    @Bean
+    public InstanceSource mcpInstanceSource(McpLoadBalancerProperties properties,
+            @Value("${spring.ai.alibaba.mcp.nacos.client.configs.server1.server-addr:127.0.0.1:8848}") String serverAddr,
+            @Value("${spring.ai.alibaba.mcp.nacos.client.configs.server1.namespace:}") String namespace,
+            @Value("${spring.ai.alibaba.mcp.nacos.client.configs.server1.username:}") String username,
+            @Value("${spring.ai.alibaba.mcp.nacos.client.configs.server1.password:}") String password)
+            throws NacosException {
+        if (!properties.getStaticInstances().isEmpty()) {
+            return InstanceSource.of(properties.getStaticInstances());
+        }
+
+        Properties nacosProperties = new Properties();
+        nacosProperties.put(PropertyKeyConst.SERVER_ADDR, serverAddr);
+        nacosProperties.put(PropertyKeyConst.NAMESPACE, namespace);
+        nacosProperties.put(PropertyKeyConst.USERNAME, username);
+        nacosProperties.put(PropertyKeyConst.PASSWORD, password);
+        NamingService namingService = NacosFactory.createNamingService(nacosProperties);
+        return new NacosInstanceSource(namingService, properties.getServiceName(), properties.getGroupName());
+    }
+
+    @Bean
+    public LoadBalancedMcpClient loadBalancedMcpClient(McpLoadBalancerProperties properties,
+            InstanceSource mcpInstanceSource) {
+        return new LoadBalancedMcpClient(properties, mcpInstanceSource);
+    }
+
+    @Bean
+    public ToolCallbackProvider loadBalancedToolCallbacks(LoadBalancedMcpClient loadBalancedMcpClient) {
+        return new LoadBalancedToolCallbackProvider(loadBalancedMcpClient);
+    }
+
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.lb;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * MCP 客户端负载均衡配置
+ */
+@ConfigurationProperties(prefix = McpLoadBalancerProperties.PREFIX)
+public class McpLoadBalancerProperties {
+
+    public static final String PREFIX = "mcp.load-balancer";
+
+    /**
+     * 是否启用客户端负载均衡，启用后使用 loadBalancedToolCallbacks 代替 distributedAsyncToolCallback
+     */
+    private boolean enabled = false;
+
+    /**
+     * 实例选择策略
+     */
+    private Strategy strategy = Strategy.EWMA;
+
+    /**
+     * 静态实例地址，如 http://127.0.0.1:18081；配置后不再从 Nacos 获取实例，便于本地测试
+     */
+    private List<String> staticInstances = new ArrayList<>();
+
+    /**
+     * Nacos 中 MCP Server 端点的服务名
+     */
+    private String serviceName = "webflux-mcp-server::1.0.0";
+
+    /**
+     * Nacos 中 MCP Server 端点的分组
+     */
+    private String groupName = "mcp-endpoints";
+
+    /**
+     * MCP Server 的 streamable 端点路径
+     */
+    private String mcpEndpoint = "/mcp";
+
+    /**
+     * 实例列表刷新间隔
+     */
+    private Duration refreshInterval = Duration.ofSeconds(10);
+
+    /**
+     * 单次工具调用超时时间
+     */
+    private Duration requestTimeout = Duration.ofSeconds(30);
+
+    /**
+     * EWMA 延迟的衰减时间常数，越小越快反映最近的延迟变化
+     */
+    private Duration ewmaDecay = Duration.ofSeconds(10);
+
+    /**
+     * 超过该耗时的调用按失败计入熔断统计
+     */
+    private Duration slowCallThreshold = Duration.ofSeconds(5);
+
+    /**
+     * 连续失败（含慢调用）多少次后熔断该实例
+     */
+    private int failureThreshold = 3;
+
+    /**
+     * 熔断持续时间，之后放行一次探测调用
+     */
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    public enum Strategy {
+
+        /**
+         * 在途请求数最少
+         */
+        LEAST_OUTSTANDING,
+
+        /**
+         * EWMA 延迟乘以（在途请求数 + 1）最小
+         */
+        EWMA
+
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public List<String> getStaticInstances() {
+        return staticInstances;
+    }
+
+    public void setStaticInstances(List<String> staticInstances) {
+        this.staticInstances = staticInstances;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public void setServiceName(String serviceName) {
+        this.serviceName = serviceName;
+    }
+
+    public String getGroupName() {
+        return groupName;
+    }
+
+    public void setGroupName(String groupName) {
+        this.groupName = groupName;
+    }
+
+    public String getMcpEndpoint() {
+        return mcpEndpoint;
+    }
+
+    public void setMcpEndpoint(String mcpEndpoint) {
+        this.mcpEndpoint = mcpEndpoint;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    public Duration getEwmaDecay() {
+        return ewmaDecay;
+    }
+
+    public void setEwmaDecay(Duration ewmaDecay) {
+        this.ewmaDecay = ewmaDecay;
+    }
+
+    public Duration getSlowCallThreshold() {
+        return slowCallThreshold;
+    }
+
+    public void setSlowCallThreshold(Duration slowCallThreshold) {
+        this.slowCallThreshold = slowCallThreshold;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    public void setOpenDuration(Duration openDuration) {
+        this.openDuration = openDuration;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.lb;
+
+import java.util.List;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.naming.NamingService;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+
+/**
+ * 从 Nacos 获取健康实例。selectInstances 读取的是 Nacos 客户端本地缓存（服务端变更时推送更新），
+ * 定时刷新不会每次都访问 Nacos 服务端。
+ */
+public class NacosInstanceSource implements InstanceSource {
+
+    private final NamingService namingService;
+
+    private final String serviceName;
+
+    private final String groupName;
+
+    public NacosInstanceSource(NamingService namingService, String serviceName, String groupName) {
+        this.namingService = namingService;
+        this.serviceName = serviceName;
+        this.groupName = groupName;
+    }
+
+    @Override
+    public List<String> endpoints() {
+        try {
+            List<Instance> instances = namingService.selectInstances(serviceName, groupName, true);
+            return instances.stream()
+                    .filter(Instance::isEnabled)
+                    .map(instance -> "http://" + instance.getIp() + ":" + instance.getPort())
+                    .toList();
+        }
+        catch (NacosException e) {
+            throw new IllegalStateException("Failed to select instances of " + serviceName + " from Nacos", e);
+        }
+    }
+
+}
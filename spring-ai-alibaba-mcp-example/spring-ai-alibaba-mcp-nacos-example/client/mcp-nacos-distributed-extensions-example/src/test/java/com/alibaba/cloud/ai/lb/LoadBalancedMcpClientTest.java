@@ -0,0 +1,203 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.lb;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpServer;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.transport.WebFluxStreamableServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 无需 Nacos 的本地联调：在随机端口启动三个 Streamable MCP Server 替身，其中一个固定慢 400ms，
+ * 用静态实例列表驱动 {@link LoadBalancedMcpClient} 并发调用，慢实例分到的请求应明显少于快实例。
+ */
+class LoadBalancedMcpClientTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadBalancedMcpClientTest.class);
+
+    private static final Duration FAST = Duration.ofMillis(20);
+
+    private static final Duration SLOW = Duration.ofMillis(400);
+
+    private static final int CONCURRENCY = 16;
+
+    private static final int REQUESTS = 300;
+
+    private final List<DisposableServer> servers = new ArrayList<>();
+
+    private final List<McpAsyncServer> mcpServers = new ArrayList<>();
+
+    @AfterEach
+    void stopStandIns() {
+        mcpServers.forEach(McpAsyncServer::close);
+        servers.forEach(DisposableServer::disposeNow);
+    }
+
+    @Test
+    void routesFewerCallsToSlowInstance() throws Exception {
+        String fast1 = startStandIn(FAST);
+        String fast2 = startStandIn(FAST);
+        String slow = startStandIn(SLOW);
+
+        McpLoadBalancerProperties properties = new McpLoadBalancerProperties();
+        properties.setStrategy(McpLoadBalancerProperties.Strategy.EWMA);
+        properties.setStaticInstances(List.of(fast1, fast2, slow));
+        properties.setSlowCallThreshold(Duration.ofMillis(300));
+        properties.setRequestTimeout(Duration.ofSeconds(10));
+
+        LoadBalancedMcpClient client = new LoadBalancedMcpClient(properties,
+                InstanceSource.of(properties.getStaticInstances()));
+        client.afterPropertiesSet();
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            assertThat(client.listTools()).extracting(McpSchema.Tool::name).containsExactly("echo");
+
+            List<Future<McpSchema.CallToolResult>> futures = new ArrayList<>(REQUESTS);
+            for (int i = 0; i < REQUESTS; i++) {
+                McpSchema.CallToolRequest request = new McpSchema.CallToolRequest("echo", Map.of("text", "hello-" + i));
+                futures.add(executor.submit(() -> client.callTool(request)));
+            }
+            for (Future<McpSchema.CallToolResult> future : futures) {
+                assertThat(future.get().isError()).isFalse();
+            }
+
+            Map<String, LoadBalancedMcpClient.InstanceStats> stats = client.stats()
+                    .stream()
+                    .collect(Collectors.toMap(LoadBalancedMcpClient.InstanceStats::url, Function.identity()));
+            stats.values()
+                    .forEach(s -> logger.info("{} calls={} ewma={}ms open={}", s.url(), s.calls(),
+                            String.format("%.1f", s.ewmaMillis()), s.open()));
+            assertThat(stats.values().stream().mapToLong(LoadBalancedMcpClient.InstanceStats::calls).sum())
+                    .isEqualTo(REQUESTS);
+            assertThat(stats.get(slow).calls()).isLessThan(stats.get(fast1).calls() / 2)
+                    .isLessThan(stats.get(fast2).calls() / 2);
+        }
+        finally {
+            executor.shutdownNow();
+            client.destroy();
+        }
+    }
+
+    @Test
+    void listToolsProbeClosesTheBreaker() throws Exception {
+        String standIn = startStandIn(SLOW);
+
+        McpLoadBalancerProperties properties = new McpLoadBalancerProperties();
+        properties.setStaticInstances(List.of(standIn));
+        properties.setFailureThreshold(1);
+        properties.setOpenDuration(Duration.ofMillis(200));
+        properties.setSlowCallThreshold(Duration.ofMillis(150));
+        properties.setRequestTimeout(Duration.ofSeconds(10));
+
+        LoadBalancedMcpClient client = new LoadBalancedMcpClient(properties,
+                InstanceSource.of(properties.getStaticInstances()));
+        client.afterPropertiesSet();
+        try {
+            // 慢调用计为故障，阈值为 1 时立即熔断
+            client.callTool(new McpSchema.CallToolRequest("echo", Map.of("text", "slow")));
+            assertThat(client.stats()).singleElement().satisfies(s -> assertThat(s.open()).isTrue());
+
+            // 熔断到期后 listTools 占用探测名额，成功后必须关闭熔断
+            Thread.sleep(properties.getOpenDuration().toMillis() + 50);
+            assertThat(client.listTools()).extracting(McpSchema.Tool::name).containsExactly("echo");
+            assertThat(client.stats()).singleElement().satisfies(s -> assertThat(s.open()).isFalse());
+        }
+        finally {
+            client.destroy();
+        }
+    }
+
+    @Test
+    void resolvesToolsLazilyWhenNoInstanceIsRegistered() {
+        McpLoadBalancerProperties properties = new McpLoadBalancerProperties();
+        LoadBalancedMcpClient client = new LoadBalancedMcpClient(properties, InstanceSource.of(List.of()));
+        client.afterPropertiesSet();
+        try {
+            LoadBalancedToolCallbackProvider provider = new LoadBalancedToolCallbackProvider(client);
+            assertThat(provider.getToolCallbacks()).isEmpty();
+        }
+        finally {
+            client.destroy();
+        }
+    }
+
+    /**
+     * @return 替身的基础地址
+     */
+    private String startStandIn(Duration delay) {
+        WebFluxStreamableServerTransportProvider transport = WebFluxStreamableServerTransportProvider.builder()
+                .jsonMapper(McpJsonMapper.getDefault())
+                .messageEndpoint("/mcp")
+                .build();
+
+        McpSchema.Tool echo = McpSchema.Tool.builder()
+                .name("echo")
+                .description("Echo the text back")
+                .inputSchema(McpJsonMapper.getDefault(),
+                        "{\"type\":\"object\",\"properties\":{\"text\":{\"type\":\"string\"}},\"required\":[\"text\"]}")
+                .build();
+        McpServerFeatures.AsyncToolSpecification spec = McpServerFeatures.AsyncToolSpecification.builder()
+                .tool(echo)
+                .callHandler((exchange, request) -> Mono.delay(delay)
+                        .thenReturn(McpSchema.CallToolResult.builder()
+                                .addTextContent(String.valueOf(request.arguments().get("text")))
+                                .isError(false)
+                                .build()))
+                .build();
+
+        mcpServers.add(McpServer.async(transport)
+                .serverInfo("stand-in", "1.0.0")
+                .capabilities(McpSchema.ServerCapabilities.builder().tools(true).build())
+                .tools(spec)
+                .build());
+
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(transport.getRouterFunction());
+        DisposableServer server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        servers.add(server);
+        return "http://127.0.0.1:" + server.port();
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.lb;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class McpInstanceBalancerTest {
+
+    private static final long T0 = Duration.ofSeconds(1).toNanos();
+
+    private final McpLoadBalancerProperties properties = new McpLoadBalancerProperties();
+
+    private final McpInstanceBalancer balancer = new McpInstanceBalancer(McpLoadBalancerProperties.Strategy.EWMA);
+
+    McpInstanceBalancerTest() {
+        properties.setEwmaDecay(Duration.ofSeconds(10));
+        properties.setFailureThreshold(1);
+        properties.setOpenDuration(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void decaysCostOfIdleInstance() {
+        McpInstance fast = new McpInstance("fast", null, properties);
+        McpInstance slow = new McpInstance("slow", null, properties);
+        fast.record(T0, false, T0 + millis(20));
+        slow.record(T0, false, T0 + millis(400));
+        assertThat(balancer.choose(List.of(fast, slow), T0 + millis(400))).isSameAs(fast);
+
+        // 快实例持续有采样，慢实例一分钟没有调用，衰减后代价低于快实例，重新获得流量
+        long later = T0 + Duration.ofMinutes(1).toNanos();
+        fast.record(later - millis(20), false, later);
+        assertThat(slow.ewmaNanos(later)).isLessThan(fast.ewmaNanos(later));
+        assertThat(balancer.choose(List.of(fast, slow), later)).isSameAs(slow);
+    }
+
+    @Test
+    void forcesSingleProbeAfterOpenDuration() {
+        McpInstance healthy = new McpInstance("healthy", null, properties);
+        McpInstance broken = new McpInstance("broken", null, properties);
+        healthy.record(T0, false, T0 + millis(1));
+        broken.record(T0, true, T0 + millis(1));
+        assertThat(broken.isOpen()).isTrue();
+        assertThat(balancer.choose(List.of(healthy, broken), T0 + millis(2))).isSameAs(healthy);
+
+        // 熔断到期后即使健康实例代价更低，也要放行一次探测
+        long expired = T0 + Duration.ofSeconds(31).toNanos();
+        assertThat(balancer.choose(List.of(healthy, broken), expired)).isSameAs(broken);
+        assertThat(balancer.choose(List.of(healthy, broken), expired)).isSameAs(healthy);
+
+        broken.record(expired, false, expired + millis(5));
+        assertThat(broken.isOpen()).isFalse();
+    }
+
+    @Test
+    void ignoresSuccessOfCallStartedBeforeCircuitOpened() {
+        McpInstance instance = new McpInstance("instance", null, properties);
+        long staleStart = T0;
+        instance.record(T0 + millis(1), true, T0 + millis(2));
+        assertThat(instance.isOpen()).isTrue();
+
+        instance.record(staleStart, false, T0 + millis(3));
+        assertThat(instance.isOpen()).isTrue();
+    }
+
+    private static long millis(long millis) {
+        return Duration.ofMillis(millis).toNanos();
+    }
+
+}
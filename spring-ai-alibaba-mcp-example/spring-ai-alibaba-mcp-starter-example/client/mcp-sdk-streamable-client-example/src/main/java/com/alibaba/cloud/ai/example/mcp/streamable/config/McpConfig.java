@@ -17,6 +17,7 @@
  */
 package com.alibaba.cloud.ai.example.mcp.streamable.config;
 
+import com.alibaba.cloud.ai.example.mcp.streamable.notification.McpNotificationHub;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.modelcontextprotocol.client.McpAsyncClient;
 import io.modelcontextprotocol.client.McpClient;
@@ -47,9 +48,15 @@ public class McpConfig {
                 .build();
     }
 
+    /**
+     * server notifications are handed to the hub without blocking the transport
+     */
     @Bean
-    public McpAsyncClient mcpAsyncClient(WebClientStreamableHttpTransport transport) {
-        return McpClient.async(transport).build();
+    public McpAsyncClient mcpAsyncClient(WebClientStreamableHttpTransport transport,
+                                         McpNotificationHub mcpNotificationHub) {
+        return McpClient.async(transport)
+                .loggingConsumer(mcpNotificationHub::accept)
+                .build();
     }
 
     /**
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.example.mcp.streamable.controller;
+
+import com.alibaba.cloud.ai.example.mcp.streamable.notification.McpNotificationHub;
+import com.alibaba.cloud.ai.example.mcp.streamable.notification.NotificationStreamMetrics;
+import com.alibaba.cloud.ai.example.mcp.streamable.notification.NotificationStreamProperties.OverflowPolicy;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+public class NotificationController {
+    private final McpNotificationHub notificationHub;
+
+    public NotificationController(McpNotificationHub notificationHub) {
+        this.notificationHub = notificationHub;
+    }
+
+    /**
+     * Server notifications (e.g. from start-notification-stream) as SSE. Browsers resend the last
+     * event id as the Last-Event-ID header on reconnect, which resumes from the replay buffer.
+     */
+    @GetMapping(value = "/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> stream(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(value = "overflow", required = false) OverflowPolicy overflow) {
+        return notificationHub.stream(lastEventId, overflow)
+                .map(notification -> ServerSentEvent.builder(notification.data())
+                        .id(String.valueOf(notification.id()))
+                        .event(notification.level().name().toLowerCase())
+                        .build());
+    }
+
+    @GetMapping("/notifications/metrics")
+    public NotificationStreamMetrics.Snapshot metrics() {
+        return notificationHub.metrics();
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.example.mcp.streamable.notification;
+
+import io.modelcontextprotocol.spec.McpSchema;
+
+/**
+ * A server notification received by the MCP client, numbered in arrival order.
+ *
+ * @param id monotonically increasing id, used as the SSE event id
+ * @param receivedNanos {@link System#nanoTime()} at arrival, used to measure delivery lag
+ */
+public record McpNotification(long id, McpSchema.LoggingLevel level, String logger, String data,
+        long receivedNanos) {
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.example.mcp.streamable.notification;
+
+import com.alibaba.cloud.ai.example.mcp.streamable.notification.NotificationStreamProperties.OverflowPolicy;
+import io.modelcontextprotocol.spec.McpSchema;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Fans the MCP client's server notifications out to any number of subscribers.
+ * <p>
+ * Notifications are numbered and kept in a replay buffer of {@code replaySize}, so a subscriber
+ * reconnecting with its last event id receives what it missed (as long as it is still buffered).
+ * Each subscriber gets its own bounded overflow policy, so a slow consumer drops notifications
+ * instead of growing memory or slowing down the transport.
+ */
+public class McpNotificationHub {
+
+    private final NotificationStreamProperties properties;
+
+    private final NotificationStreamMetrics metrics = new NotificationStreamMetrics();
+
+    private final Sinks.Many<McpNotification> sink;
+
+    private long lastId;
+
+    public McpNotificationHub(NotificationStreamProperties properties) {
+        this.properties = properties;
+        this.sink = Sinks.many().replay().limit(properties.getReplaySize());
+    }
+
+    /**
+     * Logging consumer for {@code McpClient.async(..).loggingConsumer(..)}; never blocks the transport.
+     */
+    public Mono<Void> accept(McpSchema.LoggingMessageNotification notification) {
+        long now = System.nanoTime();
+        metrics.onReceived(now);
+        synchronized (this) {
+            // ids are assigned and emitted under the same lock so they reach subscribers in order
+            McpNotification numbered = new McpNotification(++lastId, notification.level(), notification.logger(),
+                    notification.data(), now);
+            sink.tryEmitNext(numbered);
+        }
+        return Mono.empty();
+    }
+
+    /**
+     * @param lastEventId id of the last notification the subscriber saw, or {@code null} for live only
+     * @param overflow policy applied when the subscriber falls behind, or {@code null} for the default
+     */
+    public Flux<McpNotification> stream(Long lastEventId, OverflowPolicy overflow) {
+        OverflowPolicy policy = overflow != null ? overflow : properties.getDefaultOverflow();
+        return Flux.defer(() -> {
+            // everything newer than the cut-off is still in the replay buffer, so nothing is lost
+            // between reading the cut-off and subscribing
+            long after = lastEventId != null ? lastEventId : currentId();
+            metrics.onSubscribe(lastEventId != null);
+            Flux<McpNotification> notifications = sink.asFlux().filter(notification -> notification.id() > after);
+            return applyOverflow(notifications, policy)
+                    .doOnNext(notification -> metrics.onDelivered(notification, System.nanoTime()))
+                    .doFinally(signal -> metrics.onUnsubscribe());
+        });
+    }
+
+    public NotificationStreamMetrics.Snapshot metrics() {
+        return metrics.snapshot();
+    }
+
+    private synchronized long currentId() {
+        return lastId;
+    }
+
+    private Flux<McpNotification> applyOverflow(Flux<McpNotification> notifications, OverflowPolicy policy) {
+        return switch (policy) {
+            case DROP_OLDEST -> notifications.onBackpressureBuffer(properties.getBufferSize(),
+                    dropped -> metrics.onDropped(), BufferOverflowStrategy.DROP_OLDEST);
+            case DROP_LATEST -> notifications.onBackpressureBuffer(properties.getBufferSize(),
+                    dropped -> metrics.onDropped(), BufferOverflowStrategy.DROP_LATEST);
+            case LATEST -> notifications.onBackpressureLatest();
+        };
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.example.mcp.streamable.notification;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the notification pipeline: throughput, delivery lag, drops and resumed subscriptions.
+ */
+public class NotificationStreamMetrics {
+
+    private final LongAdder received = new LongAdder();
+
+    private final LongAdder delivered = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder resumes = new LongAdder();
+
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private final AtomicLong lastLagNanos = new AtomicLong();
+
+    private final LongAccumulator maxLagNanos = new LongAccumulator(Math::max, 0);
+
+    private final AtomicLong currentSecond = new AtomicLong();
+
+    private final AtomicLong currentSecondCount = new AtomicLong();
+
+    private volatile long previousSecondCount;
+
+    void onReceived(long nowNanos) {
+        received.increment();
+        long second = TimeUnit.NANOSECONDS.toSeconds(nowNanos);
+        long current = currentSecond.get();
+        if (second != current && currentSecond.compareAndSet(current, second)) {
+            previousSecondCount = second == current + 1 ? currentSecondCount.getAndSet(0) : 0;
+            currentSecondCount.set(0);
+        }
+        currentSecondCount.incrementAndGet();
+    }
+
+    void onDelivered(McpNotification notification, long nowNanos) {
+        delivered.increment();
+        long lag = nowNanos - notification.receivedNanos();
+        lastLagNanos.set(lag);
+        maxLagNanos.accumulate(lag);
+    }
+
+    void onDropped() {
+        dropped.increment();
+    }
+
+    void onSubscribe(boolean resumed) {
+        subscribers.incrementAndGet();
+        if (resumed) {
+            resumes.increment();
+        }
+    }
+
+    void onUnsubscribe() {
+        subscribers.decrementAndGet();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(received.sum(), delivered.sum(), dropped.sum(), resumes.sum(), subscribers.get(),
+                previousSecondCount, TimeUnit.NANOSECONDS.toMillis(lastLagNanos.get()),
+                TimeUnit.NANOSECONDS.toMillis(maxLagNanos.get()));
+    }
+
+    /**
+     * @param receivedLastSecond notifications received during the previous full second
+     * @param resumes subscriptions that resumed with a Last-Event-ID
+     */
+    public record Snapshot(long received, long delivered, long dropped, long resumes, int subscribers,
+            long receivedLastSecond, long lastLagMillis, long maxLagMillis) {
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.example.mcp.streamable.notification;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bounds for the client-side notification pipeline.
+ */
+@ConfigurationProperties(prefix = NotificationStreamProperties.PREFIX)
+public class NotificationStreamProperties {
+
+    public static final String PREFIX = "mcp.notification-stream";
+
+    /**
+     * Notifications kept for subscribers resuming with Last-Event-ID.
+     */
+    private int replaySize = 1024;
+
+    /**
+     * Per-subscriber buffer used by the DROP_OLDEST and DROP_LATEST policies.
+     */
+    private int bufferSize = 256;
+
+    /**
+     * Policy applied when a subscriber does not specify one.
+     */
+    private OverflowPolicy defaultOverflow = OverflowPolicy.DROP_OLDEST;
+
+    public int getReplaySize() {
+        return replaySize;
+    }
+
+    public void setReplaySize(int replaySize) {
+        this.replaySize = replaySize;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public OverflowPolicy getDefaultOverflow() {
+        return defaultOverflow;
+    }
+
+    public void setDefaultOverflow(OverflowPolicy defaultOverflow) {
+        this.defaultOverflow = defaultOverflow;
+    }
+
+    public enum OverflowPolicy {
+
+        /**
+         * Keep the newest bufferSize notifications, dropping the oldest.
+         */
+        DROP_OLDEST,
+
+        /**
+         * Keep the oldest bufferSize notifications, dropping new arrivals.
+         */
+        DROP_LATEST,
+
+        /**
+         * Keep only the most recent notification.
+         */
+        LATEST
+
+    }
+
+}
@@ -18,13 +18,17 @@
 
 package com.alibaba.cloud.ai.mcp.sample.server;
 
+import com.alibaba.cloud.ai.mcp.common.cache.ToolCacheConfiguration;
+
 import org.springframework.ai.tool.ToolCallbackProvider;
 import org.springframework.ai.tool.method.MethodToolCallbackProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
+@Import(ToolCacheConfiguration.class)
 public class McpServerApplication {
 
     public static void main(String[] args) {
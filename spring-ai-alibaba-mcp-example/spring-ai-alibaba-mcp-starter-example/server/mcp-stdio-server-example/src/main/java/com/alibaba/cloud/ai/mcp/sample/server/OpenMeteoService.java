@@ -21,6 +21,8 @@ import java.util.List;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
+import com.alibaba.cloud.ai.mcp.common.cache.ToolCacheProperties;
+import com.alibaba.cloud.ai.mcp.common.cache.ToolResultCache;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -42,7 +44,11 @@ public class OpenMeteoService {
 
     private final RestClient restClient;
 
-    public OpenMeteoService() {
+    // 同一会话中相同参数的重复调用直接复用结果，并发的相同调用合并为一次请求
+    private final ToolResultCache toolResultCache;
+
+    public OpenMeteoService(ToolResultCache toolResultCache) {
+        this.toolResultCache = toolResultCache;
         this.restClient = RestClient.builder()
                 .baseUrl(BASE_URL)
                 .defaultHeader("Accept", "application/json")
@@ -145,6 +151,11 @@ public class OpenMeteoService {
      */
     @Tool(description = "获取指定经纬度的天气预报")
     public String getWeatherForecastByLocation(double latitude, double longitude) {
+        return toolResultCache.get("getWeatherForecastByLocation",
+                () -> fetchWeatherForecast(latitude, longitude), latitude, longitude);
+    }
+
+    private String fetchWeatherForecast(double latitude, double longitude) {
         // 获取天气数据（当前和未来7天）
         var weatherData = restClient.get()
                 .uri("/forecast?latitude={latitude}&longitude={longitude}&current=temperature_2m,apparent_temperature,relative_humidity_2m,precipitation,weather_code,wind_speed_10m,wind_direction_10m&daily=temperature_2m_max,temperature_2m_min,precipitation_sum,weather_code,wind_speed_10m_max,wind_direction_10m_dominant&timezone=auto&forecast_days=7",
@@ -234,11 +245,11 @@ public class OpenMeteoService {
 
         try {
             // 从天气数据中获取基本信息
-            var weatherData = restClient.get()
+            var weatherData = toolResultCache.get("getAirQuality", () -> restClient.get()
                     .uri("/forecast?latitude={latitude}&longitude={longitude}&current=temperature_2m&timezone=auto",
                             latitude, longitude)
                     .retrieve()
-                    .body(WeatherData.class);
+                    .body(WeatherData.class), latitude, longitude);
 
             // 模拟空气质量数据 - 实际情况下应该从真实API获取
             // 根据经纬度生成一些随机但相对合理的数据
@@ -354,7 +365,7 @@ public class OpenMeteoService {
     }
 
     public static void main(String[] args) {
-        OpenMeteoService client = new OpenMeteoService();
+        OpenMeteoService client = new OpenMeteoService(new ToolResultCache(new ToolCacheProperties()));
         // 北京坐标
         System.out.println(client.getWeatherForecastByLocation(39.9042, 116.4074));
         // 北京空气质量（模拟数据）
@@ -16,12 +16,16 @@
 
 package com.alibaba.cloud.ai.mcp.server;
 
+import java.util.List;
+
 import com.alibaba.cloud.ai.mcp.server.service.TimeService;
-import org.springframework.ai.tool.ToolCallbackProvider;
-import org.springframework.ai.tool.method.MethodToolCallbackProvider;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import reactor.core.publisher.Mono;
 
 /**
  * @author yingzi
@@ -34,8 +38,35 @@ public class StreamableWebfluxServerApplication {
         SpringApplication.run(StreamableWebfluxServerApplication.class, args);
     }
 
+    /**
+     * Registered as an async tool so the handler returns the service's Mono directly, instead of
+     * wrapping a synchronous method callback on the bounded-elastic scheduler.
+     */
     @Bean
-    public ToolCallbackProvider timeTools(TimeService timeService) {
-        return MethodToolCallbackProvider.builder().toolObjects(timeService).build();
+    public List<McpServerFeatures.AsyncToolSpecification> timeTools(TimeService timeService) {
+        McpSchema.Tool tool = McpSchema.Tool.builder()
+                .name("getCityTimeMethod")
+                .description("Get the time of a specified city.")
+                .inputSchema(McpJsonMapper.getDefault(), """
+                        {
+                          "type": "object",
+                          "required": ["timeZoneId"],
+                          "properties": {
+                            "timeZoneId": { "type": "string", "description": "Time zone id, such as Asia/Shanghai" }
+                          }
+                        }
+                        """)
+                .build();
+
+        return List.of(McpServerFeatures.AsyncToolSpecification.builder()
+                .tool(tool)
+                .callHandler((exchange, request) -> timeService
+                        .getCityTimeMethod(String.valueOf(request.arguments().get("timeZoneId")))
+                        .map(text -> McpSchema.CallToolResult.builder().addTextContent(text).isError(false).build())
+                        .onErrorResume(e -> Mono.just(McpSchema.CallToolResult.builder()
+                                .addTextContent("Error calling tool getCityTimeMethod: " + e.getMessage())
+                                .isError(true)
+                                .build())))
+                .build());
     }
 }
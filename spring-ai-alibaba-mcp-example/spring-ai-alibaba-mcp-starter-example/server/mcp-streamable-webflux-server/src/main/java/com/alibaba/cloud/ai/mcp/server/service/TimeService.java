@@ -18,9 +18,8 @@ package com.alibaba.cloud.ai.mcp.server.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.ai.tool.annotation.Tool;
-import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -35,11 +34,16 @@ public class TimeService {
 
     private static final Logger logger = LoggerFactory.getLogger(TimeService.class);
 
-    @Tool(description = "Get the time of a specified city.")
-    public String  getCityTimeMethod(@ToolParam(description = "Time zone id, such as Asia/Shanghai") String timeZoneId) {
-        logger.info("The current time zone is {}", timeZoneId);
-        return String.format("The current time zone is %s and the current time is " + "%s", timeZoneId,
-                getTimeByZoneId(timeZoneId));
+    /**
+     * Pure computation, so it is evaluated on the calling event-loop thread instead of being
+     * offloaded to a blocking scheduler.
+     */
+    public Mono<String> getCityTimeMethod(String timeZoneId) {
+        return Mono.fromSupplier(() -> {
+            logger.debug("The current time zone is {}", timeZoneId);
+            return String.format("The current time zone is %s and the current time is " + "%s", timeZoneId,
+                    getTimeByZoneId(timeZoneId));
+        });
     }
 
     private String getTimeByZoneId(String zoneId) {
@@ -18,24 +18,21 @@
 
 package org.springframework.ai.mcp.sample.server;
 
-import org.springframework.ai.tool.ToolCallback;
-import org.springframework.ai.tool.ToolCallbackProvider;
-import org.springframework.ai.tool.function.FunctionToolCallback;
-import org.springframework.ai.tool.method.MethodToolCallbackProvider;
+import com.alibaba.cloud.ai.mcp.common.cache.ToolCacheConfiguration;
+
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 
+/**
+ * 天气工具以响应式方式注册，见 {@link org.springframework.ai.mcp.sample.server.reactive.ReactiveToolConfiguration}
+ */
 @SpringBootApplication
+@Import(ToolCacheConfiguration.class)
 public class McpServerApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(McpServerApplication.class, args);
     }
 
-    @Bean
-    public ToolCallbackProvider weatherTools(OpenMeteoService openMeteoService) {
-        return MethodToolCallbackProvider.builder().toolObjects(openMeteoService).build();
-    }
-
 }
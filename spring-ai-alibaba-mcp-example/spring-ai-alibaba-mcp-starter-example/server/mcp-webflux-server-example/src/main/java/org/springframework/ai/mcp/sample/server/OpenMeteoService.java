@@ -22,33 +22,35 @@ import java.util.List;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
+import com.alibaba.cloud.ai.mcp.common.cache.ToolCacheProperties;
+import com.alibaba.cloud.ai.mcp.common.cache.ToolResultCache;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import reactor.core.publisher.Mono;
 
-import org.springframework.ai.tool.annotation.Tool;
-import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
-import org.springframework.web.client.RestClientException;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
 
 /**
  * 利用OpenMeteo的免费天气API提供天气服务
  * 该API无需API密钥，可以直接使用
+ * 所有方法基于 WebClient 返回 Mono，请求过程中不阻塞任何线程，工具注册见 ReactiveToolConfiguration
  */
 @Service
 public class OpenMeteoService {
 
     // OpenMeteo免费天气API基础URL
-    private static final String BASE_URL = "https://api.open-meteo.com/v1";
+    public static final String BASE_URL = "https://api.open-meteo.com/v1";
 
-    private final RestClient restClient;
+    private final WebClient webClient;
 
-    public OpenMeteoService() {
-        this.restClient = RestClient.builder()
-                .baseUrl(BASE_URL)
-                .defaultHeader("Accept", "application/json")
-                .defaultHeader("User-Agent", "OpenMeteoClient/1.0")
-                .build();
+    // 同一会话中相同参数的重复调用直接复用结果，并发的相同调用合并为一次请求
+    private final ToolResultCache toolResultCache;
+
+    public OpenMeteoService(WebClient openMeteoWebClient, ToolResultCache toolResultCache) {
+        this.webClient = openMeteoWebClient;
+        this.toolResultCache = toolResultCache;
     }
 
     // OpenMeteo天气数据模型
@@ -141,18 +143,19 @@ public class OpenMeteoService {
      * 
      * @param latitude  纬度
      * @param longitude 经度
-     * @return 指定位置的天气预报
-     * @throws RestClientException 如果请求失败
+     * @return 指定位置的天气预报，请求失败时以 {@link WebClientException} 结束
      */
-    @Tool(description = "获取指定经纬度的天气预报")
-    public String getWeatherForecastByLocation(double latitude, double longitude) {
+    public Mono<String> getWeatherForecastByLocation(double latitude, double longitude) {
         // 获取天气数据（当前和未来7天）
-        var weatherData = restClient.get()
+        return toolResultCache.getAsync("getWeatherForecastByLocation", () -> webClient.get()
                 .uri("/forecast?latitude={latitude}&longitude={longitude}&current=temperature_2m,apparent_temperature,relative_humidity_2m,precipitation,weather_code,wind_speed_10m,wind_direction_10m&daily=temperature_2m_max,temperature_2m_min,precipitation_sum,weather_code,wind_speed_10m_max,wind_direction_10m_dominant&timezone=auto&forecast_days=7",
                         latitude, longitude)
                 .retrieve()
-                .body(WeatherData.class);
+                .bodyToMono(WeatherData.class)
+                .map(this::formatWeatherForecast), latitude, longitude);
+    }
 
+    private String formatWeatherForecast(WeatherData weatherData) {
         // 拼接天气信息
         StringBuilder weatherInfo = new StringBuilder();
 
@@ -229,58 +232,55 @@ public class OpenMeteoService {
      * @param longitude 经度
      * @return 空气质量信息
      */
-    @Tool(description = "获取指定位置的空气质量信息（模拟数据）")
-    public String getAirQuality(@ToolParam(description = "纬度") double latitude,
-            @ToolParam(description = "经度") double longitude) {
-
-        try {
-            // 从天气数据中获取基本信息
-            var weatherData = restClient.get()
-                    .uri("/forecast?latitude={latitude}&longitude={longitude}&current=temperature_2m&timezone=auto",
-                            latitude, longitude)
-                    .retrieve()
-                    .body(WeatherData.class);
-
-            // 模拟空气质量数据 - 实际情况下应该从真实API获取
-            // 根据经纬度生成一些随机但相对合理的数据
-            int europeanAqi = (int) (Math.random() * 100) + 1;
-            int usAqi = (int) (europeanAqi * 1.5);
-            double pm10 = Math.random() * 50 + 5;
-            double pm25 = Math.random() * 25 + 2;
-            double co = Math.random() * 500 + 100;
-            double no2 = Math.random() * 40 + 5;
-            double so2 = Math.random() * 20 + 1;
-            double o3 = Math.random() * 80 + 20;
-
-            String aqiLevel = getAqiLevel(europeanAqi);
-            String usAqiLevel = getUsAqiLevel(usAqi);
-
-            // 构建空气质量信息字符串
-            String aqiInfo = String.format("""
-                    空气质量信息 (纬度: %.4f, 经度: %.4f, 时区: %s):
-
-                    欧洲空气质量指数 (EAQI): %d (%s)
-                    美国空气质量指数 (US AQI): %d (%s)
-
-                    详细污染物信息:
-                    PM10: %.1f μg/m³
-                    PM2.5: %.1f μg/m³
-                    一氧化碳 (CO): %.1f μg/m³
-                    二氧化氮 (NO2): %.1f μg/m³
-                    二氧化硫 (SO2): %.1f μg/m³
-                    臭氧 (O3): %.1f μg/m³
-
-                    注意：以上是模拟数据，仅供示例。
-                    """,
-                    latitude, longitude, weatherData.timezone(),
-                    europeanAqi, aqiLevel,
-                    usAqi, usAqiLevel,
-                    pm10, pm25, co, no2, so2, o3);
-
-            return aqiInfo;
-        } catch (Exception e) {
-            return "无法获取空气质量信息: " + e.getMessage();
-        }
+    public Mono<String> getAirQuality(double latitude, double longitude) {
+        // 从天气数据中获取基本信息
+        return toolResultCache.getAsync("getAirQuality", () -> webClient.get()
+                        .uri("/forecast?latitude={latitude}&longitude={longitude}&current=temperature_2m&timezone=auto",
+                                latitude, longitude)
+                        .retrieve()
+                        .bodyToMono(WeatherData.class), latitude, longitude)
+                .map(weatherData -> formatAirQuality(latitude, longitude, weatherData))
+                .onErrorResume(e -> Mono.just("无法获取空气质量信息: " + e.getMessage()));
+    }
+
+    private String formatAirQuality(double latitude, double longitude, WeatherData weatherData) {
+        // 模拟空气质量数据 - 实际情况下应该从真实API获取
+        // 根据经纬度生成一些随机但相对合理的数据
+        int europeanAqi = (int) (Math.random() * 100) + 1;
+        int usAqi = (int) (europeanAqi * 1.5);
+        double pm10 = Math.random() * 50 + 5;
+        double pm25 = Math.random() * 25 + 2;
+        double co = Math.random() * 500 + 100;
+        double no2 = Math.random() * 40 + 5;
+        double so2 = Math.random() * 20 + 1;
+        double o3 = Math.random() * 80 + 20;
+
+        String aqiLevel = getAqiLevel(europeanAqi);
+        String usAqiLevel = getUsAqiLevel(usAqi);
+
+        // 构建空气质量信息字符串
+        String aqiInfo = String.format("""
+                空气质量信息 (纬度: %.4f, 经度: %.4f, 时区: %s):
+
+                欧洲空气质量指数 (EAQI): %d (%s)
+                美国空气质量指数 (US AQI): %d (%s)
+
+                详细污染物信息:
+                PM10: %.1f μg/m³
+                PM2.5: %.1f μg/m³
+                一氧化碳 (CO): %.1f μg/m³
+                二氧化氮 (NO2): %.1f μg/m³
+                二氧化硫 (SO2): %.1f μg/m³
+                臭氧 (O3): %.1f μg/m³
+
+                注意：以上是模拟数据，仅供示例。
+                """,
+                latitude, longitude, weatherData.timezone(),
+                europeanAqi, aqiLevel,
+                usAqi, usAqiLevel,
+                pm10, pm25, co, no2, so2, o3);
+
+        return aqiInfo;
     }
 
     /**
@@ -322,13 +322,14 @@ public class OpenMeteoService {
     }
 
     public static void main(String[] args) {
-        OpenMeteoService service = new OpenMeteoService();
+        OpenMeteoService service = new OpenMeteoService(WebClient.create(BASE_URL),
+                new ToolResultCache(new ToolCacheProperties()));
         // 测试北京的天气预报
         System.out.println("北京天气预报:");
-        System.out.println(service.getWeatherForecastByLocation(39.9042, 116.4074));
+        System.out.println(service.getWeatherForecastByLocation(39.9042, 116.4074).block());
 
         // 测试北京的空气质量
         System.out.println("北京空气质量:");
-        System.out.println(service.getAirQuality(39.9042, 116.4074));
+        System.out.println(service.getAirQuality(39.9042, 116.4074).block());
     }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.mcp.sample.server.reactive;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import org.springframework.ai.mcp.sample.server.OpenMeteoService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * 以 {@link McpServerFeatures.AsyncToolSpecification} 注册天气工具。
+ * 工具方法直接返回 WebClient 的 Mono，调用全程运行在 Netty 事件循环上，
+ * 不再像 {@code MethodToolCallbackProvider} 那样把阻塞调用切换到 boundedElastic 线程池执行，
+ * 吞吐量只受连接池大小和每个工具的并发上限约束。
+ */
+@Configuration
+@EnableConfigurationProperties(ReactiveToolProperties.class)
+public class ReactiveToolConfiguration {
+
+    private static final String LOCATION_SCHEMA = """
+            {
+              "type": "object",
+              "required": ["latitude", "longitude"],
+              "properties": {
+                "latitude": { "type": "number", "description": "纬度" },
+                "longitude": { "type": "number", "description": "经度" }
+              }
+            }
+            """;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider openMeteoConnectionProvider(ReactiveToolProperties properties) {
+        return ConnectionProvider.builder("open-meteo")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .build();
+    }
+
+    @Bean
+    public WebClient openMeteoWebClient(ConnectionProvider openMeteoConnectionProvider,
+            ReactiveToolProperties properties) {
+        HttpClient httpClient = HttpClient.create(openMeteoConnectionProvider)
+                .responseTimeout(properties.getResponseTimeout());
+        return WebClient.builder()
+                .baseUrl(OpenMeteoService.BASE_URL)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader("Accept", "application/json")
+                .defaultHeader("User-Agent", "OpenMeteoClient/1.0")
+                .build();
+    }
+
+    @Bean
+    public List<McpServerFeatures.AsyncToolSpecification> weatherTools(OpenMeteoService openMeteoService,
+            ReactiveToolProperties properties) {
+        return List.of(
+                tool("getWeatherForecastByLocation", "获取指定经纬度的天气预报", properties,
+                        args -> openMeteoService.getWeatherForecastByLocation(number(args, "latitude"),
+                                number(args, "longitude"))),
+                tool("getAirQuality", "获取指定位置的空气质量信息（模拟数据）", properties,
+                        args -> openMeteoService.getAirQuality(number(args, "latitude"), number(args, "longitude"))));
+    }
+
+    private static McpServerFeatures.AsyncToolSpecification tool(String name, String description,
+            ReactiveToolProperties properties, Function<Map<String, Object>, Mono<String>> handler) {
+        ToolConcurrencyLimiter limiter = new ToolConcurrencyLimiter(name, properties.concurrency(name),
+                properties.getMaxPending());
+        McpSchema.Tool tool = McpSchema.Tool.builder()
+                .name(name)
+                .description(description)
+                .inputSchema(McpJsonMapper.getDefault(), LOCATION_SCHEMA)
+                .build();
+
+        return McpServerFeatures.AsyncToolSpecification.builder()
+                .tool(tool)
+                .callHandler((exchange, request) -> limiter
+                        .limit(Mono.defer(() -> handler.apply(request.arguments())))
+                        .map(text -> McpSchema.CallToolResult.builder().addTextContent(text).isError(false).build())
+                        .onErrorResume(e -> Mono.just(McpSchema.CallToolResult.builder()
+                                .addTextContent("Error calling tool " + name + ": " + e.getMessage())
+                                .isError(true)
+                                .build())))
+                .build();
+    }
+
+    private static double number(Map<String, Object> args, String name) {
+        Object value = args.get(name);
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("Missing argument: " + name);
+        }
+        return Double.parseDouble(value.toString());
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.mcp.sample.server.reactive;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 响应式工具配置：上游 HTTP 连接池大小以及每个工具的并发上限
+ */
+@ConfigurationProperties(prefix = ReactiveToolProperties.PREFIX)
+public class ReactiveToolProperties {
+
+    public static final String PREFIX = "mcp.reactive-tools";
+
+    /**
+     * 访问上游 API 的最大连接数
+     */
+    private int maxConnections = 200;
+
+    /**
+     * 连接池耗尽时允许排队等待连接的请求数
+     */
+    private int pendingAcquireMaxCount = 1000;
+
+    /**
+     * 等待连接池分配连接的超时时间
+     */
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+
+    /**
+     * 上游响应超时时间
+     */
+    private Duration responseTimeout = Duration.ofSeconds(10);
+
+    /**
+     * 每个工具同时执行的调用数上限，可按工具覆盖
+     */
+    private int defaultConcurrency = 100;
+
+    /**
+     * 达到并发上限后允许排队的调用数，超出后直接返回错误
+     */
+    private int maxPending = 1000;
+
+    /**
+     * 按工具名配置的并发上限
+     */
+    private Map<String, Integer> concurrency = new HashMap<>();
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getPendingAcquireMaxCount() {
+        return pendingAcquireMaxCount;
+    }
+
+    public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+        this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+    }
+
+    public Duration getPendingAcquireTimeout() {
+        return pendingAcquireTimeout;
+    }
+
+    public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+        this.pendingAcquireTimeout = pendingAcquireTimeout;
+    }
+
+    public Duration getResponseTimeout() {
+        return responseTimeout;
+    }
+
+    public void setResponseTimeout(Duration responseTimeout) {
+        this.responseTimeout = responseTimeout;
+    }
+
+    public int getDefaultConcurrency() {
+        return defaultConcurrency;
+    }
+
+    public void setDefaultConcurrency(int defaultConcurrency) {
+        this.defaultConcurrency = defaultConcurrency;
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    public void setMaxPending(int maxPending) {
+        this.maxPending = maxPending;
+    }
+
+    public Map<String, Integer> getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(Map<String, Integer> concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int concurrency(String tool) {
+        return concurrency.getOrDefault(tool, defaultConcurrency);
+    }
+}
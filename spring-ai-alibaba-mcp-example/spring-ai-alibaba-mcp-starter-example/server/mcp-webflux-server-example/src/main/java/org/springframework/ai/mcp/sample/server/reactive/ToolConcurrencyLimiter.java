@@ -0,0 +1,184 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.ai.mcp.sample.server.reactive;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * 非阻塞的并发限制器：超过上限的调用进入队列等待，前一个调用结束时把许可直接交给队首，
+ * 等待期间不占用任何线程；排队数超过 maxPending 时直接失败，避免无限堆积。
+ * <p>
+ * 每个许可只能归还一次：调用结束、许可交付时订阅已被取消、或取消与交付并发时，都通过同一个 {@link Permit} 归还。
+ */
+public class ToolConcurrencyLimiter {
+
+    private final String name;
+
+    private final int maxPending;
+
+    private final AtomicInteger permits;
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    public ToolConcurrencyLimiter(String name, int maxConcurrency, int maxPending) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.name = name;
+        this.maxPending = maxPending;
+        this.permits = new AtomicInteger(maxConcurrency);
+    }
+
+    /**
+     * 获取许可后再订阅 source，source 结束、出错或被取消时归还许可
+     */
+    public <T> Mono<T> limit(Mono<T> source) {
+        return Mono.usingWhen(acquire(), permit -> source, Permit::releaseAsync,
+                (permit, e) -> permit.releaseAsync(), Permit::releaseAsync);
+    }
+
+    public int available() {
+        return permits.get();
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.<Permit>create(sink -> {
+            if (tryAcquire()) {
+                sink.success(new Permit());
+                return;
+            }
+            if (pending.incrementAndGet() > maxPending) {
+                pending.decrementAndGet();
+                sink.error(new IllegalStateException("Too many pending calls of tool " + name));
+                return;
+            }
+
+            Waiter waiter = new Waiter(sink);
+            waiters.offer(waiter);
+            sink.onCancel(() -> {
+                if (waiter.cancel()) {
+                    waiters.remove(waiter);
+                    pending.decrementAndGet();
+                }
+                else {
+                    // 取消与交付并发，许可已经交给这个等待者，但下游可能收不到，由这里归还
+                    waiter.granted.release();
+                }
+            });
+            // 入队前许可可能刚被归还，此处再尝试一次以免错过唤醒
+            if (tryAcquire() && !handOff()) {
+                releasePermit();
+            }
+        })
+            // 下游已取消时 Mono.create 会丢弃交付的许可
+            .doOnDiscard(Permit.class, Permit::release);
+    }
+
+    private void release() {
+        if (!handOff()) {
+            releasePermit();
+        }
+    }
+
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = permits.get();
+            if (current == 0) {
+                return false;
+            }
+        }
+        while (!permits.compareAndSet(current, current - 1));
+        return true;
+    }
+
+    private void releasePermit() {
+        permits.incrementAndGet();
+        // 归还许可与入队可能交错，如果此时有等待者则把许可转交出去
+        if (!waiters.isEmpty() && tryAcquire() && !handOff()) {
+            permits.incrementAndGet();
+        }
+    }
+
+    /**
+     * 把当前持有的许可交给第一个仍在等待的调用
+     */
+    private boolean handOff() {
+        Waiter waiter;
+        while ((waiter = waiters.poll()) != null) {
+            if (waiter.grant()) {
+                pending.decrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 一个并发许可，重复归还只生效一次
+     */
+    private final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                ToolConcurrencyLimiter.this.release();
+            }
+        }
+
+        Mono<Void> releaseAsync() {
+            return Mono.fromRunnable(this::release);
+        }
+    }
+
+    private final class Waiter {
+
+        private final MonoSink<Permit> sink;
+
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private volatile Permit granted;
+
+        private Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+
+        boolean grant() {
+            Permit permit = new Permit();
+            // 先记录许可再标记完成，取消方看到 done 时一定能拿到 granted
+            granted = permit;
+            if (done.compareAndSet(false, true)) {
+                sink.success(permit);
+                return true;
+            }
+            return false;
+        }
+
+        boolean cancel() {
+            return done.compareAndSet(false, true);
+        }
+    }
+}
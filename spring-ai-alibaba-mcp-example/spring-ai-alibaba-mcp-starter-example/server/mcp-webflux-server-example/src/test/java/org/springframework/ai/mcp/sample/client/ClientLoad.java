@@ -0,0 +1,76 @@
+/*
+* Copyright 2024 - 2024 the original author or authors.
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+* https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.springframework.ai.mcp.sample.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.transport.WebFluxSseClientTransport;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * 压测客户端：依次建立 1~64 个并发 MCP 会话，每个会话连续调用 getAirQuality，输出每秒调用数。
+ * 每次调用使用不同的坐标以绕过结果缓存。工具为响应式实现时，吞吐量应随会话数增长，
+ * 而不是停在线程池大小对应的水平。
+ */
+public class ClientLoad {
+
+	private static final int CALLS_PER_SESSION = 50;
+
+	public static void main(String[] args) {
+		String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+		for (int sessions = 1; sessions <= 64; sessions *= 2) {
+			run(baseUrl, sessions);
+		}
+	}
+
+	private static void run(String baseUrl, int sessions) {
+		List<McpAsyncClient> clients = new ArrayList<>(sessions);
+		for (int i = 0; i < sessions; i++) {
+			McpAsyncClient client = McpClient
+				.async(new WebFluxSseClientTransport(WebClient.builder().baseUrl(baseUrl), McpJsonMapper.getDefault()))
+				.requestTimeout(Duration.ofSeconds(60))
+				.build();
+			client.initialize().block();
+			clients.add(client);
+		}
+
+		long start = System.nanoTime();
+		Flux.range(0, sessions)
+			.flatMap(session -> Flux.range(0, CALLS_PER_SESSION)
+				.concatMap(call -> clients.get(session).callTool(new CallToolRequest("getAirQuality",
+						Map.of("latitude", 30 + session * 0.01 + call * 0.0001, "longitude", 116.4074)))),
+					sessions)
+			.then()
+			.block();
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.printf("sessions=%d calls=%d time=%.2fs throughput=%.1f calls/s%n", sessions,
+				sessions * CALLS_PER_SESSION, seconds, sessions * CALLS_PER_SESSION / seconds);
+
+		Flux.fromIterable(clients).flatMap(McpAsyncClient::closeGracefully).onErrorResume(e -> Mono.empty()).blockLast();
+	}
+
+}
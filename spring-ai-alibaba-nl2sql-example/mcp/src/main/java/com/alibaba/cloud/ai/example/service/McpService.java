@@ -30,6 +30,9 @@ public class McpService {
 	@Autowired
 	private SimpleNl2SqlService simpleNl2SqlService;
 
+	@Autowired
+	private StreamingSqlExecutor streamingSqlExecutor;
+
 	/**
 	 * 从数据库中获取问题所需要的数据
 	 * @return 从数据库中获取问题所需要的数据
@@ -37,13 +40,22 @@ public class McpService {
 	@Tool(description = "从数据库中获取问题所需要的数据")
 	public String nl2Sql(String input) throws Exception {
 		String sql = nl2SqlService.nl2sql(input);
-		return nl2SqlService.executeSql(sql);
+		return streamingSqlExecutor.executeFirstPage(sql);
 	}
 
 	@Tool(description = "使用内存向量库从数据库中获取问题所需要数据")
 	public String simpleNl2Sql(String input) throws Exception {
 		String sql = simpleNl2SqlService.nl2sql(input);
-		return simpleNl2SqlService.executeSql(sql);
+		return streamingSqlExecutor.executeFirstPage(sql);
+	}
+
+	/**
+	 * 结果被截断时，根据结果末尾的 next 令牌获取下一页数据
+	 * @return 下一页数据
+	 */
+	@Tool(description = "查询结果被截断时，使用结果末尾的 next 令牌获取下一页数据")
+	public String nextPage(String continuationToken) throws Exception {
+		return streamingSqlExecutor.executeNextPage(continuationToken);
 	}
 
 }
@@ -0,0 +1,442 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.example.service;
+
+import com.alibaba.cloud.ai.connector.config.DbConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 以游标方式流式执行 SQL，按页渲染为 CSV 或 JSONL。
+ * <p>
+ * 结果集不会整体加载到内存：每页只从数据库游标读取当前页的行并直接写入输出，同时累计行数与列统计。
+ * 结果未读完时游标保留在服务端，返回内容末尾附带一个随机生成的续页令牌，令牌只是游标的句柄，
+ * 不包含 SQL，调用方无法通过伪造令牌执行任意语句；下一页从游标当前位置继续读取，
+ * 不重新执行查询，翻页开销与页码无关，行顺序也与第一页保持一致。空闲超过 cursor-ttl 的游标会被关闭。
+ * <p>
+ * 连接取自按 chatBi.dbConfig 创建的连接池，每个游标占用一个连接直到读完或过期。MySQL 使用 useCursorFetch
+ * 的服务端游标按 fetch-size 分批拉取，而不是 Integer.MIN_VALUE 的流式结果集：后者在两次翻页之间会被
+ * net_write_timeout 断开，并且读完之前同一连接上无法执行其他语句。
+ */
+@Service
+public class StreamingSqlExecutor implements DisposableBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(StreamingSqlExecutor.class);
+
+	private final DataSource dataSource;
+
+	private final LongSupplier clock;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final SecureRandom random = new SecureRandom();
+
+	private final Map<String, OpenCursor> cursors = new ConcurrentHashMap<>();
+
+	private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "nl2sql-cursor-sweeper");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final int fetchSize;
+
+	private final int pageSize;
+
+	private final int maxChars;
+
+	private final Format format;
+
+	private final Duration cursorTtl;
+
+	private final int maxOpenCursors;
+
+	@Autowired
+	public StreamingSqlExecutor(DbConfig dbConfig,
+			@Value("${chatBi.streaming.fetch-size:500}") int fetchSize,
+			@Value("${chatBi.streaming.page-size:50}") int pageSize,
+			@Value("${chatBi.streaming.max-chars:8000}") int maxChars,
+			@Value("${chatBi.streaming.format:csv}") String format,
+			@Value("${chatBi.streaming.cursor-ttl:5m}") Duration cursorTtl,
+			@Value("${chatBi.streaming.max-open-cursors:16}") int maxOpenCursors) {
+		this(createDataSource(dbConfig, maxOpenCursors), fetchSize, pageSize, maxChars, Format.of(format), cursorTtl,
+				maxOpenCursors, System::nanoTime);
+	}
+
+	StreamingSqlExecutor(DataSource dataSource, int fetchSize, int pageSize, int maxChars, Format format,
+			Duration cursorTtl, int maxOpenCursors, LongSupplier clock) {
+		this.dataSource = dataSource;
+		this.fetchSize = Math.max(1, fetchSize);
+		this.pageSize = pageSize;
+		this.maxChars = maxChars;
+		this.format = format;
+		this.cursorTtl = cursorTtl;
+		this.maxOpenCursors = maxOpenCursors;
+		this.clock = clock;
+		sweeper.scheduleWithFixedDelay(this::closeIdleCursors, 30, 30, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * 执行 SQL 并返回第一页结果
+	 */
+	public String executeFirstPage(String sql) throws SQLException {
+		OpenCursor cursor = open(sql, format);
+		synchronized (cursor) {
+			return renderPage(cursor);
+		}
+	}
+
+	/**
+	 * 根据续页令牌获取下一页结果
+	 */
+	public String executeNextPage(String continuationToken) throws SQLException {
+		OpenCursor cursor = continuationToken == null ? null : cursors.get(continuationToken.trim());
+		if (cursor == null) {
+			throw new IllegalArgumentException("Unknown or expired continuation token");
+		}
+		synchronized (cursor) {
+			if (cursor.closed) {
+				throw new IllegalArgumentException("Unknown or expired continuation token");
+			}
+			return renderPage(cursor);
+		}
+	}
+
+	private OpenCursor open(String sql, Format pageFormat) throws SQLException {
+		Connection connection = dataSource.getConnection();
+		try {
+			connection.setReadOnly(true);
+			// PostgreSQL 只有在非自动提交模式下才会按 fetchSize 使用服务端游标
+			connection.setAutoCommit(false);
+			PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+					ResultSet.CONCUR_READ_ONLY);
+			statement.setFetchSize(fetchSize);
+			ResultSet rs = statement.executeQuery();
+			return new OpenCursor(newToken(), connection, rs, pageFormat, clock.getAsLong());
+		}
+		catch (SQLException | RuntimeException e) {
+			connection.close();
+			throw e;
+		}
+	}
+
+	private String renderPage(OpenCursor cursor) throws SQLException {
+		StringBuilder page = new StringBuilder();
+		if (cursor.format == Format.CSV) {
+			appendCsvRow(page, cursor.columns);
+		}
+
+		long offset = cursor.rowsRead;
+		int emitted = 0;
+		boolean exhausted = false;
+		Object[] values = new Object[cursor.columns.length];
+		try {
+			while (emitted < pageSize && page.length() < maxChars) {
+				if (!cursor.rs.next()) {
+					exhausted = true;
+					break;
+				}
+				for (int i = 0; i < values.length; i++) {
+					values[i] = cursor.rs.getObject(i + 1);
+					cursor.stats[i].accept(values[i]);
+				}
+				appendRow(page, cursor.format, cursor.columns, values);
+				emitted++;
+			}
+		}
+		catch (SQLException | RuntimeException e) {
+			close(cursor);
+			throw e;
+		}
+		cursor.rowsRead += emitted;
+
+		StringBuilder out = new StringBuilder(page.length() + 256);
+		out.append(page);
+		out.append("\n-- rows: ").append(cursor.rowsRead).append(exhausted ? "" : "+");
+		out.append(", returned: ").append(emitted).append(" (offset ").append(offset).append(")\n");
+		for (int i = 0; i < cursor.columns.length; i++) {
+			out.append("-- ").append(cursor.columns[i]).append(": ").append(cursor.stats[i]).append('\n');
+		}
+		if (exhausted) {
+			close(cursor);
+		}
+		else {
+			register(cursor);
+			out.append("-- next: ").append(cursor.token).append('\n');
+		}
+		return out.toString();
+	}
+
+	private void register(OpenCursor cursor) {
+		cursor.lastAccess = clock.getAsLong();
+		cursors.put(cursor.token, cursor);
+		// 每个游标占用一个数据库连接，超出上限时关闭最久未访问的游标
+		while (cursors.size() > maxOpenCursors) {
+			cursors.values()
+				.stream()
+				.filter(other -> other != cursor)
+				.min(Comparator.comparingLong(other -> other.lastAccess))
+				.ifPresentOrElse(this::closeAsync, () -> cursors.remove(cursor.token));
+		}
+	}
+
+	void closeIdleCursors() {
+		long now = clock.getAsLong();
+		for (OpenCursor cursor : cursors.values()) {
+			if (now - cursor.lastAccess > cursorTtl.toNanos()) {
+				closeAsync(cursor);
+			}
+		}
+	}
+
+	/**
+	 * 从注册表移除后再关闭，正在读取该游标的线程会先完成当前页
+	 */
+	private void closeAsync(OpenCursor cursor) {
+		if (cursors.remove(cursor.token, cursor)) {
+			sweeper.execute(() -> {
+				synchronized (cursor) {
+					close(cursor);
+				}
+			});
+		}
+	}
+
+	private void close(OpenCursor cursor) {
+		cursors.remove(cursor.token, cursor);
+		if (cursor.closed) {
+			return;
+		}
+		cursor.closed = true;
+		try (Connection connection = cursor.connection) {
+			// 未读完的结果集随回滚释放，连接归还连接池
+			connection.rollback();
+		}
+		catch (SQLException e) {
+			logger.warn("Failed to close cursor connection: {}", e.getMessage());
+		}
+	}
+
+	@Override
+	public void destroy() {
+		sweeper.shutdownNow();
+		for (OpenCursor cursor : cursors.values()) {
+			synchronized (cursor) {
+				close(cursor);
+			}
+		}
+		if (dataSource instanceof HikariDataSource hikari) {
+			hikari.close();
+		}
+	}
+
+	int openCursors() {
+		return cursors.size();
+	}
+
+	private String newToken() {
+		byte[] bytes = new byte[18];
+		random.nextBytes(bytes);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+
+	private void appendRow(StringBuilder sb, Format pageFormat, String[] columns, Object[] values) {
+		if (pageFormat == Format.JSONL) {
+			Map<String, Object> row = new LinkedHashMap<>(columns.length * 2);
+			for (int i = 0; i < columns.length; i++) {
+				row.put(columns[i], values[i] == null ? null : values[i].toString());
+			}
+			try {
+				sb.append(objectMapper.writeValueAsString(row)).append('\n');
+			}
+			catch (JsonProcessingException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		else {
+			appendCsvRow(sb, values);
+		}
+	}
+
+	private static void appendCsvRow(StringBuilder sb, Object[] values) {
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			if (values[i] == null) {
+				continue;
+			}
+			String value = values[i].toString();
+			if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+					|| value.indexOf('\r') >= 0) {
+				sb.append('"').append(value.replace("\"", "\"\"")).append('"');
+			}
+			else {
+				sb.append(value);
+			}
+		}
+		sb.append('\n');
+	}
+
+	/**
+	 * 连接数比游标上限多留几个，游标占满时新的查询仍能拿到连接，再由 register 淘汰最久未访问的游标
+	 */
+	private static DataSource createDataSource(DbConfig dbConfig, int maxOpenCursors) {
+		HikariConfig config = new HikariConfig();
+		config.setPoolName("nl2sql-cursor-pool");
+		config.setJdbcUrl(withCursorFetch(dbConfig.getUrl()));
+		config.setUsername(dbConfig.getUsername());
+		config.setPassword(dbConfig.getPassword());
+		config.setMaximumPoolSize(Math.max(1, maxOpenCursors) + 4);
+		config.setMinimumIdle(0);
+		// 启动时数据库不可用也不影响应用启动，第一次查询时再建立连接
+		config.setInitializationFailTimeout(-1);
+		return new HikariDataSource(config);
+	}
+
+	static String withCursorFetch(String url) {
+		if (url == null || !url.startsWith("jdbc:mysql") || url.contains("useCursorFetch=")) {
+			return url;
+		}
+		return url + (url.indexOf('?') >= 0 ? "&" : "?") + "useCursorFetch=true";
+	}
+
+	/**
+	 * 服务端保留的结果集游标，同一时刻只允许一个线程读取
+	 */
+	static final class OpenCursor {
+
+		private final String token;
+
+		private final Connection connection;
+
+		private final ResultSet rs;
+
+		private final Format format;
+
+		private final String[] columns;
+
+		private final ColumnStats[] stats;
+
+		private long rowsRead;
+
+		private volatile long lastAccess;
+
+		private boolean closed;
+
+		OpenCursor(String token, Connection connection, ResultSet rs, Format format, long now) throws SQLException {
+			this.token = token;
+			this.lastAccess = now;
+			this.connection = connection;
+			this.rs = rs;
+			this.format = format;
+			ResultSetMetaData meta = rs.getMetaData();
+			this.columns = new String[meta.getColumnCount()];
+			this.stats = new ColumnStats[columns.length];
+			for (int i = 0; i < columns.length; i++) {
+				columns[i] = meta.getColumnLabel(i + 1);
+				stats[i] = new ColumnStats();
+			}
+		}
+
+	}
+
+	enum Format {
+
+		CSV, JSONL;
+
+		static Format of(String value) {
+			return "jsonl".equalsIgnoreCase(value) ? JSONL : CSV;
+		}
+
+	}
+
+	/**
+	 * 单列的常量空间统计：非空/空值计数、数值范围与最大文本长度
+	 */
+	static class ColumnStats {
+
+		private long nonNull;
+
+		private long nulls;
+
+		private double min = Double.POSITIVE_INFINITY;
+
+		private double max = Double.NEGATIVE_INFINITY;
+
+		private boolean numeric = true;
+
+		private int maxLength;
+
+		void accept(Object value) {
+			if (value == null) {
+				nulls++;
+				return;
+			}
+			nonNull++;
+			if (value instanceof Number number) {
+				double d = number.doubleValue();
+				min = Math.min(min, d);
+				max = Math.max(max, d);
+			}
+			else {
+				numeric = false;
+				maxLength = Math.max(maxLength, value.toString().length());
+			}
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder();
+			sb.append("nonNull=").append(nonNull).append(", nulls=").append(nulls);
+			if (nonNull > 0 && numeric) {
+				sb.append(", min=").append(min).append(", max=").append(max);
+			}
+			else if (nonNull > 0) {
+				sb.append(", maxLength=").append(maxLength);
+			}
+			return sb.toString();
+		}
+
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.example.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StreamingSqlExecutorTest {
+
+	private static final Pattern NEXT = Pattern.compile("-- next: (\\S+)");
+
+	private static final String SQL = "SELECT id, name FROM item ORDER BY id";
+
+	private final AtomicLong clock = new AtomicLong();
+
+	private StreamingSqlExecutor executor;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:streaming;DB_CLOSE_DELAY=-1");
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("DROP TABLE IF EXISTS item");
+			statement.execute("CREATE TABLE item (id INT PRIMARY KEY, name VARCHAR(32))");
+			statement.execute("INSERT INTO item SELECT x, 'item-' || x FROM SYSTEM_RANGE(1, 120)");
+		}
+		executor = new StreamingSqlExecutor(dataSource, 10, 50, 8000, StreamingSqlExecutor.Format.CSV,
+				Duration.ofMinutes(5), 2, clock::get);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.destroy();
+	}
+
+	@Test
+	void pagesContinueFromCursorWithoutRepeatingRows() throws SQLException {
+		String first = executor.executeFirstPage(SQL);
+		assertThat(dataLines(first)).hasSize(50).startsWith("1,item-1").endsWith("50,item-50");
+		assertThat(first).contains("-- rows: 50+, returned: 50 (offset 0)");
+
+		String second = executor.executeNextPage(next(first));
+		assertThat(dataLines(second)).hasSize(50).startsWith("51,item-51").endsWith("100,item-100");
+		assertThat(second).contains("(offset 50)");
+
+		String last = executor.executeNextPage(next(second));
+		assertThat(dataLines(last)).hasSize(20).startsWith("101,item-101").endsWith("120,item-120");
+		assertThat(last).contains("-- rows: 120, returned: 20").doesNotContain("-- next:");
+		assertThat(executor.openCursors()).isZero();
+
+		assertThatThrownBy(() -> executor.executeNextPage(next(second))).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void idleCursorExpiresAfterTtl() throws SQLException {
+		String first = executor.executeFirstPage(SQL);
+		clock.addAndGet(Duration.ofMinutes(4).toNanos());
+		executor.closeIdleCursors();
+		assertThat(executor.openCursors()).isEqualTo(1);
+
+		String second = executor.executeNextPage(next(first));
+		clock.addAndGet(Duration.ofMinutes(4).toNanos());
+		executor.closeIdleCursors();
+		// 翻页刷新了访问时间，距上次访问只有 4 分钟
+		assertThat(executor.openCursors()).isEqualTo(1);
+
+		clock.addAndGet(Duration.ofMinutes(2).toNanos());
+		executor.closeIdleCursors();
+		assertThat(executor.openCursors()).isZero();
+		assertThatThrownBy(() -> executor.executeNextPage(next(second))).isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("expired");
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedCursorBeyondLimit() throws SQLException {
+		String oldest = executor.executeFirstPage(SQL);
+		clock.incrementAndGet();
+		String middle = executor.executeFirstPage(SQL);
+		clock.incrementAndGet();
+		String newest = executor.executeFirstPage(SQL);
+
+		assertThat(executor.openCursors()).isEqualTo(2);
+		assertThatThrownBy(() -> executor.executeNextPage(next(oldest))).isInstanceOf(IllegalArgumentException.class);
+		assertThat(dataLines(executor.executeNextPage(next(middle)))).startsWith("51,item-51");
+		assertThat(dataLines(executor.executeNextPage(next(newest)))).startsWith("51,item-51");
+	}
+
+	@Test
+	void enablesCursorFetchForMysqlOnly() {
+		assertThat(StreamingSqlExecutor.withCursorFetch("jdbc:mysql://db:3306/sales"))
+			.isEqualTo("jdbc:mysql://db:3306/sales?useCursorFetch=true");
+		assertThat(StreamingSqlExecutor.withCursorFetch("jdbc:mysql://db:3306/sales?useSSL=false"))
+			.isEqualTo("jdbc:mysql://db:3306/sales?useSSL=false&useCursorFetch=true");
+		assertThat(StreamingSqlExecutor.withCursorFetch("jdbc:mysql://db/sales?useCursorFetch=false"))
+			.isEqualTo("jdbc:mysql://db/sales?useCursorFetch=false");
+		assertThat(StreamingSqlExecutor.withCursorFetch("jdbc:postgresql://db/sales"))
+			.isEqualTo("jdbc:postgresql://db/sales");
+	}
+
+	private static List<String> dataLines(String page) {
+		// 第一行是 CSV 表头，空行之后是统计信息
+		List<String> lines = page.lines().toList();
+		return lines.subList(1, lines.indexOf(""));
+	}
+
+	private static String next(String page) {
+		Matcher matcher = NEXT.matcher(page);
+		assertThat(matcher.find()).as("continuation token in page").isTrue();
+		return matcher.group(1);
+	}
+
+}
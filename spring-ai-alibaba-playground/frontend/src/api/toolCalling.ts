@@ -12,6 +12,7 @@ export interface ToolCallResponse {
   toolInput: string;
   toolCostTime: number;
   toolResponse?: string;
+  toolCalls?: ToolCallResponse[];
 }
 
 interface ApiResponse<T> {
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.application.config.mcp;
+
+import com.alibaba.cloud.ai.application.mcp.McpStdioClientPool;
+
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * 由连接池管理 mcp-config.yml 中的 stdio MCP Server，替代 Spring AI 自动配置的单连接客户端。
+ */
+
+@Configuration
+@EnableConfigurationProperties(McpStdioPoolProperties.class)
+public class McpStdioPoolConfiguration {
+
+	@Bean
+	public McpStdioClientPool mcpStdioClientPool(McpStdioPoolProperties properties) {
+
+		return new McpStdioClientPool(properties);
+	}
+
+	@Bean
+	@Primary
+	public ToolCallbackProvider mcpPoolToolCallbackProvider(McpStdioClientPool mcpStdioClientPool) {
+
+		return ToolCallbackProvider.from(mcpStdioClientPool.getToolCallbacks());
+	}
+
+}
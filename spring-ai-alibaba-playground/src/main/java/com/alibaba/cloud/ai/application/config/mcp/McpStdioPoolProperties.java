@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.application.config.mcp;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Stdio MCP 连接池配置
+ */
+
+@ConfigurationProperties(prefix = McpStdioPoolProperties.MCP_POOL_PREFIX)
+public class McpStdioPoolProperties {
+
+	public static final String MCP_POOL_PREFIX = "spring.ai.alibaba.playground.mcp.pool";
+
+	/**
+	 * 每个 MCP Server 预热的进程数
+	 */
+	private int size = 2;
+
+	/**
+	 * 进程启动并完成 initialize 握手的超时时间
+	 */
+	private Duration initTimeout = Duration.ofSeconds(60);
+
+	/**
+	 * ping 健康检查间隔
+	 */
+	private Duration healthCheckInterval = Duration.ofSeconds(30);
+
+	/**
+	 * ping 超时时间，超时视为进程不健康并重启
+	 */
+	private Duration pingTimeout = Duration.ofSeconds(5);
+
+	/**
+	 * 工具调用默认超时时间
+	 */
+	private Duration defaultToolTimeout = Duration.ofSeconds(30);
+
+	/**
+	 * 按工具名配置的超时时间，覆盖默认值
+	 */
+	private Map<String, Duration> toolTimeouts = new HashMap<>();
+
+	public int getSize() {
+		return size;
+	}
+
+	public void setSize(int size) {
+		this.size = size;
+	}
+
+	public Duration getInitTimeout() {
+		return initTimeout;
+	}
+
+	public void setInitTimeout(Duration initTimeout) {
+		this.initTimeout = initTimeout;
+	}
+
+	public Duration getHealthCheckInterval() {
+		return healthCheckInterval;
+	}
+
+	public void setHealthCheckInterval(Duration healthCheckInterval) {
+		this.healthCheckInterval = healthCheckInterval;
+	}
+
+	public Duration getPingTimeout() {
+		return pingTimeout;
+	}
+
+	public void setPingTimeout(Duration pingTimeout) {
+		this.pingTimeout = pingTimeout;
+	}
+
+	public Duration getDefaultToolTimeout() {
+		return defaultToolTimeout;
+	}
+
+	public void setDefaultToolTimeout(Duration defaultToolTimeout) {
+		this.defaultToolTimeout = defaultToolTimeout;
+	}
+
+	public Map<String, Duration> getToolTimeouts() {
+		return toolTimeouts;
+	}
+
+	public void setToolTimeouts(Map<String, Duration> toolTimeouts) {
+		this.toolTimeouts = toolTimeouts;
+	}
+
+	public Duration toolTimeout(String toolName) {
+		return toolTimeouts.getOrDefault(toolName, defaultToolTimeout);
+	}
+
+}
@@ -29,6 +29,8 @@ import com.alibaba.cloud.ai.application.mcp.McpServerContainer;
 import com.alibaba.cloud.ai.application.service.SAAMcpService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import reactor.core.publisher.Flux;
 
 import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
@@ -65,6 +67,20 @@ public class SAAMcpController {
 		return Result.success(mcpService.chat(prompt));
 	}
 
+	/**
+	 * 内部接口不应该直接被 web 请求！并发执行模型返回的全部 tool call，最终回答以流的形式返回。
+	 */
+	@GetMapping("/inner/mcp/stream")
+	@Operation(summary = "DashScope MCP Flux Chat")
+	public Flux<String> mcpStreamChat(
+			HttpServletResponse response,
+			@Validated @RequestParam("prompt") String prompt
+	) {
+
+		response.setCharacterEncoding("UTF-8");
+		return mcpService.chatStream(prompt);
+	}
+
 	@GetMapping("/mcp-list")
 	@Operation(summary = "MCP List")
 	public Result<List<McpServer>> mcpList() {
@@ -16,7 +16,12 @@
 
 package com.alibaba.cloud.ai.application.entity.tools;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 /**
  * @author yuluo
@@ -66,7 +71,7 @@ public class ToolCallResp {
 	private String toolInput;
 
 	/**
-	 * 工具执行耗时
+	 * 工具执行耗时（毫秒，基于单调时钟）
 	 */
 	private Long toolCostTime;
 	/**
@@ -74,6 +79,17 @@ public class ToolCallResp {
 	 */
 	private String toolResponse;
 
+	/**
+	 * 模型一次返回多个 tool call 时，每个 tool 的执行明细
+	 */
+	private List<ToolCallResp> toolCalls;
+
+	/**
+	 * 工具开始执行时的 System.nanoTime()，用于计算耗时
+	 */
+	@JsonIgnore
+	private long toolStartNanos;
+
 	public enum ToolState {
 		/**
 		 * 工具执行成功
@@ -173,6 +189,23 @@ public class ToolCallResp {
 		this.toolResponse = toolResponse;
 	}
 
+	public List<ToolCallResp> getToolCalls() {
+		return toolCalls;
+	}
+
+	public void setToolCalls(List<ToolCallResp> toolCalls) {
+		this.toolCalls = toolCalls;
+	}
+
+	/**
+	 * 记录结束时间，并用单调时钟计算耗时
+	 */
+	public void finishExecute(ToolState status) {
+		this.status = status;
+		this.toolEndTime = LocalDateTime.now();
+		this.toolCostTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - toolStartNanos);
+	}
+
 	@Override
 	public String toString() {
 		return "ToolCallResp{" +
@@ -186,6 +219,7 @@ public class ToolCallResp {
 				", toolInput='" + toolInput + '\'' +
 				", toolCostTime=" + toolCostTime +
 				", toolResponse='" + toolResponse + '\'' +
+				", toolCalls=" + toolCalls +
 				'}';
 	}
 
@@ -203,6 +237,7 @@ public class ToolCallResp {
 		res.setToolParameters(toolParameters);
 		res.setToolInput(toolInput);
 		res.setToolStartTime(LocalDateTime.now());
+		res.toolStartNanos = System.nanoTime();
 		res.setStatus(ToolState.RUNNING);
 		return res;
 	}
@@ -213,9 +248,7 @@ public class ToolCallResp {
 		res.setToolResult(toolResult);
 		res.setToolEndTime(LocalDateTime.now());
 		res.setStatus(status);
-		res.setToolCostTime(
-				(long) (res.getToolEndTime().getNano() - toolStartTime.getNano())
-		);
+		res.setToolCostTime(Duration.between(toolStartTime, res.getToolEndTime()).toMillis());
 
 		return res;
 	}
@@ -20,30 +20,80 @@ import com.alibaba.cloud.ai.application.entity.mcp.McpServer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * MCP Server 注册表，按 id、name 和 tool name 建立并发索引，查询均为无锁的 O(1) map 读取；
+ * 增删需要同时更新三个索引，由同一把锁串行化，避免并发增删同一 server 时残留过期的索引项。
+ */
 public class McpServerContainer {
 
-	private static final List<McpServer> mcpServerContainer = new ArrayList<>();
+	private static final Object writeLock = new Object();
+
+	private static final Map<String, McpServer> serversById = new ConcurrentHashMap<>();
+
+	private static final Map<String, McpServer> serversByName = new ConcurrentHashMap<>();
+
+	private static final Map<String, McpServer> serversByToolName = new ConcurrentHashMap<>();
 
 	public static List<McpServer> getAllServers() {
-		return new ArrayList<>(mcpServerContainer);
+		return new ArrayList<>(serversById.values());
 	}
 
 	public static Optional<McpServer> getServerById(String id) {
 
-		return mcpServerContainer.stream()
-				.filter(server -> server.getId().equals(id))
-				.findFirst();
+		return Optional.ofNullable(serversById.get(id));
+	}
+
+	public static Optional<McpServer> getServerByName(String name) {
+
+		return Optional.ofNullable(serversByName.get(name));
+	}
+
+	public static Optional<McpServer> getServerByToolName(String toolName) {
+
+		return Optional.ofNullable(serversByToolName.get(toolName));
 	}
 
 	public static void addServer(McpServer server) {
-		mcpServerContainer.add(server);
+
+		synchronized (writeLock) {
+			McpServer previous = serversById.put(server.getId(), server);
+			if (previous != null) {
+				unindex(previous);
+			}
+			serversByName.put(server.getName(), server);
+			if (server.getToolList() != null) {
+				for (McpServer.Tools tool : server.getToolList()) {
+					serversByToolName.put(tool.getName(), server);
+				}
+			}
+		}
 	}
 
 	public static boolean removeServerById(String id) {
 
-		return mcpServerContainer.removeIf(server -> server.getId().equals(id));
+		synchronized (writeLock) {
+			McpServer removed = serversById.remove(id);
+			if (removed == null) {
+				return false;
+			}
+			unindex(removed);
+			return true;
+		}
+	}
+
+	private static void unindex(McpServer server) {
+
+		// 只移除仍指向该 server 的索引项，不影响之后注册的同名 server
+		serversByName.remove(server.getName(), server);
+		if (server.getToolList() != null) {
+			for (McpServer.Tools tool : server.getToolList()) {
+				serversByToolName.remove(tool.getName(), server);
+			}
+		}
 	}
 
 }
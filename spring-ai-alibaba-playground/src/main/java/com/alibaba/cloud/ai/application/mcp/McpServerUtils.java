@@ -16,24 +16,30 @@
 
 package com.alibaba.cloud.ai.application.mcp;
 
-import com.alibaba.cloud.ai.application.config.mcp.SyncMcpToolCallbackWrapper;
 import com.alibaba.cloud.ai.application.entity.mcp.McpServer;
 import com.alibaba.cloud.ai.application.entity.mcp.McpServerConfig;
 import com.alibaba.cloud.ai.application.exception.SAAAppException;
 import com.alibaba.cloud.ai.application.utils.ModelsUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.mcp.AsyncMcpToolCallback;
 import org.springframework.ai.mcp.SyncMcpToolCallback;
+import org.springframework.ai.mcp.client.common.autoconfigure.properties.McpStdioClientProperties;
 import org.springframework.ai.tool.ToolCallback;
-import org.springframework.ai.tool.ToolCallbackProvider;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -46,8 +52,12 @@ import java.util.UUID;
 
 public final class McpServerUtils {
 
+	private static final Logger logger = LoggerFactory.getLogger(McpServerUtils.class);
+
 	private static final String MCP_CONFIG_FILE_PATH = "mcp-config.yml";
 
+	private static final String UNKNOWN_SERVER = "unknown";
+
 	private McpServerUtils() {
 	}
 
@@ -121,42 +131,70 @@ public final class McpServerUtils {
 		return String.valueOf(UUID.randomUUID());
 	}
 
-	public static void initMcpServerContainer(ToolCallbackProvider toolCallbackProvider) throws IOException {
+	/**
+	 * 单次遍历所有 ToolCallback，按所属 mcp server name 聚合 tools 后注册到 {@link McpServerContainer}。
+	 * 支持连接池回调以及 Spring AI 的同步、异步 MCP 回调；不在 mcp-config.yml 中的 server 同样会被注册。
+	 */
+	public static void initMcpServerContainer(McpServerConfig mcpServerConfig, List<ToolCallback> toolCallbacks) {
 
-		McpServerConfig mcpServerConfig = McpServerUtils.getMcpServerConfig();
 		Map<String, String> mcpServerDescMap = initMcpServerDescMap();
 
-		mcpServerConfig.getMcpServers().forEach((key, parameters) -> {
+		Map<String, List<McpServer.Tools>> toolsByServer = new LinkedHashMap<>();
+		for (ToolCallback toolCallback : toolCallbacks) {
+			McpServer.Tools tool = new McpServer.Tools();
+			tool.setDesc(toolCallback.getToolDefinition().description());
+			tool.setName(toolCallback.getToolDefinition().name());
+			tool.setParams(toolCallback.getToolDefinition().inputSchema());
 
-			List<McpServer.Tools> toolsList = new ArrayList<>();
-			for (ToolCallback toolCallback : toolCallbackProvider.getToolCallbacks()) {
+			toolsByServer.computeIfAbsent(serverNameOf(toolCallback), k -> new ArrayList<>()).add(tool);
+		}
 
-				// todo: 拿不到 mcp client, 先用包装器拿吧
-				SyncMcpToolCallback mcpToolCallback = (SyncMcpToolCallback) toolCallback;
-				SyncMcpToolCallbackWrapper syncMcpToolCallbackWrapper = new SyncMcpToolCallbackWrapper(mcpToolCallback);
-				String currentMcpServerName = syncMcpToolCallbackWrapper.getMcpClient().getServerInfo().name();
+		Map<String, McpStdioClientProperties.Parameters> servers = new LinkedHashMap<>(mcpServerConfig.getMcpServers());
+		toolsByServer.keySet().forEach(name -> servers.putIfAbsent(name, null));
+		servers.forEach((key, parameters) ->
+				McpServerContainer.addServer(McpServer.builder()
+						.id(getId())
+						.name(key)
+						.env(parameters == null ? null : parameters.env())
+						.desc(mcpServerDescMap.get(key))
+						.toolList(toolsByServer.getOrDefault(key, List.of()))
+						.build()
+				));
 
-				// 按照 mcp server name 聚合 mcp server tools
-				if (Objects.equals(key, currentMcpServerName)) {
-					McpServer.Tools tool = new McpServer.Tools();
-					tool.setDesc(toolCallback.getToolDefinition().description());
-					tool.setName(toolCallback.getToolDefinition().name());
-					tool.setParams(toolCallback.getToolDefinition().inputSchema());
+	}
+
+	/**
+	 * Spring AI 的 MCP 回调没有暴露所属客户端，通过反射读取 mcpClient 后取 server 名称
+	 */
+	private static String serverNameOf(ToolCallback toolCallback) {
 
-					toolsList.add(tool);
-				}
+		try {
+			if (toolCallback instanceof PooledMcpToolCallback pooledToolCallback) {
+				return pooledToolCallback.getServerName();
 			}
+			if (toolCallback instanceof SyncMcpToolCallback) {
+				return ((McpSyncClient) mcpClientOf(toolCallback, SyncMcpToolCallback.class)).getServerInfo().name();
+			}
+			if (toolCallback instanceof AsyncMcpToolCallback) {
+				return ((McpAsyncClient) mcpClientOf(toolCallback, AsyncMcpToolCallback.class)).getServerInfo().name();
+			}
+		}
+		catch (ReflectiveOperationException | RuntimeException e) {
+			logger.warn("Cannot resolve MCP server of tool {}: {}", toolCallback.getToolDefinition().name(),
+					e.getMessage());
+			return UNKNOWN_SERVER;
+		}
 
-			McpServerContainer.addServer(McpServer.builder()
-					.id(getId())
-					.name(key)
-					.env(parameters.env())
-					.desc(mcpServerDescMap.get(key))
-					.toolList(toolsList)
-					.build()
-			);
-		});
+		logger.warn("Tool {} is not an MCP tool callback ({}), registered under server {}",
+				toolCallback.getToolDefinition().name(), toolCallback.getClass().getName(), UNKNOWN_SERVER);
+		return UNKNOWN_SERVER;
+	}
+
+	private static Object mcpClientOf(ToolCallback toolCallback, Class<?> type) throws ReflectiveOperationException {
 
+		Field field = type.getDeclaredField("mcpClient");
+		field.setAccessible(true);
+		return field.get(toolCallback);
 	}
 
 	private static Map<String, String> initMcpServerDescMap() {
@@ -0,0 +1,346 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.application.mcp;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.alibaba.cloud.ai.application.config.mcp.McpStdioPoolProperties;
+import com.alibaba.cloud.ai.application.entity.mcp.McpServerConfig;
+import com.alibaba.cloud.ai.application.exception.SAAAppException;
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.transport.ServerParameters;
+import io.modelcontextprotocol.client.transport.StdioClientTransport;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Exceptions;
+
+import org.springframework.ai.mcp.client.common.autoconfigure.properties.McpStdioClientProperties;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import static com.alibaba.cloud.ai.application.mcp.McpServerUtils.getMcpLibsAbsPath;
+
+/**
+ * Stdio MCP 连接池：应用启动时为 mcp-config.yml 中的每个 MCP Server 预热 N 个进程并完成 initialize 握手，
+ * 工具调用在这些长连接上多路复用（选择在途请求最少的连接），请求路径上不再启动进程。
+ * 后台定时 ping 所有连接，失败或进程退出时在后台重启。
+ */
+
+public class McpStdioClientPool implements InitializingBean, DisposableBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(McpStdioClientPool.class);
+
+	private final McpStdioPoolProperties properties;
+
+	private final Map<String, List<Slot>> servers = new LinkedHashMap<>();
+
+	private final Map<String, List<ToolCallback>> toolCallbacks = new LinkedHashMap<>();
+
+	private final ScheduledExecutorService healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "mcp-pool-health");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public McpStdioClientPool(McpStdioPoolProperties properties) {
+		this.properties = properties;
+	}
+
+	@Override
+	public void afterPropertiesSet() throws Exception {
+
+		try {
+			warmUp();
+		}
+		catch (RuntimeException e) {
+			// 启动失败时容器不会调用 destroy，已经拉起的进程在这里关闭
+			destroy();
+			throw e;
+		}
+
+		long interval = properties.getHealthCheckInterval().toMillis();
+		healthChecker.scheduleWithFixedDelay(this::healthCheck, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	private void warmUp() {
+
+		McpServerConfig mcpServerConfig = McpServerUtils.getMcpServerConfig();
+		for (Map.Entry<String, McpStdioClientProperties.Parameters> entry : mcpServerConfig.getMcpServers().entrySet()) {
+			if (entry.getValue() == null) {
+				continue;
+			}
+
+			ServerParameters serverParameters = toServerParameters(entry.getValue());
+			List<Slot> slots = new ArrayList<>(properties.getSize());
+			// 先登记再启动，后续失败时 destroy 能关闭这一组里已启动的连接
+			servers.put(entry.getKey(), slots);
+			for (int i = 0; i < Math.max(1, properties.getSize()); i++) {
+				Slot slot = new Slot(entry.getKey(), serverParameters);
+				slot.start();
+				slots.add(slot);
+			}
+
+			List<McpSchema.Tool> tools = slots.get(0).client.listTools()
+					.block(properties.getInitTimeout())
+					.tools();
+			List<ToolCallback> callbacks = new ArrayList<>(tools.size());
+			for (McpSchema.Tool tool : tools) {
+				callbacks.add(new PooledMcpToolCallback(this, entry.getKey(), tool,
+						properties.toolTimeout(tool.name())));
+			}
+			toolCallbacks.put(entry.getKey(), Collections.unmodifiableList(callbacks));
+			logger.info("MCP server {} warmed up with {} processes and {} tools", entry.getKey(), slots.size(),
+					tools.size());
+		}
+	}
+
+	public List<String> getServerNames() {
+		return List.copyOf(servers.keySet());
+	}
+
+	public List<ToolCallback> getToolCallbacks(String serverName) {
+		return toolCallbacks.getOrDefault(serverName, List.of());
+	}
+
+	public List<ToolCallback> getToolCallbacks() {
+		List<ToolCallback> all = new ArrayList<>();
+		toolCallbacks.values().forEach(all::addAll);
+		return all;
+	}
+
+	/**
+	 * 使用指定 MCP Server 中在途请求最少的健康连接执行工具调用
+	 */
+	McpSchema.CallToolResult callTool(String serverName, McpSchema.CallToolRequest request,
+			Duration timeout) {
+
+		Slot slot = select(serverName);
+		slot.inFlight.incrementAndGet();
+		try {
+			return slot.client.callTool(request).timeout(timeout).block();
+		}
+		catch (RuntimeException e) {
+			onCallFailure(slot, e);
+			throw e;
+		}
+		finally {
+			slot.inFlight.decrementAndGet();
+		}
+	}
+
+	/**
+	 * 超时只说明该工具慢，McpError 是服务端返回的 JSON-RPC 错误（如参数不合法），两者都不代表进程异常；
+	 * IO 错误说明管道已断开，立即重启；其他错误无法直接判断，交给后台 ping 确认
+	 */
+	private void onCallFailure(Slot slot, RuntimeException e) {
+
+		Throwable cause = Exceptions.unwrap(e);
+		if (cause instanceof TimeoutException || cause instanceof McpError) {
+			return;
+		}
+		if (isTransportFailure(cause)) {
+			slot.markUnhealthy(cause);
+		}
+		else {
+			healthChecker.execute(slot::ping);
+		}
+	}
+
+	private static boolean isTransportFailure(Throwable error) {
+
+		for (Throwable t = error; t != null && t.getCause() != t; t = t.getCause()) {
+			if (t instanceof IOException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Slot select(String serverName) {
+
+		List<Slot> slots = servers.get(serverName);
+		if (slots == null) {
+			throw new SAAAppException("McpServer not found in pool: " + serverName);
+		}
+
+		Slot best = null;
+		for (Slot slot : slots) {
+			if (slot.healthy && (best == null || slot.inFlight.get() < best.inFlight.get())) {
+				best = slot;
+			}
+		}
+		if (best == null) {
+			throw new SAAAppException("No healthy MCP connection for server: " + serverName);
+		}
+		return best;
+	}
+
+	private void healthCheck() {
+
+		for (List<Slot> slots : servers.values()) {
+			for (Slot slot : slots) {
+				if (slot.healthy) {
+					slot.ping();
+				}
+				// 上次重启失败的连接在每轮检查时重试
+				if (!slot.healthy) {
+					slot.restart();
+				}
+			}
+		}
+	}
+
+	private static ServerParameters toServerParameters(McpStdioClientProperties.Parameters parameters) {
+
+		List<String> args = new ArrayList<>(parameters.args() == null ? List.of() : parameters.args());
+		if (parameters.command().startsWith("java")) {
+			String oldMcpLibsPath = McpServerUtils.getLibsPath(args);
+			String rewriteMcpLibsAbsPath = getMcpLibsAbsPath(oldMcpLibsPath);
+			if (rewriteMcpLibsAbsPath != null) {
+				args.set(args.size() - 1, rewriteMcpLibsAbsPath);
+			}
+		}
+
+		return ServerParameters.builder(parameters.command())
+				.args(args)
+				.env(parameters.env() == null ? Map.of() : parameters.env())
+				.build();
+	}
+
+	@Override
+	public void destroy() {
+
+		healthChecker.shutdownNow();
+		servers.values().forEach(slots -> slots.forEach(Slot::close));
+	}
+
+	private final class Slot {
+
+		private final String serverName;
+
+		private final ServerParameters serverParameters;
+
+		private final AtomicInteger inFlight = new AtomicInteger();
+
+		private final AtomicBoolean restarting = new AtomicBoolean();
+
+		private volatile McpAsyncClient client;
+
+		private volatile boolean healthy;
+
+		private Slot(String serverName, ServerParameters serverParameters) {
+			this.serverName = serverName;
+			this.serverParameters = serverParameters;
+		}
+
+		private void start() {
+
+			McpAsyncClient newClient = McpClient.async(new StdioClientTransport(serverParameters, McpJsonMapper.getDefault()))
+					.requestTimeout(properties.getDefaultToolTimeout())
+					.initializationTimeout(properties.getInitTimeout())
+					.build();
+			try {
+				newClient.initialize().block(properties.getInitTimeout());
+			}
+			catch (RuntimeException e) {
+				// 握手失败也要关闭，否则子进程一直存活，每轮重启失败都会多留下一个进程
+				newClient.close();
+				throw e;
+			}
+			this.client = newClient;
+			this.healthy = true;
+		}
+
+		private void ping() {
+
+			try {
+				client.ping().block(properties.getPingTimeout());
+			}
+			catch (RuntimeException e) {
+				markUnhealthy(e);
+			}
+		}
+
+		/**
+		 * 标记为不健康后立即在后台重启，不等待下一轮健康检查
+		 */
+		private void markUnhealthy(Throwable cause) {
+
+			if (healthy) {
+				logger.warn("MCP connection of server {} is unhealthy, restarting: {}", serverName, cause.getMessage());
+				this.healthy = false;
+				try {
+					healthChecker.execute(this::restart);
+				}
+				catch (RejectedExecutionException e) {
+					// 连接池已关闭
+				}
+			}
+		}
+
+		private void restart() {
+
+			// 同一连接可能被多次标记，已恢复的连接不再重启
+			if (healthy || !restarting.compareAndSet(false, true)) {
+				return;
+			}
+			McpAsyncClient old = this.client;
+			try {
+				start();
+				logger.info("MCP connection of server {} restarted", serverName);
+			}
+			catch (RuntimeException e) {
+				logger.error("Failed to restart MCP connection of server {}: {}", serverName, e.getMessage());
+			}
+			finally {
+				restarting.set(false);
+			}
+			if (old != null && old != this.client) {
+				old.closeGracefully().subscribe(null, e -> old.close());
+			}
+		}
+
+		private void close() {
+
+			McpAsyncClient current = this.client;
+			this.healthy = false;
+			if (current != null) {
+				current.close();
+			}
+		}
+
+	}
+
+}
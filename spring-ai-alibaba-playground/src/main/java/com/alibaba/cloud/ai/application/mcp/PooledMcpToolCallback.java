@@ -0,0 +1,87 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.application.mcp;
+
+import java.time.Duration;
+import java.util.Map;
+
+import io.modelcontextprotocol.spec.McpSchema;
+
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.execution.ToolExecutionException;
+import org.springframework.util.StringUtils;
+
+/**
+ * 通过 {@link McpStdioClientPool} 执行的 MCP 工具回调，工具定义在预热时获取一次，调用时按工具配置的超时等待结果。
+ */
+
+public class PooledMcpToolCallback implements ToolCallback {
+
+	private final McpStdioClientPool pool;
+
+	private final String serverName;
+
+	private final ToolDefinition toolDefinition;
+
+	private final Duration timeout;
+
+	public PooledMcpToolCallback(McpStdioClientPool pool, String serverName, McpSchema.Tool tool, Duration timeout) {
+
+		this.pool = pool;
+		this.serverName = serverName;
+		this.timeout = timeout;
+		this.toolDefinition = ToolDefinition.builder()
+				.name(tool.name())
+				.description(tool.description())
+				.inputSchema(ModelOptionsUtils.toJsonString(tool.inputSchema()))
+				.build();
+	}
+
+	/**
+	 * mcp-config.yml 中配置的 MCP Server 名称
+	 */
+	public String getServerName() {
+		return serverName;
+	}
+
+	@Override
+	public ToolDefinition getToolDefinition() {
+		return toolDefinition;
+	}
+
+	@Override
+	public String call(String toolInput) {
+
+		Map<String, Object> arguments = StringUtils.hasText(toolInput) ? ModelOptionsUtils.jsonToMap(toolInput) : Map.of();
+		McpSchema.CallToolResult result;
+		try {
+			result = pool.callTool(serverName, new McpSchema.CallToolRequest(toolDefinition.name(), arguments), timeout);
+		}
+		catch (RuntimeException e) {
+			throw new ToolExecutionException(toolDefinition, e);
+		}
+
+		if (result != null && Boolean.TRUE.equals(result.isError())) {
+			throw new ToolExecutionException(toolDefinition,
+					new IllegalStateException("Error calling tool: " + result.content()));
+		}
+		return ModelOptionsUtils.toJsonString(result == null ? null : result.content());
+	}
+
+}
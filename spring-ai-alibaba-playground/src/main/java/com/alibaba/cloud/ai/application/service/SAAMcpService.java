@@ -17,45 +17,56 @@
 package com.alibaba.cloud.ai.application.service;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import com.alibaba.cloud.ai.application.config.mcp.McpStdioPoolProperties;
 import com.alibaba.cloud.ai.application.entity.mcp.McpServer;
 import com.alibaba.cloud.ai.application.entity.tools.ToolCallResp;
 import com.alibaba.cloud.ai.application.mcp.McpServerContainer;
 import com.alibaba.cloud.ai.application.mcp.McpServerUtils;
+import com.alibaba.cloud.ai.application.mcp.McpStdioClientPool;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
 import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.ChatOptions;
 import org.springframework.ai.chat.prompt.Prompt;
-import org.springframework.ai.mcp.client.common.autoconfigure.properties.McpStdioClientProperties;
 import org.springframework.ai.model.tool.ToolCallingChatOptions;
-import org.springframework.ai.model.tool.ToolCallingManager;
-import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.ToolCallback;
 import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.stereotype.Service;
 
-import static com.alibaba.cloud.ai.application.mcp.McpServerUtils.getMcpLibsAbsPath;
-
 /**
  * @author brianxiadong
  *         Spring AI Alibaba MCP (Model, Chat, Prompt) Service
  */
 @Service
-public class SAAMcpService {
+public class SAAMcpService implements DisposableBean {
 
 	private final ChatClient chatClient;
 
@@ -63,9 +74,14 @@ public class SAAMcpService {
 
 	private final ToolCallbackProvider tools;
 
-	private final ToolCallingManager toolCallingManager;
+	private final McpStdioClientPool mcpStdioClientPool;
 
-	private final McpStdioClientProperties mcpStdioClientProperties;
+	private final McpStdioPoolProperties mcpStdioPoolProperties;
+
+	/**
+	 * 执行 tool call 的线程池，工具调用基本都在等待 MCP 进程返回，线程按需创建、空闲回收
+	 */
+	private final ExecutorService toolExecutor = Executors.newCachedThreadPool(new ToolThreadFactory());
 
 	private static final Logger logger = LoggerFactory.getLogger(SAAMcpService.class);
 
@@ -73,13 +89,14 @@ public class SAAMcpService {
 			ObjectMapper objectMapper,
 			ToolCallbackProvider tools,
 			SimpleLoggerAdvisor simpleLoggerAdvisor,
-			ToolCallingManager toolCallingManager,
-			McpStdioClientProperties mcpStdioClientProperties,
+			McpStdioClientPool mcpStdioClientPool,
+			McpStdioPoolProperties mcpStdioPoolProperties,
 			@Qualifier("openAiChatModel") ChatModel chatModel
 	) throws IOException {
 
 		this.objectMapper = objectMapper;
-		this.mcpStdioClientProperties = mcpStdioClientProperties;
+		this.mcpStdioClientPool = mcpStdioClientPool;
+		this.mcpStdioPoolProperties = mcpStdioPoolProperties;
 
 		// Initialize chat client with non-blocking configuration
 		this.chatClient = ChatClient.builder(chatModel)
@@ -88,16 +105,55 @@ public class SAAMcpService {
 				).defaultToolCallbacks(tools)
 				.build();
 		this.tools = tools;
-		this.toolCallingManager = toolCallingManager;
 
-		McpServerUtils.initMcpServerContainer(tools);
+		McpServerUtils.initMcpServerContainer(McpServerUtils.getMcpServerConfig(), List.of(tools.getToolCallbacks()));
 	}
 
 	public ToolCallResp chat(String prompt) {
 
+		return chat(prompt, List.of(tools.getToolCallbacks()));
+	}
+
+	/**
+	 * 与 {@link #chat(String)} 相同的工具执行流程，最终回答以流的形式返回
+	 */
+	public Flux<String> chatStream(String prompt) {
+
+		List<ToolCallback> toolCallbacks = List.of(tools.getToolCallbacks());
+		return Mono.fromCallable(() -> executeTools(prompt, toolCallbacks))
+				.subscribeOn(Schedulers.boundedElastic())
+				.flatMapMany(round -> round.history() == null
+						? Flux.just(round.tcr().getToolResult() == null ? "" : round.tcr().getToolResult())
+						: chatClient.prompt().messages(round.history()).stream().content());
+	}
+
+	private ToolCallResp chat(String prompt, List<ToolCallback> toolCallbacks) {
+
+		ToolRound round = executeTools(prompt, toolCallbacks);
+		ToolCallResp tcr = round.tcr();
+		if (round.history() != null) {
+			String llmCallResponse = "";
+			ChatResponse finalResponse = chatClient.prompt().messages(round.history())
+					.call().chatResponse();
+			if (finalResponse != null) {
+				llmCallResponse = finalResponse.getResult().getOutput().getText();
+			}
+			tcr.setToolResult(llmCallResponse);
+		}
+
+		logger.debug("End ToolCallResp: {}", tcr);
+		return tcr;
+	}
+
+	/**
+	 * 调用模型获取 tool call 并执行。模型一次返回的多个 tool call 相互独立，全部并发执行，
+	 * 每个调用按工具配置的超时时间作为截止时间，超时或失败的调用以错误信息作为工具结果交给模型。
+	 */
+	private ToolRound executeTools(String prompt, List<ToolCallback> toolCallbacks) {
+
 		// manual run tools flag
 		ChatOptions chatOptions = ToolCallingChatOptions.builder()
-				.toolCallbacks(tools.getToolCallbacks())
+				.toolCallbacks(toolCallbacks)
 				.internalToolExecutionEnabled(false)
 				.build();
 
@@ -106,73 +162,87 @@ public class SAAMcpService {
 
 		logger.debug("ChatResponse: {}", response);
 		assert response != null;
-		List<AssistantMessage.ToolCall> toolCalls = response.getResult().getOutput().getToolCalls();
+		AssistantMessage output = response.getResult().getOutput();
+		List<AssistantMessage.ToolCall> toolCalls = output.getToolCalls();
 		logger.debug("ToolCalls: {}", toolCalls);
-		String responseByLLm = response.getResult().getOutput().getText();
+		String responseByLLm = output.getText();
 		logger.debug("Response by LLM: {}", responseByLLm);
 
-		// execute tools with no chat memory messages.
-		var tcr = ToolCallResp.TCR();
-		if (!toolCalls.isEmpty()) {
+		if (toolCalls.isEmpty()) {
+			logger.debug("ToolCalls is empty, no tool execution needed.");
+			var tcr = ToolCallResp.TCR();
+			tcr.setToolResult(responseByLLm);
+			return new ToolRound(tcr, null);
+		}
 
-			tcr = ToolCallResp.startExecute(
-					responseByLLm,
-					toolCalls.get(0).name(),
-					toolCalls.get(0).arguments()
-			);
-			tcr.setToolParameters(toolCalls.get(0).arguments());
-			logger.debug("Start ToolCallResp: {}", tcr);
-			ToolExecutionResult toolExecutionResult = null;
+		var tcr = ToolCallResp.startExecute(
+				responseByLLm,
+				toolCalls.stream().map(AssistantMessage.ToolCall::name).collect(Collectors.joining(",")),
+				toolCalls.stream().map(AssistantMessage.ToolCall::arguments).collect(Collectors.joining(","))
+		);
+		logger.debug("Start ToolCallResp: {}", tcr);
+
+		List<ToolCallResp> details = new ArrayList<>(toolCalls.size());
+		List<CompletableFuture<ToolResponseMessage.ToolResponse>> futures = new ArrayList<>(toolCalls.size());
+		for (AssistantMessage.ToolCall toolCall : toolCalls) {
+			ToolCallResp detail = ToolCallResp.startExecute(responseByLLm, toolCall.name(), toolCall.arguments());
+			details.add(detail);
+			futures.add(CompletableFuture.supplyAsync(() -> callTool(toolCall, toolCallbacks), toolExecutor)
+					.orTimeout(mcpStdioPoolProperties.toolTimeout(toolCall.name()).toMillis(), TimeUnit.MILLISECONDS)
+					.handle((data, ex) -> complete(toolCall, detail, data, ex)));
+		}
 
-			try {
-				toolExecutionResult = toolCallingManager.executeToolCalls(new Prompt(prompt, chatOptions), response);
+		List<ToolResponseMessage.ToolResponse> responses = futures.stream()
+				.map(CompletableFuture::join)
+				.toList();
 
-				tcr.setToolEndTime(LocalDateTime.now());
-			}
-			catch (Exception e) {
-
-				tcr.setStatus(ToolCallResp.ToolState.FAILURE);
-				tcr.setErrorMessage(e.getMessage());
-				tcr.setToolEndTime(LocalDateTime.now());
-				tcr.setToolCostTime((long) (tcr.getToolEndTime().getNano() - tcr.getToolStartTime().getNano()));
-				logger.error("Error ToolCallResp: {}, msg: {}", tcr, e.getMessage());
-				// throw new RuntimeException("Tool execution failed, please check the logs for details.");
-			}
+		boolean failed = details.stream().anyMatch(detail -> detail.getStatus() == ToolCallResp.ToolState.FAILURE);
+		if (failed) {
+			tcr.setErrorMessage(details.stream()
+					.filter(detail -> detail.getErrorMessage() != null)
+					.map(detail -> detail.getToolName() + ": " + detail.getErrorMessage())
+					.collect(Collectors.joining("; ")));
+		}
+		tcr.setToolCalls(details);
+		tcr.setToolResponse(responses.stream()
+				.map(ToolResponseMessage.ToolResponse::responseData)
+				.collect(Collectors.joining()));
+		tcr.finishExecute(failed ? ToolCallResp.ToolState.FAILURE : ToolCallResp.ToolState.SUCCESS);
+
+		List<Message> history = List.of(
+				new UserMessage(prompt),
+				output,
+				ToolResponseMessage.builder().responses(responses).build()
+		);
+		return new ToolRound(tcr, history);
+	}
 
-			String llmCallResponse = "";
-			if (Objects.nonNull(toolExecutionResult)) {
-//				ToolResponseMessage toolResponseMessage = (ToolResponseMessage) toolExecutionResult.conversationHistory()
-//						.get(toolExecutionResult.conversationHistory().size() - 1);
-//				llmCallResponse = toolResponseMessage.getResponses().get(0).responseData();
-				ChatResponse finalResponse = chatClient.prompt().messages(toolExecutionResult.conversationHistory())
-						.call().chatResponse();
-				if (finalResponse != null) {
-					llmCallResponse = finalResponse.getResult().getOutput().getText();
-				}
-
-				StringBuilder sb = new StringBuilder();
-				toolExecutionResult.conversationHistory().stream()
-						.filter(message -> message instanceof ToolResponseMessage)
-						.forEach(message -> {
-							ToolResponseMessage toolResponseMessage = (ToolResponseMessage) message;
-							toolResponseMessage.getResponses().forEach(tooResponse -> {
-								sb.append(tooResponse.responseData());
-							});
-						});
-				tcr.setToolResponse(sb.toString());
-			}
+	private static String callTool(AssistantMessage.ToolCall toolCall, List<ToolCallback> toolCallbacks) {
 
-			tcr.setStatus(ToolCallResp.ToolState.SUCCESS);
-			tcr.setToolResult(llmCallResponse);
-			tcr.setToolCostTime((long) (tcr.getToolEndTime().getNano() - tcr.getToolStartTime().getNano()));
-			logger.debug("End ToolCallResp: {}", tcr);
-		}
-		else {
-			logger.debug("ToolCalls is empty, no tool execution needed.");
-			tcr.setToolResult(responseByLLm);
+		ToolCallback toolCallback = toolCallbacks.stream()
+				.filter(callback -> toolCall.name().equals(callback.getToolDefinition().name()))
+				.findFirst()
+				.orElseThrow(() -> new IllegalStateException("No ToolCallback found for tool name: " + toolCall.name()));
+		return toolCallback.call(toolCall.arguments());
+	}
+
+	private ToolResponseMessage.ToolResponse complete(AssistantMessage.ToolCall toolCall, ToolCallResp detail,
+			String data, Throwable ex) {
+
+		if (ex == null) {
+			detail.setToolResponse(data);
+			detail.finishExecute(ToolCallResp.ToolState.SUCCESS);
+			return new ToolResponseMessage.ToolResponse(toolCall.id(), toolCall.name(), data);
 		}
 
-		return tcr;
+		Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+		String errorMessage = cause instanceof TimeoutException
+				? "Tool call timed out after " + mcpStdioPoolProperties.toolTimeout(toolCall.name())
+				: cause.getMessage();
+		detail.setErrorMessage(errorMessage);
+		detail.finishExecute(ToolCallResp.ToolState.FAILURE);
+		logger.error("Error ToolCallResp: {}, msg: {}", detail, errorMessage);
+		return new ToolResponseMessage.ToolResponse(toolCall.id(), toolCall.name(), "Error: " + errorMessage);
 	}
 
 	public ToolCallResp run(String id, Map<String, String> envs, String prompt) throws IOException {
@@ -183,27 +253,38 @@ public class SAAMcpService {
 			return ToolCallResp.TCR();
 		}
 
+		// MCP Server 进程已由连接池预热，直接使用该 Server 的工具，不在请求路径上重新配置客户端
 		String runMcpServerName = runMcpServer.get().getName();
-		var mcpServerConfig = McpServerUtils.getMcpServerConfig();
-		McpStdioClientProperties.Parameters parameters = new McpStdioClientProperties.Parameters(
-				mcpServerConfig.getMcpServers().get(runMcpServerName).command(),
-				mcpServerConfig.getMcpServers().get(runMcpServerName).args(),
-				envs
-		);
+		if (!envs.isEmpty()) {
+			logger.debug("Ignore request envs for pooled McpServer: {}", runMcpServerName);
+		}
 
-		if (parameters.command().startsWith("java")) {
-			String oldMcpLibsPath = McpServerUtils.getLibsPath(parameters.args());
-			String rewriteMcpLibsAbsPath = getMcpLibsAbsPath(McpServerUtils.getLibsPath(parameters.args()));
+		return chat(prompt, mcpStdioClientPool.getToolCallbacks(runMcpServerName));
+	}
 
-			parameters.args().remove(oldMcpLibsPath);
-			parameters.args().add(rewriteMcpLibsAbsPath);
-		}
+	@Override
+	public void destroy() {
 
-		String mcpServerConfigJSON = objectMapper.writeValueAsString(mcpServerConfig);
-		mcpStdioClientProperties.setServersConfiguration(new ByteArrayResource(mcpServerConfigJSON.getBytes()));
+		toolExecutor.shutdownNow();
+	}
 
-		return chat(prompt);
+	/**
+	 * 一轮工具执行的结果，history 为 null 表示模型没有请求工具调用
+	 */
+	private record ToolRound(ToolCallResp tcr, List<Message> history) {
 	}
 
-}
+	private static final class ToolThreadFactory implements ThreadFactory {
 
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, "mcp-tool-call-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.application.mcp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.alibaba.cloud.ai.application.entity.mcp.McpServer;
+
+/**
+ * {@link McpServerContainer} 在数千个已注册工具下的查询与并发增删耗时。
+ * 直接运行 main 方法即可，不作为单元测试执行。
+ */
+public class McpServerContainerBenchmark {
+
+	private static final int SERVERS = 100;
+
+	private static final int TOOLS_PER_SERVER = 50;
+
+	private static final int LOOKUPS = 1_000_000;
+
+	public static void main(String[] args) throws InterruptedException {
+
+		List<McpServer> servers = new ArrayList<>(SERVERS);
+		for (int s = 0; s < SERVERS; s++) {
+			List<McpServer.Tools> tools = new ArrayList<>(TOOLS_PER_SERVER);
+			for (int t = 0; t < TOOLS_PER_SERVER; t++) {
+				McpServer.Tools tool = new McpServer.Tools();
+				tool.setName("server-" + s + "-tool-" + t);
+				tools.add(tool);
+			}
+			servers.add(McpServer.builder().id("id-" + s).name("server-" + s).toolList(tools).build());
+		}
+
+		long start = System.nanoTime();
+		servers.forEach(McpServerContainer::addServer);
+		report("register " + SERVERS * TOOLS_PER_SERVER + " tools", start, SERVERS);
+
+		// 第一轮为预热
+		for (int round = 0; round < 2; round++) {
+			start = System.nanoTime();
+			long hits = 0;
+			for (int i = 0; i < LOOKUPS; i++) {
+				hits += McpServerContainer.getServerById("id-" + (i % SERVERS)).isPresent() ? 1 : 0;
+			}
+			report("getServerById (hits=" + hits + ")", start, LOOKUPS);
+
+			start = System.nanoTime();
+			hits = 0;
+			for (int i = 0; i < LOOKUPS; i++) {
+				String toolName = "server-" + (i % SERVERS) + "-tool-" + (i % TOOLS_PER_SERVER);
+				hits += McpServerContainer.getServerByToolName(toolName).isPresent() ? 1 : 0;
+			}
+			report("getServerByToolName (hits=" + hits + ")", start, LOOKUPS);
+		}
+
+		int threads = Runtime.getRuntime().availableProcessors();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		start = System.nanoTime();
+		for (int n = 0; n < threads; n++) {
+			executor.submit(() -> {
+				for (int i = 0; i < LOOKUPS / 10; i++) {
+					McpServer server = servers.get(i % SERVERS);
+					if (i % 100 == 0) {
+						McpServerContainer.removeServerById(server.getId());
+						McpServerContainer.addServer(server);
+					}
+					else {
+						McpServerContainer.getServerByName(server.getName());
+					}
+				}
+			});
+		}
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.MINUTES);
+		report("concurrent mixed ops on " + threads + " threads", start, (long) threads * LOOKUPS / 10);
+	}
+
+	private static void report(String name, long startNanos, long ops) {
+
+		long elapsed = System.nanoTime() - startNanos;
+		System.out.printf("%-50s %10.1f ns/op%n", name, (double) elapsed / ops);
+	}
+
+}
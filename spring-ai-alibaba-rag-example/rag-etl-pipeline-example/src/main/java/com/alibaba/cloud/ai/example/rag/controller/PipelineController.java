@@ -0,0 +1,114 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.rag.controller;
+
+import com.alibaba.cloud.ai.example.rag.model.Constant;
+import com.alibaba.cloud.ai.example.rag.pipeline.EtlPipeline;
+import com.alibaba.cloud.ai.example.rag.pipeline.EtlPipelineProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 流式 ETL 管道：read → split → enrich → embed → write
+ */
+@RestController
+@RequestMapping("/pipeline")
+public class PipelineController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelineController.class);
+
+    private final EtlPipeline etlPipeline;
+
+    private final EtlPipelineProperties properties;
+
+    public PipelineController(EtlPipeline etlPipeline, EtlPipelineProperties properties) {
+        this.etlPipeline = etlPipeline;
+        this.properties = properties;
+    }
+
+    @GetMapping("/run")
+    public Mono<EtlPipeline.PipelineReport> run() {
+        logger.info("start etl pipeline");
+        Resource resource = new DefaultResourceLoader().getResource(Constant.PDF_FILE_PATH);
+        return etlPipeline.run(List.of(resource));
+    }
+
+    /**
+     * 端到端摄入语料目录下的全部 PDF（例如 500 页的语料），返回各阶段吞吐。
+     * 只读取 {@code rag.etl.pipeline.corpus-dir} 之下的文件，{@code dir} 为相对该目录的子路径，
+     * 解析后（含符号链接）落在语料目录之外的路径一律拒绝
+     */
+    @GetMapping("/benchmark")
+    public Mono<EtlPipeline.PipelineReport> benchmark(@RequestParam(value = "dir", defaultValue = "") String dir) {
+        List<Resource> resources;
+        try {
+            resources = resolveCorpus(dir);
+        }
+        catch (IOException | IllegalArgumentException e) {
+            return Mono.error(new IllegalArgumentException("Invalid benchmark dir: " + dir, e));
+        }
+        logger.info("start etl pipeline benchmark over {} pdf files", resources.size());
+        return etlPipeline.run(resources);
+    }
+
+    private List<Resource> resolveCorpus(String dir) throws IOException {
+        if (!StringUtils.hasText(properties.getCorpusDir())) {
+            throw new IllegalArgumentException("rag.etl.pipeline.corpus-dir is not configured");
+        }
+        Path root = Paths.get(properties.getCorpusDir()).toRealPath();
+        Path target = root.resolve(dir).normalize().toRealPath();
+        if (!target.startsWith(root) || !Files.isDirectory(target)) {
+            throw new IllegalArgumentException("dir must be a directory inside the corpus directory");
+        }
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(target)) {
+            files = listing.filter(file -> file.getFileName().toString().toLowerCase().endsWith(".pdf"))
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .toList();
+        }
+        List<Resource> resources = new ArrayList<>(files.size());
+        for (Path file : files) {
+            Path real = file.toRealPath();
+            if (!real.startsWith(root)) {
+                throw new IllegalArgumentException("pdf file links outside the corpus directory: " + file.getFileName());
+            }
+            resources.add(new FileSystemResource(real));
+        }
+        if (resources.isEmpty()) {
+            throw new IllegalArgumentException("No pdf files found");
+        }
+        return resources;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.rag.pipeline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.model.transformer.KeywordMetadataEnricher;
+import org.springframework.ai.model.transformer.SummaryMetadataEnricher;
+import org.springframework.ai.reader.pdf.PagePdfDocumentReader;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
+import org.springframework.ai.transformer.splitter.TokenTextSplitter;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.core.io.Resource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 流式 ETL 管道：read → split → enrich → embed → write。
+ * <p>
+ * 各阶段通过 Reactor 串联，上游按下游的消费速度拉取数据：同一时刻只有一个 PDF 的页面在内存中，
+ * LLM 增强阶段的并发由 {@code enrichConcurrency} 限制，嵌入阶段按 token 数累积批次后写入向量库。
+ */
+public class EtlPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(EtlPipeline.class);
+
+    private final EtlPipelineProperties properties;
+
+    private final VectorStore vectorStore;
+
+    private final TokenTextSplitter splitter;
+
+    private final List<Function<Document, Document>> enrichers = new ArrayList<>();
+
+    private final TokenCountEstimator tokenCountEstimator = new JTokkitTokenCountEstimator();
+
+    public EtlPipeline(ChatModel chatModel, VectorStore vectorStore, EtlPipelineProperties properties) {
+        this.properties = properties;
+        this.vectorStore = vectorStore;
+        this.splitter = TokenTextSplitter.builder()
+                .withChunkSize(properties.getChunkSize())
+                .withMinChunkSizeChars(350)
+                .withMinChunkLengthToEmbed(5)
+                .withMaxNumChunks(10000)
+                .withKeepSeparator(true)
+                .build();
+        if (properties.getKeywords() > 0) {
+            KeywordMetadataEnricher keywordEnricher = new KeywordMetadataEnricher(chatModel, properties.getKeywords());
+            this.enrichers.add(document -> keywordEnricher.apply(List.of(document)).get(0));
+        }
+        if (properties.isSummary()) {
+            // 流式处理时拿不到相邻文本块，只生成当前块的摘要
+            SummaryMetadataEnricher summaryEnricher = new SummaryMetadataEnricher(chatModel,
+                    List.of(SummaryMetadataEnricher.SummaryType.CURRENT));
+            this.enrichers.add(document -> summaryEnricher.apply(List.of(document)).get(0));
+        }
+    }
+
+    public Mono<PipelineReport> run(List<Resource> pdfs) {
+        StageMetrics read = new StageMetrics("read");
+        StageMetrics split = new StageMetrics("split");
+        StageMetrics enrich = new StageMetrics("enrich");
+        StageMetrics embed = new StageMetrics("embed-write");
+        long start = System.nanoTime();
+
+        return Flux.fromIterable(pdfs)
+                .concatMap(pdf -> Mono.fromCallable(() -> {
+                    long t = read.begin();
+                    List<Document> pages = new PagePdfDocumentReader(pdf).read();
+                    read.end(t, pages.size());
+                    return pages;
+                }).subscribeOn(Schedulers.boundedElastic()).flatMapIterable(pages -> pages), 1)
+                .concatMapIterable(page -> {
+                    long t = split.begin();
+                    List<Document> chunks = splitter.split(page);
+                    split.end(t, chunks.size());
+                    return chunks;
+                })
+                .flatMap(chunk -> Mono.fromCallable(() -> {
+                    long t = enrich.begin();
+                    Document enriched = chunk;
+                    for (Function<Document, Document> enricher : enrichers) {
+                        enriched = enricher.apply(enriched);
+                    }
+                    enrich.end(t, 1);
+                    return enriched;
+                }).subscribeOn(Schedulers.boundedElastic()), properties.getEnrichConcurrency())
+                .transform(this::batchByTokens)
+                .flatMap(batch -> Mono.fromRunnable(() -> {
+                    long t = embed.begin();
+                    vectorStore.add(batch);
+                    embed.end(t, batch.size());
+                }).subscribeOn(Schedulers.boundedElastic()), properties.getEmbedConcurrency())
+                .then(Mono.fromCallable(() -> {
+                    long elapsed = System.nanoTime() - start;
+                    PipelineReport report = new PipelineReport(elapsed / 1_000_000,
+                            List.of(read.snapshot(elapsed), split.snapshot(elapsed), enrich.snapshot(elapsed),
+                                    embed.snapshot(elapsed)));
+                    logger.info("ETL pipeline finished: {}", report);
+                    return report;
+                }));
+    }
+
+    /**
+     * 按 token 预算累积嵌入批次，避免单次请求超过嵌入模型的输入上限。
+     * 会使当前批次超出预算或条数上限的文档作为下一批的第一条，单个超出预算的文档单独成批。
+     */
+    private Flux<List<Document>> batchByTokens(Flux<Document> documents) {
+        int[] tokens = {0};
+        int[] size = {0};
+        return documents.bufferUntil(document -> {
+            int documentTokens = tokenCountEstimator.estimate(document.getText());
+            boolean overflow = size[0] > 0 && (tokens[0] + documentTokens > properties.getEmbeddingBatchTokens()
+                    || size[0] >= properties.getEmbeddingBatchSize());
+            if (overflow) {
+                tokens[0] = 0;
+                size[0] = 0;
+            }
+            tokens[0] += documentTokens;
+            size[0]++;
+            return overflow;
+        }, true);
+    }
+
+    /**
+     * @param elapsedMillis 管道总耗时
+     * @param stages 各阶段统计
+     */
+    public record PipelineReport(long elapsedMillis, List<StageMetrics.Snapshot> stages) {
+    }
+}
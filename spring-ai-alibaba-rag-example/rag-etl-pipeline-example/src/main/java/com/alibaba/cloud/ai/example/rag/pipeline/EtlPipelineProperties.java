@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.rag.pipeline;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 流式 ETL 管道配置
+ */
+@ConfigurationProperties(prefix = "rag.etl.pipeline")
+public class EtlPipelineProperties {
+
+    /**
+     * 每个文本块的目标 token 数量
+     */
+    private int chunkSize = 800;
+
+    /**
+     * 同时进行的 LLM 元数据增强调用数
+     */
+    private int enrichConcurrency = 4;
+
+    /**
+     * 每个文本块提取的关键词数量，0 表示跳过关键词增强
+     */
+    private int keywords = 3;
+
+    /**
+     * 是否为每个文本块生成摘要
+     */
+    private boolean summary = false;
+
+    /**
+     * 单个嵌入批次的 token 上限
+     */
+    private int embeddingBatchTokens = 8000;
+
+    /**
+     * 单个嵌入批次的文本块数量上限
+     */
+    private int embeddingBatchSize = 25;
+
+    /**
+     * 同时进行的嵌入写入批次数
+     */
+    private int embedConcurrency = 2;
+
+    /**
+     * benchmark 接口允许读取的语料根目录，未配置时该接口不可用
+     */
+    private String corpusDir;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getEnrichConcurrency() {
+        return enrichConcurrency;
+    }
+
+    public void setEnrichConcurrency(int enrichConcurrency) {
+        this.enrichConcurrency = enrichConcurrency;
+    }
+
+    public int getKeywords() {
+        return keywords;
+    }
+
+    public void setKeywords(int keywords) {
+        this.keywords = keywords;
+    }
+
+    public boolean isSummary() {
+        return summary;
+    }
+
+    public void setSummary(boolean summary) {
+        this.summary = summary;
+    }
+
+    public int getEmbeddingBatchTokens() {
+        return embeddingBatchTokens;
+    }
+
+    public void setEmbeddingBatchTokens(int embeddingBatchTokens) {
+        this.embeddingBatchTokens = embeddingBatchTokens;
+    }
+
+    public int getEmbeddingBatchSize() {
+        return embeddingBatchSize;
+    }
+
+    public void setEmbeddingBatchSize(int embeddingBatchSize) {
+        this.embeddingBatchSize = embeddingBatchSize;
+    }
+
+    public int getEmbedConcurrency() {
+        return embedConcurrency;
+    }
+
+    public void setEmbedConcurrency(int embedConcurrency) {
+        this.embedConcurrency = embedConcurrency;
+    }
+
+    public String getCorpusDir() {
+        return corpusDir;
+    }
+
+    public void setCorpusDir(String corpusDir) {
+        this.corpusDir = corpusDir;
+    }
+}
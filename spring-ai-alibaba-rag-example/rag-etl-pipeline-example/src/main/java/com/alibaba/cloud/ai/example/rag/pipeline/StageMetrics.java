@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.rag.pipeline;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 单个管道阶段的吞吐统计
+ */
+public class StageMetrics {
+
+    private final String stage;
+
+    private final AtomicLong items = new AtomicLong();
+
+    private final AtomicLong busyNanos = new AtomicLong();
+
+    private final AtomicLong inFlight = new AtomicLong();
+
+    private final AtomicLong maxInFlight = new AtomicLong();
+
+    public StageMetrics(String stage) {
+        this.stage = stage;
+    }
+
+    long begin() {
+        long current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        return System.nanoTime();
+    }
+
+    void end(long startNanos, int count) {
+        busyNanos.addAndGet(System.nanoTime() - startNanos);
+        items.addAndGet(count);
+        inFlight.decrementAndGet();
+    }
+
+    public Snapshot snapshot(long elapsedNanos) {
+        long count = items.get();
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        double throughput = seconds > 0 ? count / seconds : 0;
+        double avgMillis = count > 0 ? busyNanos.get() / 1_000_000.0 / count : 0;
+        return new Snapshot(stage, count, throughput, avgMillis, maxInFlight.get());
+    }
+
+    /**
+     * @param items 阶段输出的条目数
+     * @param throughput 每秒条目数（按管道总耗时计算）
+     * @param avgMillis 单条目平均处理耗时
+     * @param maxInFlight 观察到的最大并发
+     */
+    public record Snapshot(String stage, long items, double throughput, double avgMillis, long maxInFlight) {
+    }
+}
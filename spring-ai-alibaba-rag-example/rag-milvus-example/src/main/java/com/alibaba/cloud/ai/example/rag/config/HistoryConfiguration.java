@@ -0,0 +1,36 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.rag.config;
+
+import java.time.Duration;
+
+import com.alibaba.cloud.ai.example.rag.history.ConversationHistoryStore;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HistoryConfiguration {
+
+	@Bean
+	ConversationHistoryStore conversationHistoryStore(@Value("${rag.history.max-messages:10}") int maxMessages,
+			@Value("${rag.history.idle-timeout:30m}") Duration idleTimeout) {
+		return new ConversationHistoryStore(maxMessages, idleTimeout);
+	}
+
+}
@@ -16,19 +16,21 @@
 
 package com.alibaba.cloud.ai.example.rag.controller;
 
-import java.util.ArrayList;
 import java.util.List;
 
+import com.alibaba.cloud.ai.example.rag.history.ConversationHistoryStore;
 import jakarta.servlet.http.HttpServletResponse;
 import reactor.core.publisher.Flux;
 
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.vectorstore.QuestionAnswerAdvisor;
+import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -42,43 +44,46 @@ public class RagController {
 
 	private final ChatClient chatClient;
 
-	public RagController(VectorStore vectorStore, ChatClient chatClient) {
+	// 按会话隔离的有界历史消息
+	private final ConversationHistoryStore historyStore;
+
+	private final SearchRequest searchRequest;
+
+	public RagController(VectorStore vectorStore, ChatClient chatClient, ConversationHistoryStore historyStore,
+			@Value("${rag.search.top-k:4}") int topK,
+			@Value("${rag.search.similarity-threshold:0.0}") double similarityThreshold) {
 		this.vectorStore = vectorStore;
 		this.chatClient = chatClient;
+		this.historyStore = historyStore;
+		this.searchRequest = SearchRequest.builder().topK(topK).similarityThreshold(similarityThreshold).build();
 	}
 
-	// 历史消息列表
-	private static List<Message> historyMessage = new ArrayList<>();
-
-	// 历史消息列表的最大长度
-	private final static int maxLen = 10;
-
 	@GetMapping(value = "/chat")
-	public Flux<String> generation(@RequestParam("prompt") String userInput, HttpServletResponse response) {
+	public Flux<String> generation(@RequestParam("prompt") String userInput,
+			@RequestParam(value = "conversationId", defaultValue = "default") String conversationId,
+			HttpServletResponse response) {
 
 		response.setCharacterEncoding("UTF-8");
 
-		// 发起聊天请求并处理响应
-		Flux<String> resp = chatClient.prompt()
-			.messages(historyMessage)
+		List<Message> history = historyStore.get(conversationId);
+
+		// 用户输入的文本是 UserMessage
+		historyStore.add(conversationId, new UserMessage(userInput));
+
+		// 发起聊天请求并处理响应，回答完成后写入历史
+		StringBuilder answer = new StringBuilder();
+		return chatClient.prompt()
+			.messages(history)
 			.user(userInput)
 			.advisors(QuestionAnswerAdvisor
 					.builder(vectorStore)
-					.searchRequest(SearchRequest.builder().build())
+					.searchRequest(searchRequest)
 					.build()
 			)
 			.stream()
-			.content();
-
-		// 用户输入的文本是 UserMessage
-		historyMessage.add(new UserMessage(userInput));
-
-		// 发给 AI 前对历史消息对列的长度进行检查
-		if (historyMessage.size() > maxLen) {
-			historyMessage = historyMessage.subList(historyMessage.size() - maxLen - 1, historyMessage.size());
-		}
-
-		return resp;
+			.content()
+			.doOnNext(answer::append)
+			.doOnComplete(() -> historyStore.add(conversationId, new AssistantMessage(answer.toString())));
 	}
 
 	/**
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.rag.history;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.ai.chat.messages.Message;
+
+/**
+ * 按会话隔离的有界历史消息存储。
+ * <p>
+ * 每个会话使用固定容量的无锁环形缓冲区，写入只做一次 CAS 自增和一次数组槽位写入，
+ * 超出容量的旧消息被直接覆盖；长时间未访问的会话在后续访问时被顺带清理。
+ */
+public class ConversationHistoryStore {
+
+	private final ConcurrentMap<String, Conversation> conversations = new ConcurrentHashMap<>();
+
+	private final int capacity;
+
+	private final long idleNanos;
+
+	private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+	public ConversationHistoryStore(int capacity, Duration idleTimeout) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive");
+		}
+		this.capacity = capacity;
+		this.idleNanos = idleTimeout.toNanos();
+	}
+
+	public void add(String conversationId, Message message) {
+		conversation(conversationId).add(message);
+	}
+
+	/**
+	 * @return 按写入顺序排列的最近 {@code capacity} 条消息
+	 */
+	public List<Message> get(String conversationId) {
+		return conversation(conversationId).snapshot();
+	}
+
+	public void clear(String conversationId) {
+		conversations.remove(conversationId);
+	}
+
+	public int size() {
+		return conversations.size();
+	}
+
+	private Conversation conversation(String conversationId) {
+		long now = System.nanoTime();
+		evictIdle(now);
+		Conversation conversation = conversations.computeIfAbsent(conversationId, id -> new Conversation(capacity));
+		conversation.lastAccess = now;
+		return conversation;
+	}
+
+	private void evictIdle(long now) {
+		long last = lastSweep.get();
+		// 每个空闲周期最多只有一个线程执行清理
+		if (now - last < idleNanos / 4 || !lastSweep.compareAndSet(last, now)) {
+			return;
+		}
+		conversations.values().removeIf(conversation -> now - conversation.lastAccess > idleNanos);
+	}
+
+	private static final class Conversation {
+
+		private final AtomicReferenceArray<Entry> slots;
+
+		private final AtomicLong sequence = new AtomicLong();
+
+		private volatile long lastAccess;
+
+		private Conversation(int capacity) {
+			this.slots = new AtomicReferenceArray<>(capacity);
+		}
+
+		void add(Message message) {
+			long seq = sequence.getAndIncrement();
+			slots.set((int) (seq % slots.length()), new Entry(seq, message));
+		}
+
+		List<Message> snapshot() {
+			long end = sequence.get();
+			long start = Math.max(0, end - slots.length());
+			List<Message> messages = new ArrayList<>((int) (end - start));
+			for (long seq = start; seq < end; seq++) {
+				Entry entry = slots.get((int) (seq % slots.length()));
+				// 槽位可能尚未写入或已被更新的消息覆盖
+				if (entry != null && entry.seq == seq) {
+					messages.add(entry.message);
+				}
+			}
+			return messages;
+		}
+
+	}
+
+	private record Entry(long seq, Message message) {
+	}
+
+}
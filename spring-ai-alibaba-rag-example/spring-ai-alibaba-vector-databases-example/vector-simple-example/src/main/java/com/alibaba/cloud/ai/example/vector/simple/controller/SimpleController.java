@@ -16,6 +16,9 @@
 
 package com.alibaba.cloud.ai.example.vector.simple.controller;
 
+import com.alibaba.cloud.ai.example.vector.simple.store.BinaryVectorFormat;
+import com.alibaba.cloud.ai.example.vector.simple.store.IndexedSimpleVectorStore;
+import com.alibaba.cloud.ai.example.vector.simple.store.MappedVectorSegment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
@@ -26,23 +29,33 @@ import org.springframework.ai.vectorstore.filter.Filter;
 import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 @RestController
 @RequestMapping("/simple")
 public class SimpleController {
 
     private static final Logger logger = LoggerFactory.getLogger(SimpleController.class);
-    private final SimpleVectorStore simpleVectorStore;
+    private final IndexedSimpleVectorStore simpleVectorStore;
+    private final EmbeddingModel embeddingModel;
     private final String SAVE_PATH = System.getProperty("user.dir") + "/spring-ai-alibaba-rag-example" +"/spring-ai-alibaba-vector-databases-example/vector-simple-example/src/main/resources/save.json";
+    private final String BINARY_PATH = System.getProperty("user.dir") + "/spring-ai-alibaba-rag-example" +"/spring-ai-alibaba-vector-databases-example/vector-simple-example/target/save-binary";
+    private volatile MappedVectorSegment mappedSegment;
+    // 检索持有读锁，切换映射段持有写锁，旧段在进行中的检索结束后才关闭
+    private final ReadWriteLock segmentLock = new ReentrantReadWriteLock();
     public SimpleController(EmbeddingModel embeddingModel) {
-        this.simpleVectorStore = SimpleVectorStore
-                .builder(embeddingModel).build();
+        this.embeddingModel = embeddingModel;
+        this.simpleVectorStore = IndexedSimpleVectorStore.create(embeddingModel);
     }
 
     @GetMapping("/add")
@@ -93,6 +106,9 @@ public class SimpleController {
                 .build());
     }
 
+    /**
+     * 过滤条件由元数据倒排索引预先求出候选集，只对候选文档计算相似度
+     */
     @GetMapping("/search-filter")
     public List<Document> searchFilter() {
         logger.info("start search  filter data");
@@ -109,4 +125,78 @@ public class SimpleController {
                 .filterExpression(expression).build());
     }
 
+    @GetMapping("/save-binary")
+    public int saveBinary() throws IOException {
+        logger.info("start save binary data: {}", BINARY_PATH);
+        return simpleVectorStore.saveBinary(new File(BINARY_PATH));
+    }
+
+    @GetMapping("/convert")
+    public int convert() throws IOException {
+        logger.info("start convert {} to {}", SAVE_PATH, BINARY_PATH);
+        return BinaryVectorFormat.convertJson(new File(SAVE_PATH), new File(BINARY_PATH));
+    }
+
+    @GetMapping("/load-binary")
+    public synchronized int loadBinary() throws IOException {
+        logger.info("start load binary data: {}", BINARY_PATH);
+        MappedVectorSegment loaded = new MappedVectorSegment(new File(BINARY_PATH));
+        MappedVectorSegment previous;
+        segmentLock.writeLock().lock();
+        try {
+            previous = this.mappedSegment;
+            this.mappedSegment = loaded;
+        } finally {
+            segmentLock.writeLock().unlock();
+        }
+        if (previous != null) {
+            previous.close();
+        }
+        return loaded.size();
+    }
+
+    @GetMapping("/search-binary")
+    public List<Document> searchBinary() throws IOException {
+        logger.info("start search binary data");
+        float[] query = embeddingModel.embed("Spring");
+        segmentLock.readLock().lock();
+        try {
+            MappedVectorSegment segment = this.mappedSegment;
+            if (segment == null) {
+                throw new IllegalStateException("Binary store is not loaded, call /simple/load-binary first");
+            }
+            return segment.similaritySearch(query, 2, SearchRequest.SIMILARITY_THRESHOLD_ACCEPT_ALL);
+        } finally {
+            segmentLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 对比 JSON 与二进制格式的加载耗时，以及映射段上的平均检索耗时
+     */
+    @GetMapping("/benchmark")
+    public Map<String, Object> benchmark(@RequestParam(defaultValue = "100") int iterations) throws IOException {
+        logger.info("start load/search benchmark");
+        Map<String, Object> result = new LinkedHashMap<>();
+
+        long start = System.nanoTime();
+        SimpleVectorStore jsonStore = SimpleVectorStore.builder(embeddingModel).build();
+        jsonStore.load(new File(SAVE_PATH));
+        result.put("jsonLoadMillis", (System.nanoTime() - start) / 1_000_000.0);
+
+        start = System.nanoTime();
+        try (MappedVectorSegment segment = new MappedVectorSegment(new File(BINARY_PATH))) {
+            result.put("binaryOpenMillis", (System.nanoTime() - start) / 1_000_000.0);
+            result.put("documents", segment.size());
+
+            float[] query = embeddingModel.embed("Spring");
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                segment.similaritySearch(query, 10, SearchRequest.SIMILARITY_THRESHOLD_ACCEPT_ALL);
+            }
+            result.put("binarySearchAvgMicros", (System.nanoTime() - start) / 1_000.0 / iterations);
+        }
+        return result;
+    }
+
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.vector.simple.store;
+
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SimpleVectorStore;
+import org.springframework.ai.vectorstore.SimpleVectorStoreContent;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * 在 {@link SimpleVectorStore} 的 JSON 持久化之外，支持导出为 {@link BinaryVectorFormat}
+ */
+public class BinarySimpleVectorStore extends SimpleVectorStore {
+
+    protected BinarySimpleVectorStore(SimpleVectorStoreBuilder builder) {
+        super(builder);
+    }
+
+    public static BinarySimpleVectorStore create(EmbeddingModel embeddingModel) {
+        return new BinarySimpleVectorStore(SimpleVectorStore.builder(embeddingModel));
+    }
+
+    /**
+     * 将当前内容写入二进制存储目录，向量逐行写出，不生成中间 JSON
+     */
+    public int saveBinary(File dir) throws IOException {
+        try (BinaryVectorFormat.Writer writer = new BinaryVectorFormat.Writer(dir)) {
+            for (SimpleVectorStoreContent content : this.store.values()) {
+                writer.append(content.getId(), content.getText(), content.getMetadata(), content.getEmbedding());
+            }
+            writer.commit();
+        }
+        return this.store.size();
+    }
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.vector.simple.store;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SimpleVectorStore 的二进制持久化格式，一个存储目录包含三个段：
+ * <ul>
+ * <li>{@code vectors.f32}：16 字节头（magic、version、dimensions、count）+ 按行存放的 float32 小端矩阵，可只读 mmap</li>
+ * <li>{@code documents.jsonl}：与矩阵行号一一对应的 id、text、metadata，每行一个 JSON</li>
+ * <li>{@code documents.idx}：count + 1 个 long，记录每个文档行在 documents.jsonl 中的起始偏移</li>
+ * </ul>
+ * 写入时先落在同级的临时目录并 fsync，提交时整体 rename 到目标位置，不会覆写已被 {@link MappedVectorSegment} 映射的文件。
+ */
+public final class BinaryVectorFormat {
+
+    public static final String VECTORS_FILE = "vectors.f32";
+
+    public static final String DOCUMENTS_FILE = "documents.jsonl";
+
+    public static final String INDEX_FILE = "documents.idx";
+
+    static final int MAGIC = 0x53564543;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_BYTES = 16;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private BinaryVectorFormat() {
+    }
+
+    /**
+     * 将 {@link org.springframework.ai.vectorstore.SimpleVectorStore#save(File)} 生成的 JSON 文件流式转换为二进制格式，
+     * 转换过程中不会把整个 JSON 解析到堆上
+     */
+    public static int convertJson(File jsonFile, File targetDir) throws IOException {
+        try (JsonParser parser = new JsonFactory(OBJECT_MAPPER).createParser(jsonFile);
+             Writer writer = new Writer(targetDir)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Unexpected vector store json: " + jsonFile);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String key = parser.currentName();
+                parser.nextToken();
+                String id = key;
+                String text = null;
+                Map<String, Object> metadata = Map.of();
+                float[] embedding = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    switch (field) {
+                        case "id" -> id = parser.getValueAsString();
+                        case "text", "content" -> text = parser.getValueAsString();
+                        case "metadata" -> metadata = value == JsonToken.VALUE_NULL ? Map.of()
+                                : parser.readValueAs(LinkedHashMap.class);
+                        case "embedding" -> embedding = readFloats(parser);
+                        default -> parser.skipChildren();
+                    }
+                }
+                if (embedding == null) {
+                    throw new IOException("Document " + id + " has no embedding");
+                }
+                writer.append(id, text, metadata, embedding);
+            }
+            writer.commit();
+            return writer.count;
+        }
+    }
+
+    private static float[] readFloats(JsonParser parser) throws IOException {
+        float[] values = new float[256];
+        int size = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (size == values.length) {
+                float[] grown = new float[values.length * 2];
+                System.arraycopy(values, 0, grown, 0, size);
+                values = grown;
+            }
+            values[size++] = parser.getFloatValue();
+        }
+        float[] result = new float[size];
+        System.arraycopy(values, 0, result, 0, size);
+        return result;
+    }
+
+    /**
+     * 顺序写入文档到临时目录，{@link #commit()} 时回填头部中的文档数量、fsync 并替换目标目录；
+     * 未提交就关闭（如写入中途出错）时丢弃临时目录，目标目录保持原样
+     */
+    public static class Writer implements Closeable {
+
+        private final Path targetDir;
+
+        private final Path tempDir;
+
+        private final FileChannel vectors;
+
+        private final FileChannel documentChannel;
+
+        private final FileChannel indexChannel;
+
+        private final OutputStream documents;
+
+        private final OutputStream index;
+
+        private final ByteBuffer longBuffer = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        private ByteBuffer rowBuffer;
+
+        private int dimensions = -1;
+
+        private int count;
+
+        private long documentOffset;
+
+        private boolean closed;
+
+        public Writer(File targetDir) throws IOException {
+            this.targetDir = targetDir.toPath().toAbsolutePath();
+            Files.createDirectories(this.targetDir.getParent());
+            // 与目标目录同级，保证最后的 rename 不跨文件系统
+            this.tempDir = Files.createTempDirectory(this.targetDir.getParent(),
+                    this.targetDir.getFileName() + ".tmp-");
+            FileChannel vectorChannel = null;
+            FileChannel documentChannel = null;
+            FileChannel indexChannel = null;
+            try {
+                vectorChannel = create(VECTORS_FILE);
+                documentChannel = create(DOCUMENTS_FILE);
+                indexChannel = create(INDEX_FILE);
+            } catch (IOException | RuntimeException e) {
+                closeQuietly(e, vectorChannel, documentChannel, indexChannel);
+                deleteStore(tempDir);
+                throw e;
+            }
+            this.vectors = vectorChannel;
+            this.documentChannel = documentChannel;
+            this.indexChannel = indexChannel;
+            this.documents = new BufferedOutputStream(Channels.newOutputStream(documentChannel), 1 << 16);
+            this.index = new BufferedOutputStream(Channels.newOutputStream(indexChannel));
+            this.vectors.position(HEADER_BYTES);
+            writeOffset(0);
+        }
+
+        private FileChannel create(String name) throws IOException {
+            return FileChannel.open(tempDir.resolve(name), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+
+        public void append(String id, String text, Map<String, Object> metadata, float[] embedding)
+                throws IOException {
+            if (dimensions < 0) {
+                dimensions = embedding.length;
+                rowBuffer = ByteBuffer.allocate(dimensions * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            else if (embedding.length != dimensions) {
+                throw new IOException("Embedding dimension mismatch for " + id + ": expected " + dimensions
+                        + " but was " + embedding.length);
+            }
+            rowBuffer.clear();
+            rowBuffer.asFloatBuffer().put(embedding);
+            rowBuffer.limit(rowBuffer.capacity());
+            while (rowBuffer.hasRemaining()) {
+                vectors.write(rowBuffer);
+            }
+
+            Map<String, Object> line = new HashMap<>(4);
+            line.put("id", id);
+            line.put("text", text);
+            line.put("metadata", metadata);
+            byte[] bytes = OBJECT_MAPPER.writeValueAsBytes(line);
+            documents.write(bytes);
+            documents.write('\n');
+            documentOffset += bytes.length + 1;
+            writeOffset(documentOffset);
+            count++;
+        }
+
+        private void writeOffset(long offset) throws IOException {
+            longBuffer.clear();
+            longBuffer.putLong(offset);
+            index.write(longBuffer.array());
+        }
+
+        /**
+         * 回填头部、fsync 三个段文件，然后用 rename 替换目标目录。
+         * 已打开的 {@link MappedVectorSegment} 持有的是旧文件，不受影响；替换期间新打开目标目录可能短暂失败，但不会读到半写的数据
+         */
+        public void commit() throws IOException {
+            if (closed) {
+                throw new IOException("Writer is already closed");
+            }
+            closed = true;
+            try {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(VERSION).putInt(Math.max(dimensions, 0)).putInt(count).flip();
+                vectors.write(header, 0);
+                documents.flush();
+                index.flush();
+                vectors.force(true);
+                documentChannel.force(true);
+                indexChannel.force(true);
+                closeChannels();
+            } catch (IOException | RuntimeException e) {
+                discard(e);
+                throw e;
+            }
+            forceDirectory(tempDir);
+            publish();
+        }
+
+        private void publish() throws IOException {
+            Path previous = null;
+            try {
+                if (Files.exists(targetDir)) {
+                    // rename 不能覆盖非空目录，先把旧目录挪开
+                    previous = targetDir.resolveSibling(targetDir.getFileName() + ".old-" + System.nanoTime());
+                    move(targetDir, previous);
+                }
+                move(tempDir, targetDir);
+            } catch (IOException | RuntimeException e) {
+                if (previous != null && !Files.exists(targetDir)) {
+                    move(previous, targetDir);
+                }
+                deleteStore(tempDir);
+                throw e;
+            }
+            forceDirectory(targetDir.getParent());
+            if (previous != null) {
+                deleteStore(previous);
+            }
+        }
+
+        /**
+         * 未提交时关闭会丢弃临时目录
+         */
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                discard(null);
+            }
+        }
+
+        private void discard(Exception cause) throws IOException {
+            try {
+                closeChannels();
+            } catch (IOException e) {
+                if (cause == null) {
+                    throw e;
+                }
+                cause.addSuppressed(e);
+            } finally {
+                deleteStore(tempDir);
+            }
+        }
+
+        private void closeChannels() throws IOException {
+            try (vectors; documentChannel; indexChannel; documents; index) {
+                // 按声明的逆序关闭
+            }
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target);
+        }
+    }
+
+    private static void forceDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // 部分平台（如 Windows）不支持对目录 fsync
+        }
+    }
+
+    /**
+     * 只删除本格式的三个段文件，目录中还有其他文件时保留目录
+     */
+    private static void deleteStore(Path dir) {
+        try {
+            for (String name : new String[] { VECTORS_FILE, DOCUMENTS_FILE, INDEX_FILE }) {
+                Files.deleteIfExists(dir.resolve(name));
+            }
+            Files.deleteIfExists(dir);
+        } catch (NoSuchFileException e) {
+            // 已被删除
+        } catch (IOException e) {
+            // 残留的临时目录不影响正确性
+        }
+    }
+
+    private static void closeQuietly(Exception cause, Closeable... closeables) {
+        for (Closeable closeable : closeables) {
+            if (closeable == null) {
+                continue;
+            }
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                cause.addSuppressed(e);
+            }
+        }
+    }
+}
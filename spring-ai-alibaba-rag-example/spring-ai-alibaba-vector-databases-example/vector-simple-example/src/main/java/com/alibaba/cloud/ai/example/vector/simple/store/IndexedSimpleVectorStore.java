@@ -0,0 +1,132 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.vector.simple.store;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.SimpleVectorStore;
+import org.springframework.ai.vectorstore.SimpleVectorStoreContent;
+import org.springframework.core.io.Resource;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 带元数据倒排索引的 SimpleVectorStore。
+ * <p>
+ * 带过滤条件的检索先通过 {@link MetadataIndex} 得到候选文档，只对候选集计算相似度，
+ * 耗时与命中子集大小成正比；索引在 add/delete/load 时同步维护。
+ */
+public class IndexedSimpleVectorStore extends BinarySimpleVectorStore {
+
+    private final MetadataIndex metadataIndex = new MetadataIndex();
+
+    protected IndexedSimpleVectorStore(SimpleVectorStoreBuilder builder) {
+        super(builder);
+    }
+
+    public static IndexedSimpleVectorStore create(EmbeddingModel embeddingModel) {
+        return new IndexedSimpleVectorStore(SimpleVectorStore.builder(embeddingModel));
+    }
+
+    @Override
+    public void doAdd(List<Document> documents) {
+        super.doAdd(documents);
+        for (Document document : documents) {
+            metadataIndex.add(document.getId(), document.getMetadata());
+        }
+    }
+
+    @Override
+    public void doDelete(List<String> idList) {
+        super.doDelete(idList);
+        for (String id : idList) {
+            metadataIndex.remove(id);
+        }
+    }
+
+    @Override
+    public void load(File file) {
+        super.load(file);
+        rebuildIndex();
+    }
+
+    @Override
+    public void load(Resource resource) {
+        super.load(resource);
+        rebuildIndex();
+    }
+
+    @Override
+    public List<Document> doSimilaritySearch(SearchRequest request) {
+        if (!request.hasFilterExpression()) {
+            return super.doSimilaritySearch(request);
+        }
+        List<String> candidates = metadataIndex.matchingIds(request.getFilterExpression());
+        if (candidates == null) {
+            return super.doSimilaritySearch(request);
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        float[] query = this.embeddingModel.embed(request.getQuery());
+        List<Document> result = new ArrayList<>(candidates.size());
+        for (String id : candidates) {
+            SimpleVectorStoreContent content = this.store.get(id);
+            if (content == null) {
+                continue;
+            }
+            double score = cosineSimilarity(query, content.getEmbedding());
+            if (score >= request.getSimilarityThreshold()) {
+                result.add(Document.builder()
+                        .id(content.getId())
+                        .text(content.getText())
+                        .metadata(content.getMetadata())
+                        .score(score)
+                        .build());
+            }
+        }
+        return result.stream()
+                .sorted(Comparator.comparing(Document::getScore).reversed())
+                .limit(request.getTopK())
+                .toList();
+    }
+
+    private void rebuildIndex() {
+        metadataIndex.clear();
+        for (SimpleVectorStoreContent content : this.store.values()) {
+            metadataIndex.add(content.getId(), content.getMetadata());
+        }
+    }
+
+    private static double cosineSimilarity(float[] a, float[] b) {
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        double denominator = Math.sqrt(normA) * Math.sqrt(normB);
+        return denominator == 0 ? 0 : dot / denominator;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.vector.simple.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.ai.document.Document;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.IntPredicate;
+
+/**
+ * 以只读 mmap 方式打开 {@link BinaryVectorFormat} 存储目录。
+ * <p>
+ * 打开时只读取头部并建立映射，向量矩阵由操作系统页缓存按需换入；相似度计算直接在映射区上进行，
+ * 文档正文和元数据只在结果命中时才从 documents.jsonl 中按偏移读取。
+ */
+public class MappedVectorSegment implements Closeable {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final FileChannel vectorChannel;
+
+    private final FileChannel documentChannel;
+
+    private final FloatBuffer[] chunks;
+
+    private final LongBuffer offsets;
+
+    private final int rowsPerChunk;
+
+    private final int dimensions;
+
+    private final int count;
+
+    public MappedVectorSegment(File dir) throws IOException {
+        this.vectorChannel = FileChannel.open(new File(dir, BinaryVectorFormat.VECTORS_FILE).toPath(),
+                StandardOpenOption.READ);
+        try {
+            this.documentChannel = FileChannel.open(new File(dir, BinaryVectorFormat.DOCUMENTS_FILE).toPath(),
+                    StandardOpenOption.READ);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(vectorChannel, e);
+            throw e;
+        }
+
+        try {
+            ByteBuffer header = ByteBuffer.allocate(BinaryVectorFormat.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            vectorChannel.read(header, 0);
+            header.flip();
+            if (header.getInt() != BinaryVectorFormat.MAGIC || header.getInt() != BinaryVectorFormat.VERSION) {
+                throw new IOException("Not a binary vector store: " + dir);
+            }
+            this.dimensions = header.getInt();
+            this.count = header.getInt();
+
+            // 单个 MappedByteBuffer 最大 2GB，按整行切分为多个映射块
+            long rowBytes = (long) Math.max(dimensions, 1) * Float.BYTES;
+            this.rowsPerChunk = (int) Math.max(1, Integer.MAX_VALUE / rowBytes);
+            int chunkCount = count == 0 ? 0 : (count + rowsPerChunk - 1) / rowsPerChunk;
+            this.chunks = new FloatBuffer[chunkCount];
+            for (int c = 0; c < chunkCount; c++) {
+                int rows = Math.min(rowsPerChunk, count - c * rowsPerChunk);
+                long position = BinaryVectorFormat.HEADER_BYTES + (long) c * rowsPerChunk * rowBytes;
+                MappedByteBuffer mapped = vectorChannel.map(FileChannel.MapMode.READ_ONLY, position, rows * rowBytes);
+                this.chunks[c] = mapped.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+            }
+
+            try (FileChannel indexChannel = FileChannel.open(new File(dir, BinaryVectorFormat.INDEX_FILE).toPath(),
+                    StandardOpenOption.READ)) {
+                this.offsets = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, (long) (count + 1) * Long.BYTES)
+                        .order(ByteOrder.LITTLE_ENDIAN)
+                        .asLongBuffer();
+            }
+        } catch (IOException | RuntimeException e) {
+            // 构造失败时调用方拿不到实例，必须在这里关闭已打开的文件
+            closeQuietly(documentChannel, e);
+            closeQuietly(vectorChannel, e);
+            throw e;
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    public List<Document> similaritySearch(float[] query, int topK, double similarityThreshold) throws IOException {
+        return similaritySearch(query, topK, similarityThreshold, row -> true);
+    }
+
+    /**
+     * 在映射区上计算余弦相似度并返回 topK 文档
+     * @param candidates 行号过滤器，返回 false 的行不参与打分
+     */
+    public List<Document> similaritySearch(float[] query, int topK, double similarityThreshold,
+            IntPredicate candidates) throws IOException {
+        if (query.length != dimensions) {
+            throw new IllegalArgumentException(
+                    "Query dimension " + query.length + " does not match store dimension " + dimensions);
+        }
+        double queryNorm = 0;
+        for (float v : query) {
+            queryNorm += v * v;
+        }
+        queryNorm = Math.sqrt(queryNorm);
+
+        PriorityQueue<Hit> heap = new PriorityQueue<>(Math.max(topK, 1));
+        for (int row = 0; row < count; row++) {
+            if (!candidates.test(row)) {
+                continue;
+            }
+            double score = cosine(row, query, queryNorm);
+            if (score < similarityThreshold) {
+                continue;
+            }
+            if (heap.size() < topK) {
+                heap.add(new Hit(row, score));
+            }
+            else if (!heap.isEmpty() && heap.peek().score < score) {
+                heap.poll();
+                heap.add(new Hit(row, score));
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(heap);
+        Collections.sort(hits, Collections.reverseOrder());
+        List<Document> result = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            result.add(readDocument(hit.row, hit.score));
+        }
+        return result;
+    }
+
+    private double cosine(int row, float[] query, double queryNorm) {
+        FloatBuffer chunk = chunks[row / rowsPerChunk];
+        int base = (row % rowsPerChunk) * dimensions;
+        double dot = 0;
+        double norm = 0;
+        for (int i = 0; i < dimensions; i++) {
+            float v = chunk.get(base + i);
+            dot += v * query[i];
+            norm += v * v;
+        }
+        double denominator = Math.sqrt(norm) * queryNorm;
+        return denominator == 0 ? 0 : dot / denominator;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Document readDocument(int row, double score) throws IOException {
+        long start = offsets.get(row);
+        long end = offsets.get(row + 1);
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        while (buffer.hasRemaining()) {
+            if (documentChannel.read(buffer, start + buffer.position()) < 0) {
+                break;
+            }
+        }
+        Map<String, Object> line = OBJECT_MAPPER.readValue(buffer.array(), Map.class);
+        Map<String, Object> metadata = (Map<String, Object>) line.get("metadata");
+        return Document.builder()
+                .id((String) line.get("id"))
+                .text((String) line.get("text"))
+                .metadata(metadata == null ? Map.of() : metadata)
+                .score(score)
+                .build();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (vectorChannel; documentChannel) {
+            // 映射区随 GC 释放
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel, Exception cause) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private record Hit(int row, double score) implements Comparable<Hit> {
+
+        @Override
+        public int compareTo(Hit other) {
+            return Double.compare(score, other.score);
+        }
+    }
+}
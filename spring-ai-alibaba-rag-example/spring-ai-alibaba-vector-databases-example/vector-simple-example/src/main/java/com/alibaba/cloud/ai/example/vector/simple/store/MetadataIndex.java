@@ -0,0 +1,306 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.vector.simple.store;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 元数据倒排索引：每个 (字段, 值) 对应一个文档序号的 BitSet，数值字段额外维护有序映射以支持范围查询。
+ * <p>
+ * {@link #evaluate(Filter.Expression)} 将过滤表达式转换为候选集，无法用索引回答的表达式返回 {@code null}，
+ * 由调用方回退到逐文档求值。
+ */
+public class MetadataIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> ordinals = new HashMap<>();
+
+    private final List<String> ids = new ArrayList<>();
+
+    private final List<Map<String, Object>> indexedMetadata = new ArrayList<>();
+
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+
+    private final BitSet live = new BitSet();
+
+    private final Map<String, Map<Object, BitSet>> postings = new HashMap<>();
+
+    private final Map<String, NavigableMap<Double, BitSet>> numeric = new HashMap<>();
+
+    public void add(String id, Map<String, Object> metadata) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinals.get(id);
+            if (existing != null) {
+                unindex(existing);
+            }
+            int ordinal = existing != null ? existing : nextOrdinal(id);
+            Map<String, Object> copy = metadata == null ? Map.of() : Map.copyOf(withoutNulls(metadata));
+            indexedMetadata.set(ordinal, copy);
+            live.set(ordinal);
+            for (Map.Entry<String, Object> entry : copy.entrySet()) {
+                Object value = normalize(entry.getValue());
+                postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>())
+                        .computeIfAbsent(value, v -> new BitSet())
+                        .set(ordinal);
+                if (value instanceof Number number) {
+                    numeric.computeIfAbsent(entry.getKey(), k -> new TreeMap<>())
+                            .computeIfAbsent(number.doubleValue(), v -> new BitSet())
+                            .set(ordinal);
+                }
+            }
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal == null) {
+                return;
+            }
+            unindex(ordinal);
+            ids.set(ordinal, null);
+            freeOrdinals.push(ordinal);
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            ids.clear();
+            indexedMetadata.clear();
+            freeOrdinals.clear();
+            live.clear();
+            postings.clear();
+            numeric.clear();
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return 满足表达式的文档 id；表达式包含索引不支持的运算时返回 {@code null}
+     */
+    public List<String> matchingIds(Filter.Expression expression) {
+        lock.readLock().lock();
+        try {
+            BitSet bits = evaluate(expression);
+            if (bits == null) {
+                return null;
+            }
+            List<String> result = new ArrayList<>(bits.cardinality());
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                result.add(ids.get(i));
+            }
+            return result;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    BitSet evaluate(Filter.Expression expression) {
+        return switch (expression.type()) {
+            case AND -> combine(expression, true);
+            case OR -> combine(expression, false);
+            case NOT -> complement(evaluateOperand(expression.left()));
+            case EQ -> lookup(expression, false);
+            case NE -> complement(lookup(expression, false));
+            case IN -> lookup(expression, true);
+            case NIN -> complement(lookup(expression, true));
+            case GT, GTE, LT, LTE -> range(expression);
+            default -> null;
+        };
+    }
+
+    private BitSet evaluateOperand(Filter.Operand operand) {
+        if (operand instanceof Filter.Expression expression) {
+            return evaluate(expression);
+        }
+        if (operand instanceof Filter.Group group) {
+            return evaluate(group.content());
+        }
+        return null;
+    }
+
+    private BitSet combine(Filter.Expression expression, boolean and) {
+        BitSet left = evaluateOperand(expression.left());
+        BitSet right = evaluateOperand(expression.right());
+        if (left == null || right == null) {
+            return null;
+        }
+        BitSet result = (BitSet) left.clone();
+        if (and) {
+            result.and(right);
+        }
+        else {
+            result.or(right);
+        }
+        return result;
+    }
+
+    private BitSet complement(BitSet bits) {
+        if (bits == null) {
+            return null;
+        }
+        BitSet result = (BitSet) live.clone();
+        result.andNot(bits);
+        return result;
+    }
+
+    private BitSet lookup(Filter.Expression expression, boolean multi) {
+        String key = key(expression.left());
+        if (key == null || !(expression.right() instanceof Filter.Value value)) {
+            return null;
+        }
+        Map<Object, BitSet> byValue = postings.getOrDefault(key, Map.of());
+        BitSet result = new BitSet();
+        Collection<?> values = multi && value.value() instanceof Collection<?> list ? list : List.of(value.value());
+        for (Object v : values) {
+            BitSet bits = byValue.get(normalize(v));
+            if (bits != null) {
+                result.or(bits);
+            }
+        }
+        return result;
+    }
+
+    private BitSet range(Filter.Expression expression) {
+        String key = key(expression.left());
+        if (key == null || !(expression.right() instanceof Filter.Value value)
+                || !(value.value() instanceof Number bound)) {
+            return null;
+        }
+        NavigableMap<Double, BitSet> sorted = numeric.getOrDefault(key, new TreeMap<>());
+        double b = bound.doubleValue();
+        NavigableMap<Double, BitSet> selected = switch (expression.type()) {
+            case GT -> sorted.tailMap(b, false);
+            case GTE -> sorted.tailMap(b, true);
+            case LT -> sorted.headMap(b, false);
+            default -> sorted.headMap(b, true);
+        };
+        BitSet result = new BitSet();
+        for (BitSet bits : selected.values()) {
+            result.or(bits);
+        }
+        return result;
+    }
+
+    private int nextOrdinal(String id) {
+        int ordinal;
+        if (freeOrdinals.isEmpty()) {
+            ordinal = ids.size();
+            ids.add(id);
+            indexedMetadata.add(Map.of());
+        }
+        else {
+            ordinal = freeOrdinals.pop();
+            ids.set(ordinal, id);
+        }
+        ordinals.put(id, ordinal);
+        return ordinal;
+    }
+
+    private void unindex(int ordinal) {
+        live.clear(ordinal);
+        for (Map.Entry<String, Object> entry : indexedMetadata.get(ordinal).entrySet()) {
+            Object value = normalize(entry.getValue());
+            Map<Object, BitSet> byValue = postings.get(entry.getKey());
+            if (byValue != null) {
+                clearBit(byValue, value, ordinal);
+                if (byValue.isEmpty()) {
+                    postings.remove(entry.getKey());
+                }
+            }
+            if (value instanceof Number number) {
+                NavigableMap<Double, BitSet> sorted = numeric.get(entry.getKey());
+                if (sorted != null) {
+                    clearBit(sorted, number.doubleValue(), ordinal);
+                    if (sorted.isEmpty()) {
+                        numeric.remove(entry.getKey());
+                    }
+                }
+            }
+        }
+        indexedMetadata.set(ordinal, Map.of());
+    }
+
+    private static <K> void clearBit(Map<K, BitSet> map, K key, int ordinal) {
+        BitSet bits = map.get(key);
+        if (bits != null) {
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+
+    private static String key(Filter.Operand operand) {
+        if (!(operand instanceof Filter.Key key)) {
+            return null;
+        }
+        String name = key.key();
+        if (name.length() > 1 && (name.startsWith("\"") && name.endsWith("\"")
+                || name.startsWith("'") && name.endsWith("'"))) {
+            name = name.substring(1, name.length() - 1);
+        }
+        return name;
+    }
+
+    /**
+     * 统一数值类型，使 2024（Integer）与 2024L、2024.0 命中同一条倒排
+     */
+    private static Object normalize(Object value) {
+        if (value instanceof Number number) {
+            double d = number.doubleValue();
+            if (d == Math.rint(d) && !Double.isInfinite(d)) {
+                return (long) d;
+            }
+            return d;
+        }
+        return value;
+    }
+
+    private static Map<String, Object> withoutNulls(Map<String, Object> metadata) {
+        Map<String, Object> copy = new HashMap<>(metadata);
+        copy.values().removeIf(v -> v == null);
+        return copy;
+    }
+}
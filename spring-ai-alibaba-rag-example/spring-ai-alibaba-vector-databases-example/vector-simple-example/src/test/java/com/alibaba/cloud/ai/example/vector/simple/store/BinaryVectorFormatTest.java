@@ -0,0 +1,149 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.vector.simple.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.document.Document;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+class BinaryVectorFormatTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void roundTripsThroughMappedSegment() throws IOException {
+        File dir = tempDir.resolve("store").toFile();
+        write(dir, Map.of(
+                "a", new float[] { 1, 0, 0 },
+                "b", new float[] { 0.8f, 0.6f, 0 },
+                "c", new float[] { 0, 0, 1 }));
+
+        try (MappedVectorSegment segment = new MappedVectorSegment(dir)) {
+            assertThat(segment.size()).isEqualTo(3);
+            assertThat(segment.dimensions()).isEqualTo(3);
+
+            List<Document> hits = segment.similaritySearch(new float[] { 2, 0, 0 }, 2, 0.0);
+            assertThat(hits).extracting(Document::getId).containsExactly("a", "b");
+            assertThat(hits.get(0).getText()).isEqualTo("text of a");
+            assertThat(hits.get(0).getMetadata()).containsEntry("source", "a.md");
+            assertThat(hits.get(0).getScore()).isCloseTo(1.0, offset(1e-6));
+            assertThat(hits.get(1).getScore()).isCloseTo(0.8, offset(1e-6));
+
+            assertThat(segment.similaritySearch(new float[] { 1, 0, 0 }, 3, 0.5)).extracting(Document::getId)
+                    .containsExactly("a", "b");
+            assertThat(segment.similaritySearch(new float[] { 1, 0, 0 }, 3, 0.0, row -> row != 0))
+                    .extracting(Document::getId)
+                    .doesNotContain("a");
+        }
+    }
+
+    @Test
+    void convertsSimpleVectorStoreJson() throws IOException {
+        Path json = tempDir.resolve("save.json");
+        Files.writeString(json, """
+                {
+                  "a": {"id": "a", "text": "text of a", "metadata": {"year": 2025}, "embedding": [1.0, 0.0]},
+                  "b": {"id": "b", "text": "text of b", "metadata": null, "embedding": [0.0, 1.0]}
+                }
+                """);
+        File dir = tempDir.resolve("converted").toFile();
+
+        assertThat(BinaryVectorFormat.convertJson(json.toFile(), dir)).isEqualTo(2);
+        try (MappedVectorSegment segment = new MappedVectorSegment(dir)) {
+            List<Document> hits = segment.similaritySearch(new float[] { 0, 1 }, 1, 0.0);
+            assertThat(hits).extracting(Document::getId).containsExactly("b");
+            assertThat(segment.readDocument(0, 0).getMetadata()).containsEntry("year", 2025);
+        }
+    }
+
+    /**
+     * 映射段打开期间重新保存到同一目录，旧段继续读到旧数据，重新打开后读到新数据
+     */
+    @Test
+    void rewriteDoesNotCorruptMappedSegment() throws IOException {
+        File dir = tempDir.resolve("store").toFile();
+        write(dir, Map.of("a", new float[] { 1, 0 }, "b", new float[] { 0, 1 }));
+
+        try (MappedVectorSegment live = new MappedVectorSegment(dir)) {
+            write(dir, Map.of(
+                    "c", new float[] { 1, 0 },
+                    "d", new float[] { 0.6f, 0.8f },
+                    "e", new float[] { 0, 1 }));
+
+            List<Document> hits = live.similaritySearch(new float[] { 1, 0 }, 2, 0.0);
+            assertThat(live.size()).isEqualTo(2);
+            assertThat(hits).extracting(Document::getId).containsExactly("a", "b");
+            assertThat(hits.get(0).getText()).isEqualTo("text of a");
+
+            try (MappedVectorSegment reloaded = new MappedVectorSegment(dir)) {
+                assertThat(reloaded.size()).isEqualTo(3);
+                assertThat(reloaded.similaritySearch(new float[] { 1, 0 }, 1, 0.0)).extracting(Document::getText)
+                        .containsExactly("text of c");
+            }
+        }
+        assertThat(siblings()).containsExactly("store");
+    }
+
+    @Test
+    void failedWriteKeepsPreviousStore() throws IOException {
+        File dir = tempDir.resolve("store").toFile();
+        write(dir, Map.of("a", new float[] { 1, 0 }));
+
+        try (BinaryVectorFormat.Writer writer = new BinaryVectorFormat.Writer(dir)) {
+            writer.append("b", "text of b", Map.of(), new float[] { 1, 0 });
+            assertThatThrownBy(() -> writer.append("c", "text of c", Map.of(), new float[] { 1, 0, 0 }))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("dimension mismatch");
+        }
+
+        try (MappedVectorSegment segment = new MappedVectorSegment(dir)) {
+            assertThat(segment.size()).isEqualTo(1);
+            assertThat(segment.readDocument(0, 0).getId()).isEqualTo("a");
+        }
+        assertThat(siblings()).containsExactly("store");
+    }
+
+    private static void write(File dir, Map<String, float[]> vectors) throws IOException {
+        try (BinaryVectorFormat.Writer writer = new BinaryVectorFormat.Writer(dir)) {
+            for (Map.Entry<String, float[]> entry : new TreeMap<>(vectors).entrySet()) {
+                writer.append(entry.getKey(), "text of " + entry.getKey(), Map.of("source", entry.getKey() + ".md"),
+                        entry.getValue());
+            }
+            writer.commit();
+        }
+    }
+
+    private List<String> siblings() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+}
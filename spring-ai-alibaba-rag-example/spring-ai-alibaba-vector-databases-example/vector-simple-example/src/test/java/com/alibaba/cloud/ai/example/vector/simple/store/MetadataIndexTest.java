@@ -0,0 +1,235 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.vector.simple.store;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.Filter.ExpressionType;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetadataIndexTest {
+
+    private static final String[] GENRES = { "drama", "comedy", "news" };
+
+    private final FilterExpressionBuilder b = new FilterExpressionBuilder();
+
+    private final MetadataIndex index = new MetadataIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.add("a", Map.of("genre", "drama", "year", 2020, "rating", 4.5));
+        index.add("b", Map.of("genre", "comedy", "year", 2021L, "rating", 3.0));
+        index.add("c", Map.of("genre", "news", "year", 2022.0));
+        index.add("d", Map.of("year", 2019));
+    }
+
+    @Test
+    void evaluatesEqualityAndMembership() {
+        assertThat(index.matchingIds(b.eq("genre", "drama").build())).containsExactly("a");
+        assertThat(index.matchingIds(b.eq("'genre'", "comedy").build())).containsExactly("b");
+        // Integer、Long、Double 的整数值命中同一条倒排
+        assertThat(index.matchingIds(b.eq("year", 2021).build())).containsExactly("b");
+        assertThat(index.matchingIds(b.eq("year", 2022L).build())).containsExactly("c");
+        assertThat(index.matchingIds(b.eq("year", 2020.0).build())).containsExactly("a");
+        assertThat(index.matchingIds(b.in("genre", "drama", "news", "missing").build()))
+                .containsExactlyInAnyOrder("a", "c");
+        assertThat(index.matchingIds(b.eq("genre", "missing").build())).isEmpty();
+        // 不等于包括没有该字段的文档
+        assertThat(index.matchingIds(b.ne("genre", "drama").build())).containsExactlyInAnyOrder("b", "c", "d");
+        assertThat(index.matchingIds(b.nin("genre", "drama", "comedy").build())).containsExactlyInAnyOrder("c", "d");
+    }
+
+    @Test
+    void evaluatesRanges() {
+        assertThat(index.matchingIds(b.gt("year", 2020).build())).containsExactlyInAnyOrder("b", "c");
+        assertThat(index.matchingIds(b.gte("year", 2020).build())).containsExactlyInAnyOrder("a", "b", "c");
+        assertThat(index.matchingIds(b.lt("year", 2020).build())).containsExactly("d");
+        assertThat(index.matchingIds(b.lte("rating", 3).build())).containsExactly("b");
+        assertThat(index.matchingIds(b.gt("rating", 5).build())).isEmpty();
+        // 字符串边界无法用有序映射回答，交给调用方逐文档求值
+        assertThat(index.matchingIds(b.gt("genre", "a").build())).isNull();
+    }
+
+    @Test
+    void combinesWithAndOrNot() {
+        assertThat(index.matchingIds(b.and(b.gte("year", 2020), b.ne("genre", "news")).build()))
+                .containsExactlyInAnyOrder("a", "b");
+        assertThat(index.matchingIds(b.or(b.eq("genre", "drama"), b.lt("year", 2020)).build()))
+                .containsExactlyInAnyOrder("a", "d");
+        assertThat(index.matchingIds(b.not(b.eq("genre", "drama")).build())).containsExactlyInAnyOrder("b", "c", "d");
+        assertThat(index.matchingIds(
+                b.and(b.group(b.or(b.eq("genre", "drama"), b.eq("genre", "news"))), b.not(b.lt("year", 2021)))
+                        .build()))
+                .containsExactly("c");
+        assertThat(index.matchingIds(b.and(b.eq("genre", "drama"), b.gt("genre", "a")).build())).isNull();
+    }
+
+    @Test
+    void removesAndReindexesDocuments() {
+        index.remove("a");
+        index.remove("unknown");
+        assertThat(index.matchingIds(b.eq("genre", "drama").build())).isEmpty();
+        // 补集只在存活文档中计算，删除的文档不会被 NOT / NE 带回来
+        assertThat(index.matchingIds(b.not(b.eq("genre", "comedy")).build())).containsExactlyInAnyOrder("c", "d");
+
+        // 覆盖写入替换旧元数据
+        index.add("b", Map.of("genre", "drama", "year", 2018));
+        assertThat(index.matchingIds(b.eq("genre", "comedy").build())).isEmpty();
+        assertThat(index.matchingIds(b.lt("year", 2020).build())).containsExactlyInAnyOrder("b", "d");
+        assertThat(index.matchingIds(b.gt("rating", 0).build())).isEmpty();
+
+        // 新文档复用已删除的序号
+        index.add("e", Map.of("genre", "drama"));
+        assertThat(index.matchingIds(b.eq("genre", "drama").build())).containsExactlyInAnyOrder("b", "e");
+
+        index.clear();
+        assertThat(index.matchingIds(b.ne("genre", "drama").build())).isEmpty();
+        index.add("f", Map.of("genre", "news"));
+        assertThat(index.matchingIds(b.eq("genre", "news").build())).containsExactly("f");
+    }
+
+    @Test
+    void agreesWithBruteForceEvaluation() {
+        Random random = new Random(42);
+        MetadataIndex randomIndex = new MetadataIndex();
+        Map<String, Map<String, Object>> documents = new LinkedHashMap<>();
+        for (int i = 0; i < 300; i++) {
+            put(randomIndex, documents, "doc-" + i, randomMetadata(random));
+        }
+        for (int i = 0; i < 80; i++) {
+            String id = "doc-" + random.nextInt(300);
+            randomIndex.remove(id);
+            documents.remove(id);
+        }
+        for (int i = 0; i < 40; i++) {
+            put(randomIndex, documents, "doc-" + random.nextInt(300), randomMetadata(random));
+            put(randomIndex, documents, "new-" + i, randomMetadata(random));
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            Filter.Expression expression = randomExpression(random, 3);
+            List<String> expected = documents.entrySet()
+                    .stream()
+                    .filter(entry -> matches(expression, entry.getValue()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            assertThat(randomIndex.matchingIds(expression)).as(expression.toString())
+                    .containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    private static void put(MetadataIndex index, Map<String, Map<String, Object>> documents, String id,
+            Map<String, Object> metadata) {
+        index.add(id, metadata);
+        documents.put(id, metadata);
+    }
+
+    private static Map<String, Object> randomMetadata(Random random) {
+        Map<String, Object> metadata = new HashMap<>();
+        if (random.nextInt(5) > 0) {
+            metadata.put("genre", GENRES[random.nextInt(GENRES.length)]);
+        }
+        if (random.nextInt(5) > 0) {
+            int year = 2018 + random.nextInt(5);
+            metadata.put("year", switch (random.nextInt(3)) {
+                case 0 -> year;
+                case 1 -> (long) year;
+                default -> (double) year;
+            });
+        }
+        if (random.nextBoolean()) {
+            metadata.put("rating", random.nextInt(11) / 2.0);
+        }
+        return metadata;
+    }
+
+    private static Filter.Expression randomExpression(Random random, int depth) {
+        int choice = random.nextInt(depth > 0 ? 10 : 6);
+        return switch (choice) {
+            case 0 -> new Filter.Expression(random.nextBoolean() ? ExpressionType.EQ : ExpressionType.NE,
+                    new Filter.Key("genre"), new Filter.Value(GENRES[random.nextInt(GENRES.length)]));
+            case 1 -> new Filter.Expression(random.nextBoolean() ? ExpressionType.EQ : ExpressionType.NE,
+                    new Filter.Key("year"), new Filter.Value(2018 + random.nextInt(5)));
+            case 2 -> new Filter.Expression(random.nextBoolean() ? ExpressionType.IN : ExpressionType.NIN,
+                    new Filter.Key("genre"), new Filter.Value(List.of(GENRES[random.nextInt(GENRES.length)],
+                            GENRES[random.nextInt(GENRES.length)])));
+            case 3 -> new Filter.Expression(random.nextBoolean() ? ExpressionType.IN : ExpressionType.NIN,
+                    new Filter.Key("year"), new Filter.Value(List.of(2018L + random.nextInt(5), 2018.0 + random.nextInt(5))));
+            case 4, 5 -> {
+                ExpressionType type = new ExpressionType[] { ExpressionType.GT, ExpressionType.GTE, ExpressionType.LT,
+                        ExpressionType.LTE }[random.nextInt(4)];
+                yield random.nextBoolean()
+                        ? new Filter.Expression(type, new Filter.Key("year"), new Filter.Value(2017 + random.nextInt(7)))
+                        : new Filter.Expression(type, new Filter.Key("rating"), new Filter.Value(random.nextInt(13) / 2.0));
+            }
+            case 6 -> new Filter.Expression(ExpressionType.NOT, randomExpression(random, depth - 1), null);
+            case 7 -> new Filter.Expression(ExpressionType.AND, new Filter.Group(randomExpression(random, depth - 1)),
+                    randomExpression(random, depth - 1));
+            default -> new Filter.Expression(random.nextBoolean() ? ExpressionType.AND : ExpressionType.OR,
+                    randomExpression(random, depth - 1), randomExpression(random, depth - 1));
+        };
+    }
+
+    /**
+     * 逐文档求值的参考实现：缺失字段不满足等值与范围条件，满足不等条件
+     */
+    private static boolean matches(Filter.Operand operand, Map<String, Object> metadata) {
+        if (operand instanceof Filter.Group group) {
+            return matches(group.content(), metadata);
+        }
+        Filter.Expression expression = (Filter.Expression) operand;
+        if (expression.type() == ExpressionType.AND) {
+            return matches(expression.left(), metadata) && matches(expression.right(), metadata);
+        }
+        if (expression.type() == ExpressionType.OR) {
+            return matches(expression.left(), metadata) || matches(expression.right(), metadata);
+        }
+        if (expression.type() == ExpressionType.NOT) {
+            return !matches(expression.left(), metadata);
+        }
+        Object actual = metadata.get(((Filter.Key) expression.left()).key());
+        Object expected = ((Filter.Value) expression.right()).value();
+        return switch (expression.type()) {
+            case EQ -> same(actual, expected);
+            case NE -> !same(actual, expected);
+            case IN -> ((List<?>) expected).stream().anyMatch(v -> same(actual, v));
+            case NIN -> ((List<?>) expected).stream().noneMatch(v -> same(actual, v));
+            case GT -> actual instanceof Number n && n.doubleValue() > ((Number) expected).doubleValue();
+            case GTE -> actual instanceof Number n && n.doubleValue() >= ((Number) expected).doubleValue();
+            case LT -> actual instanceof Number n && n.doubleValue() < ((Number) expected).doubleValue();
+            case LTE -> actual instanceof Number n && n.doubleValue() <= ((Number) expected).doubleValue();
+            default -> throw new IllegalArgumentException(expression.toString());
+        };
+    }
+
+    private static boolean same(Object actual, Object expected) {
+        if (actual instanceof Number a && expected instanceof Number e) {
+            return a.doubleValue() == e.doubleValue();
+        }
+        return actual != null && Objects.equals(actual, expected);
+    }
+}
@@ -16,6 +16,8 @@
 
 package com.alibaba.cloud.ai.example.dcg;
 
+import com.alibaba.cloud.ai.example.dcg.config.BulkClassificationProperties;
+import com.alibaba.cloud.ai.example.dcg.store.ClassificationVectorStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
@@ -31,11 +33,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.io.Resource;
 
 @SpringBootApplication
+@EnableConfigurationProperties(BulkClassificationProperties.class)
 public class Application {
 
 	private static final Logger logger = LoggerFactory.getLogger(Application.class);
@@ -69,8 +73,8 @@ public class Application {
 	 */
 	@Bean
 	@Primary
-	public VectorStore classificationVectorStore(EmbeddingModel embeddingModel) {
-		return SimpleVectorStore.builder(embeddingModel).build();
+	public ClassificationVectorStore classificationVectorStore(EmbeddingModel embeddingModel) {
+		return new ClassificationVectorStore(SimpleVectorStore.builder(embeddingModel));
 	}
 
 	/**
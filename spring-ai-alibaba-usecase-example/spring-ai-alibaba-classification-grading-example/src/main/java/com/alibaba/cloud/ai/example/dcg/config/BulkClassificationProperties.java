@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.dcg.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 批量字段分类分级配置
+ */
+@ConfigurationProperties(prefix = BulkClassificationProperties.PREFIX)
+public class BulkClassificationProperties {
+
+	public static final String PREFIX = "classification.bulk";
+
+	/**
+	 * 每次调用 Embedding 模型的字段数
+	 */
+	private int embeddingBatchSize = 10;
+
+	/**
+	 * 每个字段检索的知识片段数
+	 */
+	private int topK = 5;
+
+	/**
+	 * 检索的相似度阈值，0 表示不过滤
+	 */
+	private double similarityThreshold = 0.0;
+
+	/**
+	 * 单个 Prompt 中最多包含的字段数
+	 */
+	private int maxFieldsPerPrompt = 20;
+
+	/**
+	 * 单个 Prompt 中最多附带的知识片段数，按组内字段的命中次数取前 N 个
+	 */
+	private int maxContextDocuments = 8;
+
+	/**
+	 * 同时进行的 Embedding 和大模型请求数
+	 */
+	private int concurrency = 4;
+
+	public int getEmbeddingBatchSize() {
+		return embeddingBatchSize;
+	}
+
+	public void setEmbeddingBatchSize(int embeddingBatchSize) {
+		this.embeddingBatchSize = embeddingBatchSize;
+	}
+
+	public int getTopK() {
+		return topK;
+	}
+
+	public void setTopK(int topK) {
+		this.topK = topK;
+	}
+
+	public double getSimilarityThreshold() {
+		return similarityThreshold;
+	}
+
+	public void setSimilarityThreshold(double similarityThreshold) {
+		this.similarityThreshold = similarityThreshold;
+	}
+
+	public int getMaxFieldsPerPrompt() {
+		return maxFieldsPerPrompt;
+	}
+
+	public void setMaxFieldsPerPrompt(int maxFieldsPerPrompt) {
+		this.maxFieldsPerPrompt = maxFieldsPerPrompt;
+	}
+
+	public int getMaxContextDocuments() {
+		return maxContextDocuments;
+	}
+
+	public void setMaxContextDocuments(int maxContextDocuments) {
+		this.maxContextDocuments = maxContextDocuments;
+	}
+
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	public void setConcurrency(int concurrency) {
+		this.concurrency = concurrency;
+	}
+
+}
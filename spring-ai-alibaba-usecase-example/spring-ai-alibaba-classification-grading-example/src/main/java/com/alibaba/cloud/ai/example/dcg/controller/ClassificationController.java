@@ -16,11 +16,15 @@
 
 package com.alibaba.cloud.ai.example.dcg.controller;
 
+import com.alibaba.cloud.ai.example.dcg.service.BulkClassificationService;
 import com.alibaba.cloud.ai.example.dcg.service.ClassificationAssistant;
+import com.alibaba.cloud.ai.example.dcg.service.FieldClassification;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 
+import java.util.List;
+
 /**
  * 字段分类分级接口
  * Author: yhong
@@ -32,8 +36,11 @@ public class ClassificationController {
 
     private final ClassificationAssistant assistant;
 
-    public ClassificationController(ClassificationAssistant assistant) {
+    private final BulkClassificationService bulkClassificationService;
+
+    public ClassificationController(ClassificationAssistant assistant, BulkClassificationService bulkClassificationService) {
         this.assistant = assistant;
+        this.bulkClassificationService = bulkClassificationService;
     }
 
     /**
@@ -56,4 +63,15 @@ public class ClassificationController {
         return assistant.streamClassify(fieldName, chatId);
     }
 
+    /**
+     * 批量字段分类分级，不使用对话记忆
+     * 示例：POST /api/classify/bulk  ["身份证号", "手机号码", "专利交底书"]
+     * @param fields 字段名列表
+     * @return 与输入顺序一致的分类分级结果
+     */
+    @PostMapping("/bulk")
+    public List<FieldClassification> classifyBulk(@RequestBody List<String> fields) {
+        return bulkClassificationService.classifyAll(fields);
+    }
+
 }
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.dcg.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import com.alibaba.cloud.ai.example.dcg.config.BulkClassificationProperties;
+import com.alibaba.cloud.ai.example.dcg.store.ClassificationVectorStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Service;
+
+/**
+ * Description: 批量字段分类分级
+ * <p>
+ * 面向数据治理任务一次提交成千上万个字段名的场景：字段名按批做 Embedding，在内存中的知识矩阵上一次性完成全部检索；
+ * 检索结果中最相关知识片段相同的字段合并到同一个 Prompt，一次返回多个字段的结果。
+ * 不使用对话记忆，Embedding 和大模型调用在并发上限内并行执行。
+ */
+@Service
+public class BulkClassificationService implements DisposableBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(BulkClassificationService.class);
+
+	private static final String SYSTEM_PROMPT = """
+			你是一个数据安全分类分级助手，请根据用户提供的字段分类知识，判断每个待分类字段属于哪个分类路径，分级是多少，并简要说明理由。
+			每个待分类字段都必须返回一项结果：field 与输入的字段名完全一致，path 使用“一级 > 二级 > 三级 > 四级”的格式，level 使用“第X级”的格式。
+			""";
+
+	private static final String USER_PROMPT_TEMPLATE = """
+			字段分类知识：
+			%s
+
+			待分类字段（每行一个）：
+			%s
+			""";
+
+	private final ChatClient chatClient;
+
+	private final EmbeddingModel embeddingModel;
+
+	private final ClassificationVectorStore vectorStore;
+
+	private final BulkClassificationProperties properties;
+
+	private final ExecutorService executor;
+
+	public BulkClassificationService(ChatClient.Builder modelBuilder,
+									 EmbeddingModel embeddingModel,
+									 ClassificationVectorStore classificationVectorStore,
+									 BulkClassificationProperties properties) {
+
+		// 批量任务不挂载 ChatMemory 和 QuestionAnswerAdvisor，知识由批量检索结果直接拼入 Prompt
+		this.chatClient = modelBuilder.defaultSystem(SYSTEM_PROMPT).build();
+		this.embeddingModel = embeddingModel;
+		this.vectorStore = classificationVectorStore;
+		this.properties = properties;
+		AtomicInteger threads = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getConcurrency()), r -> {
+			Thread thread = new Thread(r, "bulk-classification-" + threads.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * 批量字段分类分级
+	 * @param fieldNames 字段名列表，重复的字段只推理一次
+	 * @return 与输入顺序一致的结果，未能分类的字段 path 和 level 为 null，reason 说明原因（如模型调用失败）
+	 */
+	public List<FieldClassification> classifyAll(List<String> fieldNames) {
+
+		long start = System.nanoTime();
+		List<String> fields = fieldNames.stream()
+				.map(String::strip)
+				.filter(field -> !field.isEmpty())
+				.distinct()
+				.toList();
+
+		List<List<Document>> contexts = vectorStore.similaritySearchAll(embedAll(fields), properties.getTopK(),
+				properties.getSimilarityThreshold());
+		List<Group> groups = group(fields, contexts);
+
+		Map<String, FieldClassification> results = new ConcurrentHashMap<>();
+		List<Future<?>> tasks = new ArrayList<>(groups.size());
+		for (Group group : groups) {
+			tasks.add(executor.submit(() -> classifyGroup(group, results, true)));
+		}
+		tasks.forEach(this::await);
+
+		long classified = results.values().stream().filter(result -> result.path() != null).count();
+		logger.info("Classified {} of {} fields with {} prompts in {} ms", classified, fields.size(), groups.size(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		return fieldNames.stream()
+				.map(name -> results.getOrDefault(name.strip(),
+						new FieldClassification(name, null, null, "模型未返回该字段的分类结果")))
+				.toList();
+	}
+
+	private List<float[]> embedAll(List<String> fields) {
+
+		int batchSize = Math.max(1, properties.getEmbeddingBatchSize());
+		List<Future<List<float[]>>> batches = new ArrayList<>();
+		for (int from = 0; from < fields.size(); from += batchSize) {
+			List<String> batch = fields.subList(from, Math.min(fields.size(), from + batchSize));
+			batches.add(executor.submit(() -> embeddingModel.embed(batch)));
+		}
+		List<float[]> embeddings = new ArrayList<>(fields.size());
+		for (Future<List<float[]>> batch : batches) {
+			embeddings.addAll(await(batch));
+		}
+		return embeddings;
+	}
+
+	/**
+	 * 按最相关的知识片段分组，每组再按单个 Prompt 的字段上限切分；每组附带组内字段命中次数最多的知识片段
+	 */
+	private List<Group> group(List<String> fields, List<List<Document>> contexts) {
+
+		Map<String, List<Integer>> byTopDocument = new LinkedHashMap<>();
+		for (int i = 0; i < fields.size(); i++) {
+			List<Document> context = contexts.get(i);
+			String top = context.isEmpty() ? "" : context.get(0).getId();
+			byTopDocument.computeIfAbsent(top, key -> new ArrayList<>()).add(i);
+		}
+
+		int maxFields = Math.max(1, properties.getMaxFieldsPerPrompt());
+		List<Group> groups = new ArrayList<>();
+		for (List<Integer> members : byTopDocument.values()) {
+			for (int from = 0; from < members.size(); from += maxFields) {
+				List<Integer> chunk = members.subList(from, Math.min(members.size(), from + maxFields));
+				Map<String, Document> documents = new LinkedHashMap<>();
+				Map<String, Integer> hits = new LinkedHashMap<>();
+				for (int index : chunk) {
+					for (Document document : contexts.get(index)) {
+						documents.putIfAbsent(document.getId(), document);
+						hits.merge(document.getId(), 1, Integer::sum);
+					}
+				}
+				List<Document> context = documents.values().stream()
+						.sorted(Comparator.comparing((Document document) -> hits.get(document.getId())).reversed())
+						.limit(properties.getMaxContextDocuments())
+						.toList();
+				groups.add(new Group(chunk.stream().map(fields::get).toList(), context));
+			}
+		}
+		return groups;
+	}
+
+	private void classifyGroup(Group group, Map<String, FieldClassification> results, boolean retryMissing) {
+
+		String knowledge = group.context().stream()
+				.map(Document::getText)
+				.collect(Collectors.joining("\n\n"));
+		List<FieldClassification> answers;
+		try {
+			answers = chatClient.prompt()
+					.user(String.format(USER_PROMPT_TEMPLATE, knowledge, String.join("\n", group.fields())))
+					.call()
+					.entity(new ParameterizedTypeReference<List<FieldClassification>>() {
+					});
+		}
+		catch (RuntimeException e) {
+			// 单个 Prompt 失败不影响其他分组，失败原因随结果返回给调用方
+			logger.warn("Failed to classify {} fields", group.fields().size(), e);
+			for (String field : group.fields()) {
+				results.put(field, new FieldClassification(field, null, null, "分类失败：" + e.getMessage()));
+			}
+			return;
+		}
+
+		Set<String> pending = new LinkedHashSet<>(group.fields());
+		if (answers != null) {
+			for (FieldClassification answer : answers) {
+				if (answer != null && answer.field() != null && pending.remove(answer.field().strip())) {
+					results.put(answer.field().strip(), answer);
+				}
+			}
+		}
+		// 模型偶尔会漏掉或改写个别字段名，漏掉的字段用同样的知识再推理一次
+		if (!pending.isEmpty() && retryMissing) {
+			classifyGroup(new Group(List.copyOf(pending), group.context()), results, false);
+		}
+	}
+
+	private <T> T await(Future<T> future) {
+
+		try {
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	@Override
+	public void destroy() {
+
+		executor.shutdownNow();
+	}
+
+	/**
+	 * @param fields 同一个 Prompt 中推理的字段
+	 * @param context 随 Prompt 一起发送的知识片段
+	 */
+	private record Group(List<String> fields, List<Document> context) {
+
+	}
+
+}
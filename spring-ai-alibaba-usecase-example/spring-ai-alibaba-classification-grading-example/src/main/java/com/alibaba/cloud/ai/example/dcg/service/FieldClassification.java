@@ -0,0 +1,29 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.dcg.service;
+
+/**
+ * 单个字段的分类分级结果
+ *
+ * @param field 字段名
+ * @param path 分类路径，如“一级 > 二级 > 三级 > 四级”
+ * @param level 分级，如“第4级”
+ * @param reason 简要理由
+ */
+public record FieldClassification(String field, String path, String level, String reason) {
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.dcg.store;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SimpleVectorStore;
+import org.springframework.ai.vectorstore.SimpleVectorStoreContent;
+import org.springframework.core.io.Resource;
+
+/**
+ * 支持批量检索的 SimpleVectorStore。
+ * <p>
+ * 知识片段的向量归一化后拼接为一个连续的 float 矩阵（写入或删除后按版本号重建），
+ * 批量检索时直接传入已计算好的查询向量，每个查询只需对矩阵做一次顺序扫描，不再逐条调用 Embedding 模型。
+ */
+public class ClassificationVectorStore extends SimpleVectorStore {
+
+	/**
+	 * 每次写入、删除或加载后递增，矩阵记录构建时读到的版本号，不一致即视为过期
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	private final Object rebuildLock = new Object();
+
+	private volatile Matrix matrix;
+
+	public ClassificationVectorStore(SimpleVectorStoreBuilder builder) {
+		super(builder);
+	}
+
+	@Override
+	public void doAdd(List<Document> documents) {
+		super.doAdd(documents);
+		this.generation.incrementAndGet();
+	}
+
+	@Override
+	public void doDelete(List<String> idList) {
+		super.doDelete(idList);
+		this.generation.incrementAndGet();
+	}
+
+	@Override
+	public void load(File file) {
+		super.load(file);
+		this.generation.incrementAndGet();
+	}
+
+	@Override
+	public void load(Resource resource) {
+		super.load(resource);
+		this.generation.incrementAndGet();
+	}
+
+	/**
+	 * @param queries 查询向量，无需预先归一化
+	 * @return 与 queries 一一对应的检索结果，按相似度降序
+	 */
+	public List<List<Document>> similaritySearchAll(List<float[]> queries, int topK, double similarityThreshold) {
+		Matrix current = matrix();
+		List<List<Document>> results = new ArrayList<>(queries.size());
+		for (float[] query : queries) {
+			results.add(current.search(normalize(query.clone()), topK, similarityThreshold));
+		}
+		return results;
+	}
+
+	private Matrix matrix() {
+		Matrix current = matrix;
+		if (current != null && current.generation == generation.get()) {
+			return current;
+		}
+		synchronized (rebuildLock) {
+			// 先读版本号再复制内容：复制期间发生的写入会让版本号前进，下一次检索时重建
+			long expected = generation.get();
+			current = matrix;
+			if (current == null || current.generation != expected) {
+				current = new Matrix(new ArrayList<>(this.store.values()), expected);
+				matrix = current;
+			}
+			return current;
+		}
+	}
+
+	private static float[] normalize(float[] vector) {
+		double norm = 0;
+		for (float v : vector) {
+			norm += v * v;
+		}
+		norm = Math.sqrt(norm);
+		if (norm > 0) {
+			for (int i = 0; i < vector.length; i++) {
+				vector[i] /= (float) norm;
+			}
+		}
+		return vector;
+	}
+
+	private static final class Matrix {
+
+		private final List<SimpleVectorStoreContent> contents;
+
+		private final float[] values;
+
+		private final int dimensions;
+
+		private final long generation;
+
+		private Matrix(List<SimpleVectorStoreContent> contents, long generation) {
+			this.contents = contents;
+			this.generation = generation;
+			this.dimensions = contents.isEmpty() ? 0 : contents.get(0).getEmbedding().length;
+			this.values = new float[contents.size() * dimensions];
+			for (int row = 0; row < contents.size(); row++) {
+				float[] embedding = normalize(contents.get(row).getEmbedding().clone());
+				System.arraycopy(embedding, 0, values, row * dimensions, dimensions);
+			}
+		}
+
+		private List<Document> search(float[] query, int topK, double similarityThreshold) {
+			if (query.length != dimensions || topK <= 0) {
+				return List.of();
+			}
+			// 小顶堆保留相似度最高的 topK 行
+			PriorityQueue<double[]> top = new PriorityQueue<>(topK + 1, (a, b) -> Double.compare(a[0], b[0]));
+			for (int row = 0, offset = 0; row < contents.size(); row++, offset += dimensions) {
+				double score = 0;
+				for (int d = 0; d < dimensions; d++) {
+					score += values[offset + d] * query[d];
+				}
+				if (score < similarityThreshold) {
+					continue;
+				}
+				if (top.size() < topK) {
+					top.add(new double[] { score, row });
+				}
+				else if (score > top.peek()[0]) {
+					top.poll();
+					top.add(new double[] { score, row });
+				}
+			}
+			List<Document> documents = new ArrayList<>(top.size());
+			while (!top.isEmpty()) {
+				double[] hit = top.poll();
+				SimpleVectorStoreContent content = contents.get((int) hit[1]);
+				documents.add(0, Document.builder()
+						.id(content.getId())
+						.text(content.getText())
+						.metadata(content.getMetadata())
+						.score(hit[0])
+						.build());
+			}
+			return documents;
+		}
+
+	}
+
+}
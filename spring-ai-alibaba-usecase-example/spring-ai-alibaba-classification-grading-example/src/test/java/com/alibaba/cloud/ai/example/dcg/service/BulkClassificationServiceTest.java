@@ -0,0 +1,168 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.dcg.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import com.alibaba.cloud.ai.example.dcg.config.BulkClassificationProperties;
+import com.alibaba.cloud.ai.example.dcg.store.ClassificationVectorStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.vectorstore.SimpleVectorStore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class BulkClassificationServiceTest {
+
+	private static final Map<String, String> PATHS = Map.of(
+			"mobile_phone", "个人信息 > 联系信息 > 联系方式 > 手机号码",
+			"home_phone", "个人信息 > 联系信息 > 联系方式 > 固定电话",
+			"salary_amount", "个人信息 > 财产信息 > 收入 > 工资");
+
+	private final ScriptedChatModel chatModel = new ScriptedChatModel();
+
+	private BulkClassificationService service;
+
+	@AfterEach
+	void tearDown() {
+
+		if (service != null) {
+			service.destroy();
+		}
+	}
+
+	@Test
+	void failedPromptIsReportedOnEachOfItsFields() {
+
+		chatModel.failing = Set.of("salary_amount");
+		service = service();
+
+		List<FieldClassification> results = service
+			.classifyAll(List.of("salary_amount", " mobile_phone ", "home_phone", "mobile_phone"));
+
+		assertThat(results).extracting(FieldClassification::field, FieldClassification::path)
+			.containsExactly(tuple("salary_amount", null), tuple("mobile_phone", PATHS.get("mobile_phone")),
+					tuple("home_phone", PATHS.get("home_phone")), tuple("mobile_phone", PATHS.get("mobile_phone")));
+		assertThat(results.get(0).level()).isNull();
+		assertThat(results.get(0).reason()).startsWith("分类失败：").contains("model unavailable");
+		// 两个联系方式字段的最相关知识相同，合并为一个 Prompt；重复字段只推理一次
+		assertThat(chatModel.calls).hasValue(2);
+	}
+
+	@Test
+	void fieldsMissingFromTheAnswerAreRetriedOnce() {
+
+		chatModel.omittedOnFirstCall = Set.of("home_phone");
+		service = service();
+
+		List<FieldClassification> results = service.classifyAll(List.of("mobile_phone", "home_phone"));
+
+		assertThat(results).extracting(FieldClassification::path)
+			.containsExactly(PATHS.get("mobile_phone"), PATHS.get("home_phone"));
+		assertThat(chatModel.calls).hasValue(2);
+	}
+
+	private BulkClassificationService service() {
+
+		KeywordEmbeddingModel embeddingModel = new KeywordEmbeddingModel();
+		ClassificationVectorStore vectorStore = new ClassificationVectorStore(SimpleVectorStore.builder(embeddingModel));
+		vectorStore.add(List.of(Document.builder().id("contact").text("phone 联系方式 第3级").build(),
+				Document.builder().id("income").text("salary 收入 第4级").build()));
+		return new BulkClassificationService(ChatClient.builder(chatModel), embeddingModel, vectorStore,
+				new BulkClassificationProperties());
+	}
+
+	/**
+	 * 含 phone 的文本映射到第 0 维，含 salary 的文本映射到第 1 维
+	 */
+	private static class KeywordEmbeddingModel implements EmbeddingModel {
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				embeddings.add(new Embedding(vector(text), embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public float[] embed(Document document) {
+
+			return vector(document.getText());
+		}
+
+		private static float[] vector(String text) {
+
+			return new float[] { text.contains("phone") ? 1 : 0, text.contains("salary") ? 1 : 0, 0.01f };
+		}
+
+	}
+
+	/**
+	 * 按 Prompt 中出现的字段名返回结构化结果，可以让包含指定字段的 Prompt 失败，或在首次出现时漏掉指定字段
+	 */
+	private static class ScriptedChatModel implements ChatModel {
+
+		private final AtomicInteger calls = new AtomicInteger();
+
+		private volatile Set<String> failing = Set.of();
+
+		private volatile Set<String> omittedOnFirstCall = Set.of();
+
+		private final Set<String> omitted = ConcurrentHashMap.newKeySet();
+
+		@Override
+		public ChatResponse call(Prompt prompt) {
+
+			calls.incrementAndGet();
+			String contents = prompt.getContents();
+			List<String> fields = PATHS.keySet().stream().filter(contents::contains).sorted().toList();
+			if (fields.stream().anyMatch(failing::contains)) {
+				throw new IllegalStateException("model unavailable");
+			}
+			String json = fields.stream()
+				.filter(field -> !omittedOnFirstCall.contains(field) || !omitted.add(field))
+				.map(field -> "{\"field\": \"%s\", \"path\": \"%s\", \"level\": \"第3级\", \"reason\": \"测试\"}"
+					.formatted(field, PATHS.get(field)))
+				.collect(Collectors.joining(",", "[", "]"));
+			return new ChatResponse(List.of(new Generation(new AssistantMessage(json))));
+		}
+
+	}
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.example.dcg.store;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.vectorstore.SimpleVectorStore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ClassificationVectorStoreTest {
+
+	private static final int DIMENSIONS = 4;
+
+	private final ClassificationVectorStore store = new ClassificationVectorStore(
+			SimpleVectorStore.builder(new AxisEmbeddingModel()));
+
+	@Test
+	void returnsTopKAboveThresholdInDescendingOrder() {
+
+		store.add(List.of(document("0:1.0"), document("0:0.8 1:0.6"), document("1:1.0"), document("2:1.0")));
+
+		List<List<Document>> results = store.similaritySearchAll(List.of(vector(0, 2f), vector(2, 1f)), 2, 0.5);
+
+		assertThat(results.get(0)).extracting(Document::getId).containsExactly("0:1.0", "0:0.8 1:0.6");
+		assertThat(results.get(0).get(0).getScore()).isCloseTo(1.0, within(1e-6));
+		assertThat(results.get(1)).extracting(Document::getId).containsExactly("2:1.0");
+	}
+
+	@Test
+	void rebuildsTheMatrixAfterWritesAndDeletes() {
+
+		store.add(List.of(document("0:1.0")));
+		assertThat(store.similaritySearchAll(List.of(vector(1, 1f)), 5, 0.5).get(0)).isEmpty();
+
+		store.add(List.of(document("1:1.0")));
+		assertThat(store.similaritySearchAll(List.of(vector(1, 1f)), 5, 0.5).get(0)).extracting(Document::getId)
+			.containsExactly("1:1.0");
+
+		store.delete(List.of("1:1.0"));
+		assertThat(store.similaritySearchAll(List.of(vector(1, 1f)), 5, 0.5).get(0)).isEmpty();
+	}
+
+	@Test
+	void eachSearchReadsOneGenerationWhileWritesAreRebuildingTheMatrix() throws Exception {
+
+		int documents = 300;
+		List<float[]> queries = List.of(vector(0, 1f), vector(0, 1f), vector(0, 1f));
+		AtomicBoolean writing = new AtomicBoolean(true);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> readers = new ArrayList<>();
+			for (int r = 0; r < 3; r++) {
+				readers.add(executor.submit(() -> {
+					int previous = 0;
+					while (writing.get()) {
+						List<List<Document>> results = store.similaritySearchAll(queries, documents, 0.5);
+						// 同一次调用中的所有查询读同一个矩阵，结果完全一致
+						List<String> first = results.get(0).stream().map(Document::getId).sorted().toList();
+						for (List<Document> result : results) {
+							assertThat(result.stream().map(Document::getId).sorted().toList()).isEqualTo(first);
+						}
+						// 只写不删时，后一次检索看到的矩阵不会比前一次旧
+						assertThat(first.size()).isGreaterThanOrEqualTo(previous);
+						previous = first.size();
+					}
+					return null;
+				}));
+			}
+			Future<?> writer = executor.submit(() -> {
+				try {
+					for (int i = 0; i < documents; i++) {
+						store.add(List.of(document("0:1.0 3:" + (i / 1000f))));
+					}
+				}
+				finally {
+					writing.set(false);
+				}
+			});
+			writer.get();
+			for (Future<?> reader : readers) {
+				reader.get();
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		// 写入结束后的第一次检索发现矩阵过期并重建，看到全部数据
+		assertThat(store.similaritySearchAll(queries, documents, 0.5).get(0)).hasSize(documents);
+	}
+
+	private static Document document(String axes) {
+
+		return Document.builder().id(axes).text(axes).build();
+	}
+
+	private static float[] vector(int axis, float value) {
+
+		float[] vector = new float[DIMENSIONS];
+		vector[axis] = value;
+		return vector;
+	}
+
+	/**
+	 * 文本形如 “0:0.8 1:0.6”，按 维度:取值 生成向量
+	 */
+	private static class AxisEmbeddingModel implements EmbeddingModel {
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				embeddings.add(new Embedding(parse(text), embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public float[] embed(Document document) {
+
+			return parse(document.getText());
+		}
+
+		private static float[] parse(String text) {
+
+			float[] vector = new float[DIMENSIONS];
+			for (String axis : text.strip().split("\\s+")) {
+				String[] parts = axis.split(":");
+				vector[Integer.parseInt(parts[0])] = Float.parseFloat(parts[1]);
+			}
+			return vector;
+		}
+
+	}
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo.component;
+
+import com.touhouqing.chatAiDemo.config.ProcurementPipelineProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 批量写入采购项目：攒够 batchSize 或到达 flushInterval 后用一条 UNWIND/MERGE 语句写入 Neo4j，
+ * 采购单位按名称 MERGE，不再逐条查询和保存。
+ * <p>
+ * 整批写入失败时逐条重试，一条坏数据不会连累同批的其他项目；应用关闭时先停止定时任务，再写入剩余的全部数据。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProcurementBatchWriter {
+
+    private static final String MERGE_PROJECTS = """
+            UNWIND $rows AS row
+            MERGE (o:ProcurementOrganization {name: row.organizationName})
+              ON CREATE SET o.type = row.organizationType, o.level = row.organizationLevel,
+                            o.createdAt = row.now, o.updatedAt = row.now
+            MERGE (p:ProcurementProject {sourceUrl: row.sourceUrl})
+              ON CREATE SET p.createdAt = row.now
+            SET p.projectName = row.projectName, p.description = row.description,
+                p.budget = row.budget, p.budgetUnit = row.budgetUnit,
+                p.procurementTime = row.procurementTime, p.publishDate = row.publishDate,
+                p.procurementPolicy = row.procurementPolicy, p.remarks = row.remarks,
+                p.rawContent = row.rawContent, p.aiAnalysis = row.aiAnalysis, p.updatedAt = row.now
+            MERGE (p)-[:PROCURED_BY]->(o)
+            """;
+
+    private final Neo4jClient neo4jClient;
+    private final ProcurementPipelineProperties properties;
+
+    private final LinkedBlockingQueue<Map<String, Object>> pending = new LinkedBlockingQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "procurement-neo4j-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 每条记录写入完成（无论成功与否）后回调其 sourceUrl
+     */
+    private volatile Consumer<String> onCompleted = url -> {};
+
+    @PostConstruct
+    void init() {
+        // MERGE 依赖的 sourceUrl 和单位名称索引由 ProcurementSchemaInitializer 创建
+        long interval = properties.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    void onCompleted(Consumer<String> onCompleted) {
+        this.onCompleted = onCompleted;
+    }
+
+    public void add(Map<String, Object> row) {
+        pending.add(row);
+        if (pending.size() >= properties.getBatchSize() && flushScheduled.compareAndSet(false, true)) {
+            try {
+                flusher.execute(() -> {
+                    flushScheduled.set(false);
+                    flush();
+                });
+            } catch (RejectedExecutionException e) {
+                // 关闭过程中仍有数据进来时直接在调用线程写入
+                flushScheduled.set(false);
+                flush();
+            }
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    public long writtenCount() {
+        return written.sum();
+    }
+
+    public long failedCount() {
+        return failed.sum();
+    }
+
+    public long batchCount() {
+        return batches.sum();
+    }
+
+    private void flush() {
+        List<Map<String, Object>> batch = new ArrayList<>(properties.getBatchSize());
+        while (pending.drainTo(batch, properties.getBatchSize()) > 0) {
+            try {
+                write(batch);
+                written.add(batch.size());
+                batches.increment();
+                log.debug("批量写入 {} 个采购项目", batch.size());
+            } catch (Exception e) {
+                log.warn("批量写入 {} 个采购项目失败，改为逐条写入: {}", batch.size(), e.getMessage());
+                writeOneByOne(batch);
+            }
+            for (Map<String, Object> row : batch) {
+                onCompleted.accept((String) row.get("sourceUrl"));
+            }
+            batch.clear();
+        }
+    }
+
+    private void writeOneByOne(List<Map<String, Object>> batch) {
+        for (Map<String, Object> row : batch) {
+            try {
+                write(List.of(row));
+                written.increment();
+            } catch (Exception e) {
+                failed.increment();
+                log.error("写入采购项目失败: {}", row.get("sourceUrl"), e);
+            }
+        }
+    }
+
+    private void write(List<Map<String, Object>> rows) {
+        neo4jClient.query(MERGE_PROJECTS).bind(rows).to("rows").run();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+}
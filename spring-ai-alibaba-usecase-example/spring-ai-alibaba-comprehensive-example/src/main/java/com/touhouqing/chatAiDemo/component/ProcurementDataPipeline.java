@@ -16,11 +16,12 @@
 
 package com.touhouqing.chatAiDemo.component;
 
-import com.touhouqing.chatAiDemo.entity.ProcurementProject;
-import com.touhouqing.chatAiDemo.entity.ProcurementOrganization;
+import com.touhouqing.chatAiDemo.config.ProcurementExtractionProperties;
+import com.touhouqing.chatAiDemo.config.ProcurementPipelineProperties;
 import com.touhouqing.chatAiDemo.repository.ProcurementProjectRepository;
-import com.touhouqing.chatAiDemo.repository.ProcurementOrganizationRepository;
 import com.touhouqing.chatAiDemo.service.ProcurementAIService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -29,19 +30,89 @@ import us.codecraft.webmagic.Task;
 import us.codecraft.webmagic.pipeline.Pipeline;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * 采购数据处理流水线。
+ * <p>
+ * WebMagic 爬虫线程只做去重和入队；AI 分析由独立的限速线程池执行，结果交给 {@link ProcurementBatchWriter} 批量写入 Neo4j。
+ * 来源 URL 先经布隆过滤器判断，只有“可能已存在”时才查询数据库确认。
+ * 项目字段由 {@link ProcurementFieldExtractor} 按规则抽取，配置为 WHEN_INCOMPLETE 时规则已抽全的项目不再调用 AI。
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ProcurementDataPipeline implements Pipeline {
     
     private final ProcurementProjectRepository projectRepository;
-    private final ProcurementOrganizationRepository organizationRepository;
     private final ProcurementAIService aiService;
-    
+    private final ProcurementBatchWriter batchWriter;
+    private final ProcurementPipelineProperties properties;
+    private final ProcurementFieldExtractor fieldExtractor;
+    private final ProcurementExtractionProperties extractionProperties;
+
+    private final Set<String> inFlightUrls = ConcurrentHashMap.newKeySet();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder enriched = new LongAdder();
+    private final LongAdder enrichFailures = new LongAdder();
+    private final LongAdder enrichNanos = new LongAdder();
+    private final LongAdder ruleOnly = new LongAdder();
+    private final long startNanos = System.nanoTime();
+
+    private BlockingQueue<CrawledPage> queue;
+    private ExecutorService aiWorkers;
+    private AiRateLimiter rateLimiter;
+    private SourceUrlBloomFilter sourceUrls;
+    private volatile boolean sourceUrlsLoaded;
+    private volatile boolean closing;
+
+    @PostConstruct
+    void init() {
+        queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        rateLimiter = new AiRateLimiter(properties.getAiPermitsPerSecond());
+        sourceUrls = new SourceUrlBloomFilter(properties.getBloomExpectedInsertions(), properties.getBloomFalsePositiveRate());
+        batchWriter.onCompleted(inFlightUrls::remove);
+        preloadSourceUrls();
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        aiWorkers = Executors.newFixedThreadPool(properties.getAiWorkers(), r -> {
+            Thread thread = new Thread(r, "procurement-ai-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < properties.getAiWorkers(); i++) {
+            aiWorkers.execute(this::enrichLoop);
+        }
+    }
+
+    private void preloadSourceUrls() {
+        try {
+            int count = 0;
+            for (String url : projectRepository.findAllSourceUrls()) {
+                sourceUrls.put(url);
+                count++;
+            }
+            sourceUrlsLoaded = true;
+            log.info("已预加载 {} 个已入库的来源URL", count);
+        } catch (Exception e) {
+            // 预加载失败时布隆过滤器不完整，每个 URL 都回退到数据库查询
+            log.warn("预加载来源URL失败，将逐条查询数据库去重: {}", e.getMessage());
+        }
+    }
+
     @Override
     public void process(ResultItems resultItems, Task task) {
         try {
@@ -49,177 +120,177 @@ public class ProcurementDataPipeline implements Pipeline {
             if (!"procurement_detail".equals(type)) {
                 return;
             }
-            
-            String title = resultItems.get("title");
-            String publishDate = resultItems.get("publishDate");
-            String publishSource = resultItems.get("publishSource");
-            String content = resultItems.get("content");
-            String tableData = resultItems.get("tableData");
-            String url = resultItems.get("url");
-            
-            log.info("开始处理采购数据: {}", title);
-            
-            // 检查是否已存在
-            Optional<ProcurementProject> existingProject = projectRepository.findBySourceUrl(url);
-            if (existingProject.isPresent()) {
-                log.info("项目已存在，跳过: {}", title);
+
+            CrawledPage page = new CrawledPage(resultItems.get("title"), resultItems.get("publishDate"),
+                    resultItems.get("publishSource"), resultItems.get("content"), resultItems.get("tableData"),
+                    resultItems.get("url"));
+
+            if (page.url() == null) {
+                log.warn("缺少来源URL，跳过: {}", page.title());
+                return;
+            }
+            if (closing) {
+                log.warn("应用正在关闭，跳过: {}", page.title());
                 return;
             }
-            
-            // 使用AI分析数据
-            String aiAnalysis = aiService.analyzeProcurementData(title, content, tableData);
-            
-            // 解析表格数据提取项目信息
-            ProcurementProjectInfo projectInfo = parseProjectInfo(title, content, tableData, aiAnalysis);
-            
-            // 创建或获取采购单位
-            ProcurementOrganization organization = createOrGetOrganization(publishSource, aiAnalysis);
-            
-            // 创建采购项目
-            ProcurementProject project = new ProcurementProject();
-            project.setProjectName(projectInfo.getProjectName());
-            project.setDescription(projectInfo.getDescription());
-            project.setBudget(projectInfo.getBudget());
-            project.setBudgetUnit(projectInfo.getBudgetUnit());
-            project.setProcurementTime(projectInfo.getProcurementTime());
-            project.setPublishDate(publishDate);
-            project.setSourceUrl(url);
-            project.setProcurementPolicy(projectInfo.getProcurementPolicy());
-            project.setRemarks(projectInfo.getRemarks());
-            project.setRawContent(content);
-            project.setAiAnalysis(aiAnalysis);
-            project.setCreatedAt(LocalDateTime.now());
-            project.setUpdatedAt(LocalDateTime.now());
-            project.setOrganization(organization);
-            
-            // 保存到图数据库
-            projectRepository.save(project);
-            
-            log.info("成功保存采购项目: {}", title);
-            
+            if (isDuplicate(page.url())) {
+                duplicates.increment();
+                log.info("项目已存在，跳过: {}", page.title());
+                return;
+            }
+
+            // 队列满时阻塞爬虫线程，抓取速度自动降到分析速度
+            queue.put(page);
+            submitted.increment();
+            log.debug("采购数据已入队: {}，队列长度 {}", page.title(), queue.size());
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.error("处理采购数据出错", e);
         }
     }
-    
-    /**
-     * 解析项目信息
-     */
-    private ProcurementProjectInfo parseProjectInfo(String title, String content, String tableData, String aiAnalysis) {
-        ProcurementProjectInfo info = new ProcurementProjectInfo();
-        
-        // 从标题中提取项目名称
-        info.setProjectName(extractProjectName(title));
-        
-        // 从表格数据中提取预算信息
-        info.setBudget(extractBudget(tableData));
-        info.setBudgetUnit("万元");
-        
-        // 从表格数据中提取采购时间
-        info.setProcurementTime(extractProcurementTime(tableData));
-        
-        // 从表格数据中提取采购政策
-        info.setProcurementPolicy(extractProcurementPolicy(tableData));
-        
-        // 从内容中提取描述
-        info.setDescription(extractDescription(content));
-        
-        // 从表格数据中提取备注
-        info.setRemarks(extractRemarks(tableData));
-        
-        return info;
-    }
-    
+
     /**
-     * 创建或获取采购单位
+     * 同一 URL 正在处理中，或已入库时返回 true；否则登记为处理中
      */
-    private ProcurementOrganization createOrGetOrganization(String publishSource, String aiAnalysis) {
-        if (publishSource == null || publishSource.trim().isEmpty()) {
-            publishSource = "未知单位";
+    private boolean isDuplicate(String url) {
+        if (!inFlightUrls.add(url)) {
+            return true;
         }
-        
-        Optional<ProcurementOrganization> existing = organizationRepository.findByName(publishSource);
-        if (existing.isPresent()) {
-            return existing.get();
+        if (!sourceUrlsLoaded || sourceUrls.mightContain(url)) {
+            if (projectRepository.findBySourceUrl(url).isPresent()) {
+                inFlightUrls.remove(url);
+                return true;
+            }
         }
-        
-        // 创建新的采购单位
-        ProcurementOrganization organization = new ProcurementOrganization();
-        organization.setName(publishSource);
-        organization.setType(determineOrganizationType(publishSource, aiAnalysis));
-        organization.setLevel(determineOrganizationLevel(publishSource, aiAnalysis));
-        organization.setCreatedAt(LocalDateTime.now());
-        organization.setUpdatedAt(LocalDateTime.now());
-        
-        return organizationRepository.save(organization);
+        sourceUrls.put(url);
+        return false;
     }
-    
-    // 辅助方法
-    private String extractProjectName(String title) {
-        if (title != null && title.contains("政府采购意向公告")) {
-            return title.replace("政府采购意向公告", "").trim();
+
+    private void enrichLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            CrawledPage page;
+            try {
+                page = queue.poll(200, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (page == null) {
+                if (closing) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                ProcurementFields fields = fieldExtractor.extract(page.title(), page.content(), page.tableData());
+                String aiAnalysis = null;
+                if (needsAiAnalysis(fields)) {
+                    rateLimiter.acquire();
+                    long start = System.nanoTime();
+                    aiAnalysis = aiService.analyzeProcurementData(page.title(), page.content(), page.tableData());
+                    enrichNanos.add(System.nanoTime() - start);
+                    enriched.increment();
+                    if (aiAnalysis != null && aiAnalysis.startsWith("AI分析失败")) {
+                        // 与原流程一致，分析失败的项目仍然入库，只计入失败数
+                        enrichFailures.increment();
+                    }
+                    log.info("AI分析完成，等待批量写入: {}", page.title());
+                } else {
+                    ruleOnly.increment();
+                    log.info("规则已抽取全部字段，跳过AI分析: {}", page.title());
+                }
+                batchWriter.add(toRow(page, fields, aiAnalysis));
+            } catch (InterruptedException e) {
+                inFlightUrls.remove(page.url());
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                enrichFailures.increment();
+                inFlightUrls.remove(page.url());
+                log.error("处理采购数据出错: {}", page.title(), e);
+            }
         }
-        return title;
     }
-    
-    private Double extractBudget(String tableData) {
-        if (tableData == null) return null;
-        
-        Pattern pattern = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*万元");
-        Matcher matcher = pattern.matcher(tableData);
-        if (matcher.find()) {
-            return Double.parseDouble(matcher.group(1));
-        }
-        return null;
+
+    private boolean needsAiAnalysis(ProcurementFields fields) {
+        return extractionProperties.getAiAnalysis() == ProcurementExtractionProperties.AiAnalysisMode.ALWAYS
+                || !fields.isComplete();
     }
-    
-    private String extractProcurementTime(String tableData) {
-        if (tableData == null) return null;
-        
-        Pattern pattern = Pattern.compile("(\\d{4}-\\d{2})");
-        Matcher matcher = pattern.matcher(tableData);
-        if (matcher.find()) {
-            return matcher.group(1);
+
+    private Map<String, Object> toRow(CrawledPage page, ProcurementFields fields, String aiAnalysis) {
+        String organizationName = page.publishSource();
+        if (organizationName == null || organizationName.trim().isEmpty()) {
+            organizationName = "未知单位";
         }
-        return null;
+
+        Map<String, Object> row = new HashMap<>();
+        row.put("sourceUrl", page.url());
+        row.put("projectName", fields.projectName());
+        row.put("description", fields.description());
+        row.put("budget", fields.budget());
+        row.put("budgetUnit", fields.budgetUnit());
+        row.put("procurementTime", fields.procurementTime());
+        row.put("publishDate", page.publishDate());
+        row.put("procurementPolicy", fields.procurementPolicy());
+        row.put("remarks", fields.remarks());
+        row.put("rawContent", page.content());
+        row.put("aiAnalysis", aiAnalysis);
+        row.put("organizationName", organizationName);
+        row.put("organizationType", determineOrganizationType(organizationName, aiAnalysis));
+        row.put("organizationLevel", determineOrganizationLevel(organizationName, aiAnalysis));
+        row.put("now", LocalDateTime.now());
+        return row;
     }
-    
-    private String extractProcurementPolicy(String tableData) {
-        if (tableData == null) return null;
-        
-        if (tableData.contains("非专门面向中小企业")) {
-            return "非专门面向中小企业";
-        } else if (tableData.contains("专门面向中小企业")) {
-            return "专门面向中小企业";
-        }
-        return null;
+
+    /**
+     * 流水线运行指标，用于调整队列容量、线程数与限速
+     */
+    public Metrics metrics() {
+        long count = enriched.sum();
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+        return new Metrics(submitted.sum(), duplicates.sum(), queue.size(), properties.getQueueCapacity(),
+                count, ruleOnly.sum(), enrichFailures.sum(), count == 0 ? 0 : enrichNanos.sum() / count / 1_000_000,
+                elapsedSeconds > 0 ? count * 60 / elapsedSeconds : 0,
+                batchWriter.pendingCount(), batchWriter.writtenCount(), batchWriter.failedCount(),
+                batchWriter.batchCount());
     }
-    
-    private String extractDescription(String content) {
-        if (content == null) return null;
-        
-        // 提取主要目标描述
-        Pattern pattern = Pattern.compile("采购标的需实现的主要目标：([^。]+)");
-        Matcher matcher = pattern.matcher(content);
-        if (matcher.find()) {
-            return matcher.group(1).trim();
+
+    /**
+     * 先于 {@link ProcurementBatchWriter} 关闭：队列中尚未分析的页面按规则抽取结果交给写入器，
+     * 进行中的 AI 分析最多等待 shutdownTimeout，写入器关闭时再把剩余批次写入 Neo4j
+     */
+    @PreDestroy
+    void shutdown() {
+        closing = true;
+        List<CrawledPage> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.warn("应用关闭，{} 个采购页面未经 AI 分析直接写入", remaining.size());
         }
-        
-        return content.length() > 500 ? content.substring(0, 500) + "..." : content;
-    }
-    
-    private String extractRemarks(String tableData) {
-        if (tableData == null) return null;
-        
-        String[] lines = tableData.split("\n");
-        for (String line : lines) {
-            if (line.contains("备注") || line.contains("其他")) {
-                return line.trim();
+        for (CrawledPage page : remaining) {
+            try {
+                ProcurementFields fields = fieldExtractor.extract(page.title(), page.content(), page.tableData());
+                batchWriter.add(toRow(page, fields, null));
+            } catch (Exception e) {
+                inFlightUrls.remove(page.url());
+                log.error("处理采购数据出错: {}", page.title(), e);
             }
         }
-        return null;
+
+        aiWorkers.shutdown();
+        try {
+            if (!aiWorkers.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("AI 分析在 {} 内未完成，放弃进行中的分析", properties.getShutdownTimeout());
+                aiWorkers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            aiWorkers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
     }
-    
+
     private String determineOrganizationType(String name, String aiAnalysis) {
         if (name.contains("医院")) return "医院";
         if (name.contains("学校") || name.contains("大学")) return "教育机构";
@@ -233,30 +304,42 @@ public class ProcurementDataPipeline implements Pipeline {
         return "其他";
     }
     
-    // 内部类用于存储解析的项目信息
-    private static class ProcurementProjectInfo {
-        private String projectName;
-        private String description;
-        private Double budget;
-        private String budgetUnit;
-        private String procurementTime;
-        private String procurementPolicy;
-        private String remarks;
-        
-        // getters and setters
-        public String getProjectName() { return projectName; }
-        public void setProjectName(String projectName) { this.projectName = projectName; }
-        public String getDescription() { return description; }
-        public void setDescription(String description) { this.description = description; }
-        public Double getBudget() { return budget; }
-        public void setBudget(Double budget) { this.budget = budget; }
-        public String getBudgetUnit() { return budgetUnit; }
-        public void setBudgetUnit(String budgetUnit) { this.budgetUnit = budgetUnit; }
-        public String getProcurementTime() { return procurementTime; }
-        public void setProcurementTime(String procurementTime) { this.procurementTime = procurementTime; }
-        public String getProcurementPolicy() { return procurementPolicy; }
-        public void setProcurementPolicy(String procurementPolicy) { this.procurementPolicy = procurementPolicy; }
-        public String getRemarks() { return remarks; }
-        public void setRemarks(String remarks) { this.remarks = remarks; }
+    public record Metrics(long submitted, long duplicates, int queueDepth, int queueCapacity,
+                          long enriched, long ruleOnly, long enrichFailures, long avgEnrichMillis, double enrichedPerMinute,
+                          int pendingWrites, long written, long writeFailures, long batches) {
+    }
+
+    private record CrawledPage(String title, String publishDate, String publishSource, String content,
+                               String tableData, String url) {
+    }
+
+    /**
+     * 按固定间隔发放许可的简单限速器，许可数小于等于 0 时不限速
+     */
+    private static final class AiRateLimiter {
+        private final long intervalNanos;
+        private long nextFreeNanos;
+
+        private AiRateLimiter(double permitsPerSecond) {
+            this.intervalNanos = permitsPerSecond > 0 ? (long) (1_000_000_000L / permitsPerSecond) : 0;
+            // nanoTime 的原点任意，可能为负数，不能以 0 作为初值
+            this.nextFreeNanos = System.nanoTime();
+        }
+
+        void acquire() throws InterruptedException {
+            if (intervalNanos == 0) {
+                return;
+            }
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long slot = Math.max(now, nextFreeNanos);
+                nextFreeNanos = slot + intervalNanos;
+                waitNanos = slot - now;
+            }
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
     }
 }
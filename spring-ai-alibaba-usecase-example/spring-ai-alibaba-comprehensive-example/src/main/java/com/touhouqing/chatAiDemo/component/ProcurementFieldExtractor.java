@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo.component;
+
+import com.touhouqing.chatAiDemo.config.ProcurementExtractionProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 基于规则的采购公告字段抽取。
+ * <p>
+ * 所有正则在构造时编译一次，每个字段取文档中第一个匹配。预算和采购时间在整张表上匹配，
+ * 数值与单位被换行隔开（如 "86\n万元"）时也能抽取；备注是整行内容，按行只扫描一遍。
+ */
+@Component
+public class ProcurementFieldExtractor {
+
+    private final String titleSuffix;
+    private final Pattern budgetPattern;
+    private final String budgetUnit;
+    private final Pattern procurementTimePattern;
+    private final List<String> policies;
+    private final List<String> remarkKeywords;
+    private final Pattern descriptionPattern;
+    private final int descriptionMaxLength;
+
+    public ProcurementFieldExtractor(ProcurementExtractionProperties properties) {
+        this.titleSuffix = properties.getTitleSuffix();
+        this.budgetPattern = Pattern.compile(properties.getBudgetPattern());
+        this.budgetUnit = properties.getBudgetUnit();
+        this.procurementTimePattern = Pattern.compile(properties.getProcurementTimePattern());
+        this.policies = List.copyOf(properties.getPolicies());
+        this.remarkKeywords = List.copyOf(properties.getRemarkKeywords());
+        this.descriptionPattern = Pattern.compile(properties.getDescriptionPattern());
+        this.descriptionMaxLength = properties.getDescriptionMaxLength();
+    }
+
+    public ProcurementFields extract(String title, String content, String tableData) {
+        Double budget = null;
+        String procurementTime = null;
+        String remarks = null;
+        String policy = null;
+
+        if (tableData != null) {
+            // 采购政策关键词可能跨行出现，按整表顺序判断，与原先的 contains 语义一致
+            for (String candidate : policies) {
+                if (tableData.contains(candidate)) {
+                    policy = candidate;
+                    break;
+                }
+            }
+
+            Matcher budgetMatcher = budgetPattern.matcher(tableData);
+            if (budgetMatcher.find()) {
+                budget = Double.parseDouble(budgetMatcher.group(1));
+            }
+            Matcher timeMatcher = procurementTimePattern.matcher(tableData);
+            if (timeMatcher.find()) {
+                procurementTime = timeMatcher.group(1);
+            }
+            remarks = extractRemarks(tableData);
+        }
+
+        return new ProcurementFields(extractProjectName(title), budget, budgetUnit, procurementTime, policy,
+                extractDescription(content), remarks);
+    }
+
+    private String extractProjectName(String title) {
+        if (title != null && title.contains(titleSuffix)) {
+            return title.replace(titleSuffix, "").trim();
+        }
+        return title;
+    }
+
+    private String extractDescription(String content) {
+        if (content == null) return null;
+
+        Matcher matcher = descriptionPattern.matcher(content);
+        if (matcher.find()) {
+            return matcher.group(1).trim();
+        }
+        return content.length() > descriptionMaxLength ? content.substring(0, descriptionMaxLength) + "..." : content;
+    }
+
+    private String extractRemarks(String tableData) {
+        // 每个备注关键词下一次出现的位置，只在越过当前行后才向后查找，保证整表只扫描一遍
+        int[] nextRemark = new int[remarkKeywords.size()];
+        for (int i = 0; i < nextRemark.length; i++) {
+            nextRemark[i] = tableData.indexOf(remarkKeywords.get(i));
+        }
+        int length = tableData.length();
+        int lineStart = 0;
+        while (lineStart <= length) {
+            int lineEnd = tableData.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            if (containsRemarkKeyword(tableData, nextRemark, lineStart, lineEnd)) {
+                return tableData.substring(lineStart, lineEnd).trim();
+            }
+            lineStart = lineEnd + 1;
+        }
+        return null;
+    }
+
+    private boolean containsRemarkKeyword(String text, int[] next, int from, int to) {
+        boolean found = false;
+        for (int i = 0; i < next.length; i++) {
+            if (next[i] >= 0 && next[i] < from) {
+                next[i] = text.indexOf(remarkKeywords.get(i), from);
+            }
+            if (next[i] >= 0 && next[i] + remarkKeywords.get(i).length() <= to) {
+                found = true;
+            }
+        }
+        return found;
+    }
+}
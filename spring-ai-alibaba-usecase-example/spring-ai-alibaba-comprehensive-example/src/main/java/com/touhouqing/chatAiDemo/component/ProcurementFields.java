@@ -0,0 +1,36 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo.component;
+
+/**
+ * 规则抽取出的采购项目字段，未匹配的字段为 null
+ */
+public record ProcurementFields(String projectName,
+                                Double budget,
+                                String budgetUnit,
+                                String procurementTime,
+                                String procurementPolicy,
+                                String description,
+                                String remarks) {
+
+    /**
+     * 预算、采购时间与采购政策都已抽取到
+     */
+    public boolean isComplete() {
+        return budget != null && procurementTime != null && procurementPolicy != null;
+    }
+}
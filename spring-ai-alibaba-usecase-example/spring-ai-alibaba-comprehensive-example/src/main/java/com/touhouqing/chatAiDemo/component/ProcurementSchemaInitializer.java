@@ -0,0 +1,72 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo.component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 启动时创建采购数据的索引：sourceUrl 和采购单位名称供批量 MERGE 使用，createdAt 供列表的 keyset 分页使用，
+ * 全文索引供关键词搜索使用（cjk 分词器按二元组切分中文）。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProcurementSchemaInitializer {
+
+    public static final String PROJECT_FULLTEXT_INDEX = "procurement_project_text";
+
+    private static final int BACKFILL_BATCH_SIZE = 10_000;
+
+    private static final List<String> SCHEMA = List.of(
+            "CREATE INDEX procurement_project_source_url IF NOT EXISTS "
+                    + "FOR (p:ProcurementProject) ON (p.sourceUrl)",
+            "CREATE INDEX procurement_organization_name IF NOT EXISTS "
+                    + "FOR (o:ProcurementOrganization) ON (o.name)",
+            "CREATE INDEX procurement_project_created_at IF NOT EXISTS "
+                    + "FOR (p:ProcurementProject) ON (p.createdAt)",
+            "CREATE FULLTEXT INDEX " + PROJECT_FULLTEXT_INDEX + " IF NOT EXISTS "
+                    + "FOR (p:ProcurementProject) ON EACH [p.projectName, p.description] "
+                    + "OPTIONS {indexConfig: {`fulltext.analyzer`: 'cjk'}}");
+
+    private final Neo4jClient neo4jClient;
+
+    @PostConstruct
+    private void init() {
+        try {
+            createSchema();
+        } catch (Exception e) {
+            log.warn("创建采购数据索引失败: {}", e.getMessage());
+        }
+    }
+
+    public void createSchema() {
+        for (String statement : SCHEMA) {
+            neo4jClient.query(statement).run();
+        }
+        // 分页按 createdAt 排序，早期直接保存的项目可能缺少该属性；分批提交，避免存量数据较多时形成一个巨大的事务。
+        // CALL ... IN TRANSACTIONS 只能在自动提交事务中执行，Neo4jClient 在没有 Spring 事务时正是如此
+        neo4jClient.query("MATCH (p:ProcurementProject) WHERE p.createdAt IS NULL "
+                + "CALL (p) { SET p.createdAt = coalesce(p.updatedAt, localdatetime()) } "
+                + "IN TRANSACTIONS OF " + BACKFILL_BATCH_SIZE + " ROWS").run();
+    }
+}
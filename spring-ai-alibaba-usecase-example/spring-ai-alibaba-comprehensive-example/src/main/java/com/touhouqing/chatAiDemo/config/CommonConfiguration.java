@@ -20,13 +20,11 @@ import com.touhouqing.chatAiDemo.constants.SystemConstants;
 import com.touhouqing.chatAiDemo.tools.CourseTools;
 import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
 import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
-import org.springframework.ai.chat.client.advisor.vectorstore.QuestionAnswerAdvisor;
 import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.chat.memory.ChatMemoryRepository;
 import org.springframework.ai.chat.memory.InMemoryChatMemoryRepository;
 import org.springframework.ai.chat.memory.MessageWindowChatMemory;
-import org.springframework.ai.vectorstore.SearchRequest;
-import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.context.annotation.Bean;
@@ -34,6 +32,7 @@ import com.alibaba.cloud.ai.dashscope.chat.DashScopeChatModel;
 import com.alibaba.cloud.ai.dashscope.chat.DashScopeChatOptions;
 
 @Configuration
+@EnableConfigurationProperties({ProcurementPipelineProperties.class, ProcurementExtractionProperties.class})
 public class CommonConfiguration {
 
     @Bean
@@ -88,22 +87,16 @@ public class CommonConfiguration {
     }
 
     /*
-     * @description 针对PDF问答的ChatClient
+     * @description 针对PDF问答的ChatClient，检索 advisor 由 PdfController 按会话文件在请求时添加
      */
     @Bean
-    public ChatClient pdfChatClient(DashScopeChatModel model, ChatMemory chatMemory, VectorStore vectorStore) {
+    public ChatClient pdfChatClient(DashScopeChatModel model, ChatMemory chatMemory) {
         return ChatClient
                .builder(model)
                .defaultSystem("你是一个友好且知识渊博的AI助手。基于提供的上下文信息来回答问题，如果上下文中没有相关信息，请明确告知用户。")
                .defaultAdvisors(
                         new SimpleLoggerAdvisor(),
-                        MessageChatMemoryAdvisor.builder(chatMemory).build(),
-                        QuestionAnswerAdvisor.builder(vectorStore)
-                                .searchRequest(SearchRequest.builder()
-                                        .topK(10)
-                                        .similarityThreshold(0.2)
-                                        .build())
-                                .build()
+                        MessageChatMemoryAdvisor.builder(chatMemory).build()
                )
                .build();
     }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo.config;
+
+import com.touhouqing.chatAiDemo.repository.JournaledSimpleVectorStore;
+import com.touhouqing.chatAiDemo.repository.PartitionedPdfVectorStore;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * pdf.vector-store.type 为 simple 或 partitioned 时注册本地向量库。
+ * application.yaml 把 spring.ai.vectorstore.type 绑定到同一个值，非 milvus 时 Milvus 自动配置整体关闭，
+ * 不会再创建 MilvusServiceClient 和第二个 VectorStore；本地向量库同时标记为 @Primary，防止手动打开 Milvus 时注入冲突
+ */
+@Configuration
+@EnableConfigurationProperties(PdfVectorStoreProperties.class)
+public class PdfVectorStoreConfiguration {
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "pdf.vector-store", name = "type", havingValue = "simple")
+    public JournaledSimpleVectorStore journaledSimpleVectorStore(EmbeddingModel embeddingModel,
+                                                                 PdfVectorStoreProperties properties) {
+        return JournaledSimpleVectorStore.create(embeddingModel, properties);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "pdf.vector-store", name = "type", havingValue = "partitioned")
+    public PartitionedPdfVectorStore partitionedPdfVectorStore(EmbeddingModel embeddingModel,
+                                                               PdfVectorStoreProperties properties) {
+        return new PartitionedPdfVectorStore(embeddingModel, properties);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * PDF 向量库配置：默认使用 Milvus；type 为 simple 时使用本地 SimpleVectorStore，并以预写日志 + 定期快照持久化；
+ * type 为 partitioned 时每个上传文件单独一个本地分区
+ */
+@Data
+@ConfigurationProperties(prefix = "pdf.vector-store")
+public class PdfVectorStoreProperties {
+
+    private Type type = Type.MILVUS;
+
+    /**
+     * 向量库快照文件
+     */
+    private String snapshotFile = "chat-pdf.json";
+
+    /**
+     * 预写日志目录，每次上传文件追加一条记录，快照完成后删除已包含在快照中的日志段
+     */
+    private String walDirectory = "chat-pdf-wal";
+
+    /**
+     * 后台快照间隔，期间没有新写入时跳过
+     */
+    private Duration snapshotInterval = Duration.ofMinutes(5);
+
+    /**
+     * 每条日志写入后是否 fsync，关闭后进程崩溃不丢数据，但操作系统崩溃可能丢失最近的写入
+     */
+    private boolean fsync = true;
+
+    /**
+     * 分区目录，partitioned 模式下每个文件的向量单独保存为一个 json 文件
+     */
+    private String partitionDirectory = "chat-pdf-partitions";
+
+    /**
+     * 内存中最多保留的分区数，超出后淘汰最久未访问的分区，下次访问时从磁盘重新加载
+     */
+    private int maxResidentPartitions = 32;
+
+    /**
+     * 上传时并行调用 embedding 模型的线程数
+     */
+    private int embeddingParallelism = 4;
+
+    /**
+     * 每次调用 embedding 模型的文本条数
+     */
+    private int embeddingBatchSize = 10;
+
+    /**
+     * PDF 问答检索的文档数与相似度阈值
+     */
+    private int topK = 10;
+
+    private double similarityThreshold = 0.2;
+
+    public enum Type {
+        MILVUS,
+        SIMPLE,
+        PARTITIONED
+    }
+}
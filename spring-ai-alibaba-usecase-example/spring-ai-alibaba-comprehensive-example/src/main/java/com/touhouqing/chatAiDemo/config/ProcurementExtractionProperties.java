@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 采购公告字段抽取规则，正则在启动时编译一次
+ */
+@Data
+@ConfigurationProperties(prefix = "procurement.extraction")
+public class ProcurementExtractionProperties {
+
+    /**
+     * 标题中需要去掉的后缀，剩余部分作为项目名称
+     */
+    private String titleSuffix = "政府采购意向公告";
+
+    /**
+     * 预算金额，第 1 个分组为数值
+     */
+    private String budgetPattern = "(\\d+(?:\\.\\d+)?)\\s*万元";
+
+    private String budgetUnit = "万元";
+
+    /**
+     * 采购时间，第 1 个分组为结果
+     */
+    private String procurementTimePattern = "(\\d{4}-\\d{2})";
+
+    /**
+     * 采购政策关键词，按顺序匹配，较长的关键词应放在前面
+     */
+    private List<String> policies = new ArrayList<>(List.of("非专门面向中小企业", "专门面向中小企业"));
+
+    /**
+     * 表格中包含这些关键词的第一行作为备注
+     */
+    private List<String> remarkKeywords = new ArrayList<>(List.of("备注", "其他"));
+
+    /**
+     * 正文中的项目描述，第 1 个分组为结果；未匹配时截取正文前 descriptionMaxLength 个字符
+     */
+    private String descriptionPattern = "采购标的需实现的主要目标：([^。]+)";
+
+    private int descriptionMaxLength = 500;
+
+    /**
+     * ALWAYS：每个项目都调用大模型分析；WHEN_INCOMPLETE：规则已抽取出预算、采购时间和采购政策时跳过大模型
+     */
+    private AiAnalysisMode aiAnalysis = AiAnalysisMode.ALWAYS;
+
+    public enum AiAnalysisMode {
+        ALWAYS,
+        WHEN_INCOMPLETE
+    }
+}
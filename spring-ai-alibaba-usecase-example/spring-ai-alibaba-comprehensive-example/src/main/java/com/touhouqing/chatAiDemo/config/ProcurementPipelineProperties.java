@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 采购数据处理流水线配置：爬取线程只负责入队，AI 分析与图数据库写入由独立的线程池异步完成
+ */
+@Data
+@ConfigurationProperties(prefix = "procurement.pipeline")
+public class ProcurementPipelineProperties {
+
+    /**
+     * 待分析页面队列容量，队列满时爬虫线程阻塞等待，形成反压
+     */
+    private int queueCapacity = 200;
+
+    /**
+     * AI 分析工作线程数
+     */
+    private int aiWorkers = 4;
+
+    /**
+     * 每秒最多发起的 AI 分析请求数，0 表示不限速
+     */
+    private double aiPermitsPerSecond = 2.0;
+
+    /**
+     * 单次写入 Neo4j 的最大项目数
+     */
+    private int batchSize = 20;
+
+    /**
+     * 未攒满一批时的最长等待时间
+     */
+    private Duration flushInterval = Duration.ofSeconds(2);
+
+    /**
+     * 应用关闭时等待进行中的 AI 分析完成的最长时间，队列中尚未分析的页面直接按规则抽取结果写入
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    /**
+     * 布隆过滤器预期容纳的 URL 数量
+     */
+    private int bloomExpectedInsertions = 100_000;
+
+    /**
+     * 布隆过滤器误判率
+     */
+    private double bloomFalsePositiveRate = 0.01;
+}
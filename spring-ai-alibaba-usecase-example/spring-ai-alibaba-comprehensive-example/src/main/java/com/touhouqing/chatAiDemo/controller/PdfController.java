@@ -16,17 +16,23 @@
 
 package com.touhouqing.chatAiDemo.controller;
 
+import com.touhouqing.chatAiDemo.config.PdfVectorStoreProperties;
 import com.touhouqing.chatAiDemo.entity.vo.Result;
 import com.touhouqing.chatAiDemo.repository.ChatHistoryRepository;
 import com.touhouqing.chatAiDemo.repository.FileRepository;
+import com.touhouqing.chatAiDemo.repository.PartitionedPdfVectorStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.advisor.api.Advisor;
+import org.springframework.ai.chat.client.advisor.vectorstore.QuestionAnswerAdvisor;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.reader.ExtractedTextFormatter;
 import org.springframework.ai.reader.pdf.PagePdfDocumentReader;
 import org.springframework.ai.reader.pdf.config.PdfDocumentReaderConfig;
+import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
 import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -40,7 +46,6 @@ import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
 
-import static org.springframework.ai.chat.client.advisor.vectorstore.QuestionAnswerAdvisor.FILTER_EXPRESSION;
 import static org.springframework.ai.chat.memory.ChatMemory.CONVERSATION_ID;
 
 @Slf4j
@@ -57,6 +62,8 @@ public class PdfController {
 
     private final ChatHistoryRepository chatHistoryRepository;
 
+    private final PdfVectorStoreProperties vectorStoreProperties;
+
     @RequestMapping(value = "/chat", produces = "text/html;charset=utf-8")
     public Flux<String> chat(String prompt, String chatId) {
         // 1.找到会话文件
@@ -67,14 +74,13 @@ public class PdfController {
         }
         // 2.保存会话id
         chatHistoryRepository.save("pdf", chatId);
-        // 3.构造过滤表达式
-        String filterExpression = "file_name == '" + file.getFilename() + "'";
-        log.info("查询聊天ID: {}, 文件名: {}, 过滤表达式: {}", chatId, file.getFilename(), filterExpression);
+        // 3.只在会话文件对应的向量中检索
+        log.info("查询聊天ID: {}, 文件名: {}", chatId, file.getFilename());
         // 4.请求模型
         return pdfChatClient.prompt()
                 .user(prompt)
                 .advisors(a -> a.param(CONVERSATION_ID, chatId))
-                .advisors(a -> a.param(FILTER_EXPRESSION, filterExpression))
+                .advisors(retrievalAdvisor(file.getFilename()))
                 .stream()
                 .content();
     }
@@ -124,6 +130,25 @@ public class PdfController {
                 .body(resource);
     }
 
+    /**
+     * 分区向量库直接在文件所属分区中检索；其他向量库使用预先构建的过滤条件，不再每次解析过滤表达式字符串
+     */
+    private Advisor retrievalAdvisor(String fileName) {
+        SearchRequest.Builder searchRequest = SearchRequest.builder()
+                .topK(vectorStoreProperties.getTopK())
+                .similarityThreshold(vectorStoreProperties.getSimilarityThreshold());
+        if (vectorStore instanceof PartitionedPdfVectorStore partitioned) {
+            return QuestionAnswerAdvisor.builder(partitioned.partition(fileName))
+                    .searchRequest(searchRequest.build())
+                    .build();
+        }
+        return QuestionAnswerAdvisor.builder(vectorStore)
+                .searchRequest(searchRequest
+                        .filterExpression(new FilterExpressionBuilder().eq(PartitionedPdfVectorStore.FILE_NAME_KEY, fileName).build())
+                        .build())
+                .build();
+    }
+
     private void writeToVectorStore(Resource resource) {
         // 1.创建PDF的读取器
         PagePdfDocumentReader reader = new PagePdfDocumentReader(
@@ -138,9 +163,9 @@ public class PdfController {
         // 3.为每个Document设置file_name元数据
         String fileName = resource.getFilename();
         documents.forEach(document -> {
-            document.getMetadata().put("file_name", fileName);
+            document.getMetadata().put(PartitionedPdfVectorStore.FILE_NAME_KEY, fileName);
         });
-        // 4.写入向量库
+        // 4.写入向量库，分区向量库会按批并行计算 embedding
         vectorStore.add(documents);
     }
 }
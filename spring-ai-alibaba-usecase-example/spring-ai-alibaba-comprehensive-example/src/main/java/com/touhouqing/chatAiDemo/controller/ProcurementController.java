@@ -16,11 +16,15 @@
 
 package com.touhouqing.chatAiDemo.controller;
 
+import com.touhouqing.chatAiDemo.component.ProcurementDataPipeline;
 import com.touhouqing.chatAiDemo.entity.ProcurementProject;
 import com.touhouqing.chatAiDemo.entity.ProcurementOrganization;
 import com.touhouqing.chatAiDemo.entity.vo.ApiResponse;
+import com.touhouqing.chatAiDemo.entity.vo.CursorPage;
+import com.touhouqing.chatAiDemo.entity.vo.ProcurementProjectSummary;
 import com.touhouqing.chatAiDemo.repository.ProcurementProjectRepository;
 import com.touhouqing.chatAiDemo.repository.ProcurementOrganizationRepository;
+import com.touhouqing.chatAiDemo.repository.ProcurementProjectQueryRepository;
 import com.touhouqing.chatAiDemo.service.ProcurementCrawlerService;
 import com.touhouqing.chatAiDemo.service.ProcurementAIService;
 import lombok.RequiredArgsConstructor;
@@ -36,11 +40,15 @@ import java.util.concurrent.CompletableFuture;
 @RequestMapping("/procurement")
 @RequiredArgsConstructor
 public class ProcurementController {
+
+    private static final int MAX_PAGE_SIZE = 200;
     
     private final ProcurementCrawlerService crawlerService;
     private final ProcurementAIService aiService;
     private final ProcurementProjectRepository projectRepository;
+    private final ProcurementProjectQueryRepository projectQueryRepository;
     private final ProcurementOrganizationRepository organizationRepository;
+    private final ProcurementDataPipeline dataPipeline;
     
     /**
      * 启动爬虫任务
@@ -82,13 +90,25 @@ public class ProcurementController {
     }
     
     /**
-     * 查询所有采购项目
+     * 采购数据流水线指标：队列深度、AI 分析吞吐与批量写入情况
+     */
+    @GetMapping("/pipeline/metrics")
+    public ApiResponse<ProcurementDataPipeline.Metrics> getPipelineMetrics() {
+        return ApiResponse.success(dataPipeline.metrics());
+    }
+
+    /**
+     * 按创建时间倒序分页查询采购项目，列表项不含原文和 AI 分析等大字段
+     * @param cursor 上一页返回的 nextCursor，第一页不传
      */
     @GetMapping("/projects")
-    public ApiResponse<List<ProcurementProject>> getAllProjects() {
+    public ApiResponse<CursorPage<ProcurementProjectSummary>> getProjects(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            List<ProcurementProject> projects = projectRepository.findAll();
-            return ApiResponse.success(projects);
+            return ApiResponse.success(projectQueryRepository.findPage(cursor, pageSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.error(400, e.getMessage());
         } catch (Exception e) {
             log.error("查询采购项目失败", e);
             return ApiResponse.error("查询失败: " + e.getMessage());
@@ -114,13 +134,21 @@ public class ProcurementController {
     }
 
     /**
-     * 根据关键词搜索项目
+     * 根据关键词全文检索项目名称和描述，按相关度分页
+     * @param cursor 上一页返回的 nextCursor，第一页不传
      */
     @GetMapping("/projects/search")
-    public ApiResponse<List<ProcurementProject>> searchProjects(@RequestParam String keyword) {
+    public ApiResponse<CursorPage<ProcurementProjectSummary>> searchProjects(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        if (keyword.isBlank()) {
+            return ApiResponse.error(400, "关键词不能为空");
+        }
         try {
-            List<ProcurementProject> projects = projectRepository.searchByKeyword(keyword);
-            return ApiResponse.success(projects);
+            return ApiResponse.success(projectQueryRepository.search(keyword, cursor, pageSize(size)));
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.error(400, e.getMessage());
         } catch (Exception e) {
             log.error("搜索项目失败", e);
             return ApiResponse.error("搜索失败: " + e.getMessage());
@@ -225,4 +253,8 @@ public class ProcurementController {
             return ApiResponse.error("分析失败: " + e.getMessage());
         }
     }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
 }
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo.entity.vo;
+
+import java.time.LocalDateTime;
+
+/**
+ * 采购项目列表项，不含 rawContent、aiAnalysis、description 等大文本字段，详情通过 /procurement/projects/{id} 查询
+ */
+public record ProcurementProjectSummary(
+        Long id,
+        String projectName,
+        Double budget,
+        String budgetUnit,
+        String procurementTime,
+        String publishDate,
+        String procurementPolicy,
+        String sourceUrl,
+        String organizationName,
+        LocalDateTime createdAt) {
+}
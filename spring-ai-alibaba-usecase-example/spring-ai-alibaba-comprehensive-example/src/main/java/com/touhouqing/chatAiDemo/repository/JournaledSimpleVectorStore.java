@@ -0,0 +1,204 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo.repository;
+
+import com.touhouqing.chatAiDemo.config.PdfVectorStoreProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SimpleVectorStore;
+import org.springframework.ai.vectorstore.SimpleVectorStoreContent;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 以预写日志持久化的 SimpleVectorStore。
+ * <p>
+ * 每次写入先更新内存，再把本次写入的向量（含 embedding）追加到 {@link VectorStoreWriteAheadLog}，持久化成本只与新增数据量相关；
+ * 后台定期把整个向量库写成快照并删除已包含在快照中的日志段。重启时加载最近的快照，再重放剩余日志。
+ */
+@Slf4j
+public class JournaledSimpleVectorStore extends SimpleVectorStore {
+
+    private static final String FILE_NAME_KEY = "file_name";
+
+    private final PdfVectorStoreProperties properties;
+    private final Object snapshotLock = new Object();
+
+    private volatile VectorStoreWriteAheadLog wal;
+    private ScheduledExecutorService snapshotScheduler;
+
+    protected JournaledSimpleVectorStore(SimpleVectorStoreBuilder builder, PdfVectorStoreProperties properties) {
+        super(builder);
+        this.properties = properties;
+    }
+
+    public static JournaledSimpleVectorStore create(EmbeddingModel embeddingModel, PdfVectorStoreProperties properties) {
+        return new JournaledSimpleVectorStore(SimpleVectorStore.builder(embeddingModel), properties);
+    }
+
+    /**
+     * 加载快照、重放日志并开始后台快照
+     */
+    public synchronized void open() {
+        if (wal != null) {
+            return;
+        }
+        try {
+            File snapshot = new File(properties.getSnapshotFile());
+            if (snapshot.exists()) {
+                load(snapshot);
+            }
+            // load 会替换为普通 HashMap，后台快照与写入并发访问，需要换回并发 Map
+            this.store = new ConcurrentHashMap<>(this.store);
+
+            VectorStoreWriteAheadLog journal = new VectorStoreWriteAheadLog(Path.of(properties.getWalDirectory()),
+                    properties.isFsync());
+            int[] replayed = new int[1];
+            journal.replay(record -> {
+                apply(record);
+                replayed[0]++;
+            });
+            journal.open();
+            this.wal = journal;
+            log.info("向量库已恢复，快照外重放 {} 条日志，共 {} 个向量", replayed[0], this.store.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("恢复向量库失败", e);
+        }
+
+        long interval = properties.getSnapshotInterval().toMillis();
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "pdf-vector-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (RuntimeException e) {
+                log.error("向量库快照失败，日志将保留到下次快照", e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void doAdd(List<Document> documents) {
+        super.doAdd(documents);
+        if (documents.isEmpty()) {
+            return;
+        }
+        List<SimpleVectorStoreContent> contents = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            SimpleVectorStoreContent content = this.store.get(document.getId());
+            if (content != null) {
+                contents.add(content);
+            }
+        }
+        Object fileName = documents.get(0).getMetadata().get(FILE_NAME_KEY);
+        append(VectorStoreWriteAheadLog.Record.add(fileName == null ? null : fileName.toString(), contents));
+    }
+
+    @Override
+    public void doDelete(List<String> idList) {
+        super.doDelete(idList);
+        append(VectorStoreWriteAheadLog.Record.delete(List.copyOf(idList)));
+    }
+
+    /**
+     * 切换日志段后写入快照，快照原子替换旧文件后删除被封存的日志段；没有新写入时直接返回
+     */
+    public void snapshot() {
+        synchronized (snapshotLock) {
+            VectorStoreWriteAheadLog current = requireOpen();
+            try {
+                long sealed = current.rotate();
+                if (sealed < 0) {
+                    return;
+                }
+                // 写入内存先于追加日志，切换后的内存状态已包含被封存段中的全部记录
+                Path target = Path.of(properties.getSnapshotFile()).toAbsolutePath();
+                Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+                Files.deleteIfExists(tmp);
+                save(tmp.toFile());
+                try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                    channel.force(true);
+                }
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                current.deleteThrough(sealed);
+                log.info("向量库快照完成，共 {} 个向量，已压缩至日志段 {}", this.store.size(), sealed);
+            } catch (IOException e) {
+                throw new UncheckedIOException("写入向量库快照失败", e);
+            }
+        }
+    }
+
+    /**
+     * 停止后台快照，写入最终快照并关闭日志
+     */
+    public synchronized void close() {
+        if (wal == null) {
+            return;
+        }
+        snapshotScheduler.shutdownNow();
+        try {
+            snapshot();
+        } finally {
+            try {
+                wal.close();
+            } catch (IOException e) {
+                log.warn("关闭向量库日志失败", e);
+            }
+            wal = null;
+        }
+    }
+
+    private void apply(VectorStoreWriteAheadLog.Record record) {
+        switch (record.operation()) {
+            case ADD -> record.contents().forEach(content -> this.store.put(content.getId(), content));
+            case DELETE -> record.ids().forEach(this.store::remove);
+        }
+    }
+
+    private void append(VectorStoreWriteAheadLog.Record record) {
+        try {
+            requireOpen().append(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入向量库日志失败", e);
+        }
+    }
+
+    private VectorStoreWriteAheadLog requireOpen() {
+        VectorStoreWriteAheadLog current = this.wal;
+        if (current == null) {
+            throw new IllegalStateException("向量库日志尚未打开");
+        }
+        return current;
+    }
+}
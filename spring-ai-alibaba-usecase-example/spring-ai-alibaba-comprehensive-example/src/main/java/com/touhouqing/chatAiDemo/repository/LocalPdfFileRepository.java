@@ -28,6 +28,8 @@ import org.springframework.stereotype.Component;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.Properties;
@@ -37,6 +39,8 @@ import java.util.Properties;
 @RequiredArgsConstructor
 public class LocalPdfFileRepository implements FileRepository {
 
+    private static final String CHAT_FILES = "chat-pdf.properties";
+
     private final VectorStore vectorStore;
 
     // 会话id 与 文件名的对应关系，方便查询会话历史时重新加载文件
@@ -55,8 +59,14 @@ public class LocalPdfFileRepository implements FileRepository {
                 return false;
             }
         }
-        // 2.保存映射关系
+        // 2.保存映射关系，追加写入映射文件，进程崩溃后也能恢复
         chatFiles.put(chatId, filename);
+        try {
+            appendChatFile(chatId, filename);
+        } catch (IOException e) {
+            log.error("Failed to persist chat file mapping.", e);
+            return false;
+        }
         return true;
     }
 
@@ -65,9 +75,25 @@ public class LocalPdfFileRepository implements FileRepository {
         return new FileSystemResource(chatFiles.getProperty(chatId));
     }
 
+    private synchronized void appendChatFile(String chatId, String filename) throws IOException {
+        // 借助 Properties 转义键值，只追加这一条，加载时后出现的记录覆盖先前的记录
+        Properties entry = new Properties();
+        entry.setProperty(chatId, filename);
+        StringWriter line = new StringWriter();
+        entry.store(line, null);
+        StringBuilder content = new StringBuilder();
+        for (String l : line.toString().split("\\R")) {
+            if (!l.startsWith("#") && !l.isEmpty()) {
+                content.append(l).append(System.lineSeparator());
+            }
+        }
+        Files.writeString(Path.of(CHAT_FILES), content, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
     @PostConstruct
     private void init() {
-        FileSystemResource pdfResource = new FileSystemResource("chat-pdf.properties");
+        FileSystemResource pdfResource = new FileSystemResource(CHAT_FILES);
         if (pdfResource.exists()) {
             try {
                 chatFiles.load(new BufferedReader(new InputStreamReader(pdfResource.getInputStream(), StandardCharsets.UTF_8)));
@@ -76,7 +102,10 @@ public class LocalPdfFileRepository implements FileRepository {
             }
         }
         // 只有当使用SimpleVectorStore时才加载本地向量数据
-        if (vectorStore instanceof SimpleVectorStore simpleVectorStore) {
+        if (vectorStore instanceof JournaledSimpleVectorStore journaledVectorStore) {
+            // 加载快照并重放预写日志
+            journaledVectorStore.open();
+        } else if (vectorStore instanceof SimpleVectorStore simpleVectorStore) {
             FileSystemResource vectorResource = new FileSystemResource("chat-pdf.json");
             if (vectorResource.exists()) {
                 simpleVectorStore.load(vectorResource);
@@ -86,10 +115,13 @@ public class LocalPdfFileRepository implements FileRepository {
 
     @PreDestroy
     private void persistent() {
-        try {
-            chatFiles.store(new FileWriter("chat-pdf.properties"), LocalDateTime.now().toString());
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(CHAT_FILES), StandardCharsets.UTF_8)) {
+            // 重写映射文件，合并运行期间追加的重复记录
+            chatFiles.store(writer, LocalDateTime.now().toString());
             // 只有当使用SimpleVectorStore时才保存本地向量数据
-            if (vectorStore instanceof SimpleVectorStore simpleVectorStore) {
+            if (vectorStore instanceof JournaledSimpleVectorStore journaledVectorStore) {
+                journaledVectorStore.close();
+            } else if (vectorStore instanceof SimpleVectorStore simpleVectorStore) {
                 simpleVectorStore.save(new File("chat-pdf.json"));
             }
         } catch (IOException e) {
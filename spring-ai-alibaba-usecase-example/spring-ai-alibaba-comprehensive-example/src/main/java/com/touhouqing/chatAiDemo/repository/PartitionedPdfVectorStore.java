@@ -0,0 +1,286 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo.repository;
+
+import com.touhouqing.chatAiDemo.config.PdfVectorStoreProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.SimpleVectorStoreContent;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 按 PDF 文件分区的本地向量库。
+ * <p>
+ * 每个上传文件的向量单独保存为分区目录下的一个 json 文件，首次访问时加载，内存中超过上限时淘汰最久未访问的分区。
+ * 问答时通过 {@link #partition(String)} 直接在对应分区中检索，耗时只与该文件的向量数有关，不随上传文件数增长。
+ * 上传时按批并行调用 embedding 模型，写入后整体替换分区文件。
+ */
+@Slf4j
+public class PartitionedPdfVectorStore implements VectorStore, DisposableBean {
+
+    public static final String FILE_NAME_KEY = "file_name";
+
+    private static final String DEFAULT_PARTITION = "_default";
+    private static final String SUFFIX = ".json";
+
+    private final EmbeddingModel embeddingModel;
+    private final PdfVectorStoreProperties properties;
+    private final Path directory;
+    private final ConcurrentHashMap<String, PdfVectorPartition> resident = new ConcurrentHashMap<>();
+    private final ExecutorService embeddingExecutor;
+
+    public PartitionedPdfVectorStore(EmbeddingModel embeddingModel, PdfVectorStoreProperties properties) {
+        this.embeddingModel = embeddingModel;
+        this.properties = properties;
+        this.directory = Path.of(properties.getPartitionDirectory());
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("创建向量分区目录失败", e);
+        }
+        AtomicInteger threads = new AtomicInteger();
+        this.embeddingExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getEmbeddingParallelism()), r -> {
+            Thread thread = new Thread(r, "pdf-embedding-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 返回文件对应的分区，不在内存中时从磁盘加载；文件尚未写入向量时返回空分区
+     */
+    public PdfVectorPartition partition(String fileName) {
+        String key = fileName == null ? DEFAULT_PARTITION : fileName;
+        PdfVectorPartition partition = resident.computeIfAbsent(key, this::loadOrEmpty);
+        partition.touch();
+        evictIfNeeded(key);
+        return partition;
+    }
+
+    /**
+     * 从内存中移除分区，磁盘上的数据保留，下次访问时重新加载
+     */
+    public void evict(String fileName) {
+        resident.remove(fileName == null ? DEFAULT_PARTITION : fileName);
+    }
+
+    public int residentPartitions() {
+        return resident.size();
+    }
+
+    @Override
+    public void add(List<Document> documents) {
+        Map<String, List<Document>> byFile = new LinkedHashMap<>();
+        for (Document document : documents) {
+            Object fileName = document.getMetadata().get(FILE_NAME_KEY);
+            byFile.computeIfAbsent(fileName == null ? DEFAULT_PARTITION : fileName.toString(), k -> new ArrayList<>())
+                    .add(document);
+        }
+        for (Map.Entry<String, List<Document>> entry : byFile.entrySet()) {
+            List<SimpleVectorStoreContent> contents = embed(entry.getValue());
+            resident.compute(entry.getKey(), (key, partition) -> {
+                PdfVectorPartition target = partition != null ? partition : loadOrEmpty(key);
+                target.putAll(contents);
+                save(target);
+                target.touch();
+                return target;
+            });
+            evictIfNeeded(entry.getKey());
+        }
+    }
+
+    @Override
+    public void delete(List<String> idList) {
+        // 删除不在问答路径上，按 id 删除时需要检查所有分区
+        for (String key : partitionKeys()) {
+            resident.compute(key, (k, partition) -> {
+                PdfVectorPartition target = partition != null ? partition : loadOrEmpty(k);
+                if (target.remove(idList)) {
+                    save(target);
+                }
+                return partition;
+            });
+        }
+    }
+
+    /**
+     * file_name == 'xxx' 直接删除整个分区；其他过滤条件逐个分区按元数据匹配删除
+     */
+    @Override
+    public void delete(Filter.Expression filterExpression) {
+        String fileName = fileNameOf(filterExpression);
+        if (fileName != null) {
+            resident.compute(fileName, (key, partition) -> {
+                try {
+                    Files.deleteIfExists(partitionFile(key));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("删除向量分区失败: " + key, e);
+                }
+                return null;
+            });
+            return;
+        }
+        for (String key : partitionKeys()) {
+            resident.compute(key, (k, partition) -> {
+                PdfVectorPartition target = partition != null ? partition : loadOrEmpty(k);
+                if (target.removeMatching(filterExpression)) {
+                    save(target);
+                }
+                return partition;
+            });
+        }
+    }
+
+    @Override
+    public List<Document> similaritySearch(SearchRequest request) {
+        String fileName = fileNameOf(request.getFilterExpression());
+        if (fileName != null) {
+            return partition(fileName).similaritySearch(SearchRequest.from(request).filterExpression((Filter.Expression) null).build());
+        }
+        if (!request.hasFilterExpression()) {
+            log.warn("未指定 {}，将检索全部向量分区", FILE_NAME_KEY);
+        }
+        // 其他过滤条件交给各分区自行处理，结果按相似度合并
+        List<Document> merged = new ArrayList<>();
+        for (String key : partitionKeys()) {
+            merged.addAll(partition(key).similaritySearch(request));
+        }
+        return merged.stream()
+                .sorted(Comparator.comparing(Document::getScore).reversed())
+                .limit(request.getTopK())
+                .toList();
+    }
+
+    @Override
+    public void destroy() {
+        embeddingExecutor.shutdownNow();
+    }
+
+    private List<SimpleVectorStoreContent> embed(List<Document> documents) {
+        int batchSize = Math.max(1, properties.getEmbeddingBatchSize());
+        List<CompletableFuture<List<SimpleVectorStoreContent>>> batches = new ArrayList<>();
+        for (int from = 0; from < documents.size(); from += batchSize) {
+            List<Document> batch = documents.subList(from, Math.min(documents.size(), from + batchSize));
+            batches.add(CompletableFuture.supplyAsync(() -> {
+                List<float[]> embeddings = embeddingModel.embed(batch.stream().map(Document::getText).toList());
+                List<SimpleVectorStoreContent> contents = new ArrayList<>(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    Document document = batch.get(i);
+                    contents.add(new SimpleVectorStoreContent(document.getId(), document.getText(),
+                            document.getMetadata(), embeddings.get(i)));
+                }
+                return contents;
+            }, embeddingExecutor));
+        }
+        List<SimpleVectorStoreContent> contents = new ArrayList<>(documents.size());
+        for (CompletableFuture<List<SimpleVectorStoreContent>> batch : batches) {
+            contents.addAll(batch.join());
+        }
+        return contents;
+    }
+
+    private PdfVectorPartition loadOrEmpty(String key) {
+        File file = partitionFile(key).toFile();
+        if (file.exists()) {
+            PdfVectorPartition partition = PdfVectorPartition.load(embeddingModel, key, file);
+            log.debug("加载向量分区 {}，共 {} 个向量", key, partition.size());
+            return partition;
+        }
+        return PdfVectorPartition.empty(embeddingModel, key);
+    }
+
+    private void save(PdfVectorPartition partition) {
+        try {
+            partition.saveAtomically(partitionFile(partition.getFileName()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("保存向量分区失败: " + partition.getFileName(), e);
+        }
+    }
+
+    /**
+     * 淘汰最久未访问的分区，刚访问的分区不会被淘汰
+     */
+    private void evictIfNeeded(String justUsed) {
+        int max = Math.max(1, properties.getMaxResidentPartitions());
+        while (resident.size() > max) {
+            PdfVectorPartition eldest = null;
+            for (PdfVectorPartition partition : resident.values()) {
+                if (!partition.getFileName().equals(justUsed)
+                        && (eldest == null || partition.lastAccess() < eldest.lastAccess())) {
+                    eldest = partition;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            resident.remove(eldest.getFileName(), eldest);
+        }
+    }
+
+    private List<String> partitionKeys() {
+        List<String> keys = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .forEach(name -> keys.add(URLDecoder.decode(name.substring(0, name.length() - SUFFIX.length()),
+                            StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取向量分区目录失败", e);
+        }
+        return keys;
+    }
+
+    private Path partitionFile(String key) {
+        return directory.resolve(URLEncoder.encode(key, StandardCharsets.UTF_8) + SUFFIX);
+    }
+
+    /**
+     * 识别 file_name == 'xxx' 形式的过滤条件
+     */
+    private static String fileNameOf(Filter.Expression expression) {
+        if (expression != null && expression.type() == Filter.ExpressionType.EQ
+                && expression.left() instanceof Filter.Key key && FILE_NAME_KEY.equals(key.key())
+                && expression.right() instanceof Filter.Value value && value.value() != null) {
+            return value.value().toString();
+        }
+        return null;
+    }
+}
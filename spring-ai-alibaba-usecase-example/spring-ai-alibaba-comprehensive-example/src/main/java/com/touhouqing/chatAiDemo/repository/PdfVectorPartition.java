@@ -0,0 +1,128 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo.repository;
+
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SimpleVectorStore;
+import org.springframework.ai.vectorstore.SimpleVectorStoreContent;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.converter.SimpleVectorStoreFilterExpressionConverter;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 单个 PDF 文件的向量分区，检索只计算本分区内向量的相似度
+ */
+public class PdfVectorPartition extends SimpleVectorStore {
+
+    private final String fileName;
+
+    private volatile long lastAccess = System.nanoTime();
+
+    private PdfVectorPartition(EmbeddingModel embeddingModel, String fileName) {
+        super(SimpleVectorStore.builder(embeddingModel));
+        this.fileName = fileName;
+    }
+
+    static PdfVectorPartition empty(EmbeddingModel embeddingModel, String fileName) {
+        return new PdfVectorPartition(embeddingModel, fileName);
+    }
+
+    static PdfVectorPartition load(EmbeddingModel embeddingModel, String fileName, File file) {
+        PdfVectorPartition partition = new PdfVectorPartition(embeddingModel, fileName);
+        partition.load(file);
+        // load 会替换为普通 HashMap，检索与写入可能并发，换回并发 Map
+        partition.store = new ConcurrentHashMap<>(partition.store);
+        return partition;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public int size() {
+        return this.store.size();
+    }
+
+    /**
+     * 写入已经计算好 embedding 的向量
+     */
+    void putAll(Collection<SimpleVectorStoreContent> contents) {
+        for (SimpleVectorStoreContent content : contents) {
+            this.store.put(content.getId(), content);
+        }
+    }
+
+    /**
+     * @return 是否有向量被删除
+     */
+    boolean remove(List<String> ids) {
+        boolean removed = false;
+        for (String id : ids) {
+            removed |= this.store.remove(id) != null;
+        }
+        return removed;
+    }
+
+    /**
+     * 删除元数据满足过滤条件的向量，条件按 SimpleVectorStore 检索时相同的方式求值
+     *
+     * @return 是否有向量被删除
+     */
+    boolean removeMatching(Filter.Expression filterExpression) {
+        Expression expression = new SpelExpressionParser()
+                .parseExpression(new SimpleVectorStoreFilterExpressionConverter().convertExpression(filterExpression));
+        return this.store.values().removeIf(content -> {
+            StandardEvaluationContext context = new StandardEvaluationContext();
+            context.setVariable("metadata", content.getMetadata());
+            return Boolean.TRUE.equals(expression.getValue(context, Boolean.class));
+        });
+    }
+
+    /**
+     * 先写临时文件再原子替换，进程崩溃时磁盘上保留的是完整的旧版本或新版本
+     */
+    void saveAtomically(Path target) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.deleteIfExists(tmp);
+        save(tmp.toFile());
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    void touch() {
+        lastAccess = System.nanoTime();
+    }
+
+    long lastAccess() {
+        return lastAccess;
+    }
+}
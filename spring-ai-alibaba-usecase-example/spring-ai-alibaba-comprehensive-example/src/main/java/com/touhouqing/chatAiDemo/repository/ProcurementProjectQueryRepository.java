@@ -0,0 +1,182 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo.repository;
+
+import com.touhouqing.chatAiDemo.component.ProcurementSchemaInitializer;
+import com.touhouqing.chatAiDemo.entity.vo.CursorPage;
+import com.touhouqing.chatAiDemo.entity.vo.ProcurementProjectSummary;
+import lombok.RequiredArgsConstructor;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 采购项目列表查询：只返回 {@link ProcurementProjectSummary} 投影，按 keyset 游标分页。
+ * <p>
+ * 列表按 (createdAt DESC, elementId DESC) 排序，游标记录上一页最后一项的排序键，下一页从该位置之后的索引范围开始读取，
+ * 翻到第几页都只读取 size + 1 个节点；关键词搜索走全文索引，按 (score DESC, elementId DESC) 分页。
+ * 返回的 id 是实体的 {@code @GeneratedValue Long} 主键，供详情接口使用，不参与排序和游标。
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProcurementProjectQueryRepository {
+
+    private static final String SUMMARY_RETURN = """
+            OPTIONAL MATCH (p)-[:PROCURED_BY]->(o:ProcurementOrganization)
+            RETURN id(p) AS id, elementId(p) AS elementId, p.projectName AS projectName, p.budget AS budget, p.budgetUnit AS budgetUnit,
+                   p.procurementTime AS procurementTime, p.publishDate AS publishDate,
+                   p.procurementPolicy AS procurementPolicy, p.sourceUrl AS sourceUrl,
+                   head(collect(o.name)) AS organizationName, p.createdAt AS createdAt, sortKey
+            ORDER BY sortKey DESC, elementId DESC
+            """;
+
+    private static final String PAGE = """
+            MATCH (p:ProcurementProject)
+            WHERE p.createdAt IS NOT NULL %s
+            WITH p, p.createdAt AS sortKey
+            ORDER BY sortKey DESC, elementId(p) DESC
+            LIMIT $limit
+            """ + SUMMARY_RETURN;
+
+    // <= 让查询规划器对 createdAt 做索引范围扫描，相同时间的项目再按 elementId 区分
+    private static final String PAGE_AFTER = "AND p.createdAt <= $afterKey "
+            + "AND (p.createdAt < $afterKey OR elementId(p) < $afterId)";
+
+    private static final String SEARCH = """
+            CALL db.index.fulltext.queryNodes($index, $query) YIELD node AS p, score
+            WITH p, score AS sortKey
+            WHERE true %s
+            ORDER BY sortKey DESC, elementId(p) DESC
+            LIMIT $limit
+            """ + SUMMARY_RETURN;
+
+    private static final String SEARCH_AFTER = "AND (sortKey < $afterKey OR (sortKey = $afterKey AND elementId(p) < $afterId))";
+
+    private final Neo4jClient neo4jClient;
+
+    /**
+     * 按创建时间倒序分页
+     * @param cursor 上一页返回的 nextCursor，第一页传 null
+     */
+    public CursorPage<ProcurementProjectSummary> findPage(String cursor, int size) {
+        Map<String, Object> params = new HashMap<>();
+        boolean hasCursor = cursor != null && !cursor.isBlank();
+        if (hasCursor) {
+            Cursor after = decode(cursor, LocalDateTime::parse);
+            params.put("afterKey", after.key());
+            params.put("afterId", after.id());
+        }
+        return fetch(pageQuery(hasCursor), params, size);
+    }
+
+    /**
+     * 列表分页的 Cypher，参数为 limit 以及有游标时的 afterKey、afterId
+     */
+    static String pageQuery(boolean hasCursor) {
+        return PAGE.formatted(hasCursor ? PAGE_AFTER : "");
+    }
+
+    /**
+     * 在项目名称和描述上做全文检索，按相关度倒序分页
+     * @param cursor 上一页返回的 nextCursor，第一页传 null
+     */
+    public CursorPage<ProcurementProjectSummary> search(String keyword, String cursor, int size) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("index", ProcurementSchemaInitializer.PROJECT_FULLTEXT_INDEX);
+        params.put("query", phrase(keyword));
+        String condition = "";
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor after = decode(cursor, Double::valueOf);
+            params.put("afterKey", after.key());
+            params.put("afterId", after.id());
+            condition = SEARCH_AFTER;
+        }
+        return fetch(SEARCH.formatted(condition), params, size);
+    }
+
+    private CursorPage<ProcurementProjectSummary> fetch(String cypher, Map<String, Object> params, int size) {
+        // 多取一条用于判断是否还有下一页
+        params.put("limit", size + 1);
+        List<Row> rows = new ArrayList<>(neo4jClient.query(cypher)
+                .bindAll(params)
+                .fetchAs(Row.class)
+                .mappedBy((typeSystem, record) -> toRow(record))
+                .all());
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Row last = rows.get(size - 1);
+            nextCursor = encode(last.sortKey() + "|" + last.elementId());
+        }
+        return new CursorPage<>(rows.stream().map(Row::summary).toList(), nextCursor);
+    }
+
+    private static Row toRow(Record record) {
+        ProcurementProjectSummary summary = new ProcurementProjectSummary(
+                record.get("id").asLong(),
+                string(record.get("projectName")),
+                record.get("budget").isNull() ? null : record.get("budget").asDouble(),
+                string(record.get("budgetUnit")),
+                string(record.get("procurementTime")),
+                string(record.get("publishDate")),
+                string(record.get("procurementPolicy")),
+                string(record.get("sourceUrl")),
+                string(record.get("organizationName")),
+                record.get("createdAt").isNull() ? null : record.get("createdAt").asLocalDateTime());
+        return new Row(summary, record.get("sortKey").asObject().toString(), record.get("elementId").asString());
+    }
+
+    private static String string(Value value) {
+        return value.isNull() ? null : value.asString();
+    }
+
+    /**
+     * 全文索引使用 Lucene 语法，关键词按短语匹配，转义其中的引号和反斜杠
+     */
+    private static String phrase(String keyword) {
+        return "\"" + keyword.strip().replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static String encode(String cursor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decode(String cursor, Function<String, Object> keyParser) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            return new Cursor(keyParser.apply(parts[0]), parts[1]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("无效的分页游标: " + cursor, e);
+        }
+    }
+
+    private record Row(ProcurementProjectSummary summary, String sortKey, String elementId) {
+    }
+
+    private record Cursor(Object key, String id) {
+    }
+}
@@ -35,6 +35,10 @@ public interface ProcurementProjectRepository extends Neo4jRepository<Procuremen
     @Query("MATCH (p:ProcurementProject {sourceUrl: $sourceUrl}) RETURN p")
     Optional<ProcurementProject> findBySourceUrl(String sourceUrl);
     
+    // 所有已入库项目的源URL，用于启动时预加载去重过滤器
+    @Query("MATCH (p:ProcurementProject) WHERE p.sourceUrl IS NOT NULL RETURN p.sourceUrl")
+    List<String> findAllSourceUrls();
+    
     // 根据预算范围查找项目
     @Query("MATCH (p:ProcurementProject) WHERE p.budget >= $minBudget AND p.budget <= $maxBudget RETURN p")
     List<ProcurementProject> findByBudgetRange(Double minBudget, Double maxBudget);
@@ -51,10 +55,6 @@ public interface ProcurementProjectRepository extends Neo4jRepository<Procuremen
     @Query("MATCH (p:ProcurementProject) RETURN p ORDER BY p.createdAt DESC LIMIT $limit")
     List<ProcurementProject> findRecentProjects(int limit);
     
-    // 根据关键词搜索项目
-    @Query("MATCH (p:ProcurementProject) WHERE p.projectName CONTAINS $keyword OR p.description CONTAINS $keyword RETURN p")
-    List<ProcurementProject> searchByKeyword(String keyword);
-    
     // 获取项目及其关联的采购单位
     @Query("MATCH (p:ProcurementProject)-[:PROCURED_BY]->(o:ProcurementOrganization) WHERE p.id = $projectId RETURN p, o")
     Optional<ProcurementProject> findProjectWithOrganization(Long projectId);
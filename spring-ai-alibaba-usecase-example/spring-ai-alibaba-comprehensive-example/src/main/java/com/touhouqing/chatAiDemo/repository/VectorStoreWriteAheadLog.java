@@ -0,0 +1,192 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.vectorstore.SimpleVectorStoreContent;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 向量库预写日志。
+ * <p>
+ * 日志按段存放在目录中（00000001.log、00000002.log ...），每条记录是一行 JSON。
+ * 快照前先切换到新段，快照落盘后删除旧段；重启时在快照之上按段号顺序重放剩余日志。
+ * 新增与删除都按 id 覆盖，重放已包含在快照中的记录不影响结果。
+ */
+@Slf4j
+final class VectorStoreWriteAheadLog implements Closeable {
+
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private FileChannel channel;
+    private long segment;
+    private long recordsInSegment;
+    // 打开时已存在的旧段（上次运行未压缩的日志）也需要在下次快照时合并
+    private boolean hasOlderSegments;
+
+    VectorStoreWriteAheadLog(Path directory, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * 按写入顺序重放所有日志段；进程崩溃时最后一行可能只写了一半，解析失败的记录会被跳过
+     */
+    synchronized void replay(Consumer<Record> consumer) throws IOException {
+        for (long id : segments()) {
+            Path file = segmentFile(id);
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    Record record;
+                    try {
+                        record = objectMapper.readValue(line, Record.class);
+                    } catch (IOException e) {
+                        log.warn("跳过无法解析的向量库日志记录: {}", file, e);
+                        continue;
+                    }
+                    consumer.accept(record);
+                }
+            }
+        }
+    }
+
+    /**
+     * 在已有日志段之后打开一个新段用于追加
+     */
+    synchronized void open() throws IOException {
+        List<Long> existing = segments();
+        openSegment(existing.isEmpty() ? 1 : existing.get(existing.size() - 1) + 1);
+        hasOlderSegments = !existing.isEmpty();
+    }
+
+    synchronized void append(Record record) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(record);
+        ByteBuffer buffer = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+        recordsInSegment++;
+    }
+
+    /**
+     * 结束当前段并切换到新段
+     *
+     * @return 被封存的段号；没有需要合并的记录时不切换，返回 -1
+     */
+    synchronized long rotate() throws IOException {
+        if (recordsInSegment == 0 && !hasOlderSegments) {
+            return -1;
+        }
+        long sealed = segment;
+        channel.force(true);
+        channel.close();
+        openSegment(sealed + 1);
+        hasOlderSegments = false;
+        return sealed;
+    }
+
+    /**
+     * 删除段号小于等于 sealed 的日志段，这些记录已全部包含在快照中
+     */
+    synchronized void deleteThrough(long sealed) throws IOException {
+        for (long id : segments()) {
+            if (id <= sealed) {
+                Files.deleteIfExists(segmentFile(id));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void openSegment(long id) throws IOException {
+        this.channel = FileChannel.open(segmentFile(id),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.segment = id;
+        this.recordsInSegment = 0;
+    }
+
+    private List<Long> segments() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .forEach(name -> {
+                        try {
+                            ids.add(Long.parseLong(name.substring(0, name.length() - SUFFIX.length())));
+                        } catch (NumberFormatException ignored) {
+                            // 不是日志段文件
+                        }
+                    });
+        }
+        ids.sort(null);
+        return ids;
+    }
+
+    private Path segmentFile(long id) {
+        return directory.resolve(String.format("%08d%s", id, SUFFIX));
+    }
+
+    /**
+     * 一条日志记录：ADD 记录一次上传写入的全部向量，DELETE 记录被删除的文档 id
+     */
+    record Record(Operation operation, String fileName, List<SimpleVectorStoreContent> contents, List<String> ids) {
+
+        static Record add(String fileName, List<SimpleVectorStoreContent> contents) {
+            return new Record(Operation.ADD, fileName, contents, null);
+        }
+
+        static Record delete(List<String> ids) {
+            return new Record(Operation.DELETE, null, null, ids);
+        }
+    }
+
+    enum Operation {
+        ADD,
+        DELETE
+    }
+}
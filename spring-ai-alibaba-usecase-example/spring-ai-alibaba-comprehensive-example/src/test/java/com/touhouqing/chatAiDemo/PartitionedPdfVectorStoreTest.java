@@ -0,0 +1,204 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo;
+
+import com.touhouqing.chatAiDemo.config.PdfVectorStoreProperties;
+import com.touhouqing.chatAiDemo.repository.PartitionedPdfVectorStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PartitionedPdfVectorStoreTest {
+
+    private static final int CHUNKS_PER_FILE = 5;
+
+    private final FilterExpressionBuilder filter = new FilterExpressionBuilder();
+
+    private final HashingEmbeddingModel embeddingModel = new HashingEmbeddingModel();
+
+    private final List<PartitionedPdfVectorStore> stores = new ArrayList<>();
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    public void tearDown() {
+        stores.forEach(PartitionedPdfVectorStore::destroy);
+    }
+
+    @Test
+    public void testPartitionsAreLoadedOnDemandAndEvicted() {
+        PartitionedPdfVectorStore store = open(2);
+        for (int file = 0; file < 3; file++) {
+            store.add(chunks(file));
+            assertTrue(store.residentPartitions() <= 2);
+        }
+
+        // 重启后分区都在磁盘上，只有被访问的分区会加载
+        PartitionedPdfVectorStore reopened = open(2);
+        assertEquals(0, reopened.residentPartitions());
+        assertEquals(CHUNKS_PER_FILE, reopened.partition(fileName(0)).size());
+        assertEquals(1, reopened.residentPartitions());
+        reopened.partition(fileName(1));
+        reopened.partition(fileName(2));
+        assertEquals(2, reopened.residentPartitions());
+
+        reopened.evict(fileName(2));
+        assertEquals(1, reopened.residentPartitions());
+        assertEquals(CHUNKS_PER_FILE, reopened.partition(fileName(2)).size());
+    }
+
+    @Test
+    public void testRetrievalOnlyTouchesTheChatPartitionAsFilesGrow() {
+        int files = 0;
+        for (int target : new int[] {1, 10, 50}) {
+            PartitionedPdfVectorStore store = open(8);
+            for (; files < target; files++) {
+                store.add(chunks(files));
+            }
+
+            int file = files / 2;
+            PartitionedPdfVectorStore reopened = open(8);
+            int embeddingCalls = embeddingModel.calls.get();
+            List<Document> results = reopened.similaritySearch(SearchRequest.builder()
+                    .query(text(file, 3))
+                    .topK(3)
+                    .filterExpression(filter.eq(PartitionedPdfVectorStore.FILE_NAME_KEY, fileName(file)).build())
+                    .build());
+
+            assertEquals(id(file, 3), results.get(0).getId());
+            assertTrue(results.stream().allMatch(
+                    document -> fileName(file).equals(document.getMetadata().get(PartitionedPdfVectorStore.FILE_NAME_KEY))));
+            // 只加载并计算问答文件所在的分区，与已上传的文件数无关
+            assertEquals(1, reopened.residentPartitions());
+            assertEquals(embeddingCalls + 1, embeddingModel.calls.get());
+        }
+    }
+
+    @Test
+    public void testDeleteByFileNameDropsThePartition() {
+        PartitionedPdfVectorStore store = open(8);
+        store.add(chunks(0));
+        store.add(chunks(1));
+
+        store.delete(filter.eq(PartitionedPdfVectorStore.FILE_NAME_KEY, fileName(0)).build());
+
+        PartitionedPdfVectorStore reopened = open(8);
+        assertEquals(0, reopened.partition(fileName(0)).size());
+        assertEquals(CHUNKS_PER_FILE, reopened.partition(fileName(1)).size());
+    }
+
+    @Test
+    public void testDeleteByOtherFilterScansAllPartitions() {
+        PartitionedPdfVectorStore store = open(1);
+        store.add(chunks(0));
+        store.add(chunks(1));
+
+        // chunk 0、1 的页码为 1，其余为 2
+        store.delete(filter.eq("page", 1).build());
+
+        assertEquals(CHUNKS_PER_FILE - 2, store.partition(fileName(0)).size());
+        PartitionedPdfVectorStore reopened = open(8);
+        assertEquals(CHUNKS_PER_FILE - 2, reopened.partition(fileName(0)).size());
+        assertEquals(CHUNKS_PER_FILE - 2, reopened.partition(fileName(1)).size());
+
+        store.delete(filter.and(filter.eq(PartitionedPdfVectorStore.FILE_NAME_KEY, fileName(1)),
+                filter.eq("page", 2)).build());
+        PartitionedPdfVectorStore afterCombined = open(8);
+        assertEquals(CHUNKS_PER_FILE - 2, afterCombined.partition(fileName(0)).size());
+        assertEquals(0, afterCombined.partition(fileName(1)).size());
+    }
+
+    private PartitionedPdfVectorStore open(int maxResidentPartitions) {
+        PdfVectorStoreProperties properties = new PdfVectorStoreProperties();
+        properties.setPartitionDirectory(directory.toString());
+        properties.setMaxResidentPartitions(maxResidentPartitions);
+        properties.setEmbeddingBatchSize(2);
+        PartitionedPdfVectorStore store = new PartitionedPdfVectorStore(embeddingModel, properties);
+        stores.add(store);
+        return store;
+    }
+
+    private static List<Document> chunks(int file) {
+        List<Document> documents = new ArrayList<>();
+        for (int chunk = 0; chunk < CHUNKS_PER_FILE; chunk++) {
+            documents.add(new Document(id(file, chunk), text(file, chunk),
+                    Map.of(PartitionedPdfVectorStore.FILE_NAME_KEY, fileName(file), "page", chunk < 2 ? 1 : 2)));
+        }
+        return documents;
+    }
+
+    private static String fileName(int file) {
+        return "报告-" + file + ".pdf";
+    }
+
+    private static String id(int file, int chunk) {
+        return file + "-" + chunk;
+    }
+
+    private static String text(int file, int chunk) {
+        return "file" + file + " chunk" + chunk + " topic" + (file * 31 + chunk * 7);
+    }
+
+    /**
+     * 按词哈希到固定维度的确定性 embedding，首维恒为 1，避免零向量
+     */
+    private static class HashingEmbeddingModel implements EmbeddingModel {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            calls.incrementAndGet();
+            List<Embedding> embeddings = new ArrayList<>();
+            for (String text : request.getInstructions()) {
+                embeddings.add(new Embedding(vector(text), embeddings.size()));
+            }
+            return new EmbeddingResponse(embeddings);
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return vector(document.getText());
+        }
+
+        private static float[] vector(String text) {
+            float[] vector = new float[64];
+            vector[0] = 1;
+            for (String token : text.split("\\s+")) {
+                vector[1 + Math.floorMod(token.hashCode(), vector.length - 1)] += 1;
+            }
+            return vector;
+        }
+    }
+}
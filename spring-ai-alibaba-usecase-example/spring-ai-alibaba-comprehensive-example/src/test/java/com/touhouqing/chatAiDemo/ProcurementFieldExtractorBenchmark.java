@@ -0,0 +1,162 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo;
+
+import com.touhouqing.chatAiDemo.component.ProcurementFieldExtractor;
+import com.touhouqing.chatAiDemo.component.ProcurementFields;
+import com.touhouqing.chatAiDemo.config.ProcurementExtractionProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 对比原先逐字段编译正则、分别扫描表格的抽取方式与 {@link ProcurementFieldExtractor}。
+ * <p>
+ * 运行：先执行 mvn test-compile，再在 IDE 中运行 main 方法，或使用 test classpath 执行本类。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcurementFieldExtractorBenchmark {
+
+    private List<ProcurementPageCorpus.Page> pages;
+    private ProcurementFieldExtractor extractor;
+
+    @Setup
+    public void setUp() {
+        pages = ProcurementPageCorpus.load();
+        extractor = new ProcurementFieldExtractor(new ProcurementExtractionProperties());
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        for (ProcurementPageCorpus.Page page : pages) {
+            blackhole.consume(Legacy.extract(page.title(), page.content(), page.tableData()));
+        }
+    }
+
+    @Benchmark
+    public void precompiled(Blackhole blackhole) {
+        for (ProcurementPageCorpus.Page page : pages) {
+            blackhole.consume(extractor.extract(page.title(), page.content(), page.tableData()));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProcurementFieldExtractorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    /**
+     * 重构前 ProcurementDataPipeline 中的抽取逻辑，作为基准与结果对照
+     */
+    static final class Legacy {
+
+        private Legacy() {
+        }
+
+        static ProcurementFields extract(String title, String content, String tableData) {
+            return new ProcurementFields(extractProjectName(title), extractBudget(tableData), "万元",
+                    extractProcurementTime(tableData), extractProcurementPolicy(tableData),
+                    extractDescription(content), extractRemarks(tableData));
+        }
+
+        private static String extractProjectName(String title) {
+            if (title != null && title.contains("政府采购意向公告")) {
+                return title.replace("政府采购意向公告", "").trim();
+            }
+            return title;
+        }
+
+        private static Double extractBudget(String tableData) {
+            if (tableData == null) return null;
+
+            Pattern pattern = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*万元");
+            Matcher matcher = pattern.matcher(tableData);
+            if (matcher.find()) {
+                return Double.parseDouble(matcher.group(1));
+            }
+            return null;
+        }
+
+        private static String extractProcurementTime(String tableData) {
+            if (tableData == null) return null;
+
+            Pattern pattern = Pattern.compile("(\\d{4}-\\d{2})");
+            Matcher matcher = pattern.matcher(tableData);
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+            return null;
+        }
+
+        private static String extractProcurementPolicy(String tableData) {
+            if (tableData == null) return null;
+
+            if (tableData.contains("非专门面向中小企业")) {
+                return "非专门面向中小企业";
+            } else if (tableData.contains("专门面向中小企业")) {
+                return "专门面向中小企业";
+            }
+            return null;
+        }
+
+        private static String extractDescription(String content) {
+            if (content == null) return null;
+
+            Pattern pattern = Pattern.compile("采购标的需实现的主要目标：([^。]+)");
+            Matcher matcher = pattern.matcher(content);
+            if (matcher.find()) {
+                return matcher.group(1).trim();
+            }
+
+            return content.length() > 500 ? content.substring(0, 500) + "..." : content;
+        }
+
+        private static String extractRemarks(String tableData) {
+            if (tableData == null) return null;
+
+            String[] lines = tableData.split("\n");
+            for (String line : lines) {
+                if (line.contains("备注") || line.contains("其他")) {
+                    return line.trim();
+                }
+            }
+            return null;
+        }
+    }
+}
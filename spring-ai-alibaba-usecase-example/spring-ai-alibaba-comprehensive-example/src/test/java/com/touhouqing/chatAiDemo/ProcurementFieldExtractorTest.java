@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo;
+
+import com.touhouqing.chatAiDemo.component.ProcurementFieldExtractor;
+import com.touhouqing.chatAiDemo.component.ProcurementFields;
+import com.touhouqing.chatAiDemo.config.ProcurementExtractionProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProcurementFieldExtractorTest {
+
+    private final ProcurementFieldExtractor extractor = new ProcurementFieldExtractor(new ProcurementExtractionProperties());
+
+    @Test
+    public void testHospitalPage() {
+        ProcurementPageCorpus.Page page = ProcurementPageCorpus.load("hospital-renovation.txt");
+        ProcurementFields fields = extractor.extract(page.title(), page.content(), page.tableData());
+
+        assertEquals("天津市中医药研究院附属医院2025年8月", fields.projectName());
+        assertEquals(86.0, fields.budget());
+        assertEquals("万元", fields.budgetUnit());
+        assertEquals("2025-08", fields.procurementTime());
+        assertEquals("非专门面向中小企业", fields.procurementPolicy());
+        assertEquals("完成门急诊楼改造工程的方案设计、初步设计及施工图设计，满足医院门急诊功能提升需求", fields.description());
+        assertEquals("序号|采购项目名称|采购需求概况|预算金额|预计采购时间|采购政策|备注|", fields.remarks());
+    }
+
+    @Test
+    public void testBudgetSplitAcrossLines() {
+        String table = """
+                序号|采购项目名称|预算金额|
+                1|门急诊改造项目设计服务|86
+                万元|预计采购时间：2025-08|
+                """;
+        ProcurementFields fields = extractor.extract("标题", null, table);
+
+        assertEquals(86.0, fields.budget());
+        assertEquals("2025-08", fields.procurementTime());
+        assertNull(fields.remarks());
+    }
+
+    @Test
+    public void testCompletePage() {
+        ProcurementPageCorpus.Page page = ProcurementPageCorpus.load("school-equipment.txt");
+        ProcurementFields fields = extractor.extract(page.title(), page.content(), page.tableData());
+
+        assertEquals("天津市第一中学", fields.projectName());
+        assertEquals(125.5, fields.budget());
+        assertEquals("2025-09", fields.procurementTime());
+        assertEquals("专门面向中小企业", fields.procurementPolicy());
+        assertEquals("更新物理实验室教学设备 40 套，满足新课标分组实验教学要求", fields.description());
+        assertEquals("序号|采购项目名称|采购需求概况|预算金额|预计采购时间|采购政策|备注|", fields.remarks());
+        assertTrue(fields.isComplete());
+    }
+
+    @Test
+    public void testIncompletePage() {
+        ProcurementPageCorpus.Page page = ProcurementPageCorpus.load("district-bureau-incomplete.txt");
+        ProcurementFields fields = extractor.extract(page.title(), page.content(), page.tableData());
+
+        assertEquals("天津市和平区民政局", fields.projectName());
+        assertNull(fields.budget());
+        assertNull(fields.procurementTime());
+        assertNull(fields.procurementPolicy());
+        assertNull(fields.remarks());
+        assertFalse(fields.isComplete());
+    }
+
+    @Test
+    public void testNullTableData() {
+        ProcurementFields fields = extractor.extract("标题", null, null);
+
+        assertEquals("标题", fields.projectName());
+        assertNull(fields.description());
+        assertFalse(fields.isComplete());
+    }
+}
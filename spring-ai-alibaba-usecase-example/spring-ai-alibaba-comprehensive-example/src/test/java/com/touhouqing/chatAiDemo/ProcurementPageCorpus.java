@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 测试用采购公告语料，src/test/resources/procurement-pages 下每个文件是一篇保存下来的公告，
+ * 以 "## title"、"## content"、"## table" 分段
+ */
+final class ProcurementPageCorpus {
+
+    static final List<String> PAGES = List.of(
+            "hospital-renovation.txt",
+            "school-equipment.txt",
+            "district-bureau-incomplete.txt");
+
+    private ProcurementPageCorpus() {
+    }
+
+    static List<Page> load() {
+        List<Page> pages = new ArrayList<>();
+        for (String name : PAGES) {
+            pages.add(load(name));
+        }
+        return pages;
+    }
+
+    static Page load(String name) {
+        try (InputStream in = ProcurementPageCorpus.class.getResourceAsStream("/procurement-pages/" + name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("语料不存在: " + name);
+            }
+            Map<String, StringBuilder> sections = new LinkedHashMap<>();
+            StringBuilder current = null;
+            for (String line : new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+                if (line.startsWith("## ")) {
+                    current = sections.computeIfAbsent(line.substring(3).trim(), k -> new StringBuilder());
+                } else if (current != null) {
+                    if (!current.isEmpty()) {
+                        current.append('\n');
+                    }
+                    current.append(line);
+                }
+            }
+            return new Page(name, text(sections, "title"), text(sections, "content"), text(sections, "table"));
+        } catch (IOException e) {
+            throw new IllegalStateException("读取语料失败: " + name, e);
+        }
+    }
+
+    private static String text(Map<String, StringBuilder> sections, String key) {
+        StringBuilder section = sections.get(key);
+        return section == null ? null : section.toString();
+    }
+
+    record Page(String name, String title, String content, String tableData) {
+    }
+}
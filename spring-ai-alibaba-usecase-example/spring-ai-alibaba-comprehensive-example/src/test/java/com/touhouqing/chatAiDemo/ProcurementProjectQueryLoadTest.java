@@ -0,0 +1,147 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo;
+
+import com.touhouqing.chatAiDemo.component.ProcurementSchemaInitializer;
+import com.touhouqing.chatAiDemo.entity.vo.CursorPage;
+import com.touhouqing.chatAiDemo.entity.vo.ProcurementProjectSummary;
+import com.touhouqing.chatAiDemo.repository.ProcurementProjectQueryRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.AuthTokens;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.GraphDatabase;
+import org.neo4j.harness.Neo4j;
+import org.neo4j.harness.Neo4jBuilders;
+import org.springframework.data.neo4j.core.Neo4jClient;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 在嵌入式 Neo4j 中写入 2 万个带大文本字段的采购项目，验证 keyset 分页按顺序完整遍历、全文检索分页不重不漏。
+ * 每页的代价不随页码增长由 ProcurementProjectQueryPlanTest 通过查询计划验证，这里不做耗时断言。
+ */
+public class ProcurementProjectQueryLoadTest {
+
+    private static final int PROJECTS = 20_000;
+    private static final int BATCH = 2_000;
+    private static final int PAGE_SIZE = 100;
+
+    private static final String CREATE_PROJECTS = """
+            UNWIND range($from, $to - 1) AS i
+            MERGE (o:ProcurementOrganization {name: '采购单位' + (i % 200)})
+            CREATE (p:ProcurementProject {
+                sourceUrl: 'https://example.com/project/' + i,
+                projectName: CASE WHEN i % 100 = 0 THEN '人民医院门急诊改造项目' + i ELSE '办公设备采购项目' + i END,
+                description: '采购内容详见招标文件',
+                budget: toFloat(i),
+                budgetUnit: '万元',
+                rawContent: $rawContent,
+                aiAnalysis: $aiAnalysis,
+                createdAt: localdatetime('2025-01-01T00:00:00') + duration({minutes: i / 5})
+            })
+            CREATE (p)-[:PROCURED_BY]->(o)
+            """;
+
+    private static Neo4j neo4j;
+    private static Driver driver;
+    private static ProcurementProjectQueryRepository repository;
+
+    @BeforeAll
+    public static void setUp() {
+        neo4j = Neo4jBuilders.newInProcessBuilder().withDisabledServer().build();
+        driver = GraphDatabase.driver(neo4j.boltURI(), AuthTokens.none());
+        Neo4jClient client = Neo4jClient.create(driver);
+
+        new ProcurementSchemaInitializer(client).createSchema();
+        client.query("CALL db.awaitIndexes(300)").run();
+
+        String rawContent = "采购公告正文".repeat(500);
+        String aiAnalysis = "AI 分析结果".repeat(300);
+        for (int from = 0; from < PROJECTS; from += BATCH) {
+            client.query(CREATE_PROJECTS)
+                    .bindAll(Map.of("from", from, "to", from + BATCH, "rawContent", rawContent, "aiAnalysis", aiAnalysis))
+                    .run();
+        }
+        repository = new ProcurementProjectQueryRepository(client);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        if (driver != null) {
+            driver.close();
+        }
+        if (neo4j != null) {
+            neo4j.close();
+        }
+    }
+
+    @Test
+    public void testKeysetPaginationVisitsEveryProjectOnce() {
+        Set<Long> seen = new HashSet<>();
+        ProcurementProjectSummary previous = null;
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<ProcurementProjectSummary> page = repository.findPage(cursor, PAGE_SIZE);
+            pages++;
+
+            for (ProcurementProjectSummary project : page.items()) {
+                assertTrue(seen.add(project.id()), "重复的项目: " + project.id());
+                assertNotNull(project.organizationName());
+                // 同一时间的项目按 elementId 排序，不在结果中暴露，完整且不重复即说明游标在同值处衔接正确
+                if (previous != null) {
+                    assertTrue(project.createdAt().compareTo(previous.createdAt()) <= 0, "排序错误: " + project.id());
+                }
+                previous = project;
+            }
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(PROJECTS, seen.size());
+        assertEquals(PROJECTS / PAGE_SIZE, pages);
+    }
+
+    @Test
+    public void testFullTextSearchPages() {
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        do {
+            CursorPage<ProcurementProjectSummary> page = repository.search("门急诊改造", cursor, 30);
+            for (ProcurementProjectSummary project : page.items()) {
+                assertTrue(project.projectName().contains("门急诊改造"), project.projectName());
+                assertTrue(seen.add(project.id()), "重复的项目: " + project.id());
+            }
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(PROJECTS / 100, seen.size());
+    }
+
+    @Test
+    public void testInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> repository.findPage("not-a-cursor", PAGE_SIZE));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo.component;
+
+import com.touhouqing.chatAiDemo.config.ProcurementPipelineProperties;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.AuthTokens;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.GraphDatabase;
+import org.neo4j.harness.Neo4j;
+import org.neo4j.harness.Neo4jBuilders;
+import org.springframework.data.neo4j.core.Neo4jClient;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 在嵌入式 Neo4j 中验证批量写入：整批失败时逐条重试，只有坏数据写入失败；关闭时写入尚未攒满一批的数据。
+ */
+public class ProcurementBatchWriterTest {
+
+    private static Neo4j neo4j;
+    private static Driver driver;
+    private static Neo4jClient client;
+
+    private final Set<String> completed = ConcurrentHashMap.newKeySet();
+
+    private ProcurementBatchWriter writer;
+
+    @BeforeAll
+    public static void startNeo4j() {
+        neo4j = Neo4jBuilders.newInProcessBuilder().withDisabledServer().build();
+        driver = GraphDatabase.driver(neo4j.boltURI(), AuthTokens.none());
+        client = Neo4jClient.create(driver);
+    }
+
+    @AfterAll
+    public static void stopNeo4j() {
+        if (driver != null) {
+            driver.close();
+        }
+        if (neo4j != null) {
+            neo4j.close();
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        client.query("MATCH (n) DETACH DELETE n").run();
+        ProcurementPipelineProperties properties = new ProcurementPipelineProperties();
+        properties.setBatchSize(10);
+        // 定时刷新不参与测试，数据只在关闭时写入
+        properties.setFlushInterval(Duration.ofHours(1));
+        writer = new ProcurementBatchWriter(client, properties);
+        writer.onCompleted(completed::add);
+        writer.init();
+    }
+
+    @Test
+    public void testFailedBatchIsRetriedRowByRow() {
+        writer.add(row("https://example.com/project/1", "天津市第一中学"));
+        writer.add(row("https://example.com/project/2", "天津市和平区民政局"));
+        // 单位名称为 null 时 MERGE 失败，整批回滚
+        writer.add(row("https://example.com/project/3", null));
+        writer.add(row("https://example.com/project/4", "天津市第一中学"));
+
+        writer.shutdown();
+
+        assertEquals(3, writer.writtenCount());
+        assertEquals(1, writer.failedCount());
+        assertEquals(0, writer.batchCount());
+        assertEquals(0, writer.pendingCount());
+        assertEquals(Set.of("https://example.com/project/1", "https://example.com/project/2",
+                "https://example.com/project/3", "https://example.com/project/4"), completed);
+        assertEquals(List.of("https://example.com/project/1", "https://example.com/project/2",
+                "https://example.com/project/4"), sourceUrls());
+        assertEquals(2L, client.query("MATCH (o:ProcurementOrganization) RETURN count(o) AS n")
+                .fetchAs(Long.class).one().orElseThrow());
+    }
+
+    @Test
+    public void testShutdownWritesPartialBatch() {
+        writer.add(row("https://example.com/project/1", "天津市第一中学"));
+        writer.add(row("https://example.com/project/2", "天津市第一中学"));
+        assertEquals(2, writer.pendingCount());
+
+        writer.shutdown();
+
+        assertEquals(2, writer.writtenCount());
+        assertEquals(0, writer.failedCount());
+        assertEquals(1, writer.batchCount());
+        assertEquals(List.of("https://example.com/project/1", "https://example.com/project/2"), sourceUrls());
+    }
+
+    private static List<String> sourceUrls() {
+        return List.copyOf(client.query("MATCH (p:ProcurementProject)-[:PROCURED_BY]->(:ProcurementOrganization) "
+                        + "RETURN p.sourceUrl ORDER BY p.sourceUrl")
+                .fetchAs(String.class).all());
+    }
+
+    private static Map<String, Object> row(String sourceUrl, String organizationName) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("sourceUrl", sourceUrl);
+        row.put("projectName", "采购项目");
+        row.put("organizationName", organizationName);
+        row.put("organizationType", "其他");
+        row.put("organizationLevel", "市级");
+        row.put("now", LocalDateTime.now());
+        return row;
+    }
+}
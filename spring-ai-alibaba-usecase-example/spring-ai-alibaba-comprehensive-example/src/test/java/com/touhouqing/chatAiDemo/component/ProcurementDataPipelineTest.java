@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo.component;
+
+import com.touhouqing.chatAiDemo.config.ProcurementExtractionProperties;
+import com.touhouqing.chatAiDemo.config.ProcurementPipelineProperties;
+import com.touhouqing.chatAiDemo.repository.ProcurementProjectRepository;
+import com.touhouqing.chatAiDemo.service.ProcurementAIService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import us.codecraft.webmagic.ResultItems;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 验证流水线关闭时的排空：队列中尚未分析的页面按规则抽取结果交给写入器，超过 shutdownTimeout 的 AI 分析被中断。
+ */
+public class ProcurementDataPipelineTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testShutdownDrainsQueuedPagesWithoutAiAnalysis() throws Exception {
+        ProcurementProjectRepository repository = mock(ProcurementProjectRepository.class);
+        ProcurementAIService aiService = mock(ProcurementAIService.class);
+        ProcurementBatchWriter batchWriter = mock(ProcurementBatchWriter.class);
+
+        CountDownLatch analysing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        when(aiService.analyzeProcurementData(any(), any(), any())).thenAnswer(invocation -> {
+            analysing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+                throw e;
+            }
+            return "AI分析结果";
+        });
+
+        ProcurementPipelineProperties properties = new ProcurementPipelineProperties();
+        properties.setAiWorkers(1);
+        properties.setAiPermitsPerSecond(0);
+        properties.setShutdownTimeout(Duration.ofMillis(200));
+        ProcurementExtractionProperties extractionProperties = new ProcurementExtractionProperties();
+        ProcurementDataPipeline pipeline = new ProcurementDataPipeline(repository, aiService, batchWriter, properties,
+                new ProcurementFieldExtractor(extractionProperties), extractionProperties);
+        pipeline.init();
+        try {
+            for (int i = 1; i <= 4; i++) {
+                pipeline.process(page(i), null);
+            }
+            // 唯一的 AI 线程卡在第 1 个页面上，其余 3 个留在队列中
+            assertTrue(analysing.await(5, TimeUnit.SECONDS));
+
+            pipeline.shutdown();
+        } finally {
+            release.countDown();
+        }
+
+        ArgumentCaptor<Map<String, Object>> rows = ArgumentCaptor.forClass(Map.class);
+        verify(batchWriter, times(3)).add(rows.capture());
+        assertEquals(List.of("https://example.com/project/2", "https://example.com/project/3",
+                "https://example.com/project/4"), rows.getAllValues().stream().map(row -> row.get("sourceUrl")).toList());
+        for (Map<String, Object> row : rows.getAllValues()) {
+            assertNull(row.get("aiAnalysis"));
+            assertEquals(86.0, row.get("budget"));
+        }
+        assertTrue(interrupted.get(), "超时的 AI 分析应被中断");
+
+        ProcurementDataPipeline.Metrics metrics = pipeline.metrics();
+        assertEquals(4, metrics.submitted());
+        assertEquals(0, metrics.queueDepth());
+        assertEquals(0, metrics.enriched());
+    }
+
+    private static ResultItems page(int i) {
+        ResultItems items = new ResultItems();
+        items.put("type", "procurement_detail");
+        items.put("title", "采购项目" + i + "政府采购意向公告");
+        items.put("publishDate", "2025-08-01");
+        items.put("publishSource", "天津市第一中学");
+        items.put("content", "采购标的需实现的主要目标：更新教学设备。");
+        items.put("tableData", "1|教学设备|86万元|2025-08|");
+        items.put("url", "https://example.com/project/" + i);
+        return items;
+    }
+}
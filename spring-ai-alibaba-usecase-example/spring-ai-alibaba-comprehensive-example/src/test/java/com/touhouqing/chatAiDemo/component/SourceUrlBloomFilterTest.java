@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo.component;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SourceUrlBloomFilterTest {
+
+    private static final int URLS = 10_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    public void testInsertedUrlsAreAlwaysFound() {
+        SourceUrlBloomFilter filter = new SourceUrlBloomFilter(URLS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < URLS; i++) {
+            filter.put(url(i));
+        }
+        for (int i = 0; i < URLS; i++) {
+            assertTrue(filter.mightContain(url(i)), url(i));
+        }
+    }
+
+    @Test
+    public void testFalsePositiveRateStaysNearConfiguredRate() {
+        SourceUrlBloomFilter filter = new SourceUrlBloomFilter(URLS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < URLS; i++) {
+            filter.put(url(i));
+        }
+        int falsePositives = 0;
+        for (int i = URLS; i < URLS * 2; i++) {
+            if (filter.mightContain(url(i))) {
+                falsePositives++;
+            }
+        }
+        // 哈希是确定的，结果可重复；留出 3 倍余量，只用于发现哈希分布退化
+        assertTrue(falsePositives < URLS * FALSE_POSITIVE_RATE * 3, "误判过多: " + falsePositives);
+    }
+
+    @Test
+    public void testConcurrentPutsAreNotLost() throws Exception {
+        SourceUrlBloomFilter filter = new SourceUrlBloomFilter(URLS, FALSE_POSITIVE_RATE);
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = offset; i < URLS; i += threads) {
+                        filter.put(url(i));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        for (int i = 0; i < URLS; i++) {
+            assertTrue(filter.mightContain(url(i)), url(i));
+        }
+    }
+
+    @Test
+    public void testEmptyFilterContainsNothing() {
+        SourceUrlBloomFilter filter = new SourceUrlBloomFilter(URLS, FALSE_POSITIVE_RATE);
+        assertFalse(filter.mightContain(url(0)));
+    }
+
+    private static String url(int i) {
+        return "https://www.ccgp-tianjin.gov.cn/viewer.do?id=" + i;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.touhouqing.chatAiDemo.repository;
+
+import com.touhouqing.chatAiDemo.component.ProcurementSchemaInitializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.AuthTokens;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.GraphDatabase;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.summary.ProfiledPlan;
+import org.neo4j.harness.Neo4j;
+import org.neo4j.harness.Neo4jBuilders;
+import org.springframework.data.neo4j.core.Neo4jClient;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 用 PROFILE 验证列表分页的查询计划：首页和深翻页都从 createdAt 索引读取，db hits 只与页大小有关，不随数据量和页码增长。
+ * 同时验证启动时的分批回填会补齐缺少 createdAt 的存量项目。
+ */
+public class ProcurementProjectQueryPlanTest {
+
+    private static final int PROJECTS = 20_000;
+    private static final int BATCH = 5_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int LEGACY_PROJECTS = 3;
+    private static final LocalDateTime LEGACY_UPDATED_AT = LocalDateTime.of(2024, 6, 1, 8, 0);
+
+    private static final String CREATE_PROJECTS = """
+            UNWIND range($from, $to - 1) AS i
+            CREATE (p:ProcurementProject {
+                sourceUrl: 'https://example.com/project/' + i,
+                projectName: '办公设备采购项目' + i,
+                createdAt: localdatetime('2025-01-01T00:00:00') + duration({minutes: i / 5})
+            })
+            """;
+
+    private static Neo4j neo4j;
+    private static Driver driver;
+
+    @BeforeAll
+    public static void setUp() {
+        neo4j = Neo4jBuilders.newInProcessBuilder().withDisabledServer().build();
+        driver = GraphDatabase.driver(neo4j.boltURI(), AuthTokens.none());
+        Neo4jClient client = Neo4jClient.create(driver);
+
+        // 建索引之前保存的项目没有 createdAt，其中一个带有 updatedAt
+        client.query("UNWIND range(1, $count) AS i "
+                        + "CREATE (:ProcurementProject {sourceUrl: 'https://example.com/legacy/' + i, "
+                        + "updatedAt: CASE WHEN i = 1 THEN $updatedAt ELSE null END})")
+                .bindAll(Map.of("count", LEGACY_PROJECTS, "updatedAt", LEGACY_UPDATED_AT))
+                .run();
+
+        new ProcurementSchemaInitializer(client).createSchema();
+        client.query("CALL db.awaitIndexes(300)").run();
+
+        for (int from = 0; from < PROJECTS; from += BATCH) {
+            client.query(CREATE_PROJECTS).bindAll(Map.of("from", from, "to", from + BATCH)).run();
+        }
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        if (driver != null) {
+            driver.close();
+        }
+        if (neo4j != null) {
+            neo4j.close();
+        }
+    }
+
+    @Test
+    public void testBackfillSetsCreatedAtOnLegacyProjects() {
+        try (Session session = driver.session()) {
+            assertEquals(0, session.run("MATCH (p:ProcurementProject) WHERE p.createdAt IS NULL RETURN count(p) AS n")
+                    .single().get("n").asInt());
+            Record legacy = session.run("MATCH (p:ProcurementProject {sourceUrl: 'https://example.com/legacy/1'}) "
+                    + "RETURN p.createdAt AS createdAt").single();
+            assertEquals(LEGACY_UPDATED_AT, legacy.get("createdAt").asLocalDateTime());
+        }
+    }
+
+    @Test
+    public void testFirstPageReadsCreatedAtIndex() {
+        ProfiledPlan plan = profile(ProcurementProjectQueryRepository.pageQuery(false), Map.of("limit", PAGE_SIZE + 1));
+
+        assertTrue(hasCreatedAtIndexOperator(plan, "NodeIndex"), "首页未使用 createdAt 索引:\n" + describe(plan));
+        assertBounded(plan);
+    }
+
+    @Test
+    public void testDeepPageSeeksCreatedAtIndex() {
+        Record after;
+        try (Session session = driver.session()) {
+            // 按倒序翻到接近末尾时的游标位置，其后只剩 150 个项目
+            after = session.run("MATCH (p:ProcurementProject) "
+                    + "RETURN p.createdAt AS afterKey, elementId(p) AS afterId "
+                    + "ORDER BY afterKey ASC, afterId ASC SKIP 150 LIMIT 1").single();
+        }
+        ProfiledPlan plan = profile(ProcurementProjectQueryRepository.pageQuery(true), Map.of(
+                "limit", PAGE_SIZE + 1,
+                "afterKey", after.get("afterKey").asLocalDateTime(),
+                "afterId", after.get("afterId").asString()));
+
+        assertTrue(hasCreatedAtIndexOperator(plan, "NodeIndexSeek"), "深翻页未使用 createdAt 索引范围查找:\n" + describe(plan));
+        assertBounded(plan);
+    }
+
+    private static ProfiledPlan profile(String query, Map<String, Object> params) {
+        try (Session session = driver.session()) {
+            return session.run("PROFILE " + query, params).consume().profile();
+        }
+    }
+
+    private static void assertBounded(ProfiledPlan plan) {
+        List<ProfiledPlan> operators = flatten(plan);
+        assertFalse(operators.stream().anyMatch(op -> op.operatorType().contains("NodeByLabelScan")
+                || op.operatorType().contains("AllNodesScan")), "查询计划包含全量扫描:\n" + describe(plan));
+        long dbHits = operators.stream().mapToLong(ProfiledPlan::dbHits).sum();
+        // 全量扫描至少每个项目一次 db hit，keyset 分页只与页大小有关
+        assertTrue(dbHits < PROJECTS / 4, "db hits 过多: " + dbHits + "\n" + describe(plan));
+    }
+
+    private static boolean hasCreatedAtIndexOperator(ProfiledPlan plan, String operatorPrefix) {
+        return flatten(plan).stream().anyMatch(op -> op.operatorType().startsWith(operatorPrefix)
+                && op.arguments().containsKey("Details")
+                && op.arguments().get("Details").asString().contains("createdAt"));
+    }
+
+    private static List<ProfiledPlan> flatten(ProfiledPlan plan) {
+        List<ProfiledPlan> operators = new ArrayList<>();
+        operators.add(plan);
+        for (ProfiledPlan child : plan.children()) {
+            operators.addAll(flatten(child));
+        }
+        return operators;
+    }
+
+    private static String describe(ProfiledPlan plan) {
+        StringBuilder builder = new StringBuilder();
+        for (ProfiledPlan op : flatten(plan)) {
+            builder.append(op.operatorType()).append(" dbHits=").append(op.dbHits());
+            if (op.arguments().containsKey("Details")) {
+                builder.append(' ').append(op.arguments().get("Details").asString());
+            }
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.sql.config;
+
+import javax.sql.DataSource;
+
+/**
+ * 执行大模型生成的 SQL 专用的连接池，使用只有 SELECT 权限的数据库账号。
+ * <p>
+ * 包一层而不直接注册为 DataSource Bean，避免 Spring Boot 的默认数据源自动配置因此退出。
+ *
+ * @param dataSource 只读账号的连接池
+ */
+public record ReadOnlyDataSource(DataSource dataSource) implements AutoCloseable {
+
+	@Override
+	public void close() throws Exception {
+
+		if (dataSource instanceof AutoCloseable closeable) {
+			closeable.close();
+		}
+	}
+
+}
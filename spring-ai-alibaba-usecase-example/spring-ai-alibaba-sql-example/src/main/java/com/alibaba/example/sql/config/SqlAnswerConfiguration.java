@@ -0,0 +1,60 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.sql.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.alibaba.example.sql.service.SchemaCatalog;
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SqlAnswerProperties.class)
+public class SqlAnswerConfiguration {
+
+	@Bean
+	public SchemaCatalog schemaCatalog(SqlAnswerProperties properties) throws IOException {
+
+		return SchemaCatalog.parse(properties.getSchema().getContentAsString(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * 与应用数据源连接同一个库，但使用 sql.answer.reader 配置的只读账号，生成的 SQL 即使绕过校验也无法写入数据或访问文件
+	 */
+	@Bean(destroyMethod = "close")
+	public ReadOnlyDataSource readOnlyDataSource(DataSourceProperties dataSourceProperties,
+			SqlAnswerProperties properties) {
+
+		HikariDataSource dataSource = DataSourceBuilder.create()
+				.type(HikariDataSource.class)
+				.driverClassName(dataSourceProperties.determineDriverClassName())
+				.url(dataSourceProperties.determineUrl())
+				.username(properties.getReader().getUsername())
+				.password(properties.getReader().getPassword())
+				.build();
+		dataSource.setPoolName("sql-answer-reader");
+		dataSource.setReadOnly(true);
+		return new ReadOnlyDataSource(dataSource);
+	}
+
+}
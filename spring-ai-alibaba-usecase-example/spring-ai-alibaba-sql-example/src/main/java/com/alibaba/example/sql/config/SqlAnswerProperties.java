@@ -0,0 +1,156 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.sql.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+
+/**
+ * SQL 问答配置
+ */
+@ConfigurationProperties(prefix = SqlAnswerProperties.PREFIX)
+public class SqlAnswerProperties {
+
+	public static final String PREFIX = "sql.answer";
+
+	/**
+	 * 表结构 DDL，启动时加载一次
+	 */
+	private Resource schema;
+
+	/**
+	 * 每个问题最多放入 Prompt 的表数（含外键关联的表）
+	 */
+	private int maxTables = 6;
+
+	/**
+	 * /sql 接口最多返回的行数
+	 */
+	private int maxRows = 1000;
+
+	/**
+	 * /sql/stream 接口最多返回的行数
+	 */
+	private int maxStreamRows = 100_000;
+
+	/**
+	 * JDBC 每次从数据库拉取的行数
+	 */
+	private int fetchSize = 200;
+
+	private Duration queryTimeout = Duration.ofSeconds(30);
+
+	/**
+	 * 问题到 SQL 的缓存条数，0 表示不缓存
+	 */
+	private int cacheSize = 1000;
+
+	/**
+	 * 执行生成的 SQL 所用的只读账号
+	 */
+	private final Reader reader = new Reader();
+
+	public Resource getSchema() {
+		return schema;
+	}
+
+	public void setSchema(Resource schema) {
+		this.schema = schema;
+	}
+
+	public int getMaxTables() {
+		return maxTables;
+	}
+
+	public void setMaxTables(int maxTables) {
+		this.maxTables = maxTables;
+	}
+
+	public int getMaxRows() {
+		return maxRows;
+	}
+
+	public void setMaxRows(int maxRows) {
+		this.maxRows = maxRows;
+	}
+
+	public int getMaxStreamRows() {
+		return maxStreamRows;
+	}
+
+	public void setMaxStreamRows(int maxStreamRows) {
+		this.maxStreamRows = maxStreamRows;
+	}
+
+	public int getFetchSize() {
+		return fetchSize;
+	}
+
+	public void setFetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+	}
+
+	public Duration getQueryTimeout() {
+		return queryTimeout;
+	}
+
+	public void setQueryTimeout(Duration queryTimeout) {
+		this.queryTimeout = queryTimeout;
+	}
+
+	public int getCacheSize() {
+		return cacheSize;
+	}
+
+	public void setCacheSize(int cacheSize) {
+		this.cacheSize = cacheSize;
+	}
+
+	public Reader getReader() {
+		return reader;
+	}
+
+	public static class Reader {
+
+		/**
+		 * 只有 SELECT 权限的数据库账号，内置 H2 库由 schema.sql 创建
+		 */
+		private String username = "sql_reader";
+
+		private String password;
+
+		public String getUsername() {
+			return username;
+		}
+
+		public void setUsername(String username) {
+			this.username = username;
+		}
+
+		public String getPassword() {
+			return password;
+		}
+
+		public void setPassword(String password) {
+			this.password = password;
+		}
+
+	}
+
+}
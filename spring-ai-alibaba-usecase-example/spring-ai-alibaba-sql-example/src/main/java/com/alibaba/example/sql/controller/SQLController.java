@@ -16,66 +16,49 @@
 
 package com.alibaba.example.sql.controller;
 
-import java.io.IOException;
-import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Map;
 
-import com.alibaba.example.sql.SQLGenerationException;
+import com.alibaba.example.sql.service.SqlAnsweringService;
 
-import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 public class SQLController {
 
-	@Value("classpath:/schema.sql")
-	private Resource ddlResource;
+	private final SqlAnsweringService sqlAnsweringService;
 
-	@Value("classpath:/sql-prompt-template.st")
-	private Resource sqlPromptTemplateResource;
+	public SQLController(SqlAnsweringService sqlAnsweringService) {
 
-	private final ChatClient chatClient;
-	private final JdbcTemplate jdbcTemplate;
-
-	public SQLController(
-			ChatClient.Builder aiClientBuilder,
-			JdbcTemplate jdbcTemplate
-	) {
-
-		this.chatClient = aiClientBuilder.build();
-		this.jdbcTemplate = jdbcTemplate;
+		this.sqlAnsweringService = sqlAnsweringService;
 	}
 
 	@PostMapping(path = "/sql")
-	public Answer sql(@RequestBody SqlRequest sqlRequest) throws IOException {
-
-		String schema = ddlResource.getContentAsString(Charset.defaultCharset());
+	public Answer sql(@RequestBody SqlRequest sqlRequest) {
 
-		String query = chatClient.prompt()
-				.user(userSpec -> userSpec
-						.text(sqlPromptTemplateResource)
-						.param("question", sqlRequest.question())
-						.param("ddl", schema)
-				)
-				.call()
-				.content();
-
-		assert query != null;
-		if (query.toLowerCase().startsWith("select")) {
-
-			return new Answer(
-					query,
-					jdbcTemplate.queryForList(query)
-			);
-		}
+		String query = sqlAnsweringService.generate(sqlRequest.question());
+		return new Answer(
+				query,
+				sqlAnsweringService.query(query)
+		);
+	}
 
-		throw new SQLGenerationException(query);
+	/**
+	 * 与 /sql 的返回格式相同，但结果边查询边写出，适合大结果集
+	 */
+	@PostMapping(path = "/sql/stream")
+	public ResponseEntity<StreamingResponseBody> sqlStream(@RequestBody SqlRequest sqlRequest) {
+
+		// 生成和校验在写出之前完成，失败时仍能返回错误状态码
+		String query = sqlAnsweringService.generate(sqlRequest.question());
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(out -> sqlAnsweringService.stream(query, out));
 	}
 
 	public record SqlRequest(String question) { }
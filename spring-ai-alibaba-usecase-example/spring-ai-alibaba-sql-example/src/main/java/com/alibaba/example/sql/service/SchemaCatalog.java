@@ -0,0 +1,207 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.sql.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 启动时解析一次的表结构目录。
+ * <p>
+ * 每张表按表名和列名拆分出词项建立倒排索引（表名权重更高），回答问题时只挑选与问题词项重合度最高的表，
+ * 再补充它们通过外键关联的表，使 Prompt 中的 DDL 大小与表总数无关。
+ */
+public final class SchemaCatalog {
+
+	private static final Pattern CREATE_TABLE = Pattern.compile(
+			"create\\s+table\\s+(?:if\\s+not\\s+exists\\s+)?([\\w.\"`]+)\\s*\\((.*)\\)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+	private static final Pattern REFERENCES = Pattern.compile("references\\s+([\\w.\"`]+)", Pattern.CASE_INSENSITIVE);
+
+	private static final Pattern CONSTRAINT = Pattern.compile(
+			"(?i)(primary|foreign|constraint|unique|key|index|check)\\b.*");
+
+	private static final Pattern WORD = Pattern.compile("[A-Za-z0-9]+|\\p{IsHan}+");
+
+	private static final int TABLE_NAME_WEIGHT = 3;
+
+	private final List<Table> tables;
+
+	private final Map<String, Table> tablesByName;
+
+	private final Map<String, Map<Table, Integer>> index = new HashMap<>();
+
+	private SchemaCatalog(List<Table> tables) {
+		this.tables = tables;
+		this.tablesByName = new HashMap<>();
+		for (Table table : tables) {
+			tablesByName.put(table.name().toLowerCase(Locale.ROOT), table);
+			for (String term : terms(table.name())) {
+				index.computeIfAbsent(term, key -> new HashMap<>()).merge(table, TABLE_NAME_WEIGHT, Integer::sum);
+			}
+			for (String column : table.columns()) {
+				for (String term : terms(column)) {
+					index.computeIfAbsent(term, key -> new HashMap<>()).merge(table, 1, Integer::sum);
+				}
+			}
+		}
+	}
+
+	/**
+	 * 解析 schema.sql 中的 create table 语句，其他语句忽略
+	 */
+	public static SchemaCatalog parse(String ddl) {
+
+		List<Table> tables = new ArrayList<>();
+		for (String statement : ddl.split(";")) {
+			Matcher matcher = CREATE_TABLE.matcher(statement.strip());
+			if (!matcher.find()) {
+				continue;
+			}
+			String name = unquote(matcher.group(1));
+			List<String> columns = new ArrayList<>();
+			Set<String> references = new LinkedHashSet<>();
+			for (String definition : splitTopLevel(matcher.group(2))) {
+				String trimmed = definition.strip();
+				Matcher reference = REFERENCES.matcher(trimmed);
+				while (reference.find()) {
+					references.add(unquote(reference.group(1)));
+				}
+				if (!trimmed.isEmpty() && !CONSTRAINT.matcher(trimmed).matches()) {
+					columns.add(unquote(trimmed.split("\\s+", 2)[0]));
+				}
+			}
+			// 去掉行首缩进，减少 Prompt 中的无效 token
+			String compact = statement.strip().replaceAll("(?m)^\\s+", "  ") + ";";
+			tables.add(new Table(name, columns, List.copyOf(references), compact));
+		}
+		return new SchemaCatalog(List.copyOf(tables));
+	}
+
+	public List<Table> tables() {
+		return tables;
+	}
+
+	/**
+	 * 为问题挑选相关的表：先按词项得分取前几张表，再补充外键关联的表，总数不超过 maxTables；
+	 * 没有任何表命中时按定义顺序取前 maxTables 张
+	 */
+	public List<Table> relevantTables(String question, int maxTables) {
+
+		Map<Table, Integer> scores = new HashMap<>();
+		for (String term : terms(question)) {
+			Map<Table, Integer> postings = index.get(term);
+			if (postings != null) {
+				postings.forEach((table, weight) -> scores.merge(table, weight, Integer::sum));
+			}
+		}
+		int limit = Math.max(1, maxTables);
+		if (scores.isEmpty()) {
+			return tables.subList(0, Math.min(limit, tables.size()));
+		}
+
+		Set<Table> selected = new LinkedHashSet<>();
+		scores.entrySet().stream()
+				.sorted(Map.Entry.<Table, Integer>comparingByValue().reversed()
+						.thenComparing(entry -> tables.indexOf(entry.getKey())))
+				.limit(limit)
+				.forEach(entry -> selected.add(entry.getKey()));
+		for (Table table : List.copyOf(selected)) {
+			for (String reference : table.references()) {
+				Table referenced = tablesByName.get(reference.toLowerCase(Locale.ROOT));
+				if (referenced != null && selected.size() < limit) {
+					selected.add(referenced);
+				}
+			}
+		}
+		return selected.stream().sorted(Comparator.comparingInt(tables::indexOf)).toList();
+	}
+
+	/**
+	 * 相关表的 DDL，直接放入 Prompt
+	 */
+	public String ddlFor(String question, int maxTables) {
+
+		return relevantTables(question, maxTables).stream()
+				.map(Table::ddl)
+				.collect(Collectors.joining("\n\n"));
+	}
+
+	/**
+	 * 拆分为小写词项：按非字母数字、下划线和驼峰边界切分，英文词去掉复数 s
+	 */
+	static Set<String> terms(String text) {
+
+		Set<String> terms = new LinkedHashSet<>();
+		Matcher matcher = WORD.matcher(text.replaceAll("([a-z0-9])([A-Z])", "$1 $2"));
+		while (matcher.find()) {
+			String term = matcher.group().toLowerCase(Locale.ROOT);
+			if (term.length() > 3 && term.endsWith("s") && !term.endsWith("ss")) {
+				term = term.substring(0, term.length() - 1);
+			}
+			if (term.length() > 1) {
+				terms.add(term);
+			}
+		}
+		return terms;
+	}
+
+	private static List<String> splitTopLevel(String body) {
+
+		List<String> parts = new ArrayList<>();
+		int depth = 0;
+		int start = 0;
+		for (int i = 0; i < body.length(); i++) {
+			char c = body.charAt(i);
+			if (c == '(') {
+				depth++;
+			}
+			else if (c == ')') {
+				depth--;
+			}
+			else if (c == ',' && depth == 0) {
+				parts.add(body.substring(start, i));
+				start = i + 1;
+			}
+		}
+		parts.add(body.substring(start));
+		return parts;
+	}
+
+	private static String unquote(String identifier) {
+
+		return identifier.replace("\"", "").replace("`", "");
+	}
+
+	/**
+	 * @param references 外键引用的表名
+	 * @param ddl 压缩缩进后的 create table 语句
+	 */
+	public record Table(String name, List<String> columns, List<String> references, String ddl) {
+
+	}
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.sql.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSetMetaData;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.alibaba.example.sql.config.ReadOnlyDataSource;
+import com.alibaba.example.sql.config.SqlAnswerProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * 自然语言问答 SQL。
+ * <p>
+ * Prompt 中只放入与问题相关的表结构；生成的 SQL 经过 {@link SqlValidator} 校验后缓存，同一问题不再调用大模型。
+ * 查询在只读账号的连接上执行，通过 JDBC maxRows 限制行数并按 fetchSize 分批拉取，流式接口边读边写，内存占用与结果集大小无关。
+ */
+@Service
+public class SqlAnsweringService {
+
+	private static final Logger logger = LoggerFactory.getLogger(SqlAnsweringService.class);
+
+	private final ChatClient chatClient;
+
+	private final SchemaCatalog schemaCatalog;
+
+	private final SqlValidator sqlValidator;
+
+	private final SqlAnswerProperties properties;
+
+	private final ObjectMapper objectMapper;
+
+	private final Resource sqlPromptTemplateResource;
+
+	private final JdbcTemplate listTemplate;
+
+	private final JdbcTemplate streamTemplate;
+
+	private final Map<String, String> sqlCache;
+
+	public SqlAnsweringService(ChatClient.Builder aiClientBuilder,
+			SchemaCatalog schemaCatalog,
+			SqlValidator sqlValidator,
+			ReadOnlyDataSource readOnlyDataSource,
+			SqlAnswerProperties properties,
+			ObjectMapper objectMapper,
+			@Value("classpath:/sql-prompt-template.st") Resource sqlPromptTemplateResource) {
+
+		this.chatClient = aiClientBuilder.build();
+		this.schemaCatalog = schemaCatalog;
+		this.sqlValidator = sqlValidator;
+		this.properties = properties;
+		this.objectMapper = objectMapper;
+		this.sqlPromptTemplateResource = sqlPromptTemplateResource;
+		this.listTemplate = boundedTemplate(readOnlyDataSource, properties.getMaxRows());
+		this.streamTemplate = boundedTemplate(readOnlyDataSource, properties.getMaxStreamRows());
+		int cacheSize = properties.getCacheSize();
+		this.sqlCache = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+				return size() > cacheSize;
+			}
+		};
+	}
+
+	/**
+	 * 为问题生成经过校验的 SQL，相同问题（忽略大小写和多余空白）直接使用缓存
+	 */
+	public String generate(String question) {
+
+		String key = question.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+		synchronized (sqlCache) {
+			String cached = sqlCache.get(key);
+			if (cached != null) {
+				return cached;
+			}
+		}
+
+		String ddl = schemaCatalog.ddlFor(question, properties.getMaxTables());
+		String response = chatClient.prompt()
+				.user(userSpec -> userSpec
+						.text(sqlPromptTemplateResource)
+						.param("question", question)
+						.param("ddl", ddl)
+				)
+				.call()
+				.content();
+		String sql = sqlValidator.validate(response);
+		logger.debug("Generated SQL for question [{}] with {} chars of DDL: {}", question, ddl.length(), sql);
+
+		if (properties.getCacheSize() > 0) {
+			synchronized (sqlCache) {
+				sqlCache.put(key, sql);
+			}
+		}
+		return sql;
+	}
+
+	/**
+	 * 执行查询，最多返回 maxRows 行
+	 */
+	public List<Map<String, Object>> query(String sql) {
+
+		return listTemplate.query(sql, new ColumnMapRowMapper());
+	}
+
+	/**
+	 * 执行查询并以 {"sqlQuery": ..., "results": [...]} 的格式逐行写出，最多 maxStreamRows 行。
+	 * 响应头已经发出后查询失败时无法再改状态码，此时结束 results 数组并追加 "error" 字段，保证输出仍是完整的 JSON
+	 */
+	public void stream(String sql, OutputStream out) throws IOException {
+
+		try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+			generator.writeStartObject();
+			generator.writeStringField("sqlQuery", sql);
+			generator.writeArrayFieldStart("results");
+			String error = null;
+			try {
+				streamTemplate.query(sql, resultSet -> {
+					ResultSetMetaData metaData = resultSet.getMetaData();
+					try {
+						generator.writeStartObject();
+						for (int column = 1; column <= metaData.getColumnCount(); column++) {
+							generator.writeObjectField(metaData.getColumnLabel(column), resultSet.getObject(column));
+						}
+						generator.writeEndObject();
+					}
+					catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			}
+			catch (UncheckedIOException e) {
+				// 客户端断开等写出失败，无法再补全响应
+				throw e.getCause();
+			}
+			catch (DataAccessException e) {
+				if (generator.getOutputContext().inObject()) {
+					// 读某一行的列时失败，先结束这一行
+					generator.writeEndObject();
+				}
+				logger.error("Streaming query failed after {} rows: {}", generator.getOutputContext().getEntryCount(),
+						sql, e);
+				error = e.getMostSpecificCause().getMessage();
+			}
+			generator.writeEndArray();
+			if (error != null) {
+				generator.writeStringField("error", error);
+			}
+			generator.writeEndObject();
+		}
+	}
+
+	private JdbcTemplate boundedTemplate(ReadOnlyDataSource readOnlyDataSource, int maxRows) {
+
+		JdbcTemplate template = new JdbcTemplate(readOnlyDataSource.dataSource());
+		template.setFetchSize(properties.getFetchSize());
+		template.setMaxRows(maxRows);
+		template.setQueryTimeout((int) properties.getQueryTimeout().toSeconds());
+		return template;
+	}
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.sql.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.alibaba.example.sql.SQLGenerationException;
+import com.alibaba.example.sql.config.ReadOnlyDataSource;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 校验大模型生成的 SQL：只允许单条 SELECT（或 WITH ... SELECT）语句，不允许出现写操作、DDL 关键字
+ * 和 H2 读写文件或连接其他库的函数，并在只读账号的连接上 prepare 一次，由数据库自身的解析器检查语法、表名和列名，不会真正执行。
+ * 关键字检查只是第一道防线，真正执行时同样使用只读账号，见 {@link ReadOnlyDataSource}。
+ */
+@Component
+public class SqlValidator {
+
+	private static final Pattern CODE_FENCE = Pattern.compile("^```\\w*\\s*(.*?)\\s*```$", Pattern.DOTALL);
+
+	private static final Set<String> FORBIDDEN_KEYWORDS = Set.of("insert", "update", "delete", "merge", "upsert",
+			"drop", "alter", "create", "truncate", "grant", "revoke", "call", "execute", "exec", "set", "runscript",
+			"script", "shutdown", "backup",
+			// H2 读写服务器文件、连接其他数据库或终止会话的函数
+			"csvread", "csvwrite", "file_read", "file_write", "link_schema", "abort_session", "cancel_session");
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public SqlValidator(ReadOnlyDataSource readOnlyDataSource) {
+		this.jdbcTemplate = new JdbcTemplate(readOnlyDataSource.dataSource());
+	}
+
+	/**
+	 * @param response 大模型的原始回复
+	 * @return 去掉 Markdown 代码块和末尾分号后的 SQL
+	 * @throws SQLGenerationException 回复不是合法的只读查询
+	 */
+	public String validate(String response) {
+
+		if (response == null || response.isBlank()) {
+			throw new SQLGenerationException("The model did not return a query");
+		}
+		String sql = response.strip();
+		Matcher fence = CODE_FENCE.matcher(sql);
+		if (fence.matches()) {
+			sql = fence.group(1).strip();
+		}
+		while (sql.endsWith(";")) {
+			sql = sql.substring(0, sql.length() - 1).stripTrailing();
+		}
+
+		String keywords = keywordsOutsideLiterals(sql);
+		String first = keywords.isEmpty() ? "" : keywords.split(" ", 2)[0];
+		if (!first.equals("select") && !first.equals("with")) {
+			// 不是查询语句时原样返回模型的说明，如“不支持该操作”
+			throw new SQLGenerationException(response);
+		}
+		for (String keyword : keywords.split(" ")) {
+			if (keyword.equals(";")) {
+				throw new SQLGenerationException("Only a single statement is allowed: " + sql);
+			}
+			if (FORBIDDEN_KEYWORDS.contains(keyword)) {
+				throw new SQLGenerationException("Only read-only queries are allowed: " + sql);
+			}
+		}
+
+		String query = sql;
+		try {
+			jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+				prepare(connection, query);
+				return null;
+			});
+		}
+		catch (DataAccessException e) {
+			throw new SQLGenerationException("Invalid SQL: " + query + " (" + e.getMostSpecificCause().getMessage() + ")");
+		}
+		return sql;
+	}
+
+	private static void prepare(Connection connection, String sql) throws SQLException {
+
+		boolean readOnly = connection.isReadOnly();
+		connection.setReadOnly(true);
+		try (PreparedStatement ignored = connection.prepareStatement(sql)) {
+			// prepare 即完成解析和绑定
+		}
+		finally {
+			connection.setReadOnly(readOnly);
+		}
+	}
+
+	/**
+	 * 去掉字符串和注释后，把剩余的单词和分号按出现顺序以空格连接（小写）；
+	 * 带双引号或反引号的标识符作为一个单词保留，防止用 "CSVWRITE"(...) 的写法绕过关键字检查
+	 */
+	private static String keywordsOutsideLiterals(String sql) {
+
+		StringBuilder words = new StringBuilder();
+		StringBuilder word = new StringBuilder();
+		int i = 0;
+		while (i < sql.length()) {
+			char c = sql.charAt(i);
+			if (c == '\'' || c == '"' || c == '`') {
+				flush(word, words);
+				int end = i + 1;
+				while (end < sql.length()) {
+					if (sql.charAt(end) == c) {
+						if (end + 1 < sql.length() && sql.charAt(end + 1) == c) {
+							end += 2;
+							continue;
+						}
+						break;
+					}
+					end++;
+				}
+				if (c != '\'') {
+					word.append(sql.substring(i + 1, Math.min(end, sql.length())).replaceAll("\\s+", "_"));
+					flush(word, words);
+				}
+				i = end + 1;
+			}
+			else if (c == '-' && i + 1 < sql.length() && sql.charAt(i + 1) == '-') {
+				flush(word, words);
+				int end = sql.indexOf('\n', i);
+				i = end < 0 ? sql.length() : end + 1;
+			}
+			else if (c == '/' && i + 1 < sql.length() && sql.charAt(i + 1) == '*') {
+				flush(word, words);
+				int end = sql.indexOf("*/", i + 2);
+				i = end < 0 ? sql.length() : end + 2;
+			}
+			else if (Character.isLetterOrDigit(c) || c == '_') {
+				word.append(c);
+				i++;
+			}
+			else {
+				flush(word, words);
+				if (c == ';') {
+					words.append("; ");
+				}
+				i++;
+			}
+		}
+		flush(word, words);
+		return words.toString().strip().toLowerCase(Locale.ROOT);
+	}
+
+	private static void flush(StringBuilder word, StringBuilder words) {
+
+		if (!word.isEmpty()) {
+			words.append(word).append(' ');
+			word.setLength(0);
+		}
+	}
+
+}
@@ -21,3 +21,7 @@ create table Books (
                        foreign key (author_ref) references Authors(id),
                        foreign key (publisher_ref) references Publishers(id)
 );
+
+-- 执行生成 SQL 的只读账号，与 sql.answer.reader 保持一致；非管理员账号也无法调用 CSVWRITE、FILE_READ 等文件函数
+create user if not exists sql_reader password 'sql_reader';
+grant select on schema public to sql_reader;
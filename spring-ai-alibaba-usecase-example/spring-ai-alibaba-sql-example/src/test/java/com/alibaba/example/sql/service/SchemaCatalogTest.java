@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.example.sql.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.ClassPathResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchemaCatalogTest {
+
+	private static SchemaCatalog catalog;
+
+	@BeforeAll
+	static void setUp() throws IOException {
+
+		catalog = SchemaCatalog.parse(new ClassPathResource("schema.sql").getContentAsString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void parsesTablesColumnsAndForeignKeys() {
+
+		assertThat(catalog.tables()).extracting(SchemaCatalog.Table::name)
+				.containsExactly("Authors", "Publishers", "Books");
+		SchemaCatalog.Table books = catalog.tables().get(2);
+		assertThat(books.columns()).containsExactly("id", "isbn", "title", "author_ref", "publisher_ref");
+		assertThat(books.references()).containsExactly("Authors", "Publishers");
+		assertThat(books.ddl()).startsWith("create table Books (").endsWith(");");
+	}
+
+	@Test
+	void addsReferencedTablesWithinLimit() {
+
+		String question = "Which books were written by each author?";
+		assertThat(catalog.relevantTables(question, 6)).extracting(SchemaCatalog.Table::name)
+				.containsExactly("Authors", "Publishers", "Books");
+		assertThat(catalog.relevantTables(question, 2)).extracting(SchemaCatalog.Table::name)
+				.containsExactly("Authors", "Books");
+		assertThat(catalog.relevantTables(question, 1)).extracting(SchemaCatalog.Table::name)
+				.containsExactly("Books");
+	}
+
+	@Test
+	void prunesUnrelatedTablesFromPrompt() {
+
+		String ddl = catalog.ddlFor("List the first name of every author", 1);
+		assertThat(ddl).contains("create table Authors").doesNotContain("create table Books")
+				.doesNotContain("create table Publishers");
+	}
+
+	@Test
+	void fallsBackToDefinitionOrderWithoutMatches() {
+
+		assertThat(catalog.relevantTables("hello there", 2)).extracting(SchemaCatalog.Table::name)
+				.containsExactly("Authors", "Publishers");
+	}
+
+	@Test
+	void splitsCamelCaseAndPlurals() {
+
+		assertThat(SchemaCatalog.terms("firstName publisher_ref Books class 书籍"))
+				.containsExactly("first", "name", "publisher", "ref", "book", "class", "书籍");
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.example.sql.service;
+
+import com.alibaba.example.sql.SQLGenerationException;
+import com.alibaba.example.sql.config.ReadOnlyDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqlValidatorTest {
+
+	private static final String URL = "jdbc:h2:mem:sql-validator;DB_CLOSE_DELAY=-1";
+
+	private static JdbcDataSource reader;
+
+	private static SqlValidator validator;
+
+	@BeforeAll
+	static void setUp() {
+
+		JdbcDataSource admin = dataSource("sa", "");
+		new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+				.execute(admin);
+		reader = dataSource("sql_reader", "sql_reader");
+		validator = new SqlValidator(new ReadOnlyDataSource(reader));
+	}
+
+	@Test
+	void stripsCodeFenceAndTrailingSemicolons() {
+
+		assertThat(validator.validate("```sql\nSELECT title FROM Books;;\n```")).isEqualTo("SELECT title FROM Books");
+		assertThat(validator.validate("  with t as (select id from Books) select count(*) from t ; "))
+				.isEqualTo("with t as (select id from Books) select count(*) from t");
+	}
+
+	@Test
+	void ignoresKeywordsInsideLiteralsAndComments() {
+
+		String sql = """
+				-- delete every row? no, just read them
+				select title from Books /* update; drop */ where title <> 'drop table Books; delete'""";
+		assertThat(validator.validate(sql)).isEqualTo(sql);
+	}
+
+	@Test
+	void rejectsMultipleStatements() {
+
+		assertThatThrownBy(() -> validator.validate("select * from Books; select * from Authors"))
+				.isInstanceOf(SQLGenerationException.class)
+				.hasMessageStartingWith("Only a single statement is allowed");
+	}
+
+	@Test
+	void rejectsWritesAndDdl() {
+
+		assertThatThrownBy(() -> validator.validate("select * from Books where id in (select id from Books for update)"))
+				.hasMessageStartingWith("Only read-only queries are allowed");
+		assertThatThrownBy(() -> validator.validate("with t as (select 1) delete from Books"))
+				.hasMessageStartingWith("Only read-only queries are allowed");
+	}
+
+	@Test
+	void rejectsH2FileAndLinkFunctions() {
+
+		for (String sql : new String[] {
+				"select csvwrite('/tmp/books.csv', 'select * from Books')",
+				"select * from csvread('/etc/passwd')",
+				"select file_read('/etc/passwd')",
+				"select FILE_WRITE('x', '/tmp/x')",
+				"select \"CSVWRITE\"('/tmp/books.csv', 'select * from Books')",
+				"select * from link_schema('x', '', 'jdbc:h2:mem:other', 'sa', '', 'PUBLIC')" }) {
+			assertThatThrownBy(() -> validator.validate(sql)).as(sql)
+					.isInstanceOf(SQLGenerationException.class)
+					.hasMessageStartingWith("Only read-only queries are allowed");
+		}
+	}
+
+	@Test
+	void returnsModelAnswerWhenItIsNotAQuery() {
+
+		assertThatThrownBy(() -> validator.validate("I'm sorry, I can only answer questions about books."))
+				.isInstanceOf(SQLGenerationException.class)
+				.hasMessage("I'm sorry, I can only answer questions about books.");
+		assertThatThrownBy(() -> validator.validate("delete from Books"))
+				.hasMessage("delete from Books");
+	}
+
+	@Test
+	void rejectsUnknownColumns() {
+
+		assertThatThrownBy(() -> validator.validate("select publishedAt from Books"))
+				.isInstanceOf(SQLGenerationException.class)
+				.hasMessageStartingWith("Invalid SQL: select publishedAt from Books");
+	}
+
+	@Test
+	void readerAccountCannotWriteOrTouchFiles() {
+
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(reader);
+		assertThat(jdbcTemplate.queryForObject("select count(*) from Books", Integer.class)).isPositive();
+		assertThatThrownBy(() -> jdbcTemplate.update("delete from Books"))
+				.isInstanceOf(DataAccessException.class);
+		assertThatThrownBy(() -> jdbcTemplate.queryForObject("select file_read('/etc/hostname')", String.class))
+				.isInstanceOf(DataAccessException.class);
+	}
+
+	private static JdbcDataSource dataSource(String user, String password) {
+
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL(URL);
+		dataSource.setUser(user);
+		dataSource.setPassword(password);
+		return dataSource;
+	}
+
+}
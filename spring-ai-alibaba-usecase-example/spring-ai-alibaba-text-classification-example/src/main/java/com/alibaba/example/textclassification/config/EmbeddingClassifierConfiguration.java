@@ -0,0 +1,38 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.textclassification.config;
+
+import com.alibaba.example.textclassification.embedding.EmbeddingClassifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(EmbeddingClassifierProperties.class)
+public class EmbeddingClassifierConfiguration {
+
+	@Bean
+	public EmbeddingClassifier embeddingClassifier(EmbeddingModel embeddingModel,
+			EmbeddingClassifierProperties properties, ObjectMapper objectMapper) {
+
+		return new EmbeddingClassifier(embeddingModel, properties, objectMapper);
+	}
+
+}
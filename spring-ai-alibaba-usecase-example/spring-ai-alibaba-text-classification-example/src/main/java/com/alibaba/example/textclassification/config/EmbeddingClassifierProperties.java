@@ -0,0 +1,110 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.textclassification.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+
+/**
+ * 基于 Embedding 的分类器配置
+ */
+@ConfigurationProperties(prefix = EmbeddingClassifierProperties.PREFIX)
+public class EmbeddingClassifierProperties {
+
+	public static final String PREFIX = "classification.embedding";
+
+	/**
+	 * 训练用的标注样本，JSON 数组，每项包含 text 和 label
+	 */
+	private Resource examples;
+
+	/**
+	 * 基准测试用的标注样本，不应与训练样本重复
+	 */
+	private Resource evaluation;
+
+	/**
+	 * 最相似类别与次相似类别的余弦相似度之差低于该值时视为置信度不足，交给大模型分类
+	 */
+	private double minMargin = 0.03;
+
+	/**
+	 * 每次调用 Embedding 模型的文本数
+	 */
+	private int batchSize = 10;
+
+	/**
+	 * 批量分类时同时进行的 Embedding 请求和大模型兜底请求数
+	 */
+	private int concurrency = 4;
+
+	/**
+	 * 单个 Embedding 批次或大模型兜底请求的超时时间
+	 */
+	private Duration timeout = Duration.ofSeconds(30);
+
+	public Resource getExamples() {
+		return examples;
+	}
+
+	public void setExamples(Resource examples) {
+		this.examples = examples;
+	}
+
+	public Resource getEvaluation() {
+		return evaluation;
+	}
+
+	public void setEvaluation(Resource evaluation) {
+		this.evaluation = evaluation;
+	}
+
+	public double getMinMargin() {
+		return minMargin;
+	}
+
+	public void setMinMargin(double minMargin) {
+		this.minMargin = minMargin;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	public void setConcurrency(int concurrency) {
+		this.concurrency = concurrency;
+	}
+
+	public Duration getTimeout() {
+		return timeout;
+	}
+
+	public void setTimeout(Duration timeout) {
+		this.timeout = timeout;
+	}
+
+}
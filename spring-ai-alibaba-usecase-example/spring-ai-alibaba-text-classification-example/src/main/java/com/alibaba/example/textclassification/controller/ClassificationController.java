@@ -16,9 +16,16 @@
 
 package com.alibaba.example.textclassification.controller;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import com.alibaba.example.textclassification.ClassificationType;
+import com.alibaba.example.textclassification.embedding.ClassificationBenchmark;
+import com.alibaba.example.textclassification.embedding.EmbeddingClassification;
+import com.alibaba.example.textclassification.embedding.EmbeddingClassifier;
+import com.alibaba.example.textclassification.embedding.LabelledText;
 
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.messages.AssistantMessage;
@@ -26,21 +33,28 @@ import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.SystemMessage;
 import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 public class ClassificationController {
 
+	private static final String BATCH_MODE = "embedding-batch";
+
 	private final ChatClient chatClient;
 
-	ClassificationController(ChatClient.Builder chatClientBuilder) {
+	private final EmbeddingClassifier embeddingClassifier;
+
+	ClassificationController(ChatClient.Builder chatClientBuilder, EmbeddingClassifier embeddingClassifier) {
 		this.chatClient = chatClientBuilder
 				.defaultOptions(ChatOptions.builder()
 						.temperature(0.0)
 						.build())
 				.build();
+		this.embeddingClassifier = embeddingClassifier;
 	}
 
 	@PostMapping("/classify/class-names")
@@ -132,6 +146,59 @@ public class ClassificationController {
 		return classifyStructured(text);
 	}
 
+	/**
+	 * 基于 Embedding 的最近类中心分类，置信度不足时使用 structured-output 方式兜底
+	 */
+	@PostMapping("/classify/embedding")
+	EmbeddingClassification classifyEmbedding(@RequestBody String text) {
+		return embeddingClassifier.classify(text, this::classifyStructured);
+	}
+
+	@PostMapping("/classify/embedding/batch")
+	List<EmbeddingClassification> classifyEmbeddingBatch(@RequestBody List<String> texts,
+			@RequestParam(defaultValue = "true") boolean fallback) {
+		return embeddingClassifier.classifyAll(texts, fallback ? this::classifyStructured : null);
+	}
+
+	/**
+	 * 在标注样本上对比各分类方式的准确率和耗时，embedding-batch 为一次调用分类全部样本
+	 */
+	@GetMapping("/classify/benchmark")
+	List<ClassificationBenchmark.BenchmarkResult> benchmark(@RequestParam(required = false) List<String> modes) {
+		List<LabelledText> samples = embeddingClassifier.evaluationSamples();
+		embeddingClassifier.prepare();
+		Map<String, Function<String, ClassificationType>> classifiers = benchmarkModes();
+		List<String> selected = modes == null || modes.isEmpty()
+				? List.copyOf(classifiers.keySet()) : modes;
+		return selected.stream()
+				.map(mode -> {
+					if (BATCH_MODE.equals(mode)) {
+						return ClassificationBenchmark.runBatch(mode, samples, texts -> embeddingClassifier
+								.classifyAll(texts, this::classifyStructured).stream()
+								.map(EmbeddingClassification::type)
+								.toList());
+					}
+					Function<String, ClassificationType> classifier = classifiers.get(mode);
+					if (classifier == null) {
+						throw new IllegalArgumentException("Unknown classification mode: " + mode);
+					}
+					return ClassificationBenchmark.run(mode, samples, classifier);
+				})
+				.toList();
+	}
+
+	private Map<String, Function<String, ClassificationType>> benchmarkModes() {
+		Map<String, Function<String, ClassificationType>> modes = new LinkedHashMap<>();
+		modes.put("class-names", text -> ClassificationBenchmark.parse(classifyClassNames(text)));
+		modes.put("class-descriptions", text -> ClassificationBenchmark.parse(classifyClassDescriptions(text)));
+		modes.put("few-shots-prompt", text -> ClassificationBenchmark.parse(classifyFewShotsPrompt(text)));
+		modes.put("few-shots-history", text -> ClassificationBenchmark.parse(classifyFewShotsHistory(text)));
+		modes.put("structured-output", this::classifyStructured);
+		modes.put("embedding", text -> classifyEmbedding(text).type());
+		modes.put(BATCH_MODE, null);
+		return modes;
+	}
+
 	private List<Message> getPromptWithFewShotsHistory() {
 		return List.of(
 				new SystemMessage("""
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.textclassification.embedding;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+import com.alibaba.example.textclassification.ClassificationType;
+
+/**
+ * 分类准确率与延迟基准：对同一组标注样本依次运行各分类方式，统计准确率和每条文本的耗时
+ */
+public final class ClassificationBenchmark {
+
+	private ClassificationBenchmark() {
+	}
+
+	/**
+	 * 逐条分类，统计平均、P50、P95 耗时
+	 */
+	public static BenchmarkResult run(String mode, List<LabelledText> samples,
+			Function<String, ClassificationType> classifier) {
+
+		long[] nanos = new long[samples.size()];
+		int correct = 0;
+		for (int i = 0; i < samples.size(); i++) {
+			LabelledText sample = samples.get(i);
+			long start = System.nanoTime();
+			ClassificationType type = classifier.apply(sample.text());
+			nanos[i] = System.nanoTime() - start;
+			if (type == sample.label()) {
+				correct++;
+			}
+		}
+		Arrays.sort(nanos);
+		long total = Arrays.stream(nanos).sum();
+		return new BenchmarkResult(mode, samples.size(), ratio(correct, samples.size()), millis(total),
+				millis(total) / Math.max(1, samples.size()), millis(percentile(nanos, 0.5)),
+				millis(percentile(nanos, 0.95)));
+	}
+
+	/**
+	 * 一次调用分类全部样本，只统计总耗时和摊到每条文本的平均耗时
+	 */
+	public static BenchmarkResult runBatch(String mode, List<LabelledText> samples,
+			Function<List<String>, List<ClassificationType>> classifier) {
+
+		long start = System.nanoTime();
+		List<ClassificationType> types = classifier.apply(samples.stream().map(LabelledText::text).toList());
+		long total = System.nanoTime() - start;
+		int correct = 0;
+		for (int i = 0; i < samples.size(); i++) {
+			if (types.get(i) == samples.get(i).label()) {
+				correct++;
+			}
+		}
+		return new BenchmarkResult(mode, samples.size(), ratio(correct, samples.size()), millis(total),
+				millis(total) / Math.max(1, samples.size()), null, null);
+	}
+
+	/**
+	 * 从大模型的文本回复中取出第一个出现的类别名，没有则返回 null
+	 */
+	public static ClassificationType parse(String content) {
+
+		if (content == null) {
+			return null;
+		}
+		String upper = content.toUpperCase(Locale.ROOT);
+		ClassificationType found = null;
+		int position = Integer.MAX_VALUE;
+		for (ClassificationType type : ClassificationType.values()) {
+			int index = upper.indexOf(type.name());
+			if (index >= 0 && index < position) {
+				position = index;
+				found = type;
+			}
+		}
+		return found;
+	}
+
+	private static long percentile(long[] sorted, double percentile) {
+
+		if (sorted.length == 0) {
+			return 0;
+		}
+		return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+	}
+
+	private static double ratio(int count, int total) {
+
+		return total == 0 ? 0 : (double) count / total;
+	}
+
+	private static double millis(long nanos) {
+
+		return nanos / 1_000_000.0;
+	}
+
+	/**
+	 * @param p50Millis 批量模式下为 null
+	 * @param p95Millis 批量模式下为 null
+	 */
+	public record BenchmarkResult(String mode, int samples, double accuracy, double totalMillis,
+			double meanMillis, Double p50Millis, Double p95Millis) {
+
+	}
+
+}
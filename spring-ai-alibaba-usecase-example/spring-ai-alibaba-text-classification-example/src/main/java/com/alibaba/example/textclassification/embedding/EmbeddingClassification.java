@@ -0,0 +1,28 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.textclassification.embedding;
+
+import com.alibaba.example.textclassification.ClassificationType;
+
+/**
+ * @param score 与所选类别中心的余弦相似度
+ * @param margin 与次相似类别的相似度之差，越大越可信
+ * @param llmFallback 置信度不足、最终由大模型给出类别
+ */
+public record EmbeddingClassification(ClassificationType type, double score, double margin, boolean llmFallback) {
+
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.textclassification.embedding;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.alibaba.example.textclassification.ClassificationType;
+import com.alibaba.example.textclassification.config.EmbeddingClassifierProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.Resource;
+
+/**
+ * 最近类中心（nearest centroid）文本分类器。
+ * <p>
+ * 首次使用时对标注样本做 Embedding，每个类别取归一化向量的均值作为类中心；分类时只需对文本做一次 Embedding，
+ * 不再发送 few-shot Prompt。整体耗时主要取决于这次 Embedding 请求，之后与各类中心计算余弦相似度在进程内完成，只需微秒级。
+ * 最相似与次相似类别的差距低于 {@code minMargin} 时视为置信度不足，交给调用方提供的大模型分类兜底。
+ */
+public class EmbeddingClassifier implements DisposableBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmbeddingClassifier.class);
+
+	private static final ClassificationType[] TYPES = ClassificationType.values();
+
+	private final EmbeddingModel embeddingModel;
+
+	private final EmbeddingClassifierProperties properties;
+
+	private final ObjectMapper objectMapper;
+
+	private final ExecutorService executor;
+
+	private volatile float[][] centroids;
+
+	public EmbeddingClassifier(EmbeddingModel embeddingModel, EmbeddingClassifierProperties properties,
+			ObjectMapper objectMapper) {
+
+		this.embeddingModel = embeddingModel;
+		this.properties = properties;
+		this.objectMapper = objectMapper;
+		AtomicInteger threads = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getConcurrency()), r -> {
+			Thread thread = new Thread(r, "embedding-classifier-" + threads.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * @param fallback 置信度不足时使用的大模型分类，为 null 时直接返回 Embedding 的结果
+	 */
+	public EmbeddingClassification classify(String text, Function<String, ClassificationType> fallback) {
+
+		EmbeddingClassification result = score(centroids(), embeddingModel.embed(text));
+		if (fallback == null || result.margin() >= properties.getMinMargin()) {
+			return result;
+		}
+		return new EmbeddingClassification(fallback.apply(text), result.score(), result.margin(), true);
+	}
+
+	/**
+	 * 批量分类：文本按 {@code batchSize} 分批并行做 Embedding，置信度不足的文本再并行交给大模型，结果顺序与输入一致
+	 */
+	public List<EmbeddingClassification> classifyAll(List<String> texts, Function<String, ClassificationType> fallback) {
+
+		float[][] model = centroids();
+		List<float[]> embeddings = embedAll(texts);
+		List<EmbeddingClassification> results = new ArrayList<>(texts.size());
+		for (float[] embedding : embeddings) {
+			results.add(score(model, embedding));
+		}
+		if (fallback == null) {
+			return results;
+		}
+
+		Map<Integer, Future<ClassificationType>> fallbacks = new LinkedHashMap<>();
+		for (int i = 0; i < results.size(); i++) {
+			if (results.get(i).margin() < properties.getMinMargin()) {
+				String text = texts.get(i);
+				fallbacks.put(i, executor.submit(() -> fallback.apply(text)));
+			}
+		}
+		for (Map.Entry<Integer, Future<ClassificationType>> entry : fallbacks.entrySet()) {
+			EmbeddingClassification result = results.get(entry.getKey());
+			results.set(entry.getKey(),
+					new EmbeddingClassification(await(entry.getValue()), result.score(), result.margin(), true));
+		}
+		return results;
+	}
+
+	/**
+	 * 训练类中心（已训练时直接返回），避免首个请求承担训练耗时
+	 */
+	public void prepare() {
+
+		centroids();
+	}
+
+	/**
+	 * 基准测试用的标注样本
+	 */
+	public List<LabelledText> evaluationSamples() {
+
+		return read(properties.getEvaluation());
+	}
+
+	private float[][] centroids() {
+
+		float[][] current = centroids;
+		if (current == null) {
+			synchronized (this) {
+				current = centroids;
+				if (current == null) {
+					current = train();
+					centroids = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	private float[][] train() {
+
+		long start = System.nanoTime();
+		List<LabelledText> examples = read(properties.getExamples());
+		List<float[]> embeddings = embedAll(examples.stream().map(LabelledText::text).toList());
+
+		float[][] sums = new float[TYPES.length][];
+		for (int i = 0; i < examples.size(); i++) {
+			float[] vector = normalize(embeddings.get(i));
+			int label = examples.get(i).label().ordinal();
+			if (sums[label] == null) {
+				sums[label] = new float[vector.length];
+			}
+			for (int d = 0; d < vector.length; d++) {
+				sums[label][d] += vector[d];
+			}
+		}
+		for (ClassificationType type : TYPES) {
+			if (sums[type.ordinal()] == null) {
+				throw new IllegalStateException("No labelled examples for class " + type);
+			}
+			normalize(sums[type.ordinal()]);
+		}
+		logger.info("Trained embedding classifier with {} examples in {} ms", examples.size(),
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		return sums;
+	}
+
+	private List<float[]> embedAll(List<String> texts) {
+
+		int batchSize = Math.max(1, properties.getBatchSize());
+		List<Future<List<float[]>>> batches = new ArrayList<>();
+		for (int from = 0; from < texts.size(); from += batchSize) {
+			List<String> batch = texts.subList(from, Math.min(texts.size(), from + batchSize));
+			batches.add(executor.submit(() -> embeddingModel.embed(batch)));
+		}
+		List<float[]> embeddings = new ArrayList<>(texts.size());
+		for (Future<List<float[]>> batch : batches) {
+			embeddings.addAll(await(batch));
+		}
+		return embeddings;
+	}
+
+	private List<LabelledText> read(Resource resource) {
+
+		if (resource == null) {
+			throw new IllegalStateException("Labelled samples are not configured under " + EmbeddingClassifierProperties.PREFIX);
+		}
+		try (InputStream in = resource.getInputStream()) {
+			return objectMapper.readValue(in, new TypeReference<List<LabelledText>>() {
+			});
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to read labelled samples from " + resource, e);
+		}
+	}
+
+	private <T> T await(Future<T> future) {
+
+		try {
+			return future.get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+		catch (TimeoutException e) {
+			future.cancel(true);
+			throw new IllegalStateException("Classification timed out after " + properties.getTimeout(), e);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	private static EmbeddingClassification score(float[][] centroids, float[] embedding) {
+
+		float[] vector = normalize(embedding);
+		int best = -1;
+		double bestScore = Double.NEGATIVE_INFINITY;
+		double secondScore = Double.NEGATIVE_INFINITY;
+		for (int c = 0; c < centroids.length; c++) {
+			double score = dot(centroids[c], vector);
+			if (score > bestScore) {
+				secondScore = bestScore;
+				bestScore = score;
+				best = c;
+			}
+			else if (score > secondScore) {
+				secondScore = score;
+			}
+		}
+		return new EmbeddingClassification(TYPES[best], bestScore, bestScore - secondScore, false);
+	}
+
+	private static double dot(float[] a, float[] b) {
+
+		double sum = 0;
+		for (int i = 0; i < a.length; i++) {
+			sum += a[i] * b[i];
+		}
+		return sum;
+	}
+
+	/**
+	 * 原地归一化为单位向量
+	 */
+	private static float[] normalize(float[] vector) {
+
+		double norm = Math.sqrt(dot(vector, vector));
+		if (norm > 0) {
+			for (int i = 0; i < vector.length; i++) {
+				vector[i] /= (float) norm;
+			}
+		}
+		return vector;
+	}
+
+	@Override
+	public void destroy() {
+
+		executor.shutdownNow();
+	}
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.textclassification.embedding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import com.alibaba.example.textclassification.ClassificationType;
+import com.alibaba.example.textclassification.config.EmbeddingClassifierProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.core.io.ByteArrayResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmbeddingClassifierTest {
+
+	private static final String EXAMPLES = """
+			[
+			  {"text": "business quarterly earnings", "label": "BUSINESS"},
+			  {"text": "business merger", "label": "BUSINESS"},
+			  {"text": "sport final match", "label": "SPORT"},
+			  {"text": "tech chip launch", "label": "TECHNOLOGY"},
+			  {"text": "other weather report", "label": "OTHER"}
+			]
+			""";
+
+	private final List<String> fallbackTexts = new CopyOnWriteArrayList<>();
+
+	private final Function<String, ClassificationType> fallback = text -> {
+		fallbackTexts.add(text);
+		return ClassificationType.OTHER;
+	};
+
+	private EmbeddingClassifier classifier;
+
+	@BeforeEach
+	void setUp() {
+
+		EmbeddingClassifierProperties properties = new EmbeddingClassifierProperties();
+		properties.setExamples(new ByteArrayResource(EXAMPLES.getBytes(StandardCharsets.UTF_8)));
+		properties.setMinMargin(0.1);
+		properties.setBatchSize(2);
+		classifier = new EmbeddingClassifier(new KeywordEmbeddingModel(), properties, new ObjectMapper());
+	}
+
+	@AfterEach
+	void tearDown() {
+
+		classifier.destroy();
+	}
+
+	@Test
+	void picksTheNearestCentroid() {
+
+		EmbeddingClassification result = classifier.classify("sport sport business", fallback);
+
+		assertThat(result.type()).isEqualTo(ClassificationType.SPORT);
+		assertThat(result.llmFallback()).isFalse();
+		assertThat(result.margin()).isGreaterThanOrEqualTo(0.1);
+		assertThat(fallbackTexts).isEmpty();
+	}
+
+	@Test
+	void fallsBackToTheModelWhenTheMarginIsTooSmall() {
+
+		// 与 SPORT、TECHNOLOGY 两个类中心的相似度相同
+		EmbeddingClassification result = classifier.classify("sport tech", fallback);
+
+		assertThat(result.type()).isEqualTo(ClassificationType.OTHER);
+		assertThat(result.llmFallback()).isTrue();
+		assertThat(result.margin()).isLessThan(0.1);
+		assertThat(fallbackTexts).containsExactly("sport tech");
+	}
+
+	@Test
+	void keepsTheEmbeddingResultWithoutFallback() {
+
+		EmbeddingClassification result = classifier.classify("sport tech", null);
+
+		assertThat(result.type()).isIn(ClassificationType.SPORT, ClassificationType.TECHNOLOGY);
+		assertThat(result.llmFallback()).isFalse();
+	}
+
+	@Test
+	void classifyAllKeepsInputOrderAndOnlyFallsBackForLowMargins() {
+
+		List<EmbeddingClassification> results = classifier
+			.classifyAll(List.of("tech tech", "business tech", "sport", "business"), fallback);
+
+		assertThat(results).extracting(EmbeddingClassification::type)
+			.containsExactly(ClassificationType.TECHNOLOGY, ClassificationType.OTHER, ClassificationType.SPORT,
+					ClassificationType.BUSINESS);
+		assertThat(results).extracting(EmbeddingClassification::llmFallback).containsExactly(false, true, false, false);
+		assertThat(fallbackTexts).containsExactly("business tech");
+	}
+
+	/**
+	 * 每个关键词对应一个维度，文本向量为关键词出现次数
+	 */
+	private static class KeywordEmbeddingModel implements EmbeddingModel {
+
+		private static final List<String> KEYWORDS = List.of("business", "sport", "tech", "other");
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+
+			List<Embedding> embeddings = new ArrayList<>();
+			for (String text : request.getInstructions()) {
+				embeddings.add(new Embedding(vector(text), embeddings.size()));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public float[] embed(Document document) {
+
+			return vector(document.getText());
+		}
+
+		private static float[] vector(String text) {
+
+			float[] vector = new float[KEYWORDS.size()];
+			for (String word : text.split(" ")) {
+				int dimension = KEYWORDS.indexOf(word);
+				if (dimension >= 0) {
+					vector[dimension]++;
+				}
+			}
+			return vector;
+		}
+
+	}
+
+}
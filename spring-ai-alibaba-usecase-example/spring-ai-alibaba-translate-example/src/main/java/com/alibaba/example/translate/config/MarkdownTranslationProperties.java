@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.translate.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Markdown 文件翻译配置：按块并行翻译，已翻译过的块从翻译记忆中直接复用
+ */
+@ConfigurationProperties(prefix = MarkdownTranslationProperties.PREFIX)
+public class MarkdownTranslationProperties {
+
+    public static final String PREFIX = "translate.markdown";
+
+    /**
+     * 同时翻译的块数
+     */
+    private int concurrency = 4;
+
+    /**
+     * 单个块的翻译超时时间
+     */
+    private Duration blockTimeout = Duration.ofSeconds(60);
+
+    /**
+     * 术语表，原文术语 -> 译文，块中出现的术语会随 Prompt 一起发送，保证全文译法一致
+     */
+    private Map<String, String> glossary = new LinkedHashMap<>();
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public Duration getBlockTimeout() {
+        return blockTimeout;
+    }
+
+    public void setBlockTimeout(Duration blockTimeout) {
+        this.blockTimeout = blockTimeout;
+    }
+
+    public Map<String, String> getGlossary() {
+        return glossary;
+    }
+
+    public void setGlossary(Map<String, String> glossary) {
+        this.glossary = glossary;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.translate.config;
+
+import java.nio.file.Path;
+
+import com.alibaba.example.translate.controller.service.TranslationMemory;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+@Configuration
+@EnableConfigurationProperties({MarkdownTranslationProperties.class, TranslationMemoryProperties.class})
+public class TranslateConfiguration {
+
+    @Bean
+    public TranslationMemory translationMemory(TranslationMemoryProperties properties) {
+        String file = properties.getFile();
+        return new TranslationMemory(StringUtils.hasText(file) ? Path.of(file) : null, properties.getMaxEntries());
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.translate.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 翻译记忆配置，Markdown 文件翻译与文本翻译接口共用
+ */
+@ConfigurationProperties(prefix = TranslationMemoryProperties.PREFIX)
+public class TranslationMemoryProperties {
+
+    public static final String PREFIX = "translate.memory";
+
+    /**
+     * 内存中最多保留的译文条数，超出后淘汰最久未使用的记录
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * 翻译记忆文件，为空时只缓存在内存中，重启后失效
+     */
+    private String file = "translation-memory/memory.jsonl";
+
+    /**
+     * 文本翻译时同时翻译的句子数
+     */
+    private int segmentConcurrency = 4;
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public int getSegmentConcurrency() {
+        return segmentConcurrency;
+    }
+
+    public void setSegmentConcurrency(int segmentConcurrency) {
+        this.segmentConcurrency = segmentConcurrency;
+    }
+}
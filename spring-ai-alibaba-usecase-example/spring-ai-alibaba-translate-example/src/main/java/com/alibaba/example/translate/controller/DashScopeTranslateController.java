@@ -18,22 +18,23 @@ package com.alibaba.example.translate.controller;
 
 import com.alibaba.cloud.ai.dashscope.chat.DashScopeChatOptions;
 import com.alibaba.cloud.ai.dashscope.spec.DashScopeModel;
+import com.alibaba.example.translate.controller.service.MarkdownTranslationProgress;
 import com.alibaba.example.translate.controller.service.MarkdownTranslationService;
+import com.alibaba.example.translate.controller.service.TextTranslationService;
+import com.alibaba.example.translate.controller.service.TranslationMemory;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.multipart.MultipartFile;
 import reactor.core.publisher.Flux;
 
-import org.springframework.ai.chat.model.ChatModel;
-import org.springframework.ai.chat.model.ChatResponse;
-import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.beans.factory.annotation.Qualifier;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -46,15 +47,18 @@ import java.nio.file.Paths;
 @RequestMapping("/api/dashscope/translate")
 public class DashScopeTranslateController {
 
-	private static final String TRANSLATION_PROMPT_TEMPLATE = "请将以下文本从%s翻译成%s：\n\n%s";
 	private final MarkdownTranslationService markdownTranslationService;
 
-	private final ChatModel dashScopeChatModel;
+	private final TextTranslationService textTranslationService;
 
-	public DashScopeTranslateController(@Qualifier("dashScopeChatModel") ChatModel chatModel,
-										MarkdownTranslationService markdownTranslationService) {
-		this.dashScopeChatModel = chatModel;
+	private final TranslationMemory translationMemory;
+
+	public DashScopeTranslateController(TextTranslationService textTranslationService,
+										MarkdownTranslationService markdownTranslationService,
+										TranslationMemory translationMemory) {
+		this.textTranslationService = textTranslationService;
 		this.markdownTranslationService = markdownTranslationService;
+		this.translationMemory = translationMemory;
 	}
 
 	/**
@@ -70,12 +74,11 @@ public class DashScopeTranslateController {
 			@RequestParam(defaultValue = "中文") String sourceLanguage,
 			@RequestParam(defaultValue = "英文") String targetLanguage) {
 
-		String prompt = String.format(TRANSLATION_PROMPT_TEMPLATE, sourceLanguage, targetLanguage, text);
-		
-		String translatedText = dashScopeChatModel.call(new Prompt(prompt, DashScopeChatOptions
-				.builder()
-				.withModel(DashScopeModel.ChatModel.QWEN_PLUS.getValue())
-				.build())).getResult().getOutput().getText();
+		String translatedText = textTranslationService.translate(text, sourceLanguage, targetLanguage,
+				DashScopeChatOptions
+						.builder()
+						.withModel(DashScopeModel.ChatModel.QWEN_PLUS.getValue())
+						.build());
 		
 		return new TranslateResponse(translatedText);
 	}
@@ -97,13 +100,10 @@ public class DashScopeTranslateController {
 		// 避免返回乱码
 		response.setCharacterEncoding("UTF-8");
 
-		String prompt = String.format(TRANSLATION_PROMPT_TEMPLATE, sourceLanguage, targetLanguage, text);
-		
-		Flux<ChatResponse> stream = dashScopeChatModel.stream(new Prompt(prompt, DashScopeChatOptions
+		return textTranslationService.stream(text, sourceLanguage, targetLanguage, DashScopeChatOptions
 				.builder()
 				.withModel(DashScopeModel.ChatModel.QWEN_PLUS.getValue())
-				.build()));
-		return stream.map(resp -> resp.getResult().getOutput().getText());
+				.build());
 	}
 
 	/**
@@ -119,8 +119,6 @@ public class DashScopeTranslateController {
 			@RequestParam(defaultValue = "中文") String sourceLanguage,
 			@RequestParam(defaultValue = "英文") String targetLanguage) {
 
-		String prompt = String.format(TRANSLATION_PROMPT_TEMPLATE, sourceLanguage, targetLanguage, text);
-		
 		DashScopeChatOptions customOptions = DashScopeChatOptions.builder()
 				.withModel(DashScopeModel.ChatModel.QWEN_PLUS.getValue())
 				.withTopP(0.7)
@@ -128,8 +126,7 @@ public class DashScopeTranslateController {
 				.withTemperature(0.5) 
 				.build();
 
-		String translatedText = dashScopeChatModel.call(new Prompt(prompt, customOptions))
-                .getResult().getOutput().getText();
+		String translatedText = textTranslationService.translate(text, sourceLanguage, targetLanguage, customOptions);
         
         return new TranslateResponse(translatedText);
 	}
@@ -166,4 +163,29 @@ public class DashScopeTranslateController {
 		}
 	}
 
+	/**
+	 * Markdown文件流式翻译服务，按块推送翻译进度，代码块不翻译，已翻译过的块直接复用翻译记忆
+	 * @param file 需要翻译的md文件
+	 * @param sourceLanguage 源语言
+	 * @param targetLanguage 目标语言
+	 * @return 按原文顺序推送的块译文
+	 */
+	@PostMapping(value = "/markdown-file/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public Flux<MarkdownTranslationProgress> streamMarkdownFile(
+			@RequestParam("file") MultipartFile file,
+			@RequestParam(defaultValue = "英文") String sourceLanguage,
+			@RequestParam(defaultValue = "中文") String targetLanguage) throws IOException {
+
+		String markdown = new String(file.getBytes(), StandardCharsets.UTF_8);
+		return markdownTranslationService.translate(markdown, sourceLanguage, targetLanguage);
+	}
+
+	/**
+	 * 翻译记忆统计：命中率、命中译文原本消耗的 token 数和当前缓存条数
+	 */
+	@GetMapping("/memory/stats")
+	public TranslationMemory.Stats memoryStats() {
+		return translationMemory.stats();
+	}
+
 } 
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.translate.controller.service;
+
+/**
+ * Markdown 文档中的一个块，content 保留原文（含换行），按顺序拼接所有块即得到原文档
+ */
+public record MarkdownBlock(Type type, String content) {
+
+    public boolean translatable() {
+        return type == Type.HEADING || type == Type.PARAGRAPH || type == Type.TABLE;
+    }
+
+    public enum Type {
+        HEADING,
+        PARAGRAPH,
+        TABLE,
+        /**
+         * 围栏代码块或缩进代码块，不翻译
+         */
+        CODE,
+        /**
+         * 文件开头的 YAML front matter，不翻译
+         */
+        FRONT_MATTER,
+        /**
+         * 块之间的空行
+         */
+        BLANK
+    }
+}
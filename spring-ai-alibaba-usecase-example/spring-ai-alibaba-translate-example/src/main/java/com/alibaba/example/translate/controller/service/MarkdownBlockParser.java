@@ -0,0 +1,202 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.translate.controller.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 把 Markdown 文本按行切分为标题、段落、表格、代码块等块，只做翻译所需的粗粒度解析
+ */
+public final class MarkdownBlockParser {
+
+    private MarkdownBlockParser() {
+    }
+
+    public static List<MarkdownBlock> parse(String markdown) {
+        List<MarkdownBlock> blocks = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        MarkdownBlock.Type currentType = null;
+        String fence = null;
+        // 当前列表项内容的起始列，-1 表示不在列表中；列表内的续行和嵌套内容相对该列判断是否为缩进代码
+        int listContent = -1;
+
+        List<String> lines = splitLines(markdown);
+        int i = 0;
+        if (!lines.isEmpty() && lines.get(0).strip().equals("---")) {
+            // front matter 到下一个 --- 为止
+            int end = 1;
+            while (end < lines.size() && !lines.get(end).strip().equals("---")) {
+                end++;
+            }
+            if (end < lines.size()) {
+                StringBuilder frontMatter = new StringBuilder();
+                for (; i <= end; i++) {
+                    frontMatter.append(lines.get(i));
+                }
+                blocks.add(new MarkdownBlock(MarkdownBlock.Type.FRONT_MATTER, frontMatter.toString()));
+            }
+        }
+
+        for (; i < lines.size(); i++) {
+            String line = lines.get(i);
+            String stripped = line.strip();
+
+            if (fence != null) {
+                current.append(line);
+                // 闭合围栏由同一字符组成，且不短于开启围栏
+                if (stripped.startsWith(fence) && stripped.replace(fence.substring(0, 1), "").isEmpty()) {
+                    flush(blocks, currentType, current);
+                    currentType = null;
+                    fence = null;
+                }
+                continue;
+            }
+
+            MarkdownBlock.Type lineType;
+            int indent = indentation(line);
+            int codeIndent = listContent < 0 ? 4 : listContent + 4;
+            String openingFence = openingFence(line, codeIndent - 1);
+            if (openingFence != null) {
+                flush(blocks, currentType, current);
+                fence = openingFence;
+                currentType = MarkdownBlock.Type.CODE;
+                current.append(line);
+                continue;
+            } else if (stripped.isEmpty()) {
+                lineType = MarkdownBlock.Type.BLANK;
+            } else if (indent <= 3 && stripped.startsWith("#")) {
+                lineType = MarkdownBlock.Type.HEADING;
+                listContent = -1;
+            } else if (stripped.startsWith("|")) {
+                lineType = MarkdownBlock.Type.TABLE;
+            } else if (indent < codeIndent && listMarkerWidth(stripped) > 0) {
+                // 列表项（含嵌套列表项）是需要翻译的正文
+                lineType = MarkdownBlock.Type.PARAGRAPH;
+                listContent = indent + listMarkerWidth(stripped);
+            } else if (currentType == null || currentType == MarkdownBlock.Type.BLANK) {
+                // 空行之后缩进超过内容列 4 个空格的内容是缩进代码块，其余缩进内容是列表项的续行
+                lineType = indent >= codeIndent ? MarkdownBlock.Type.CODE : MarkdownBlock.Type.PARAGRAPH;
+                if (indent == 0) {
+                    listContent = -1;
+                }
+            } else {
+                lineType = currentType == MarkdownBlock.Type.CODE && indent >= codeIndent
+                        ? MarkdownBlock.Type.CODE : MarkdownBlock.Type.PARAGRAPH;
+            }
+
+            // 标题总是单独成块，其余同类型的相邻行合并
+            if (lineType != currentType || lineType == MarkdownBlock.Type.HEADING) {
+                flush(blocks, currentType, current);
+                currentType = lineType;
+            }
+            current.append(line);
+        }
+        // 未闭合的代码块原样保留
+        flush(blocks, currentType, current);
+        return blocks;
+    }
+
+    private static void flush(List<MarkdownBlock> blocks, MarkdownBlock.Type type, StringBuilder content) {
+        if (type != null && !content.isEmpty()) {
+            blocks.add(new MarkdownBlock(type, content.toString()));
+        }
+        content.setLength(0);
+    }
+
+    private static String openingFence(String line, int maxIndent) {
+        if (indentation(line) > maxIndent) {
+            return null;
+        }
+        String stripped = line.strip();
+        for (char marker : new char[] {'`', '~'}) {
+            int count = 0;
+            while (count < stripped.length() && stripped.charAt(count) == marker) {
+                count++;
+            }
+            if (count >= 3) {
+                return String.valueOf(marker).repeat(count);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return 列表标记及其后空格的宽度（如 "- "、"1. "），不是列表项时返回 0
+     */
+    private static int listMarkerWidth(String stripped) {
+        int marker = 0;
+        if (!stripped.isEmpty() && "-*+".indexOf(stripped.charAt(0)) >= 0) {
+            marker = 1;
+        } else {
+            while (marker < stripped.length() && marker < 9 && Character.isDigit(stripped.charAt(marker))) {
+                marker++;
+            }
+            if (marker == 0 || marker >= stripped.length()
+                    || (stripped.charAt(marker) != '.' && stripped.charAt(marker) != ')')) {
+                return 0;
+            }
+            marker++;
+        }
+        if (marker == stripped.length()) {
+            // 空列表项
+            return marker + 1;
+        }
+        int spaces = 0;
+        while (marker + spaces < stripped.length() && stripped.charAt(marker + spaces) == ' ') {
+            spaces++;
+        }
+        if (spaces == 0) {
+            return 0;
+        }
+        // 标记后超过 4 个空格时内容列只算一个空格，其余属于内容中的缩进代码
+        return marker + (spaces > 4 ? 1 : spaces);
+    }
+
+    private static int indentation(String line) {
+        int width = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == ' ') {
+                width++;
+            } else if (c == '\t') {
+                width += 4;
+            } else {
+                break;
+            }
+        }
+        return width;
+    }
+
+    /**
+     * 按行切分并保留每行末尾的换行符
+     */
+    private static List<String> splitLines(String text) {
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        while (start < text.length()) {
+            int end = text.indexOf('\n', start);
+            if (end < 0) {
+                lines.add(text.substring(start));
+                break;
+            }
+            lines.add(text.substring(start, end + 1));
+            start = end + 1;
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.translate.controller.service;
+
+/**
+ * Markdown 翻译进度，按块在原文中的顺序依次推送
+ *
+ * @param index 块序号，从 0 开始
+ * @param total 总块数
+ * @param type 块类型
+ * @param cached 是否来自翻译记忆或无需翻译
+ * @param content 该块的译文，按 index 顺序拼接即为完整译文
+ */
+public record MarkdownTranslationProgress(int index, int total, MarkdownBlock.Type type, boolean cached,
+        String content) {
+}
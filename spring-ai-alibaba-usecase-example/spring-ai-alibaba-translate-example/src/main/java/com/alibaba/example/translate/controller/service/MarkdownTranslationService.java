@@ -19,11 +19,16 @@ package com.alibaba.example.translate.controller.service;
 import com.alibaba.cloud.ai.dashscope.chat.DashScopeChatModel;
 import com.alibaba.cloud.ai.dashscope.chat.DashScopeChatOptions;
 import com.alibaba.cloud.ai.dashscope.spec.DashScopeModel;
+import com.alibaba.example.translate.config.MarkdownTranslationProperties;
+import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.core.io.Resource;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -31,10 +36,15 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Description: 文件翻译
+ * <p>
+ * 文档先解析为标题、段落、表格、代码块等块，代码块原样保留，其余块在并发上限内并行翻译，
+ * 按原顺序拼接；每个块的译文写入翻译记忆，再次翻译同一文档时未改动的块直接复用。
  * Author: yhong
  * @since 1.0.0-M2
  */
@@ -43,11 +53,31 @@ public class MarkdownTranslationService {
 
     private final DashScopeChatModel dashScopeChatModel;
 
-    @Value("classpath:/prompts/markdown-translation-prompt.st")
-    private Resource markdownPromptResource;
+    private final MarkdownTranslationProperties properties;
 
-    public MarkdownTranslationService(DashScopeChatModel dashScopeChatModel) {
+    private final TranslationMemory translationMemory;
+
+    private final PromptTemplate promptTemplate;
+
+    private final DashScopeChatOptions translationOptions;
+
+    /**
+     * 模型、参数与术语表的摘要，任一变化时翻译记忆中的旧译文不再命中
+     */
+    private final String memoryNamespace;
+
+    public MarkdownTranslationService(DashScopeChatModel dashScopeChatModel,
+                                      MarkdownTranslationProperties properties,
+                                      TranslationMemory translationMemory,
+                                      @Value("classpath:/prompts/markdown-translation-prompt.st") Resource markdownPromptResource) {
         this.dashScopeChatModel = dashScopeChatModel;
+        this.properties = properties;
+        this.translationMemory = translationMemory;
+        this.promptTemplate = new PromptTemplate(markdownPromptResource);
+        this.translationOptions = buildTranslationOptions();
+        this.memoryNamespace = TranslationMemory.key(translationOptions.getModel(),
+                String.valueOf(translationOptions.getTopP()), String.valueOf(translationOptions.getTopK()),
+                String.valueOf(translationOptions.getTemperature()), properties.getGlossary().toString());
     }
 
     public String translateMarkdownFile(String filePath,
@@ -56,26 +86,67 @@ public class MarkdownTranslationService {
         // 1. 读取原始Markdown文件
         String originalContent = Files.readString(Paths.get(filePath));
 
-        // 2. 加载Prompt模板
-        PromptTemplate promptTemplate = new PromptTemplate(markdownPromptResource);
-        Map<String, Object> params = Map.of(
-                "sourceLanguage", sourceLanguage,
-                "targetLanguage", targetLanguage,
-                "markdownContent", originalContent
-        );
+        // 2. 按块并行翻译并按原顺序拼接
+        String translatedContent = translate(originalContent, sourceLanguage, targetLanguage)
+                .map(MarkdownTranslationProgress::content)
+                .collect(Collectors.joining())
+                .block();
 
-        // 3. 构建翻译Prompt
-        Prompt prompt = new Prompt(
-                String.valueOf(promptTemplate.create(params)),
-                buildTranslationOptions()
-        );
+        // 3. 保存文件到本地（桌面）
+        return saveTranslatedFile(filePath, translatedContent);
+    }
+
+    /**
+     * 按块翻译 Markdown 文本，每完成一个块（且之前的块都已完成）推送一次进度
+     */
+    public Flux<MarkdownTranslationProgress> translate(String markdown, String sourceLanguage, String targetLanguage) {
+        List<MarkdownBlock> blocks = MarkdownBlockParser.parse(markdown);
+        int total = blocks.size();
+        return Flux.range(0, total)
+                .flatMapSequential(index -> translateBlock(blocks.get(index), index, total, sourceLanguage, targetLanguage),
+                        Math.max(1, properties.getConcurrency()));
+    }
 
-        // 4. 调用大模型翻译
-        String translatedContent = dashScopeChatModel.call(prompt)
-                .getResult().getOutput().getText();
+    private Mono<MarkdownTranslationProgress> translateBlock(MarkdownBlock block, int index, int total,
+                                                             String sourceLanguage, String targetLanguage) {
+        String content = block.content();
+        String text = content.stripTrailing();
+        if (!block.translatable() || text.isBlank()) {
+            return Mono.just(new MarkdownTranslationProgress(index, total, block.type(), true, content));
+        }
+        // 译文不带块末尾的换行，拼接时按原文补回
+        String trailing = content.substring(text.length());
+        String key = TranslationMemory.key(memoryNamespace, sourceLanguage, targetLanguage, text);
+        String cached = translationMemory.get(key);
+        if (cached != null) {
+            return Mono.just(new MarkdownTranslationProgress(index, total, block.type(), true, cached + trailing));
+        }
+        return Mono.fromCallable(() -> {
+                    Map<String, Object> params = Map.of(
+                            "sourceLanguage", sourceLanguage,
+                            "targetLanguage", targetLanguage,
+                            "glossary", glossaryFor(text),
+                            "markdownContent", text
+                    );
+                    Prompt prompt = new Prompt(promptTemplate.render(params), translationOptions);
+                    ChatResponse response = dashScopeChatModel.call(prompt);
+                    String translated = response.getResult().getOutput().getText().strip();
+                    translationMemory.put(key, translated, TranslationMemory.usedTokens(response));
+                    return new MarkdownTranslationProgress(index, total, block.type(), false, translated + trailing);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .timeout(properties.getBlockTimeout());
+    }
 
-        // 5. 保存文件到本地（桌面）
-        return saveTranslatedFile(filePath, translatedContent);
+    /**
+     * 只把块中出现的术语放进 Prompt
+     */
+    private String glossaryFor(String text) {
+        String terms = properties.getGlossary().entrySet().stream()
+                .filter(entry -> text.contains(entry.getKey()))
+                .map(entry -> entry.getKey() + " -> " + entry.getValue())
+                .collect(Collectors.joining("\n"));
+        return terms.isEmpty() ? "" : "7. 以下术语请使用给定译法：\n" + terms + "\n";
     }
 
     private DashScopeChatOptions buildTranslationOptions() {
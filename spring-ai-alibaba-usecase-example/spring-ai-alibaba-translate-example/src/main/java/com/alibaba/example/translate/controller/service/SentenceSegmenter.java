@@ -0,0 +1,106 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.translate.controller.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 按句切分文本，切分结果依次拼接后与原文完全一致。
+ * <p>
+ * 在中英文句末标点（含其后的引号、括号）之后切分，英文句点只在其后为空白时切分以避开小数和网址，
+ * 常见缩写（Dr.、e.g.）、单字母缩写（J. K.）以及后面接小写字母的句点也不切分；
+ * 换行总是结束当前句。句末标点后的空白归入前一句。
+ */
+public final class SentenceSegmenter {
+
+    private static final String TERMINATORS = "。！？；!?;…";
+
+    private static final String CLOSERS = "\"'”’」』）)】]";
+
+    private static final Set<String> ABBREVIATIONS = Set.of("mr", "mrs", "ms", "dr", "prof", "sr", "jr", "st", "vs",
+            "e.g", "i.e", "cf", "fig", "approx", "inc", "ltd", "corp", "dept", "jan", "feb", "mar", "apr", "jun",
+            "jul", "aug", "sep", "sept", "oct", "nov", "dec");
+
+    private SentenceSegmenter() {
+    }
+
+    public static List<String> split(String text) {
+        List<String> segments = new ArrayList<>();
+        int length = text.length();
+        int start = 0;
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            i++;
+            if (c == '\n') {
+                segments.add(text.substring(start, i));
+                start = i;
+                continue;
+            }
+            boolean end = TERMINATORS.indexOf(c) >= 0
+                    || (c == '.' && (i == length || Character.isWhitespace(text.charAt(i))
+                            || CLOSERS.indexOf(text.charAt(i)) >= 0) && !isAbbreviation(text, i - 1));
+            if (!end) {
+                continue;
+            }
+            while (i < length && CLOSERS.indexOf(text.charAt(i)) >= 0) {
+                i++;
+            }
+            while (i < length && text.charAt(i) != '\n' && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (i < length && text.charAt(i) == '\n') {
+                i++;
+            }
+            segments.add(text.substring(start, i));
+            start = i;
+        }
+        if (start < length) {
+            segments.add(text.substring(start));
+        }
+        return segments;
+    }
+
+    /**
+     * @param dot 句点所在位置
+     * @return 句点属于缩写而不是句末：已知缩写、单个大写字母，或其后（跳过空白）紧跟小写字母
+     */
+    private static boolean isAbbreviation(String text, int dot) {
+        int next = dot + 1;
+        while (next < text.length() && text.charAt(next) != '\n' && Character.isWhitespace(text.charAt(next))) {
+            next++;
+        }
+        if (next == text.length() || text.charAt(next) == '\n') {
+            return false;
+        }
+        if (Character.isLowerCase(text.charAt(next))) {
+            return true;
+        }
+        int wordStart = dot;
+        while (wordStart > 0 && (Character.isLetter(text.charAt(wordStart - 1)) || text.charAt(wordStart - 1) == '.')) {
+            wordStart--;
+        }
+        String word = text.substring(wordStart, dot);
+        if (word.length() == 1 && Character.isUpperCase(word.charAt(0))) {
+            return true;
+        }
+        return ABBREVIATIONS.contains(word.toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.translate.controller.service;
+
+import com.alibaba.cloud.ai.dashscope.chat.DashScopeChatOptions;
+import com.alibaba.example.translate.config.TranslationMemoryProperties;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 带翻译记忆的文本翻译
+ * <p>
+ * 文本按句切分，每句以（归一化原文、源语言、目标语言、模型与参数）为 key 查询翻译记忆，
+ * 只有未命中的句子才调用模型，且在并发上限内并行翻译；改动一段文字中的某一句时其余句子的译文直接复用。
+ */
+@Service
+public class TextTranslationService {
+
+    private static final String TRANSLATION_PROMPT_TEMPLATE = "请将以下文本从%s翻译成%s：\n\n%s";
+
+    private final ChatModel dashScopeChatModel;
+
+    private final TranslationMemory translationMemory;
+
+    private final int concurrency;
+
+    public TextTranslationService(@Qualifier("dashScopeChatModel") ChatModel chatModel,
+                                  TranslationMemory translationMemory,
+                                  TranslationMemoryProperties properties) {
+        this.dashScopeChatModel = chatModel;
+        this.translationMemory = translationMemory;
+        this.concurrency = Math.max(1, properties.getSegmentConcurrency());
+    }
+
+    public String translate(String text, String sourceLanguage, String targetLanguage, DashScopeChatOptions options) {
+        return Flux.fromIterable(plan(text, sourceLanguage, targetLanguage, options))
+                .flatMapSequential(segment -> segment.cached()
+                        ? Mono.just(segment.render(segment.translation()))
+                        : Mono.fromCallable(() -> translateSegment(segment, sourceLanguage, targetLanguage, options))
+                                .subscribeOn(Schedulers.boundedElastic()), concurrency)
+                .collect(Collectors.joining())
+                .block();
+    }
+
+    /**
+     * 流式翻译：命中翻译记忆的句子立即推送，其余句子按原文顺序推送模型的流式输出
+     */
+    public Flux<String> stream(String text, String sourceLanguage, String targetLanguage, DashScopeChatOptions options) {
+        return Flux.fromIterable(plan(text, sourceLanguage, targetLanguage, options))
+                .flatMapSequential(segment -> segment.cached()
+                        ? Flux.just(segment.render(segment.translation()))
+                        : streamSegment(segment, sourceLanguage, targetLanguage, options), concurrency)
+                .filter(chunk -> !chunk.isEmpty());
+    }
+
+    private List<Segment> plan(String text, String sourceLanguage, String targetLanguage, DashScopeChatOptions options) {
+        String namespace = TranslationMemory.key(options.getModel(), String.valueOf(options.getTopP()),
+                String.valueOf(options.getTopK()), String.valueOf(options.getTemperature()));
+        List<Segment> segments = new ArrayList<>();
+        for (String part : SentenceSegmenter.split(text)) {
+            String source = part.strip();
+            if (source.isEmpty()) {
+                segments.add(new Segment(part, "", "", null, ""));
+                continue;
+            }
+            int start = part.indexOf(source);
+            String key = TranslationMemory.key(namespace, sourceLanguage, targetLanguage,
+                    TranslationMemory.normalize(source));
+            segments.add(new Segment(part.substring(0, start), source, part.substring(start + source.length()), key,
+                    translationMemory.get(key)));
+        }
+        return segments;
+    }
+
+    private String translateSegment(Segment segment, String sourceLanguage, String targetLanguage,
+                                    DashScopeChatOptions options) {
+        ChatResponse response = dashScopeChatModel.call(prompt(segment, sourceLanguage, targetLanguage, options));
+        String translated = response.getResult().getOutput().getText().strip();
+        translationMemory.put(segment.key(), translated, TranslationMemory.usedTokens(response));
+        return segment.render(translated);
+    }
+
+    private Flux<String> streamSegment(Segment segment, String sourceLanguage, String targetLanguage,
+                                       DashScopeChatOptions options) {
+        StringBuilder translated = new StringBuilder();
+        // 流式响应的用量在各个分片中累计，取最大值
+        AtomicLong tokens = new AtomicLong();
+        Flux<String> body = dashScopeChatModel.stream(prompt(segment, sourceLanguage, targetLanguage, options))
+                .doOnNext(response -> tokens.accumulateAndGet(TranslationMemory.usedTokens(response), Math::max))
+                .mapNotNull(response -> response.getResult() == null ? null : response.getResult().getOutput().getText())
+                .doOnNext(translated::append)
+                .doOnComplete(() -> translationMemory.put(segment.key(), translated.toString().strip(), tokens.get()));
+        return Flux.concat(Flux.just(segment.leading()), body, Flux.just(segment.trailing()));
+    }
+
+    private static Prompt prompt(Segment segment, String sourceLanguage, String targetLanguage,
+                                 DashScopeChatOptions options) {
+        return new Prompt(String.format(TRANSLATION_PROMPT_TEMPLATE, sourceLanguage, targetLanguage, segment.source()),
+                options);
+    }
+
+    /**
+     * @param leading 原文句首空白，译文前原样保留
+     * @param trailing 原文句末空白（含换行），译文后原样保留
+     * @param translation 命中翻译记忆时的译文，未命中为 null
+     */
+    private record Segment(String leading, String source, String trailing, String key, String translation) {
+
+        boolean cached() {
+            return translation != null;
+        }
+
+        String render(String translated) {
+            return leading + translated + trailing;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.translate.controller.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.ai.chat.model.ChatResponse;
+
+/**
+ * 翻译记忆：以原文、语言对、模型和参数的摘要为 key 缓存译文。
+ * <p>
+ * 内存中按 LRU 保留最多 maxEntries 条；指定文件时每条新译文以一行 JSON 追加写入，启动时重新加载，
+ * 文件中的记录明显多于内存上限时在加载后压缩。重复运行时未改动的内容不会再次调用模型。
+ */
+public class TranslationMemory {
+
+    private static final Logger logger = LoggerFactory.getLogger(TranslationMemory.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Path file;
+
+    private final Map<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder savedTokens = new LongAdder();
+
+    private Writer writer;
+
+    public TranslationMemory(Path file, int maxEntries) {
+        this.file = file;
+        int capacity = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+        if (file != null) {
+            load(capacity);
+        }
+    }
+
+    /**
+     * 由组成部分计算 key，各部分之间用不会出现在文本中的分隔符连接后取 SHA-256
+     */
+    public static String key(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 用于计算 key 的文本归一化：Unicode NFC、去掉首尾空白并把连续空白合并为一个空格
+     */
+    public static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFC).strip().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * 一次模型调用消耗的 token 数，模型未返回用量时为 0
+     */
+    public static long usedTokens(ChatResponse response) {
+        if (response == null || response.getMetadata() == null || response.getMetadata().getUsage() == null) {
+            return 0;
+        }
+        Integer total = response.getMetadata().getUsage().getTotalTokens();
+        return total == null ? 0 : total;
+    }
+
+    /**
+     * 查询译文并计入命中率统计
+     */
+    public String get(String key) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        savedTokens.add(entry.tokens());
+        return entry.translation();
+    }
+
+    /**
+     * @param tokens 生成该译文消耗的 token 数，命中时计入节省的 token
+     */
+    public void put(String key, String translation, long tokens) {
+        Entry entry = new Entry(key, translation, tokens);
+        Entry previous;
+        synchronized (entries) {
+            previous = entries.put(key, entry);
+        }
+        if (previous == null && file != null) {
+            append(entry);
+        }
+    }
+
+    public Stats stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long total = hitCount + missCount;
+        return new Stats(hitCount, missCount, total == 0 ? 0 : (double) hitCount / total, savedTokens.sum(), size);
+    }
+
+    private void load(int capacity) {
+        if (!Files.exists(file)) {
+            return;
+        }
+        int lines = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                lines++;
+                try {
+                    Entry entry = objectMapper.readValue(line, Entry.class);
+                    entries.put(entry.key(), entry);
+                } catch (IOException e) {
+                    // 进程退出时最后一行可能不完整
+                    logger.warn("Skip unreadable translation memory entry in {}", file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load translation memory " + file, e);
+        }
+        logger.info("Loaded {} translation memory entries from {}", entries.size(), file);
+        if (lines > 2 * Math.max(entries.size(), capacity / 2)) {
+            compact();
+        }
+    }
+
+    /**
+     * 只保留内存中仍有效的记录，先写临时文件再原子替换
+     */
+    private void compact() {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        List<Entry> snapshot;
+        synchronized (entries) {
+            snapshot = new ArrayList<>(entries.values());
+        }
+        try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (Entry entry : snapshot) {
+                out.write(objectMapper.writeValueAsString(entry));
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to compact translation memory {}", file, e);
+            return;
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Compacted translation memory {} to {} entries", file, snapshot.size());
+        } catch (IOException e) {
+            logger.warn("Failed to compact translation memory {}", file, e);
+        }
+    }
+
+    private synchronized void append(Entry entry) {
+        try {
+            if (writer == null) {
+                if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            writer.write(objectMapper.writeValueAsString(entry));
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException e) {
+            // 写盘失败不影响本次翻译结果，只是下次运行需要重新翻译
+            logger.warn("Failed to append translation memory entry to {}", file, e);
+        }
+    }
+
+    /**
+     * @param hitRatio 命中次数 / 查询次数
+     * @param savedTokens 命中的译文原本消耗的 token 数之和
+     * @param size 内存中的记录数
+     */
+    public record Stats(long hits, long misses, double hitRatio, long savedTokens, int size) {
+    }
+
+    private record Entry(String key, String translation, long tokens) {
+    }
+}
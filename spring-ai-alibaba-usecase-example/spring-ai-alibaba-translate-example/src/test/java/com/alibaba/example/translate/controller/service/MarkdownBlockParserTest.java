@@ -0,0 +1,148 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.translate.controller.service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import static com.alibaba.example.translate.controller.service.MarkdownBlock.Type.BLANK;
+import static com.alibaba.example.translate.controller.service.MarkdownBlock.Type.CODE;
+import static com.alibaba.example.translate.controller.service.MarkdownBlock.Type.FRONT_MATTER;
+import static com.alibaba.example.translate.controller.service.MarkdownBlock.Type.HEADING;
+import static com.alibaba.example.translate.controller.service.MarkdownBlock.Type.PARAGRAPH;
+import static com.alibaba.example.translate.controller.service.MarkdownBlock.Type.TABLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class MarkdownBlockParserTest {
+
+    private static final String DOCUMENT = """
+            ---
+            title: 示例
+            tags: [a, b]
+            ---
+            # 标题
+
+            第一段
+            第二行
+
+            ```java
+            int a = 1;
+
+            int b = 2;
+            ```
+
+                indented code
+
+            | 列 | 值 |
+            |----|----|
+            | a  | 1  |
+
+            - 第一项
+              续行
+
+              第一项的第二段
+                - 嵌套项
+
+                  嵌套项的第二段
+
+                      code in nested item
+            - 第二项
+
+            普通段落
+            """;
+
+    @Test
+    void concatenatingBlocksRestoresTheDocument() {
+        assertThat(join(MarkdownBlockParser.parse(DOCUMENT))).isEqualTo(DOCUMENT);
+        assertThat(join(MarkdownBlockParser.parse(DOCUMENT.replace("\n", "\r\n")))).isEqualTo(
+                DOCUMENT.replace("\n", "\r\n"));
+        assertThat(MarkdownBlockParser.parse("")).isEmpty();
+        assertThat(join(MarkdownBlockParser.parse("no trailing newline"))).isEqualTo("no trailing newline");
+    }
+
+    @Test
+    void classifiesBlocks() {
+        List<MarkdownBlock> blocks = MarkdownBlockParser.parse(DOCUMENT).stream()
+                .filter(block -> block.type() != BLANK)
+                .toList();
+
+        assertThat(blocks).extracting(MarkdownBlock::type, block -> block.content().strip()).containsExactly(
+                tuple(FRONT_MATTER, "---\ntitle: 示例\ntags: [a, b]\n---"),
+                tuple(HEADING, "# 标题"),
+                tuple(PARAGRAPH, "第一段\n第二行"),
+                tuple(CODE, "```java\nint a = 1;\n\nint b = 2;\n```"),
+                tuple(CODE, "indented code"),
+                tuple(TABLE, "| 列 | 值 |\n|----|----|\n| a  | 1  |"),
+                tuple(PARAGRAPH, "- 第一项\n  续行"),
+                tuple(PARAGRAPH, "第一项的第二段\n    - 嵌套项"),
+                tuple(PARAGRAPH, "嵌套项的第二段"),
+                tuple(CODE, "code in nested item"),
+                tuple(PARAGRAPH, "- 第二项"),
+                tuple(PARAGRAPH, "普通段落"));
+    }
+
+    @Test
+    void fenceInsideListItemIsCode() {
+        String markdown = """
+                1. 安装依赖
+
+                   ```bash
+                   mvn install
+                   ```
+
+                2. 启动应用
+                """;
+
+        assertThat(MarkdownBlockParser.parse(markdown)).filteredOn(block -> block.type() != BLANK)
+                .extracting(MarkdownBlock::type)
+                .containsExactly(PARAGRAPH, CODE, PARAGRAPH);
+    }
+
+    @Test
+    void indentedCodeAfterListEndsIsCode() {
+        String markdown = """
+                - 列表项
+
+                段落结束了列表
+
+                    code after list
+                """;
+
+        assertThat(MarkdownBlockParser.parse(markdown)).filteredOn(block -> block.type() != BLANK)
+                .extracting(MarkdownBlock::type)
+                .containsExactly(PARAGRAPH, PARAGRAPH, CODE);
+    }
+
+    @Test
+    void unclosedFenceAndFrontMatterAreKeptVerbatim() {
+        String unclosed = "```\nstill code\n\n# not a heading\n";
+        assertThat(MarkdownBlockParser.parse(unclosed)).extracting(MarkdownBlock::type).containsExactly(CODE);
+
+        // 没有闭合的 --- 不是 front matter
+        String noFrontMatter = "---\ntext\n";
+        assertThat(MarkdownBlockParser.parse(noFrontMatter)).extracting(MarkdownBlock::type)
+                .doesNotContain(FRONT_MATTER);
+        assertThat(join(MarkdownBlockParser.parse(noFrontMatter))).isEqualTo(noFrontMatter);
+    }
+
+    private static String join(List<MarkdownBlock> blocks) {
+        return blocks.stream().map(MarkdownBlock::content).collect(Collectors.joining());
+    }
+}
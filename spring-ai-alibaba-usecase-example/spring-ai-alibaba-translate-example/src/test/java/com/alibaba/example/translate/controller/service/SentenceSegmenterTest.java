@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.translate.controller.service;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SentenceSegmenterTest {
+
+    @Test
+    void splitsChineseSentences() {
+        assertThat(SentenceSegmenter.split("你好。今天天气不错！要出去吗？好的；走吧…"))
+                .containsExactly("你好。", "今天天气不错！", "要出去吗？", "好的；", "走吧…");
+        // 句末标点后的引号、括号归入前一句
+        assertThat(SentenceSegmenter.split("他说：“好。”然后走了。（完。）再见"))
+                .containsExactly("他说：“好。”", "然后走了。", "（完。）", "再见");
+    }
+
+    @Test
+    void splitsLatinSentencesAndKeepsTrailingWhitespace() {
+        assertThat(SentenceSegmenter.split("Hello world. How are you?  Fine!\tBye"))
+                .containsExactly("Hello world. ", "How are you?  ", "Fine!\t", "Bye");
+        assertThat(SentenceSegmenter.split("He said \"stop.\" Then he left."))
+                .containsExactly("He said \"stop.\" ", "Then he left.");
+        assertThat(SentenceSegmenter.split("中文句子。English sentence. 混合。"))
+                .containsExactly("中文句子。", "English sentence. ", "混合。");
+    }
+
+    @Test
+    void doesNotSplitDecimalsUrlsOrAbbreviations() {
+        assertThat(SentenceSegmenter.split("Pi is 3.14 and the site is example.com today.")).hasSize(1);
+        assertThat(SentenceSegmenter.split("Dr. Smith met Mr. Brown. They talked."))
+                .containsExactly("Dr. Smith met Mr. Brown. ", "They talked.");
+        assertThat(SentenceSegmenter.split("J. K. Rowling wrote it. Fans cheered."))
+                .containsExactly("J. K. Rowling wrote it. ", "Fans cheered.");
+        assertThat(SentenceSegmenter.split("Use a tool, e.g. A hammer, etc. and more. Done."))
+                .containsExactly("Use a tool, e.g. A hammer, etc. and more. ", "Done.");
+        // 缩写出现在行尾或文末时仍然结束句子
+        assertThat(SentenceSegmenter.split("See Fig.\nNext line")).containsExactly("See Fig.\n", "Next line");
+        assertThat(SentenceSegmenter.split("Moved to the U.S. Then left."))
+                .containsExactly("Moved to the U.S. ", "Then left.");
+    }
+
+    @Test
+    void newlineAlwaysEndsSegment() {
+        assertThat(SentenceSegmenter.split("第一行\n第二行。  \n\nlast"))
+                .containsExactly("第一行\n", "第二行。  \n", "\n", "last");
+        assertThat(SentenceSegmenter.split("line one\r\nline two.\r\n"))
+                .containsExactly("line one\r\n", "line two.\r\n");
+        assertThat(SentenceSegmenter.split("")).isEmpty();
+    }
+
+    @Test
+    void reassemblesToOriginalText() {
+        String alphabet = "ab AZ.。!?？;“”\"')）\n\t 3.1 e.g. Dr. 中文";
+        Random random = new Random(7);
+        for (int n = 0; n < 2000; n++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(60);
+            for (int i = 0; i < length; i++) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String original = text.toString();
+            assertThat(SentenceSegmenter.split(original)).as(original)
+                    .allSatisfy(segment -> assertThat(segment).isNotEmpty())
+                    .satisfies(segments -> assertThat(String.join("", segments)).isEqualTo(original));
+        }
+    }
+}
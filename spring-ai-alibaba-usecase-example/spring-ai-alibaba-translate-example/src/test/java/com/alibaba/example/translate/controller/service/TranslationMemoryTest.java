@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.example.translate.controller.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TranslationMemoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        TranslationMemory memory = new TranslationMemory(null, 2);
+        memory.put("a", "A", 1);
+        memory.put("b", "B", 1);
+        // 读取 a 后 b 成为最久未使用的条目
+        assertThat(memory.get("a")).isEqualTo("A");
+        memory.put("c", "C", 1);
+
+        assertThat(memory.get("b")).isNull();
+        assertThat(memory.get("a")).isEqualTo("A");
+        assertThat(memory.get("c")).isEqualTo("C");
+        assertThat(memory.stats().size()).isEqualTo(2);
+    }
+
+    @Test
+    void countsHitsMissesAndSavedTokens() {
+        TranslationMemory memory = new TranslationMemory(null, 10);
+        assertThat(memory.stats()).isEqualTo(new TranslationMemory.Stats(0, 0, 0, 0, 0));
+
+        assertThat(memory.get("k")).isNull();
+        memory.put("k", "译文", 120);
+        memory.put("other", "其他", 30);
+        assertThat(memory.get("k")).isEqualTo("译文");
+        assertThat(memory.get("k")).isEqualTo("译文");
+        assertThat(memory.get("other")).isEqualTo("其他");
+
+        TranslationMemory.Stats stats = memory.stats();
+        assertThat(stats.hits()).isEqualTo(3);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hitRatio()).isCloseTo(0.75, within(1e-9));
+        assertThat(stats.savedTokens()).isEqualTo(270);
+        assertThat(stats.size()).isEqualTo(2);
+    }
+
+    @Test
+    void reloadsEntriesFromJsonl() throws IOException {
+        Path file = tempDir.resolve("memory/tm.jsonl");
+        TranslationMemory memory = new TranslationMemory(file, 10);
+        String key = TranslationMemory.key(TranslationMemory.normalize("  Hello   world "), "en", "zh", "qwen");
+        memory.put(key, "你好，世界", 42);
+        memory.put("second", "第二条\n含换行", 7);
+        // 重复写入同一 key 不再追加
+        memory.put("second", "第二条\n含换行", 7);
+        assertThat(Files.readAllLines(file, StandardCharsets.UTF_8)).hasSize(2);
+
+        // 模拟进程退出时写了一半的最后一行
+        Files.writeString(file, "{\"key\":\"broken\",\"transl", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        TranslationMemory reloaded = new TranslationMemory(file, 10);
+        assertThat(reloaded.get(TranslationMemory.key("Hello world", "en", "zh", "qwen"))).isEqualTo("你好，世界");
+        assertThat(reloaded.get("second")).isEqualTo("第二条\n含换行");
+        assertThat(reloaded.get("broken")).isNull();
+        assertThat(reloaded.stats().savedTokens()).isEqualTo(49);
+        assertThat(reloaded.stats().size()).isEqualTo(2);
+    }
+
+    @Test
+    void compactsFileThatOutgrewTheCapacity() throws IOException {
+        Path file = tempDir.resolve("tm.jsonl");
+        TranslationMemory memory = new TranslationMemory(file, 100);
+        for (int i = 0; i < 10; i++) {
+            memory.put("k" + i, "v" + i, 1);
+        }
+
+        TranslationMemory reloaded = new TranslationMemory(file, 2);
+        assertThat(Files.readAllLines(file, StandardCharsets.UTF_8)).hasSize(2);
+        assertThat(reloaded.get("k9")).isEqualTo("v9");
+        assertThat(reloaded.get("k8")).isEqualTo("v8");
+        assertThat(reloaded.get("k0")).isNull();
+
+        // 压缩后的文件可以再次加载
+        assertThat(new TranslationMemory(file, 2).get("k9")).isEqualTo("v9");
+    }
+
+    @Test
+    void keyIgnoresWhitespaceDifferencesButNotParameters() {
+        assertThat(TranslationMemory.key(TranslationMemory.normalize("a  b\n")))
+                .isEqualTo(TranslationMemory.key(TranslationMemory.normalize(" a b")));
+        assertThat(TranslationMemory.key("ab", "c")).isNotEqualTo(TranslationMemory.key("a", "bc"));
+        assertThat(TranslationMemory.key("text", "qwen-max")).isNotEqualTo(TranslationMemory.key("text", "qwen-plus"));
+    }
+}